@@ -127,6 +127,8 @@ import software.amazon.ion.system.IonTextWriterBuilder;
  * Alternatively, you can invoke {@link #makeReadOnly()} from a single thread,
  * <b>after</b> which point the value (and all recursively contained values) will
  * be immutable and hence thread-safe.
+ * Reading a read-only value never changes its internal state, so any number
+ * of threads may read it concurrently without locking.
  * <p>
  * It is important to note that {@link #makeReadOnly()} is not guaranteed to
  * implicitly provide a synchronization point between threads.
@@ -382,6 +384,10 @@ public interface IonValue
      * from multiple threads.  This may require materializing the Java
      * forms of the values.
      * <p>
+     * Any internal state that would otherwise be computed lazily, such as
+     * hash codes and field-name indexes of large structs, is computed by
+     * this method, so later reads need no synchronization.
+     * <p>
      * After this method completes, any attempt to change the state of this
      * instance, or of any contained value, will trigger a
      * {@link ReadOnlyValueException}.
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion;
+
+import java.io.InputStream;
+
+/**
+ * An {@link IonReader} facet providing the ability to read the current
+ * blob or clob as a stream, without first copying its whole content into
+ * a byte array as {@link IonReader#newBytes()} does.
+ * <p>
+ * <b>WARNING:</b> This interface should not be implemented or extended by
+ * code outside of this library.
+ * <p>
+ * This functionality may be accessed as a facet of most {@link IonReader}s.
+ * Binary readers stream the content straight from their source; text
+ * readers retain the encoded content but decode it a chunk at a time.
+ *
+ */
+public interface LobStreamProvider
+{
+    /**
+     * Returns a new stream over the content of the current value, which
+     * must be a blob or clob.
+     * <p>
+     * The stream is only valid until the reader moves off the current value,
+     * and opening a new stream on the same value invalidates any previous
+     * one; streaming readers throw {@link IllegalStateException} if an
+     * invalidated stream is read.
+     * Closing the stream has no effect on the reader.
+     *
+     * @return a new stream, or {@code null} if the current value is
+     * {@code null.blob} or {@code null.clob}.
+     *
+     * @throws IllegalStateException if the current value isn't a lob.
+     */
+    public InputStream newInputStream();
+}
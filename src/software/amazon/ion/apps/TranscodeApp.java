@@ -0,0 +1,891 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.apps;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.OffsetSpan;
+import software.amazon.ion.SpanProvider;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.system.IonBinaryWriterBuilder;
+import software.amazon.ion.system.IonBinaryWriterPool;
+import software.amazon.ion.system.IonReaderBuilder;
+import software.amazon.ion.system.IonReaderPool;
+import software.amazon.ion.system.IonTextWriterBuilder;
+import software.amazon.ion.util.IonStreamUtils;
+
+/**
+ * Converts Ion data to Ion binary, Ion text, or JSON, using all available
+ * cores.
+ * <p>
+ * The calling thread reads each input into a buffer of
+ * {@code --buffer-limit} megabytes (16 by default, 2047 at most), noting
+ * where each top-level value starts. It copies each batch of values into a
+ * chunk that can be read on its own, preceded by the local symbol table
+ * that the values need, and hands the chunks to a pool of encoder threads.
+ * Each encoder reads its chunk with its own reader and writes it to a
+ * separate buffer, and a writer thread appends the buffers to the output in
+ * their original order. Each batch of binary output is then a complete Ion
+ * stream with its own local symbol table.
+ * <p>
+ * When the buffer is full, the value it ends with may be incomplete, so that
+ * value starts the next buffer. Inputs of any size, including GZIPped data
+ * and stdin, are thus transcoded in parallel, with memory proportional to
+ * the buffer, the batch size and the number of threads. The buffer only
+ * grows to hold a top-level value larger than half of it. Since a value that
+ * fails to parse may just be cut off, malformed input is only reported once
+ * the buffer holds the rest of the input after it.
+ */
+public class TranscodeApp
+    extends BaseApp
+{
+    /** Keeps the buffer within a Java array. */
+    private static final int MAX_BUFFER_LIMIT_MB = 2047;
+
+    /** The largest array that all VMs can allocate. */
+    private static final int MAX_BUFFER_LENGTH = Integer.MAX_VALUE - 8;
+
+    private static final byte[] BINARY_VERSION_MARKER = {
+        (byte) 0xE0, 0x01, 0x00, (byte) 0xEA
+    };
+
+    /** A binary null, whose reader has read the system values before it. */
+    private static final byte BINARY_NULL = 0x0F;
+
+    private static final byte[] EMPTY_PREFIX = new byte[0];
+
+    /** Tells the writer thread that there are no more batches. */
+    private static final Future<byte[]> END_OF_BATCHES =
+        new FutureTask<byte[]>(new Callable<byte[]>()
+        {
+            public byte[] call()
+            {
+                return null;
+            }
+        });
+
+    private String myFormat      = "binary";
+    private String myOutputFile;
+    private int    myThreadCount = Runtime.getRuntime().availableProcessors();
+    private int    myBatchSize   = 1000;
+    private int    myBufferLimit = 16 << 20;
+
+    private CountingOutputStream myOut;
+    private ExecutorService      myEncoders;
+    private ExecutorService      myWriter;
+    private IonReaderPool        myReaders;
+    private IonBinaryWriterPool  myBinaryWriters;
+    private IonTextWriterBuilder myTextWriterBuilder;
+
+
+    //=========================================================================
+    // Static methods
+
+    public static void main(String[] args)
+    {
+        TranscodeApp app = new TranscodeApp();
+        app.doMain(args);
+    }
+
+
+    //=========================================================================
+
+    /**
+     * Counts the bytes written to the output, for throughput reporting.
+     */
+    private static final class CountingOutputStream
+        extends FilterOutputStream
+    {
+        long myCount;
+
+        CountingOutputStream(OutputStream out)
+        {
+            super(out);
+        }
+
+        @Override
+        public void write(int b)
+            throws IOException
+        {
+            out.write(b);
+            myCount++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len)
+            throws IOException
+        {
+            out.write(b, off, len);
+            myCount += len;
+        }
+    }
+
+
+    /**
+     * Counts the bytes read from an input, for throughput reporting.
+     */
+    private static final class CountingInputStream
+        extends FilterInputStream
+    {
+        long myCount;
+
+        CountingInputStream(InputStream in)
+        {
+            super(in);
+        }
+
+        @Override
+        public int read()
+            throws IOException
+        {
+            int b = in.read();
+            if (b != -1) myCount++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len)
+            throws IOException
+        {
+            int count = in.read(b, off, len);
+            if (count > 0) myCount += count;
+            return count;
+        }
+
+        @Override
+        public long skip(long n)
+            throws IOException
+        {
+            long count = in.skip(n);
+            myCount += count;
+            return count;
+        }
+    }
+
+
+    /**
+     * Tracks the symbol table in effect as the calling thread reads values
+     * from its buffer, as a prefix that gives a chunk of the buffer the same
+     * symbol table when it's read on its own.
+     */
+    private final class SymbolContext
+    {
+        private final boolean myBinary;
+        private SymbolTable   mySymbols;
+        private byte[]        myPrefix;
+
+        SymbolContext(boolean binary)
+        {
+            myBinary = binary;
+            myPrefix = (binary ? BINARY_VERSION_MARKER : EMPTY_PREFIX);
+        }
+
+        /**
+         * Gets the prefix for the value last passed to
+         * {@link #prefixFor(SymbolTable, byte[], int, int)}, or for the start
+         * of the buffer if there's none.
+         */
+        byte[] getPrefix()
+        {
+            return myPrefix;
+        }
+
+        /**
+         * Gets the prefix for a value in the buffer. Must be called for
+         * each value in turn.
+         *
+         * @param symbols the symbol table of the value.
+         * @param gapStart where the value before it ends, or where the
+         * buffer's prefix ends if it's the first. Only used for binary,
+         * where the bytes from there to the value hold the system values
+         * that may have changed the symbol table.
+         * @param valueStart where the value starts.
+         */
+        byte[] prefixFor(SymbolTable symbols, byte[] buffer,
+                         int gapStart, int valueStart)
+            throws IOException
+        {
+            if (symbols == mySymbols) return myPrefix;
+            mySymbols = symbols;
+
+            if (myBinary)
+            {
+                // Otherwise the table is the one read from the prefix.
+                int gapLength = valueStart - gapStart;
+                if (gapLength > 0)
+                {
+                    // Binary tables are copied rather than re-encoded, since
+                    // the binary writer drops duplicate symbols and so would
+                    // change the IDs that the values use.
+                    int ivmLength = BINARY_VERSION_MARKER.length;
+                    byte[] gap = new byte[ivmLength + gapLength + 1];
+                    System.arraycopy(BINARY_VERSION_MARKER, 0, gap, 0,
+                                     ivmLength);
+                    System.arraycopy(buffer, gapStart, gap, ivmLength,
+                                     gapLength);
+                    gap[gap.length - 1] = BINARY_NULL;
+
+                    int prefixLength = myPrefix.length;
+                    if (sameSymbols(symbols, symbolsBefore(gap)))
+                    {
+                        // The system values define the table from scratch.
+                        myPrefix = new byte[ivmLength + gapLength];
+                        System.arraycopy(gap, 0, myPrefix, 0,
+                                         myPrefix.length);
+                    }
+                    else
+                    {
+                        // They append to the table, so follow the prefix.
+                        byte[] prefix = new byte[prefixLength + gapLength];
+                        System.arraycopy(myPrefix, 0, prefix, 0,
+                                         prefixLength);
+                        System.arraycopy(buffer, gapStart, prefix,
+                                         prefixLength, gapLength);
+                        myPrefix = prefix;
+                    }
+                }
+            }
+            else if (symbols.isSystemTable())
+            {
+                myPrefix = EMPTY_PREFIX;
+            }
+            else
+            {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                IonWriter writer = IonTextWriterBuilder.standard()
+                                                       .withCatalog(myCatalog)
+                                                       .build(out);
+                symbols.writeTo(writer);
+                writer.close();
+                out.write('\n');
+                myPrefix = out.toByteArray();
+            }
+            return myPrefix;
+        }
+
+        /**
+         * @param data binary system values followed by a single null.
+         */
+        private SymbolTable symbolsBefore(byte[] data)
+        {
+            IonReader reader = myReaders.acquire(data);
+            try
+            {
+                reader.next();
+                return reader.getSymbolTable();
+            }
+            finally
+            {
+                myReaders.release(reader);
+            }
+        }
+    }
+
+
+    /**
+     * Encodes a chunk of the input.
+     */
+    private final class EncodeTask
+        implements Callable<byte[]>
+    {
+        private final byte[] myChunk;
+
+        EncodeTask(byte[] chunk)
+        {
+            myChunk = chunk;
+        }
+
+        public byte[] call()
+            throws IOException
+        {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            IonReader reader = myReaders.acquire(myChunk);
+            try
+            {
+                IonWriter writer = newWriter(out);
+                writer.writeValues(reader);
+                finishWriter(writer, out);
+            }
+            finally
+            {
+                myReaders.release(reader);
+            }
+            return out.toByteArray();
+        }
+    }
+
+
+    /**
+     * Appends encoded batches to the output in the order they're queued,
+     * until it takes {@link #END_OF_BATCHES}. After a failure, the remaining
+     * batches are discarded so that the reading thread never blocks.
+     */
+    private final class WriteTask
+        implements Callable<Void>
+    {
+        private final BlockingQueue<Future<byte[]>> myBatches;
+        private volatile Exception                  myFailure;
+
+        WriteTask(BlockingQueue<Future<byte[]>> batches)
+        {
+            myBatches = batches;
+        }
+
+        boolean hasFailed()
+        {
+            return myFailure != null;
+        }
+
+        public Void call()
+            throws Exception
+        {
+            while (true)
+            {
+                Future<byte[]> batch = myBatches.take();
+                if (batch == END_OF_BATCHES) break;
+
+                if (myFailure != null)
+                {
+                    batch.cancel(false);
+                    continue;
+                }
+                try
+                {
+                    myOut.write(batch.get());
+                }
+                catch (ExecutionException e)
+                {
+                    Throwable cause = e.getCause();
+                    myFailure = (cause instanceof Exception
+                                     ? (Exception) cause
+                                     : new IonException(cause));
+                }
+                catch (IOException e)
+                {
+                    myFailure = e;
+                }
+            }
+
+            if (myFailure != null) throw myFailure;
+            return null;
+        }
+    }
+
+
+    //=========================================================================
+
+    /**
+     *
+     * @param args
+     * @return the next index to process
+     */
+    @Override
+    protected int processOptions(String[] args)
+    {
+        for (int i = 0; i < args.length; i++)
+        {
+            String arg = args[i];
+            if ("--catalog".equals(arg))
+            {
+                String symtabPath = args[++i];
+                loadCatalog(symtabPath);
+            }
+            else if ("--output".equals(arg))
+            {
+                myOutputFile = args[++i];
+            }
+            else if ("--format".equals(arg))
+            {
+                myFormat = args[++i];
+                if (! "binary".equals(myFormat)
+                    && ! "text".equals(myFormat)
+                    && ! "pretty".equals(myFormat)
+                    && ! "json".equals(myFormat))
+                {
+                    throw new RuntimeException("Unknown format: " + myFormat
+                        + " (expected binary, text, pretty, or json)");
+                }
+            }
+            else if ("--threads".equals(arg))
+            {
+                myThreadCount = parsePositive(arg, args[++i]);
+            }
+            else if ("--batch-size".equals(arg))
+            {
+                myBatchSize = parsePositive(arg, args[++i]);
+            }
+            else if ("--buffer-limit".equals(arg))
+            {
+                int megabytes = parsePositive(arg, args[++i]);
+                if (megabytes > MAX_BUFFER_LIMIT_MB)
+                {
+                    throw new RuntimeException(arg + " must be at most "
+                                               + MAX_BUFFER_LIMIT_MB + ": "
+                                               + megabytes);
+                }
+                myBufferLimit = megabytes << 20;
+            }
+            else
+            {
+                // this arg is not an option, we're done here
+                return i;
+            }
+        }
+
+        return args.length;
+    }
+
+    private static int parsePositive(String option, String value)
+    {
+        int result;
+        try
+        {
+            result = Integer.parseInt(value);
+        }
+        catch (NumberFormatException e)
+        {
+            result = 0;
+        }
+        if (result < 1)
+        {
+            throw new RuntimeException(option + " must be a positive integer: "
+                                       + value);
+        }
+        return result;
+    }
+
+
+    @Override
+    protected void processFiles(String[] filePaths)
+    {
+        myReaders = IonReaderBuilder.standard()
+                                    .withCatalog(myCatalog)
+                                    .buildPool(myThreadCount + 1);
+        if ("binary".equals(myFormat))
+        {
+            myBinaryWriters = IonBinaryWriterBuilder.standard()
+                                                    .withCatalog(myCatalog)
+                                                    .withStreamCopyOptimized(true)
+                                                    .buildPool(myThreadCount);
+        }
+        else if ("json".equals(myFormat))
+        {
+            myTextWriterBuilder = IonTextWriterBuilder.json().immutable();
+        }
+        else if ("pretty".equals(myFormat))
+        {
+            myTextWriterBuilder = IonTextWriterBuilder.pretty().immutable();
+        }
+        else
+        {
+            myTextWriterBuilder = IonTextWriterBuilder.standard().immutable();
+        }
+
+        myEncoders = Executors.newFixedThreadPool(myThreadCount);
+        myWriter   = Executors.newSingleThreadExecutor();
+        try
+        {
+            OutputStream out = (myOutputFile == null
+                                    ? System.out
+                                    : new FileOutputStream(myOutputFile));
+            myOut = new CountingOutputStream(out);
+            try
+            {
+                super.processFiles(filePaths);
+            }
+            finally
+            {
+                if (myOutputFile == null)
+                {
+                    myOut.flush();
+                }
+                else
+                {
+                    myOut.close();
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            System.err.println("An error occurred while writing the output");
+            System.err.println(e.getMessage());
+        }
+        finally
+        {
+            myEncoders.shutdownNow();
+            myWriter.shutdownNow();
+            try
+            {
+                myReaders.close();
+                if (myBinaryWriters != null)
+                {
+                    myBinaryWriters.close();
+                }
+            }
+            catch (IOException e)
+            {
+                // Only idle readers and writers remain, which hold no data.
+            }
+        }
+    }
+
+    @Override
+    protected void processStdIn()
+    {
+        try
+        {
+            transcode("stdin", System.in);
+        }
+        catch (IonException e)
+        {
+            System.err.println("An error occurred while processing stdin");
+            System.err.println(e.getMessage());
+        }
+        catch (IOException e)
+        {
+            System.err.println("An error occurred while processing stdin");
+            System.err.println(e.getMessage());
+        }
+    }
+
+    @Override
+    protected void process(File file)
+        throws IOException, IonException
+    {
+        InputStream in = new FileInputStream(file);
+        try
+        {
+            transcode(file.getPath(), in);
+        }
+        finally
+        {
+            in.close();
+        }
+    }
+
+
+    protected void transcode(String inputName, InputStream in)
+        throws IOException, IonException
+    {
+        long start = System.nanoTime();
+        long outputStart = myOut.myCount;
+
+        CountingInputStream counted = new CountingInputStream(in);
+        long valueCount = transcodeInParallel(IonStreamUtils.unGzip(counted));
+        myOut.flush();
+
+        long nanos = System.nanoTime() - start;
+        report(inputName, valueCount, counted.myCount,
+               myOut.myCount - outputStart, nanos);
+    }
+
+    private long transcodeInParallel(InputStream in)
+        throws IOException, IonException
+    {
+        // Enough batches queue up to keep every encoder busy while the
+        // writer waits on the oldest, without buffering the whole output.
+        BlockingQueue<Future<byte[]>> batches =
+            new ArrayBlockingQueue<Future<byte[]>>(2 * myThreadCount + 1);
+        WriteTask writeTask = new WriteTask(batches);
+        Future<Void> written = myWriter.submit(writeTask);
+
+        long valueCount;
+        boolean ended = false;
+        try
+        {
+            valueCount = readBatches(in, batches, writeTask);
+            batches.put(END_OF_BATCHES);
+            ended = true;
+
+            written.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IonException(e);
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof IonException) throw (IonException) cause;
+            throw new IonException(cause);
+        }
+        finally
+        {
+            if (! ended)
+            {
+                // Free the writer thread for the next input.
+                written.cancel(true);
+            }
+        }
+        return valueCount;
+    }
+
+    /**
+     * Reads the input a buffer at a time, queueing a chunk for each batch of
+     * values, until the input ends or the writer thread fails.
+     *
+     * @return the number of values queued.
+     */
+    private long readBatches(InputStream in,
+                             BlockingQueue<Future<byte[]>> batches,
+                             WriteTask writeTask)
+        throws IOException, InterruptedException
+    {
+        byte[] buffer = new byte[myBufferLimit];
+        int length = fill(in, buffer, 0);
+        boolean ended = (length < buffer.length);
+        SymbolContext context =
+            new SymbolContext(IonStreamUtils.isIonBinary(buffer, 0, length));
+
+        // The bytes at the start of the buffer that give the values carried
+        // over from the previous buffer their symbol table.
+        int prefixLength = 0;
+
+        long valueCount = 0;
+        while (true)
+        {
+            // Where the value that may be incomplete starts.
+            int carryStart;
+
+            IonReader reader = myReaders.acquire(buffer, 0, length);
+            try
+            {
+                SpanProvider spans = reader.asFacet(SpanProvider.class);
+                int    batchStart  = 0;
+                byte[] batchPrefix = null;
+                int    batchCount  = 0;
+                int    lastStart   = -1;
+                int    lastEnd     = prefixLength;
+                boolean complete   = false;
+                while (! writeTask.hasFailed())
+                {
+                    try
+                    {
+                        if (reader.next() == null)
+                        {
+                            complete = ended;
+                            break;
+                        }
+                    }
+                    catch (IonException e)
+                    {
+                        // Unless the input has ended, the last value may
+                        // just be cut off by the end of the buffer.
+                        if (ended) throw e;
+                        break;
+                    }
+
+                    OffsetSpan span = (OffsetSpan) spans.currentSpan();
+                    int start = (int) span.getStartOffset();
+                    byte[] prefix = context.prefixFor(reader.getSymbolTable(),
+                                                      buffer, lastEnd, start);
+                    if (batchCount == myBatchSize)
+                    {
+                        // The batch ends where the next value starts, taking
+                        // any system values between them along.
+                        queue(batches, batchPrefix, buffer, batchStart, start);
+                        valueCount += batchCount;
+                        batchCount = 0;
+                    }
+                    if (batchCount == 0)
+                    {
+                        batchStart  = start;
+                        batchPrefix = prefix;
+                    }
+                    batchCount++;
+                    lastStart = start;
+                    lastEnd   = (int) span.getFinishOffset();
+                }
+
+                if (writeTask.hasFailed()) return valueCount;
+
+                if (complete)
+                {
+                    if (batchCount > 0)
+                    {
+                        queue(batches, batchPrefix, buffer, batchStart, length);
+                        valueCount += batchCount;
+                    }
+                    return valueCount;
+                }
+
+                if (batchCount > 1)
+                {
+                    queue(batches, batchPrefix, buffer, batchStart, lastStart);
+                    valueCount += batchCount - 1;
+                }
+                carryStart = (lastStart < 0 ? prefixLength : lastStart);
+            }
+            finally
+            {
+                myReaders.release(reader);
+            }
+
+            byte[] prefix = context.getPrefix();
+            int carried = length - carryStart;
+            byte[] next = buffer;
+            if (prefix.length + carried > buffer.length / 2
+                && buffer.length < MAX_BUFFER_LENGTH)
+            {
+                // Leave at least as much room for new input as is carried.
+                next = new byte[(int) Math.min(2L * buffer.length,
+                                               MAX_BUFFER_LENGTH)];
+            }
+            else if (prefix.length + carried >= buffer.length)
+            {
+                throw new IonException("A top-level value is too large to "
+                                       + "buffer");
+            }
+            System.arraycopy(buffer, carryStart, next, prefix.length, carried);
+            System.arraycopy(prefix, 0, next, 0, prefix.length);
+            buffer = next;
+            prefixLength = prefix.length;
+
+            length = fill(in, buffer, prefixLength + carried);
+            ended = (length < buffer.length);
+        }
+    }
+
+    /**
+     * Reads into the buffer until it's full or the input ends.
+     *
+     * @param length the number of bytes already in the buffer.
+     *
+     * @return the number of bytes in the buffer.
+     */
+    private static int fill(InputStream in, byte[] buffer, int length)
+        throws IOException
+    {
+        int count;
+        while (length < buffer.length
+               && (count = in.read(buffer, length, buffer.length - length)) != -1)
+        {
+            length += count;
+        }
+        return length;
+    }
+
+    /**
+     * Copies a batch of values from the buffer into a chunk, after the
+     * prefix that gives it their symbol table, and queues its encoding.
+     */
+    private void queue(BlockingQueue<Future<byte[]>> batches, byte[] prefix,
+                       byte[] buffer, int start, int end)
+        throws InterruptedException
+    {
+        byte[] chunk = new byte[prefix.length + end - start];
+        System.arraycopy(prefix, 0, chunk, 0, prefix.length);
+        System.arraycopy(buffer, start, chunk, prefix.length, end - start);
+        batches.put(myEncoders.submit(new EncodeTask(chunk)));
+    }
+
+    private static boolean sameSymbols(SymbolTable a, SymbolTable b)
+    {
+        if (a.getMaxId() != b.getMaxId()) return false;
+
+        SymbolTable[] aImports = a.getImportedTables();
+        SymbolTable[] bImports = b.getImportedTables();
+        if (aImports.length != bImports.length) return false;
+        for (int i = 0; i < aImports.length; i++)
+        {
+            if (! aImports[i].getName().equals(bImports[i].getName())
+                || aImports[i].getVersion() != bImports[i].getVersion()
+                || aImports[i].getMaxId() != bImports[i].getMaxId())
+            {
+                return false;
+            }
+        }
+
+        Iterator<String> aSymbols = a.iterateDeclaredSymbolNames();
+        Iterator<String> bSymbols = b.iterateDeclaredSymbolNames();
+        while (aSymbols.hasNext())
+        {
+            if (! bSymbols.hasNext()) return false;
+            String aText = aSymbols.next();
+            String bText = bSymbols.next();
+            if (aText == null ? bText != null : ! aText.equals(bText))
+            {
+                return false;
+            }
+        }
+        return ! bSymbols.hasNext();
+    }
+
+
+    private IonWriter newWriter(OutputStream out)
+    {
+        if (myBinaryWriters != null)
+        {
+            return myBinaryWriters.acquire(out);
+        }
+        return myTextWriterBuilder.build(out);
+    }
+
+    /**
+     * Completes a batch of output so that it can be followed by another.
+     */
+    private void finishWriter(IonWriter writer, OutputStream out)
+        throws IOException
+    {
+        if (myBinaryWriters != null)
+        {
+            myBinaryWriters.release(writer);
+        }
+        else
+        {
+            writer.close();
+
+            // Keep the last value of a batch apart from the first of the next.
+            out.write('\n');
+        }
+    }
+
+
+    private static void report(String inputName, long valueCount,
+                               long inputSize, long outputSize, long nanos)
+    {
+        double seconds = Math.max(nanos, 1) / 1e9;
+        System.err.println(inputName + ": "
+                           + valueCount + " values, "
+                           + inputSize + " bytes in, "
+                           + outputSize + " bytes out in "
+                           + String.format("%.3f", seconds) + " s ("
+                           + String.format("%.1f", inputSize / seconds / 1e6)
+                           + " MB/s, "
+                           + String.format("%.0f", valueCount / seconds)
+                           + " values/s)");
+    }
+}
@@ -136,6 +136,131 @@ final class Base64Encoder
 
     private Base64Encoder() {}
 
+
+    /*********************************************************************
+     *
+     * Block codec, converts whole arrays in tight loops rather than
+     *              through the character at a time streams below
+     */
+
+    /**
+     * @return the number of characters needed to encode {@code len} bytes,
+     *  including padding.
+     */
+    final static int encodedLength(int len)
+    {
+        return ((len + 2) / 3) * 4;
+    }
+
+    /**
+     * Encodes {@code len} bytes of {@code src} starting at {@code offset}
+     * into {@code dst}, three bytes to four characters, padding the final
+     * group if it's short.  {@code dst} must have room for
+     * {@link #encodedLength(int)} characters.
+     *
+     * @return the number of characters written.
+     */
+    final static int encode(byte[] src, int offset, int len,
+                            char[] dst, int dstOffset)
+    {
+        final int[] bintochar = Base64EncodingIntToChar;
+        int pos = offset;
+        int end = offset + len;
+        int full_end = end - (len % 3);
+        int out = dstOffset;
+
+        while (pos < full_end) {
+            int convert = ((src[pos] & 0xFF) << 16)
+                        | ((src[pos + 1] & 0xFF) << 8)
+                        |  (src[pos + 2] & 0xFF);
+            pos += 3;
+            dst[out++] = (char) bintochar[(convert >> 18) & 0x3F];
+            dst[out++] = (char) bintochar[(convert >> 12) & 0x3F];
+            dst[out++] = (char) bintochar[(convert >>  6) & 0x3F];
+            dst[out++] = (char) bintochar[ convert        & 0x3F];
+        }
+
+        if (pos < end) {
+            int convert = (src[pos] & 0xFF) << 16;
+            if (pos + 1 < end) {
+                convert |= (src[pos + 1] & 0xFF) << 8;
+            }
+            dst[out++] = (char) bintochar[(convert >> 18) & 0x3F];
+            dst[out++] = (char) bintochar[(convert >> 12) & 0x3F];
+            dst[out++] = (pos + 1 < end)
+                       ? (char) bintochar[(convert >> 6) & 0x3F]
+                       : Base64EncodingTerminator;
+            dst[out++] = Base64EncodingTerminator;
+        }
+        return out - dstOffset;
+    }
+
+    /**
+     * Decodes the complete four character groups found in
+     * {@code src[pos..limit)} into {@code dst}, stopping at the first group
+     * that isn't made of four base64 digits (whitespace, padding, or
+     * anything else is left for the caller) or when {@code dstLen} has
+     * less than three bytes of room left.
+     *
+     * @return the number of bytes written; the caller consumed four
+     *  characters for every three bytes.
+     */
+    final static int decodeGroups(byte[] src, int pos, int limit,
+                                  byte[] dst, int dstOffset, int dstLen)
+    {
+        final int[] chartobin = Base64EncodingCharToInt;
+        int out = dstOffset;
+        int out_limit = dstOffset + dstLen - 2;
+        while (pos + 3 < limit && out < out_limit) {
+            int b1 = chartobin[src[pos]     & 0xFF];
+            int b2 = chartobin[src[pos + 1] & 0xFF];
+            int b3 = chartobin[src[pos + 2] & 0xFF];
+            int b4 = chartobin[src[pos + 3] & 0xFF];
+            // invalid characters are -1, which turns the sign bit on
+            if ((b1 | b2 | b3 | b4) < 0) {
+                break;
+            }
+            int convert = (b1 << 18) | (b2 << 12) | (b3 << 6) | b4;
+            dst[out++] = (byte) (convert >> 16);
+            dst[out++] = (byte) (convert >> 8);
+            dst[out++] = (byte)  convert;
+            pos += 4;
+        }
+        return out - dstOffset;
+    }
+
+    /**
+     * The same as {@link #decodeGroups(byte[], int, int, byte[], int, int)}
+     * for character input.
+     */
+    final static int decodeGroups(char[] src, int pos, int limit,
+                                  byte[] dst, int dstOffset, int dstLen)
+    {
+        final int[] chartobin = Base64EncodingCharToInt;
+        int out = dstOffset;
+        int out_limit = dstOffset + dstLen - 2;
+        while (pos + 3 < limit && out < out_limit) {
+            int c1 = src[pos], c2 = src[pos + 1];
+            int c3 = src[pos + 2], c4 = src[pos + 3];
+            if ((c1 | c2 | c3 | c4) > 0xFF) {
+                break;
+            }
+            int b1 = chartobin[c1];
+            int b2 = chartobin[c2];
+            int b3 = chartobin[c3];
+            int b4 = chartobin[c4];
+            if ((b1 | b2 | b3 | b4) < 0) {
+                break;
+            }
+            int convert = (b1 << 18) | (b2 << 12) | (b3 << 6) | b4;
+            dst[out++] = (byte) (convert >> 16);
+            dst[out++] = (byte) (convert >> 8);
+            dst[out++] = (byte)  convert;
+            pos += 4;
+        }
+        return out - dstOffset;
+    }
+
     /*********************************************************************
      *
      * BinaryStream, reads a text input and decodes the printable characters
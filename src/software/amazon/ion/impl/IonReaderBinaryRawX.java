@@ -17,6 +17,7 @@ package software.amazon.ion.impl;
 import static software.amazon.ion.SystemSymbols.ION_1_0_SID;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
@@ -24,6 +25,7 @@ import software.amazon.ion.Decimal;
 import software.amazon.ion.IonException;
 import software.amazon.ion.IonReader;
 import software.amazon.ion.IonType;
+import software.amazon.ion.LobStreamProvider;
 import software.amazon.ion.SymbolTable;
 import software.amazon.ion.Timestamp;
 import software.amazon.ion.Timestamp.Precision;
@@ -79,6 +81,8 @@ abstract class IonReaderBinaryRawX
     int                 _value_len;
     int                 _value_lob_remaining;
     boolean             _value_lob_is_ready;
+    LobInputStream      _value_lob_stream;
+    int                 _value_lob_streamed;
 
     long                _position_start;
     long                _position_len;
@@ -98,11 +102,12 @@ abstract class IonReaderBinaryRawX
     protected IonReaderBinaryRawX() {
     }
 
-    /**
-     * @return This implementation always returns null.
-     */
     public <T> T asFacet(Class<T> facetType)
     {
+        if (facetType == LobStreamProvider.class)
+        {
+            return facetType.cast(new LobStreamProviderFacet());
+        }
         return null;
     }
 
@@ -118,6 +123,16 @@ abstract class IonReaderBinaryRawX
         _position_start = -1;
     }
 
+    /**
+     * Resets this reader to the start of its input, which has just been
+     * re-pointed at new data.
+     */
+    final void reset_raw() {
+        _annotations.clear();
+        re_init_raw();
+        _position_start = -1;
+    }
+
     final void re_init_raw() {
         _local_remaining = NO_LIMIT;
         _parent_tid = PrivateIonConstants.tidDATAGRAM;
@@ -133,6 +148,8 @@ abstract class IonReaderBinaryRawX
         _value_len = 0;
         _value_lob_remaining = 0;
         _value_lob_is_ready = false;
+        _value_lob_stream = null;
+        _value_lob_streamed = 0;
 
         _annotation_count = 0;
 
@@ -298,7 +315,7 @@ abstract class IonReaderBinaryRawX
                 }
                 break;
             case S_BEFORE_VALUE:
-                skip(_value_len);
+                skip(_value_len - _value_lob_streamed);
                 // fall through to "after value"
             case S_AFTER_VALUE:
                 if (isInStruct()) {
@@ -426,6 +443,7 @@ abstract class IonReaderBinaryRawX
         _value_tid  = -1;
         _value_is_null = false;
         _value_lob_is_ready = false;
+        _value_lob_stream = null;
         _annotations.clear();
         _v.clear();
         _annotation_count = 0;
@@ -502,6 +520,7 @@ abstract class IonReaderBinaryRawX
         }
         _value_tid = tid;
         _value_len = len;
+        _value_lob_streamed = 0;
         _position_len = len + (start_of_value - start_of_tid);
         _position_start = start_of_tid;
         return tid;
@@ -693,6 +712,7 @@ abstract class IonReaderBinaryRawX
     public int getBytes(byte[] buffer, int offset, int len)
     {
         int value_len = byteSize(); // again validation
+        checkLobNotStreamed();
         if (value_len > len) {
             value_len = len;
         }
@@ -705,6 +725,7 @@ abstract class IonReaderBinaryRawX
             throw new IllegalArgumentException();
         }
         int value_len = byteSize(); // again validation
+        checkLobNotStreamed();
         if (_value_lob_remaining > len) {
             len = _value_lob_remaining;
         }
@@ -728,6 +749,105 @@ abstract class IonReaderBinaryRawX
         }
         return read_len;
     }
+    /**
+     * The bytes a stream has read can't be read again, so once a stream
+     * has started on the lob the other accessors would return the wrong
+     * content.
+     */
+    private final void checkLobNotStreamed()
+    {
+        if (_value_lob_streamed > 0) {
+            throw new IllegalStateException("the lob has already been read through a stream");
+        }
+    }
+    /**
+     * Reads up to {@code len} more bytes of the current lob, leaving the
+     * reader positioned to skip whatever remains unread.  The count of
+     * bytes read is kept apart from the value's length so that
+     * {@link #byteSize()} is unaffected.
+     *
+     * @return the number of bytes read, or -1 once the lob is exhausted.
+     */
+    private final int readLobChunk(byte[] buffer, int offset, int len)
+    {
+        int remaining = byteSize() - _value_lob_streamed;
+        if (remaining == 0) {
+            return -1;
+        }
+        if (len > remaining) {
+            len = remaining;
+        }
+        int read_len = 0;
+        try {
+            read_len = read(buffer, offset, len);
+            if (read_len < 1 && len > 0) {
+                throwUnexpectedEOFException();
+            }
+        }
+        catch (IOException e) {
+            error(e);
+        }
+        _value_lob_streamed += read_len;
+        if (read_len == remaining) {
+            _state = State.S_AFTER_VALUE;
+        }
+        return read_len;
+    }
+
+    private final class LobStreamProviderFacet
+        implements LobStreamProvider
+    {
+        public InputStream newInputStream()
+        {
+            byteSize(); // validation
+            if (_value_is_null) {
+                return null;
+            }
+            _value_lob_stream = new LobInputStream();
+            return _value_lob_stream;
+        }
+    }
+
+    /**
+     * Reads the current lob straight from the input, so only the bytes the
+     * caller asks for are ever copied.
+     */
+    private final class LobInputStream
+        extends InputStream
+    {
+        private final byte[] _single_byte = new byte[1];
+
+        private void checkCurrent()
+        {
+            if (_value_lob_stream != this) {
+                throw new IllegalStateException("the reader has moved off this stream's lob");
+            }
+        }
+
+        @Override
+        public int read()
+        {
+            return (read(_single_byte, 0, 1) < 0) ? -1 : (_single_byte[0] & 0xff);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len)
+        {
+            checkCurrent();
+            if (len == 0) {
+                return 0;
+            }
+            return readLobChunk(b, off, len);
+        }
+
+        @Override
+        public int available()
+        {
+            checkCurrent();
+            return byteSize() - _value_lob_streamed;
+        }
+    }
+
     public int getDepth()
     {
         return (_container_top / POS_STACK_STEP);
@@ -32,6 +32,9 @@ import software.amazon.ion.Timestamp;
 import software.amazon.ion.UnknownSymbolException;
 import software.amazon.ion.impl.PrivateScalarConversions.AS_TYPE;
 import software.amazon.ion.impl.PrivateScalarConversions.ValueVariant;
+import software.amazon.ion.impl.UnifiedInputStreamX.FromByteArray;
+import software.amazon.ion.util.IonStreamUtils.DoubleList;
+import software.amazon.ion.util.IonStreamUtils.LongList;
 
 class IonReaderBinarySystemX
     extends IonReaderBinaryRawX
@@ -493,4 +496,157 @@ class IonReaderBinarySystemX
     private void throwIllegalNegativeZeroException() {
         throw newErrorAt("negative zero is illegal in the binary format");
     }
+
+
+    @Override
+    public <T> T asFacet(Class<T> facetType)
+    {
+        if (facetType == PrivateListReader.class
+            && _input instanceof FromByteArray)
+        {
+            return facetType.cast(new ListReaderFacet());
+        }
+        return super.asFacet(facetType);
+    }
+
+
+    private class ListReaderFacet
+        implements PrivateListReader
+    {
+        public boolean readIntList(LongList values)
+        {
+            int start = values.size();
+            if (!decode_number_list(values, null)) {
+                values.truncate(start);
+                return false;
+            }
+            stepIn();
+            stepOut();
+            return true;
+        }
+
+        public boolean readFloatList(DoubleList values)
+        {
+            int start = values.size();
+            if (!decode_number_list(null, values)) {
+                values.truncate(start);
+                return false;
+            }
+            stepIn();
+            stepOut();
+            return true;
+        }
+    }
+
+    /**
+     * Decodes the numbers within the current list or sexp straight from the
+     * input buffer, without moving the reader, appending them to whichever
+     * buffer is given.
+     *
+     * @return false if a value isn't a number of the right kind, or isn't
+     * encoded the usual way, in which case the values must be read one by
+     * one. Either way, the buffer may have been appended to.
+     */
+    private boolean decode_number_list(LongList longs, DoubleList doubles)
+    {
+        if (_value_is_null || _state != State.S_BEFORE_VALUE) {
+            return false;
+        }
+
+        FromByteArray input = (FromByteArray) _input;
+        byte[] bytes = input._bytes;
+        int    pos   = input._pos;
+        int    end   = pos + _value_len;
+        if (end > input._limit) {
+            return false;
+        }
+
+        while (pos < end) {
+            int td  = bytes[pos++] & 0xff;
+            int tid = PrivateIonConstants.getTypeCode(td);
+            int len = PrivateIonConstants.getLowNibble(td);
+
+            if (len == PrivateIonConstants.lnIsNull) {
+                return false;
+            }
+            if (len == PrivateIonConstants.lnIsVarLen) {
+                len = 0;
+                int b;
+                do {
+                    if (pos >= end || len > (Integer.MAX_VALUE >> 7)) {
+                        return false;
+                    }
+                    b = bytes[pos++] & 0xff;
+                    len = (len << 7) | (b & 0x7f);
+                } while ((b & 0x80) == 0);
+            }
+            if (len > end - pos) {
+                return false;
+            }
+
+            switch (tid) {
+            case PrivateIonConstants.tidNull:
+                // NOP padding
+                pos += len;
+                break;
+            case PrivateIonConstants.tidPosInt:
+            case PrivateIonConstants.tidNegInt: {
+                if (len > 8) {
+                    return false;
+                }
+                long magnitude = 0;
+                for (int stop = pos + len; pos < stop; pos++) {
+                    magnitude = (magnitude << 8) | (bytes[pos] & 0xff);
+                }
+                long value;
+                if (tid == PrivateIonConstants.tidPosInt) {
+                    if (magnitude < 0) {
+                        return false;
+                    }
+                    value = magnitude;
+                }
+                else {
+                    // Long.MIN_VALUE is its own negation.
+                    if (magnitude == 0
+                        || (magnitude < 0 && magnitude != Long.MIN_VALUE)) {
+                        return false;
+                    }
+                    value = -magnitude;
+                }
+                if (longs != null) {
+                    longs.add(value);
+                }
+                else {
+                    doubles.add(value);
+                }
+                break;
+            }
+            case PrivateIonConstants.tidFloat: {
+                if (doubles == null) {
+                    return false;
+                }
+                long bits = 0;
+                for (int stop = pos + len; pos < stop; pos++) {
+                    bits = (bits << 8) | (bytes[pos] & 0xff);
+                }
+                if (len == 8) {
+                    doubles.add(Double.longBitsToDouble(bits));
+                }
+                else if (len == 4) {
+                    doubles.add(Float.intBitsToFloat((int) bits));
+                }
+                else if (len == 0) {
+                    doubles.add(0d);
+                }
+                else {
+                    return false;
+                }
+                break;
+            }
+            default:
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -30,6 +30,7 @@ import software.amazon.ion.UnknownSymbolException;
 import software.amazon.ion.impl.PrivateScalarConversions.AS_TYPE;
 import software.amazon.ion.impl.UnifiedInputStreamX.FromByteArray;
 import software.amazon.ion.impl.UnifiedSavePointManagerX.SavePoint;
+import software.amazon.ion.system.IonMetricsListener;
 
 final class IonReaderBinaryUserX
     extends IonReaderBinarySystemX
@@ -40,9 +41,20 @@ final class IonReaderBinaryUserX
      * It must be subtracted from the logical offsets exposed by
      * {@link OffsetSpan}s.
      */
-    private final int _physical_start_offset;
+    private int _physical_start_offset;
     private final PrivateLocalSymbolTableFactory _lstFactory;
 
+    /**
+     * Shares parsed local symtabs with other readers; null if disabled.
+     */
+    private PrivateLocalSymbolTableCache _lstCache;
+
+    /**
+     * Notified of the values and symtabs read; null if disabled.
+     */
+    private IonMetricsListener _metrics;
+    private boolean _metrics_end_reported;
+
     IonCatalog  _catalog;
 
     private static final class IonReaderBinarySpan
@@ -75,6 +87,39 @@ final class IonReaderBinaryUserX
         _lstFactory = lstFactory;
     }
 
+    /**
+     * Enables sharing local symbol tables through the given cache.
+     * Should be called before the first call to {@link #next()}.
+     */
+    final void setLocalSymbolTableCache(PrivateLocalSymbolTableCache cache)
+    {
+        _lstCache = cache;
+    }
+
+    /**
+     * Reports the work of this reader to the given listener.
+     * Should be called before the first call to {@link #next()}.
+     */
+    final void setMetricsListener(IonMetricsListener metrics)
+    {
+        _metrics = metrics;
+    }
+
+    /**
+     * Re-points this reader at a new range of bytes, as if newly made over
+     * them, keeping its buffers, catalog and local symtab cache.
+     * The reader must have been made over a byte array, and the new data
+     * must be empty or start with the binary version marker.
+     */
+    final void reset(byte[] bytes, int offset, int length)
+    {
+        ((FromByteArray)_input).reset(bytes, offset, length);
+        reset_raw();
+        _physical_start_offset = offset;
+        init_user(_catalog);
+        _metrics_end_reported = false;
+    }
+
     //FIXME: PERF_TEST was :private
     final void init_user(IonCatalog catalog)
     {
@@ -177,9 +222,23 @@ final class IonReaderBinaryUserX
             _has_next_needed = true;
             t = _value_type;
         }
+        if (_metrics != null) {
+            report_next(t);
+        }
         return t;
     }
 
+    private void report_next(IonType t)
+    {
+        if (t != null) {
+            _metrics.valueRead(t);
+        }
+        else if (getDepth() == 0 && !_metrics_end_reported) {
+            _metrics_end_reported = true;
+            _metrics.inputConsumed(_input.getPosition() - _physical_start_offset);
+        }
+    }
+
     @Override
     boolean hasNext()
     {
@@ -217,7 +276,12 @@ final class IonReaderBinaryUserX
             else if (_value_tid == PrivateIonConstants.tidStruct) {
                 int count = load_annotations();
                 if (count > 0 && _annotation_ids[0] == ION_SYMBOL_TABLE_SID) {
-                    _symbols = _lstFactory.newLocalSymtab(_catalog, this, false);
+                    if (_metrics == null) {
+                        _symbols = load_local_symbol_table();
+                    }
+                    else {
+                        _symbols = load_local_symbol_table_metered();
+                    }
                     push_symbol_table(_symbols);
                     _has_next_needed = true;
                 }
@@ -228,6 +292,42 @@ final class IonReaderBinaryUserX
         }
     }
 
+    /**
+     * Loads the local symtab with reporting suspended, since the symtab
+     * factory reads its fields through {@link #next()}.
+     */
+    private final SymbolTable load_local_symbol_table_metered()
+    {
+        IonMetricsListener metrics = _metrics;
+        _metrics = null;
+        long start = System.nanoTime();
+        SymbolTable symtab;
+        try {
+            symtab = load_local_symbol_table();
+        }
+        finally {
+            _metrics = metrics;
+        }
+        metrics.localSymbolTableRead(symtab, System.nanoTime() - start);
+        return symtab;
+    }
+
+    private final SymbolTable load_local_symbol_table()
+    {
+        // The encoding alone only determines the table when it can't
+        // append to a previous local table, and it must be in one array.
+        if (_lstCache != null
+            && !_symbols.isLocalTable()
+            && _input instanceof FromByteArray)
+        {
+            return _lstCache.findOrParse(_input._bytes,
+                                         (int) _position_start,
+                                         (int) _position_len,
+                                         _catalog, _lstFactory, this);
+        }
+        return _lstFactory.newLocalSymtab(_catalog, this, false);
+    }
+
     private void validateSymbolToken(SymbolToken symbol) {
         if (symbol != null) {
             if (symbol.getText() == null && symbol.getSid() > getSymbolTable().getMaxId()) {
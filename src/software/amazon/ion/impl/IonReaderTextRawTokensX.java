@@ -84,6 +84,11 @@ final class IonReaderTextRawTokensX
         }
     };
 
+    /** single line comment text that can be skipped without looking at it */
+    private static final int COMMENT_TEXT_CLASSES =
+        IonTokenConstsX.CC_STRING | IonTokenConstsX.CC_QUOTED_SYMBOL
+        | IonTokenConstsX.CC_WHITESPACE;
+
     static final int   BASE64_EOF = 128; // still a byte, not -1, none of the low 6 bits on
     static final int[] BASE64_CHAR_TO_BIN = Base64Encoder.Base64EncodingCharToInt;
     static final int   BASE64_TERMINATOR_CHAR = Base64Encoder.Base64EncodingTerminator;
@@ -97,6 +102,17 @@ final class IonReaderTextRawTokensX
     private boolean             _line_count_has_cached = false;
     private long                _line_count_cached;
     private long                _line_offset_cached;
+    /**
+     * When false, line terminators are still normalized but the line and
+     * column bookkeeping is skipped, and errors report stream offsets.
+     */
+    private boolean             _position_tracking_enabled = true;
+    /**
+     * When true only JSON is accepted: the tokenizer recognizes just the
+     * JSON punctuation, strings, numbers and keywords, without the lookahead
+     * Ion needs for annotations, sexps, lobs, timestamps and radix ints.
+     */
+    private boolean             _json_strict = false;
 
     /** number of base64 decoded bytes in the stack, used to decode base64 */
     private int                 _base64_prefetch_count;
@@ -106,6 +122,20 @@ final class IonReaderTextRawTokensX
      */
     private int                 _base64_prefetch_stack;
 
+    /**
+     * Numeric tokens loaded by {@link #load_number(StringBuilder)} have
+     * their digits accumulated here as they are scanned, so the reader can
+     * materialize int, decimal and float values without re-parsing the text.
+     * The accumulator is only trusted when no more than the radix's safe
+     * digit count were seen, anything larger falls back to the text.
+     */
+    private long                _numeric_accumulator;
+    private int                 _numeric_accumulated_digits;
+    private boolean             _numeric_value_loaded;
+    private boolean             _numeric_negative;
+    private long                _numeric_mantissa;
+    private int                 _numeric_scale;
+
 
     /**
      * IonTokenReader constructor requires a UnifiedInputStream
@@ -132,8 +162,13 @@ final class IonReaderTextRawTokensX
     }
 
     public int  getToken()      { return _token; }
-    public long getLineNumber() { return _line_count; }
+    public long getLineNumber() {
+        return _position_tracking_enabled ? _line_count : -1;
+    }
     public long getLineOffset() {
+        if (!_position_tracking_enabled) {
+            return -1;
+        }
         long stream_position = _stream.getPosition();
         long offset = stream_position - _line_starting_position;
         return offset;
@@ -147,7 +182,26 @@ final class IonReaderTextRawTokensX
         return is_buffered;
     }
 
+    final boolean isPositionTrackingEnabled() {
+        return _position_tracking_enabled;
+    }
+
+    final void setPositionTrackingEnabled(boolean enabled) {
+        _position_tracking_enabled = enabled;
+    }
+
+    final boolean isJsonStrict() {
+        return _json_strict;
+    }
+
+    final void setJsonStrict(boolean json_strict) {
+        _json_strict = json_strict;
+    }
+
     protected String input_position() {
+        if (!_position_tracking_enabled) {
+            return " at offset " + _stream.getPosition();
+        }
         String s = " at line "
                 + getLineNumber()
                 + " offset "
@@ -302,6 +356,10 @@ final class IonReaderTextRawTokensX
             throw new IllegalStateException();
         }
 
+        if (!_position_tracking_enabled) {
+            return c;
+        }
+
         // before we adjust the line count we save it so that
         // we can recover from a unread of a line terminator
         // note that we can only recover from a single line
@@ -601,6 +659,10 @@ final class IonReaderTextRawTokensX
 
     public final int nextToken() throws IOException
     {
+        if (_json_strict) {
+            return next_json_token();
+        }
+
         int t = -1;
         int c, c2;
 
@@ -716,6 +778,62 @@ final class IonReaderTextRawTokensX
         }
         throw new IonException("invalid state: next token switch shouldn't exit");
     }
+    /**
+     * The JSON subset of {@link #nextToken()}. Numbers are always returned
+     * as {@link IonTokenConstsX#TOKEN_UNKNOWN_NUMERIC} and typed when they
+     * are loaded, keywords as {@link IonTokenConstsX#TOKEN_SYMBOL_IDENTIFIER}
+     * for the parser to check.
+     */
+    private final int next_json_token() throws IOException
+    {
+        int c, c2;
+
+        if (_unfinished_token) {
+            c = skip_to_end(null);
+        }
+        else {
+            c = skip_over_whitespace();
+        }
+        _unfinished_token = true;
+
+        switch (c) {
+        case -1:
+            return next_token_finish(IonTokenConstsX.TOKEN_EOF, true);
+        case ':':
+            return next_token_finish(IonTokenConstsX.TOKEN_COLON, true);
+        case '{':
+            return next_token_finish(IonTokenConstsX.TOKEN_OPEN_BRACE, true);
+        case '}':
+            return next_token_finish(IonTokenConstsX.TOKEN_CLOSE_BRACE, false);
+        case '[':
+            return next_token_finish(IonTokenConstsX.TOKEN_OPEN_SQUARE, true);
+        case ']':
+            return next_token_finish(IonTokenConstsX.TOKEN_CLOSE_SQUARE, false);
+        case ',':
+            return next_token_finish(IonTokenConstsX.TOKEN_COMMA, false);
+        case '"':
+            return next_token_finish(IonTokenConstsX.TOKEN_STRING_DOUBLE_QUOTE, true);
+        case 'f': case 'n': case 't':
+            unread_char(c);
+            return next_token_finish(IonTokenConstsX.TOKEN_SYMBOL_IDENTIFIER, true);
+        case '0': case '1': case '2': case '3': case '4':
+        case '5': case '6': case '7': case '8': case '9':
+            unread_char(c);
+            return next_token_finish(IonTokenConstsX.TOKEN_UNKNOWN_NUMERIC, true);
+        case '-':
+            c2 = read_char();
+            unread_char(c2);
+            if (!IonTokenConstsX.isDigit(c2)) {
+                bad_token_start(c); // throws
+            }
+            unread_char(c);
+            return next_token_finish(IonTokenConstsX.TOKEN_UNKNOWN_NUMERIC, true);
+        default:
+            bad_token_start(c); // throws
+        }
+        throw new IonException("invalid state: next token switch shouldn't exit");
+    }
+
     private final int next_token_finish(int token, boolean content_is_waiting) {
         _token = token;
         _unfinished_token = content_is_waiting;
@@ -805,7 +923,10 @@ final class IonReaderTextRawTokensX
      */
     private final int skip_over_whitespace() throws IOException
     {
-        return skip_over_whitespace(CommentStrategy.IGNORE);
+        // JSON has no comments
+        return skip_over_whitespace(_json_strict
+                                    ? CommentStrategy.ERROR
+                                    : CommentStrategy.IGNORE);
     }
 
     /**
@@ -878,6 +999,9 @@ final class IonReaderTextRawTokensX
         int c;
 
         loop: for (;;) {
+            if (_stream.skipRun(IonTokenConstsX.CC_WHITESPACE) > 0) {
+                any_whitespace = true;
+            }
             c = read_char();
             switch (c) {
             case -1:
@@ -911,6 +1035,7 @@ final class IonReaderTextRawTokensX
     private final void skip_single_line_comment() throws IOException
     {
         for (;;) {
+            _stream.skipRun(COMMENT_TEXT_CLASSES);
             int c = read_char();
             switch (c) {
             // new line normalization and counting is handled in read_char
@@ -933,6 +1058,7 @@ final class IonReaderTextRawTokensX
     {
         int c;
         for (;;) {
+            _stream.skipRun(IonTokenConstsX.CC_BLOCK_COMMENT);
             c = this.read_char();
             switch (c) {
                 case '*':
@@ -1125,8 +1251,12 @@ final class IonReaderTextRawTokensX
         case CharacterSequence.CHAR_SEQ_ESCAPED_NEWLINE_SEQUENCE_3:
             isTerminator = true;
             break;
+        case -1:
+            isTerminator = true;
+            break;
         default:
-            isTerminator = IonTextUtils.isNumericStop(c);
+            isTerminator = (IonTokenConstsX.characterClass(c)
+                            & IonTokenConstsX.CC_NUMERIC_STOP) != 0;
             break;
         }
 
@@ -1169,6 +1299,7 @@ final class IonReaderTextRawTokensX
      */
     protected void load_raw_characters(StringBuilder sb) throws IOException
     {
+        _numeric_value_loaded = false;
         int c = read_char();
         for (;;) {
             c = read_char();
@@ -1530,6 +1661,10 @@ final class IonReaderTextRawTokensX
         boolean has_sign = false;
         int     t, c;
 
+        _numeric_value_loaded = false;
+        _numeric_accumulator = 0;
+        _numeric_accumulated_digits = 0;
+
         // this reads int, float, decimal and timestamp strings
         // anything staring with a +, a - or a digit
         //case '0': case '1': case '2': case '3': case '4':
@@ -1539,6 +1674,9 @@ final class IonReaderTextRawTokensX
         //start_pos = _stream.getPosition();
         c = read_char();
         has_sign = ((c == '-') || (c == '+'));
+        // a leading '+' is left for the text parser to judge
+        boolean accumulated = (c != '+');
+        _numeric_negative = (c == '-');
         if (has_sign) {
             // if there is a sign character, we just consume it
             // here and get whatever is next in line
@@ -1561,16 +1699,18 @@ final class IonReaderTextRawTokensX
 
         // the first digit is a special case
         boolean starts_with_zero = (c == '0');
-        if (starts_with_zero) {
+        if (starts_with_zero && !_json_strict) {
             // if it's a leading 0 check for a hex value
             int c2 = read_char();
             if (Radix.HEX.isPrefix(c2)) {
                 sb.append((char)c);
                 c = loadRadixValue(sb, has_sign, c2, Radix.HEX);
+                finish_numeric_value(accumulated, Radix.HEX, 0);
                 return load_finish_number(sb, c, IonTokenConstsX.TOKEN_HEX);
             } else if (Radix.BINARY.isPrefix(c2)) {
                 sb.append((char) c);
                 c = loadRadixValue(sb, has_sign, c2, Radix.BINARY);
+                finish_numeric_value(accumulated, Radix.BINARY, 0);
                 return load_finish_number(sb, c, IonTokenConstsX.TOKEN_BINARY);
             }
             // not a next value, back up and try again
@@ -1580,7 +1720,7 @@ final class IonReaderTextRawTokensX
         // remaining (after the first, c is the first) leading digits
         c = load_digits(sb, c);
 
-        if (c == '-' || c == 'T') {
+        if ((c == '-' || c == 'T') && !_json_strict) {
             // this better be a timestamp and it starts with a 4 digit
             // year followed by a dash and no leading sign
             if (has_sign) {
@@ -1608,13 +1748,19 @@ final class IonReaderTextRawTokensX
             }
         }
 
+        int fraction_digits = 0;
         if (c == '.') {
             // so if it's a float of some sort
             // mark it as at least a DECIMAL
             // and read the "fraction" digits
+            int whole_digits = _numeric_accumulated_digits;
             sb.append((char)c);
             c = read_char();
             c = load_digits(sb, c);
+            fraction_digits = _numeric_accumulated_digits - whole_digits;
+            if (_json_strict && sb.charAt(sb.length() - 1) == '.') {
+                error("JSON requires digits after the decimal point: " + sb);
+            }
             t = IonTokenConstsX.TOKEN_DECIMAL;
         }
         else {
@@ -1622,19 +1768,100 @@ final class IonReaderTextRawTokensX
         }
 
         // see if we have an exponential as in 2d+3
-        if (c == 'e' || c == 'E') {
-            t = IonTokenConstsX.TOKEN_FLOAT;
+        if (c == 'e' || c == 'E'
+            || (!_json_strict && (c == 'd' || c == 'D'))) {
+            t = (c == 'e' || c == 'E')
+              ? IonTokenConstsX.TOKEN_FLOAT
+              : IonTokenConstsX.TOKEN_DECIMAL;
             sb.append((char)c);
+
+            // the mantissa is complete, the accumulator is reused for
+            // the exponent digits
+            long mantissa = _numeric_accumulator;
+            int  mantissa_digits = _numeric_accumulated_digits;
+            _numeric_accumulator = 0;
+            _numeric_accumulated_digits = 0;
+
+            int exponent_start = sb.length();
             c = load_exponent(sb);  // the unused lookahead char
+
+            accumulated &= finish_exponent(sb, exponent_start);
+            fraction_digits -= (int) _numeric_accumulator;
+            _numeric_accumulator = mantissa;
+            _numeric_accumulated_digits = mantissa_digits;
         }
-        else if (c == 'd' || c == 'D') {
-            t = IonTokenConstsX.TOKEN_DECIMAL;
-            sb.append((char)c);
-            c = load_exponent(sb);
-        }
+        finish_numeric_value(accumulated, Radix.DECIMAL, fraction_digits);
         return load_finish_number(sb, c, t);
     }
 
+    /**
+     * Validates the exponent text appended to the buffer starting at
+     * {@code exponent_start} and leaves its signed value in the
+     * accumulator.
+     *
+     * @return false if the exponent can't be represented by the accumulator,
+     *  in which case the caller must fall back to parsing the text.
+     */
+    private final boolean finish_exponent(StringBuilder sb, int exponent_start)
+    {
+        int digits = _numeric_accumulated_digits;
+        if (digits < 1 || digits > MAX_ACCUMULATED_EXPONENT_DIGITS) {
+            return false;
+        }
+        int sign_len = 0;
+        if (sb.charAt(exponent_start) == '-') {
+            _numeric_accumulator = -_numeric_accumulator;
+            sign_len = 1;
+        }
+        else if (sb.charAt(exponent_start) == '+') {
+            sign_len = 1;
+        }
+        // rejects the (invalid) fractional exponent form 1e2.3
+        return sb.length() - exponent_start == sign_len + digits;
+    }
+
+    private final void finish_numeric_value(boolean accumulated, Radix radix,
+                                            int scale)
+    {
+        _numeric_value_loaded = accumulated
+            && _numeric_accumulated_digits > 0
+            && _numeric_accumulated_digits <= radix.maxAccumulatedDigits();
+        _numeric_mantissa = _numeric_accumulator;
+        _numeric_scale = scale;
+    }
+
+    /**
+     * Indicates whether the numeric value most recently loaded by
+     * {@link #load_number(StringBuilder)} was accumulated while scanning,
+     * in which case {@link #getNumericMantissa()},
+     * {@link #isNumericNegative()} and {@link #getNumericScale()} describe
+     * it and the text need not be parsed.
+     */
+    final boolean isNumericValueLoaded()
+    {
+        return _numeric_value_loaded;
+    }
+
+    /** @return the unsigned digits of the loaded numeric value. */
+    final long getNumericMantissa()
+    {
+        return _numeric_mantissa;
+    }
+
+    final boolean isNumericNegative()
+    {
+        return _numeric_negative;
+    }
+
+    /**
+     * @return the decimal scale of the loaded numeric value, that is, the
+     *  value is {@code mantissa * 10^-scale}.  Always zero for ints.
+     */
+    final int getNumericScale()
+    {
+        return _numeric_scale;
+    }
+
     private final IonType load_finish_number(CharSequence numericText, int c,
                                              int token)
     throws IOException
@@ -1685,10 +1912,18 @@ final class IonReaderTextRawTokensX
             return c;
         }
         sb.append((char) c);
+        accumulate_digit(Radix.DECIMAL, c);
 
         return readNumeric(sb, Radix.DECIMAL, NumericState.DIGIT);
     }
 
+    private final void accumulate_digit(Radix radix, int c)
+    {
+        _numeric_accumulator = _numeric_accumulator * radix.base()
+                             + radix.digitValue(c);
+        _numeric_accumulated_digits++;
+    }
+
     private final void load_fixed_digits(StringBuilder sb, int len)
         throws IOException
     {
@@ -1838,11 +2073,11 @@ final class IonReaderTextRawTokensX
 
     private final int skip_over_symbol_identifier(SavePoint sp) throws IOException
     {
-        int c = read_char();
-
-        while(IonTokenConstsX.isValidSymbolCharacter(c)) {
+        int c;
+        do {
+            _stream.skipRun(IonTokenConstsX.CC_SYMBOL);
             c = read_char();
-        }
+        } while (IonTokenConstsX.isValidSymbolCharacter(c));
 
         if (sp != null) {
             sp.markEnd(0);
@@ -1852,10 +2087,13 @@ final class IonReaderTextRawTokensX
 
     protected void load_symbol_identifier(StringBuilder sb) throws IOException
     {
-        int c = read_char();
-        while(IonTokenConstsX.isValidSymbolCharacter(c)) {
-            sb.append((char)c);
+        int c;
+        for (;;) {
+            // the run stops at the end of the page, so check what's next
+            _stream.appendRun(sb, IonTokenConstsX.CC_SYMBOL);
             c = read_char();
+            if (!IonTokenConstsX.isValidSymbolCharacter(c)) break;
+            sb.append((char)c);
         }
         unread_char(c);
     }
@@ -1916,6 +2154,7 @@ final class IonReaderTextRawTokensX
         // quoted symbol
 
         for (;;) {
+            _stream.skipTextRun(IonTokenConstsX.CC_QUOTED_SYMBOL);
             c = read_string_char(ProhibitedCharacters.NONE);
             switch (c) {
             case -1: unexpected_eof();
@@ -1927,6 +2166,9 @@ final class IonReaderTextRawTokensX
             case '\\':
                 c = read_char();
                 break;
+            default:
+                skip_large_char_sequence(c);
+                break;
             }
         }
     }
@@ -1938,6 +2180,12 @@ final class IonReaderTextRawTokensX
         boolean expectLowSurrogate = false;
 
         for (;;) {
+            if (is_clob) {
+                _stream.appendRun(sb, IonTokenConstsX.CC_QUOTED_SYMBOL);
+            }
+            else if (!expectLowSurrogate) {
+                _stream.appendTextRun(sb, IonTokenConstsX.CC_QUOTED_SYMBOL);
+            }
             c = read_string_char(ProhibitedCharacters.NONE);
             switch (c) {
             case CharacterSequence.CHAR_SEQ_ESCAPED_NEWLINE_SEQUENCE_1:
@@ -1997,6 +2245,7 @@ final class IonReaderTextRawTokensX
     {
         int c;
         for (;;) {
+            _stream.skipTextRun(IonTokenConstsX.CC_STRING);
             c = read_string_char(ProhibitedCharacters.NONE);
             switch (c) {
             case -1:
@@ -2011,6 +2260,9 @@ final class IonReaderTextRawTokensX
             case '\\':
                 c = read_char();
                 break;
+            default:
+                skip_large_char_sequence(c);
+                break;
             }
         }
     }
@@ -2022,11 +2274,20 @@ final class IonReaderTextRawTokensX
         boolean expectLowSurrogate = false;
 
         for (;;) {
+            if (is_clob) {
+                _stream.appendRun(sb, IonTokenConstsX.CC_STRING);
+            }
+            else if (!expectLowSurrogate) {
+                _stream.appendTextRun(sb, IonTokenConstsX.CC_STRING);
+            }
             c = read_string_char(ProhibitedCharacters.SHORT_CHAR);
             switch (c) {
             case CharacterSequence.CHAR_SEQ_ESCAPED_NEWLINE_SEQUENCE_1:
             case CharacterSequence.CHAR_SEQ_ESCAPED_NEWLINE_SEQUENCE_2:
             case CharacterSequence.CHAR_SEQ_ESCAPED_NEWLINE_SEQUENCE_3:
+                if (_json_strict) {
+                    error("invalid JSON escape sequence");
+                }
                 continue;
             case -1:
             case '"':
@@ -2133,6 +2394,7 @@ final class IonReaderTextRawTokensX
         // starts AFTER the 3 quotes have been consumed
         int c;
         for (;;) {
+            _stream.skipTextRun(IonTokenConstsX.CC_QUOTED_SYMBOL);
             c = read_char();
             switch (c) {
             case -1:
@@ -2158,7 +2420,10 @@ final class IonReaderTextRawTokensX
                 break;
             case '\\':
                 c = read_char();
-               break;
+                break;
+            default:
+                skip_large_char_sequence(c);
+                break;
             }
         }
     }
@@ -2170,6 +2435,12 @@ final class IonReaderTextRawTokensX
         boolean expectLowSurrogate = false;
 
         for (;;) {
+            if (is_clob) {
+                _stream.appendRun(sb, IonTokenConstsX.CC_QUOTED_SYMBOL);
+            }
+            else if (!expectLowSurrogate) {
+                _stream.appendTextRun(sb, IonTokenConstsX.CC_QUOTED_SYMBOL);
+            }
             c = read_triple_quoted_char(is_clob);
             switch(c) {
             case CharacterSequence.CHAR_SEQ_STRING_TERMINATOR:
@@ -2346,6 +2617,18 @@ final class IonReaderTextRawTokensX
         return c;
     }
 
+    /**
+     * Skips over a character that {@link UnifiedInputStreamX#skipTextRun}
+     * stopped at.  Non-ASCII input it left behind isn't well formed, or
+     * crosses a page, so it's decoded to check it.
+     */
+    private final void skip_large_char_sequence(int c) throws IOException
+    {
+        if (c > 0x7f) {
+            read_large_char_sequence(c);
+        }
+    }
+
     private final int read_large_char_sequence(int c) throws IOException
     {
         if (_stream._is_byte_data) {
@@ -2451,9 +2734,27 @@ final class IonReaderTextRawTokensX
         return;
     }
 
+    /**
+     * JSON only has these escapes, so Ion's others (such as {@code \0} and
+     * {@code \x41}, and escaped newlines) are errors in JSON-strict mode.
+     */
+    private static boolean is_json_escape_start(int c)
+    {
+        switch (c) {
+        case '"': case '\\': case '/':
+        case 'b': case 'f': case 'n': case 'r': case 't': case 'u':
+            return true;
+        default:
+            return false;
+        }
+    }
+
     private final int read_escaped_char_content_helper(int c1, boolean is_clob)
         throws IOException
     {
+        if (_json_strict && !is_json_escape_start(c1)) {
+            error("invalid JSON escape sequence");
+        }
         if (c1 < 0) {
             switch (c1) {
             // new line normalization and counting is handled in read_char
@@ -2530,6 +2831,28 @@ final class IonReaderTextRawTokensX
         }
         return b;
     }
+    /**
+     * Fills {@code buffer} with decoded blob bytes for as long as the
+     * input holds complete base64 groups on the current page.  Returns
+     * early, possibly having read nothing, when the input needs the
+     * careful handling of {@link #read_base64_byte()}: whitespace,
+     * padding, a page boundary, the end of the blob or an error.
+     * @return the number of bytes written
+     */
+    public final int read_base64_bytes(byte[] buffer, int offset, int len)
+    {
+        int start = offset;
+        while (_base64_prefetch_count > 0 && len > 0) {
+            buffer[offset++] = (byte) (_base64_prefetch_stack & 0xff);
+            _base64_prefetch_stack >>= 8;
+            _base64_prefetch_count--;
+            len--;
+        }
+        if (_base64_prefetch_count == 0) {
+            offset += _stream.decodeBase64Run(buffer, offset, len);
+        }
+        return offset - start;
+    }
     private final int read_base64_byte_helper() throws IOException
     {
         // if there's any data left to read (the normal case)
@@ -2665,6 +2988,15 @@ final class IonReaderTextRawTokensX
         _line_count = sp.getStartLineNumber();
         _line_starting_position = sp.getStartLineStart();
     }
+    /**
+     * Lets an active save point resume from the current position, rather
+     * than its original start, the next time it's activated.
+     */
+    protected void save_point_advance(SavePoint sp)
+    {
+        assert(sp != null && sp.isActive());
+        sp.advanceStart(_line_count, _line_starting_position);
+    }
     protected void save_point_deactivate(SavePoint sp) throws IOException
     {
         assert(sp != null && sp.isActive());
@@ -2774,9 +3106,12 @@ final class IonReaderTextRawTokensX
         }
     }
 
+    /** Exponents beyond this many digits are left to the text parser. */
+    private static final int MAX_ACCUMULATED_EXPONENT_DIGITS = 9;
+
     private enum Radix
     {
-        BINARY
+        BINARY(2, 62)
         {
             boolean isPrefix(int c)
             {
@@ -2793,9 +3128,16 @@ final class IonReaderTextRawTokensX
             {
                 return c; // no normalization required
             }
+
+            @Override
+            int digitValue(int c)
+            {
+                return c - '0';
+            }
         },
 
-        DECIMAL
+        // 18 digits are always less than Long.MAX_VALUE
+        DECIMAL(10, 18)
         {
             boolean isPrefix(int c)
             {
@@ -2812,9 +3154,15 @@ final class IonReaderTextRawTokensX
             {
                 return c; // no normalization required
             }
+
+            @Override
+            int digitValue(int c)
+            {
+                return c - '0';
+            }
         },
 
-        HEX
+        HEX(16, 15)
         {
             boolean isPrefix(int c)
             {
@@ -2831,11 +3179,41 @@ final class IonReaderTextRawTokensX
             {
                 return Character.toLowerCase(c);
             }
+
+            @Override
+            int digitValue(int c)
+            {
+                return (c <= '9') ? c - '0' : (c | 0x20) - 'a' + 10;
+            }
         };
 
+        private final int base;
+        private final int maxAccumulatedDigits;
+
+        Radix(int base, int maxAccumulatedDigits)
+        {
+            this.base = base;
+            this.maxAccumulatedDigits = maxAccumulatedDigits;
+        }
+
         abstract boolean isPrefix(int c);
         abstract boolean isValidDigit(int c);
         abstract char normalizeDigit(char c);
+        abstract int digitValue(int c);
+
+        int base()
+        {
+            return base;
+        }
+
+        /**
+         * @return the number of digits that are guaranteed to fit in a
+         *  positive long.
+         */
+        int maxAccumulatedDigits()
+        {
+            return maxAccumulatedDigits;
+        }
 
         void assertPrefix(int c)
         {
@@ -2861,6 +3239,7 @@ final class IonReaderTextRawTokensX
                     if (radix.isValidDigit(c))
                     {
                         buffer.append(radix.normalizeDigit((char) c));
+                        accumulate_digit(radix, c);
                         state = NumericState.DIGIT;
                     }
                     else
@@ -2872,9 +3251,10 @@ final class IonReaderTextRawTokensX
                     if (radix.isValidDigit(c))
                     {
                         buffer.append(radix.normalizeDigit((char) c));
+                        accumulate_digit(radix, c);
                         state = NumericState.DIGIT;
                     }
-                    else if (c == '_')
+                    else if (c == '_' && !_json_strict)
                     {
                         state = NumericState.UNDERSCORE;
                     }
@@ -2887,6 +3267,7 @@ final class IonReaderTextRawTokensX
                     if (radix.isValidDigit(c))
                     {
                         buffer.append(radix.normalizeDigit((char) c));
+                        accumulate_digit(radix, c);
                         state = NumericState.DIGIT;
                     }
                     else
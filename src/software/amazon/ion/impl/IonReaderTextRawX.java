@@ -20,6 +20,7 @@ import static software.amazon.ion.impl.IonTokenConstsX.TOKEN_CLOSE_PAREN;
 import static software.amazon.ion.impl.IonTokenConstsX.TOKEN_CLOSE_SQUARE;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigInteger;
 import java.util.Iterator;
 import software.amazon.ion.IonException;
@@ -284,6 +285,8 @@ abstract class IonReaderTextRawX
     long                _value_start_offset;
     long                _value_start_line;
     long                _value_start_column;
+    boolean             _position_tracking_enabled = true;
+    boolean             _json_strict = false;
     IonType             _nesting_parent;
 
     enum LOB_STATE { EMPTY, READ, FINISHED }
@@ -293,6 +296,9 @@ abstract class IonReaderTextRawX
     LOB_STATE           _lob_loaded;
     byte[]              _lob_bytes;
     int                 _lob_actual_len;
+    InputStream         _lob_stream;
+    SavePoint           _lob_stream_save_point;
+    boolean             _lob_decoded_to_end;
 
 
     protected IonReaderTextRawX() {
@@ -328,10 +334,21 @@ abstract class IonReaderTextRawX
     ) {
 
         assert(parent != null);
+        _current_value_save_point = iis.savePointAllocate();
+        _lob_stream_save_point = iis.savePointAllocate();
+        start(iis, parent, start_line, start_column);
+    }
+
+    private final void start(UnifiedInputStreamX iis
+                            ,IonType parent
+                            ,long start_line
+                            ,long start_column
+    ) {
         _scanner = new IonReaderTextRawTokensX(iis, start_line, start_column);
+        _scanner.setPositionTrackingEnabled(_position_tracking_enabled);
+        _scanner.setJsonStrict(_json_strict);
         _value_start_line = start_line;
         _value_start_column = start_column;
-        _current_value_save_point = iis.savePointAllocate();
         _lob_loaded = LOB_STATE.EMPTY;
         int starting_state = get_state_at_container_start(parent);
         set_state(starting_state);
@@ -344,6 +361,40 @@ abstract class IonReaderTextRawX
                                 ,long start_line
                                 ,long start_column
     ) {
+        clear_state();
+
+        init(iis, parent, start_line, start_column);
+
+        _nesting_parent = parent;
+        if (IonType.STRUCT.equals(_nesting_parent)) {
+            _container_is_struct = true;
+        }
+    }
+
+    /**
+     * Resets this reader to the start of its input, which has just been
+     * re-pointed at new data.  Unlike {@link #re_init} this keeps the save
+     * points, since the stream is the same.
+     */
+    protected final void reset_raw()
+    {
+        UnifiedInputStreamX iis = _scanner.getSourceStream();
+        clear_state();
+        _current_value_buffer.setLength(0);
+        _current_value_save_point.clear();
+        _lob_stream_save_point.clear();
+
+        start(iis, IonType.DATAGRAM, 1, 1);
+
+        _nesting_parent = null;
+        if (!_position_tracking_enabled) {
+            _value_start_line = -1;
+            _value_start_column = -1;
+        }
+    }
+
+    private final void clear_state()
+    {
         _state = 0;
         _container_state_top = 0;
         _container_is_struct = false;
@@ -363,15 +414,37 @@ abstract class IonReaderTextRawX
         _lob_value_position = 0;
         _lob_bytes = null;
         _lob_actual_len = 0;
+        clear_lob_stream();
+    }
 
-        init(iis, parent, start_line, start_column);
-
-        _nesting_parent = parent;
-        if (IonType.STRUCT.equals(_nesting_parent)) {
-            _container_is_struct = true;
+    /**
+     * Turns line and column tracking on or off. With tracking off the
+     * scanner skips its per-line bookkeeping, spans carry only offsets,
+     * and errors report the stream offset instead of a line and column.
+     * This must be called before any input has been consumed.
+     */
+    final void setPositionTrackingEnabled(boolean enabled)
+    {
+        _position_tracking_enabled = enabled;
+        _scanner.setPositionTrackingEnabled(enabled);
+        if (!enabled) {
+            _value_start_line = -1;
+            _value_start_column = -1;
         }
     }
 
+    /**
+     * Restricts this reader to JSON input. Annotations, sexps, lobs,
+     * symbols, timestamps and the Ion-only numeric forms are rejected
+     * rather than looked for, which keeps the tokenizer's lookahead to a
+     * minimum. This must be called before any input has been consumed.
+     */
+    final void setJsonStrict(boolean json_strict)
+    {
+        _json_strict = json_strict;
+        _scanner.setJsonStrict(json_strict);
+    }
+
     public void close()
         throws IOException
     {
@@ -400,6 +473,17 @@ abstract class IonReaderTextRawX
         }
     }
 
+    /**
+     * Invalidates any stream open over the current lob, releasing the
+     * input it kept pinned.
+     */
+    protected final void clear_lob_stream() {
+        if (_lob_stream != null) {
+            _lob_stream = null;
+            _lob_stream_save_point.clear();
+        }
+    }
+
     private final void current_value_is_null(IonType null_type)
     {
         clear_current_value_buffer();
@@ -538,6 +622,7 @@ abstract class IonReaderTextRawX
             _lob_bytes = null;
             _lob_loaded = LOB_STATE.EMPTY;
         }
+        clear_lob_stream();
         clear_current_value_buffer();
         clear_annotation_list();
         clear_fieldname();
@@ -849,6 +934,9 @@ abstract class IonReaderTextRawX
                 if (!is_in_struct_internal()) {
                     throw new IllegalStateException("field names have to be in structs");
                 }
+                if (_json_strict && t != IonTokenConstsX.TOKEN_STRING_DOUBLE_QUOTE) {
+                    parse_error("JSON field names must be strings");
+                }
                 //finish_value(_current_value_save_point);
                 finish_and_save_value();
 
@@ -871,6 +959,12 @@ abstract class IonReaderTextRawX
             }
             case ACTION_LOAD_ANNOTATION:
             {
+                if (_json_strict) {
+                    // JSON has no annotations, this can only be a keyword
+                    temp_state = get_state_after_annotation();
+                    set_state(temp_state);
+                    break;
+                }
                 sb = token_contents_load(t);
 
                 trailing_whitespace = _scanner.skip_whitespace();
@@ -945,6 +1039,18 @@ abstract class IonReaderTextRawX
                 if (t == IonTokenConstsX.TOKEN_SYMBOL_IDENTIFIER) {
                     sb = token_contents_load(t);
                     _value_keyword = IonTokenConstsX.keyword(sb, 0, sb.length());
+                    if (_json_strict) {
+                        switch (_value_keyword) {
+                        case IonTokenConstsX.KEYWORD_NULL:
+                        case IonTokenConstsX.KEYWORD_TRUE:
+                        case IonTokenConstsX.KEYWORD_FALSE:
+                            // typed nulls aren't JSON
+                            trailing_whitespace = true;
+                            break;
+                        default:
+                            parse_error("invalid JSON keyword: " + sb);
+                        }
+                    }
                     switch (_value_keyword) {
                     case IonTokenConstsX.KEYWORD_NULL:
                     {
@@ -1042,6 +1148,11 @@ abstract class IonReaderTextRawX
                 // isn't part of the span when it's hoisted
                 _value_start_offset = _scanner.getStartingOffset();
                 t = _scanner.nextToken();
+                if (_json_strict && (t == IonTokenConstsX.TOKEN_CLOSE_SQUARE
+                                  || t == IonTokenConstsX.TOKEN_CLOSE_BRACE)) {
+                    parse_error("JSON doesn't allow a comma before "
+                                + IonTokenConstsX.getTokenName(t));
+                }
                 break;
             case ACTION_FINISH_CONTAINER:
                 new_state = get_state_after_container(t);
@@ -16,7 +16,9 @@ package software.amazon.ion.impl;
 
 import static software.amazon.ion.impl.PrivateScalarConversions.getValueTypeName;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Date;
@@ -33,6 +35,7 @@ import software.amazon.ion.IonSystem;
 import software.amazon.ion.IonTimestamp;
 import software.amazon.ion.IonType;
 import software.amazon.ion.IonValue;
+import software.amazon.ion.LobStreamProvider;
 import software.amazon.ion.SymbolTable;
 import software.amazon.ion.SymbolToken;
 import software.amazon.ion.Timestamp;
@@ -41,6 +44,8 @@ import software.amazon.ion.impl.IonReaderTextRawTokensX.IonReaderTextTokenExcept
 import software.amazon.ion.impl.IonTokenConstsX.CharacterSequence;
 import software.amazon.ion.impl.PrivateScalarConversions.AS_TYPE;
 import software.amazon.ion.impl.PrivateScalarConversions.CantConvertException;
+import software.amazon.ion.util.IonStreamUtils.DoubleList;
+import software.amazon.ion.util.IonStreamUtils.LongList;
 import java.lang.Character;
 
 /**
@@ -225,6 +230,12 @@ class IonReaderTextSystemX
 
         int token_type = _scanner.getToken();
 
+        if (_scanner.isNumericValueLoaded() && load_accumulated_number()) {
+            // the scanner already computed the value, skip the text
+            clear_current_value_buffer();
+            return;
+        }
+
         if (_value_type == IonType.DECIMAL) {
             // we do this here (instead of in the case below
             // so that we can modify the value while it's not
@@ -428,6 +439,73 @@ class IonReaderTextSystemX
             parse_error("scalar token "+IonTokenConstsX.getTokenName(_scanner.getToken())+"isn't a recognized type");
         }
     }
+    /**
+     * Sets the current value from the digits the scanner accumulated while
+     * it loaded the numeric token, avoiding a String per number.
+     *
+     * @return false if the value can't be computed exactly from the
+     *  accumulated digits, in which case the text must be parsed.
+     */
+    private final boolean load_accumulated_number()
+    {
+        long    mantissa = _scanner.getNumericMantissa();
+        boolean negative = _scanner.isNumericNegative();
+        int     scale    = _scanner.getNumericScale();
+
+        switch (_value_type) {
+        case INT:
+            long value = negative ? -mantissa : mantissa;
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                _v.setValue((int) value);
+            }
+            else {
+                _v.setValue(value);
+            }
+            return true;
+        case DECIMAL:
+            if (negative && mantissa == 0) {
+                _v.setValue(Decimal.negativeZero(scale));
+            }
+            else {
+                BigInteger unscaled =
+                    BigInteger.valueOf(negative ? -mantissa : mantissa);
+                _v.setValue(Decimal.valueOf(unscaled, scale));
+            }
+            return true;
+        case FLOAT:
+            // Both the mantissa and the power of ten are exact doubles, so
+            // a single multiply or divide is correctly rounded.
+            if (mantissa > MAX_EXACT_DOUBLE_MANTISSA
+                || scale < -MAX_EXACT_POWER_OF_TEN
+                || scale > MAX_EXACT_POWER_OF_TEN) {
+                return false;
+            }
+            double d = mantissa;
+            if (scale < 0) {
+                d *= EXACT_POWERS_OF_TEN[-scale];
+            }
+            else {
+                d /= EXACT_POWERS_OF_TEN[scale];
+            }
+            _v.setValue(negative ? -d : d);
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private static final long MAX_EXACT_DOUBLE_MANTISSA = 1L << 53;
+    private static final int  MAX_EXACT_POWER_OF_TEN = 22;
+    private static final double[] EXACT_POWERS_OF_TEN =
+        new double[MAX_EXACT_POWER_OF_TEN + 1];
+    static {
+        double p = 1;
+        for (int i = 0; i <= MAX_EXACT_POWER_OF_TEN; i++) {
+            EXACT_POWERS_OF_TEN[i] = p;
+            p *= 10;
+        }
+    }
+
     private final void cast_cached_value(int new_type)
     {
         // this should only be called when it actually has to do some work
@@ -844,6 +922,14 @@ class IonReaderTextSystemX
 
     private int readBytes(byte[] buffer, int offset, int len)
         throws IOException
+    {
+        int read = decode_lob_bytes(buffer, offset, len);
+        _lob_value_position += read;   // TODO: is _lob_value_position really needed?
+        return read;
+    }
+
+    private int decode_lob_bytes(byte[] buffer, int offset, int len)
+        throws IOException
     {
         int starting_offset = offset;
         int c = -1;
@@ -851,15 +937,25 @@ class IonReaderTextSystemX
         switch (_lob_token) {
         // BLOB
         case IonTokenConstsX.TOKEN_OPEN_DOUBLE_BRACE:
-            while (len-- > 0) {
+            while (len > 0) {
+                // whole base64 groups are decoded in bulk, the scanner
+                // takes care of anything else a byte at a time
+                int decoded = _scanner.read_base64_bytes(buffer, offset, len);
+                if (decoded > 0) {
+                    offset += decoded;
+                    len -= decoded;
+                    c = buffer[offset - 1] & 0xff;
+                    continue;
+                }
                 c = _scanner.read_base64_byte();
                 if (c < 0) break;
                 buffer[offset++] = (byte)c;
+                len--;
             }
             break;
         // CLOB
         case IonTokenConstsX.TOKEN_STRING_DOUBLE_QUOTE:
-            while (len-- > 0) {
+            while (len > 0) {
                 c = _scanner.read_double_quoted_char(true);
                 if (c < 0) {
                     if (c == CharacterSequence.CHAR_SEQ_ESCAPED_NEWLINE_SEQUENCE_1
@@ -872,11 +968,12 @@ class IonReaderTextSystemX
                 }
                 assert(c <= UNSIGNED_BYTE_MAX_VALUE);
                 buffer[offset++] = (byte)c;
+                len--;
             }
             break;
         // CLOB 
         case IonTokenConstsX.TOKEN_STRING_TRIPLE_QUOTE:
-            while (len-- > 0) {
+            while (len > 0) {
                 c = _scanner.read_triple_quoted_char(true);
                 if (c < 0) {
                     if (c == CharacterSequence.CHAR_SEQ_ESCAPED_NEWLINE_SEQUENCE_1
@@ -891,24 +988,340 @@ class IonReaderTextSystemX
                      || c == CharacterSequence.CHAR_SEQ_NEWLINE_SEQUENCE_3
                     ) {
                         buffer[offset++] = (byte)'\n';
+                        len--;
                         continue;
                     }
                     break;
                 }
                 assert(c >= 0 && c <= UNSIGNED_BYTE_MAX_VALUE);
                 buffer[offset++] = (byte)c;
+                len--;
             }
             break;
         default:
             String message = "invalid type ["+_value_type.toString()+"] for lob handling";
             throw new IonReaderTextTokenException(message);
         }
+        // Escaped newlines and the gaps between long string segments don't
+        // produce bytes, so only leftover room in the buffer means that we
+        // stopped at the end of the lob.
+        _lob_decoded_to_end = (len > 0);
         if (c == -1) {
             _scanner.tokenIsFinished();
         }
-        int read = offset - starting_offset;
-        _lob_value_position += read;   // TODO: is _lob_value_position really needed?
-        return read;
+        return offset - starting_offset;
+    }
+
+
+    //========================================================================
+    // Facet support
+
+
+    @Override
+    public <T> T asFacet(Class<T> facetType)
+    {
+        if (facetType == LobStreamProvider.class)
+        {
+            return facetType.cast(new LobStreamProviderFacet());
+        }
+
+        if (facetType == PrivateListReader.class)
+        {
+            return facetType.cast(new ListReaderFacet());
+        }
+
+        return super.asFacet(facetType);
+    }
+
+
+    private class ListReaderFacet
+        implements PrivateListReader
+    {
+        public boolean readIntList(LongList values)
+        {
+            int start = values.size();
+            if (!decode_number_list(values, null)) {
+                values.truncate(start);
+                return false;
+            }
+            return true;
+        }
+
+        public boolean readFloatList(DoubleList values)
+        {
+            int start = values.size();
+            if (!decode_number_list(null, values)) {
+                values.truncate(start);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    private static boolean is_list_whitespace(int c)
+    {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t'
+            || c == '\u000B' || c == '\f';
+    }
+
+    private static boolean is_list_delimiter(int c)
+    {
+        return c == ',' || c == ']' || is_list_whitespace(c);
+    }
+
+    /**
+     * Parses the numbers within the current list straight from the input
+     * buffer, appending them to whichever buffer is given, then steps over
+     * the list. Only plain decimal numbers separated by commas and
+     * whitespace are handled here: anything else, such as comments,
+     * annotations, special floats, or a list that continues past the
+     * buffered input, is left for the caller to read value by value.
+     *
+     * @return false if the list can't be read this way, in which case the
+     * reader hasn't moved, but the buffer may have been appended to.
+     */
+    private boolean decode_number_list(LongList longs, DoubleList doubles)
+    {
+        if (getType() != IonType.LIST || isNullValue()
+            || !_scanner.isUnfinishedToken()) {
+            return false;
+        }
+
+        // The scanner is just past the opening bracket.
+        UnifiedInputStreamX input = _scanner.getSourceStream();
+        byte[] bytes = input._bytes;
+        char[] chars = input._chars;
+        boolean is_bytes = input._is_byte_data;
+        int pos = input._pos;
+        int limit = input._limit;
+        boolean saw_newline = false;
+        boolean after_comma = false;
+        StringBuilder number = null;
+
+        for (;;) {
+            // the start of a value, or the end of the list
+            int c = -1;
+            while (pos < limit) {
+                c = is_bytes ? (bytes[pos] & 0xff) : chars[pos];
+                if (!is_list_whitespace(c)) break;
+                if (c == '\n' || c == '\r') saw_newline = true;
+                pos++;
+            }
+            if (pos >= limit) return false;
+            if (c == ']') {
+                // leave any error in a trailing comma to the reader
+                if (after_comma) return false;
+                break;
+            }
+
+            int token_start = pos;
+            boolean negative = (c == '-');
+            if (negative) pos++;
+
+            int digits_start = pos;
+            long value = 0;  // accumulated negatively, to reach Long.MIN_VALUE
+            boolean overflow = false;
+            while (pos < limit) {
+                c = is_bytes ? (bytes[pos] & 0xff) : chars[pos];
+                if (c < '0' || c > '9') break;
+                int digit = c - '0';
+                if (value < (Long.MIN_VALUE + digit) / 10) {
+                    overflow = true;
+                }
+                value = value * 10 - digit;
+                pos++;
+            }
+            int digit_count = pos - digits_start;
+            if (digit_count == 0 || pos >= limit) return false;
+            if (digit_count > 1
+                && (is_bytes ? bytes[digits_start] : chars[digits_start]) == '0') {
+                return false;
+            }
+
+            boolean is_int = true;
+            if (c == '.') {
+                is_int = false;
+                pos++;
+                while (pos < limit) {
+                    c = is_bytes ? (bytes[pos] & 0xff) : chars[pos];
+                    if (c < '0' || c > '9') break;
+                    pos++;
+                }
+            }
+            if (c == 'e' || c == 'E') {
+                is_int = false;
+                pos++;
+                if (pos < limit) {
+                    c = is_bytes ? (bytes[pos] & 0xff) : chars[pos];
+                    if (c == '+' || c == '-') pos++;
+                }
+                int exponent_start = pos;
+                while (pos < limit) {
+                    c = is_bytes ? (bytes[pos] & 0xff) : chars[pos];
+                    if (c < '0' || c > '9') break;
+                    pos++;
+                }
+                if (pos == exponent_start) return false;
+            }
+            if (pos >= limit || !is_list_delimiter(c)) return false;
+
+            if (is_int) {
+                if (overflow || (!negative && value == Long.MIN_VALUE)) {
+                    return false;
+                }
+                if (!negative) value = -value;
+                if (longs != null) {
+                    longs.add(value);
+                }
+                else {
+                    doubles.add(value);
+                }
+            }
+            else {
+                // a decimal or float
+                if (doubles == null) return false;
+                if (number == null) number = new StringBuilder();
+                number.setLength(0);
+                for (int ii = token_start; ii < pos; ii++) {
+                    number.append(is_bytes ? (char) bytes[ii] : chars[ii]);
+                }
+                doubles.add(Double.parseDouble(number.toString()));
+            }
+
+            after_comma = false;
+
+            // the separator
+            while (pos < limit) {
+                c = is_bytes ? (bytes[pos] & 0xff) : chars[pos];
+                if (!is_list_whitespace(c)) break;
+                if (c == '\n' || c == '\r') saw_newline = true;
+                pos++;
+            }
+            if (pos >= limit) return false;
+            if (c == ',') {
+                after_comma = true;
+                pos++;
+            }
+            else if (c != ']') {
+                return false;
+            }
+        }
+
+        stepIn();
+        if (!saw_newline) {
+            // Line counting needs the scanner to step over any newlines.
+            input._pos = pos;
+        }
+        stepOut();
+        return true;
+    }
+
+
+    private class LobStreamProviderFacet
+        implements LobStreamProvider
+    {
+        public InputStream newInputStream()
+        {
+            ensureLob("newInputStream");
+            if (isNullValue()) {
+                return null;
+            }
+
+            try {
+                load_lob_save_point();
+            }
+            catch (IOException e) {
+                throw new IonException(e);
+            }
+
+            clear_lob_stream();
+            if (_lob_loaded == LOB_STATE.FINISHED) {
+                // already decoded, no need to do it twice
+                _lob_stream = new ByteArrayInputStream(_lob_bytes, 0, _lob_actual_len);
+            }
+            else {
+                // decode from our own copy of the value's save point, which
+                // keeps the encoded text pinned until the reader moves on
+                _lob_stream_save_point.copyRange(_current_value_save_point);
+                _lob_stream = new LobInputStream();
+            }
+            return _lob_stream;
+        }
+    }
+
+
+    /**
+     * Decodes the current lob a chunk at a time.  Chunks are whole base64
+     * groups so that no partially decoded group is left in the scanner
+     * between reads.
+     */
+    private final class LobInputStream
+        extends InputStream
+    {
+        private final byte[] _chunk = new byte[3 * 1024];
+        private int _chunk_pos;
+        private int _chunk_limit;
+        private boolean _finished;
+
+        private boolean fill()
+        {
+            if (_lob_stream != this) {
+                throw new IllegalStateException("the reader has moved off this stream's lob");
+            }
+            if (_finished) {
+                return false;
+            }
+            try {
+                _scanner.save_point_activate(_lob_stream_save_point);
+                try {
+                    _chunk_limit = decode_lob_bytes(_chunk, 0, _chunk.length);
+                    if (_lob_decoded_to_end) {
+                        _finished = true;
+                    }
+                    else {
+                        _scanner.save_point_advance(_lob_stream_save_point);
+                    }
+                }
+                finally {
+                    _scanner.save_point_deactivate(_lob_stream_save_point);
+                }
+            }
+            catch (IOException e) {
+                throw new IonException(e);
+            }
+            _chunk_pos = 0;
+            return _chunk_limit > 0;
+        }
+
+        @Override
+        public int read()
+        {
+            if (_chunk_pos >= _chunk_limit && !fill()) {
+                return -1;
+            }
+            return _chunk[_chunk_pos++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len)
+        {
+            if (len == 0) {
+                return 0;
+            }
+            if (_chunk_pos >= _chunk_limit && !fill()) {
+                return -1;
+            }
+            int amount = Math.min(len, _chunk_limit - _chunk_pos);
+            System.arraycopy(_chunk, _chunk_pos, b, off, amount);
+            _chunk_pos += amount;
+            return amount;
+        }
+
+        @Override
+        public int available()
+        {
+            return _chunk_limit - _chunk_pos;
+        }
     }
 
     public IonValue getIonValue(IonSystem sys)
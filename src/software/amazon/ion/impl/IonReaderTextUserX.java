@@ -29,6 +29,8 @@ import software.amazon.ion.SymbolToken;
 import software.amazon.ion.TextSpan;
 import software.amazon.ion.UnknownSymbolException;
 import software.amazon.ion.UnsupportedIonVersionException;
+import software.amazon.ion.impl.UnifiedInputStreamX.FromByteArray;
+import software.amazon.ion.system.IonMetricsListener;
 
 /**
  *    The text user reader add support for symbols and recognizes,
@@ -61,13 +63,19 @@ class IonReaderTextUserX
      * It must be subtracted from the logical offsets exposed by
      * {@link OffsetSpan}s.
      */
-    private final int _physical_start_offset;
+    private int _physical_start_offset;
     private final PrivateLocalSymbolTableFactory _lstFactory;
 
     // IonSystem   _system; now in IonReaderTextSystemX where it could be null
     IonCatalog  _catalog;
     SymbolTable _symbols;
 
+    /**
+     * Notified of the values and symtabs read; null if disabled.
+     */
+    private IonMetricsListener _metrics;
+    private boolean _metrics_end_reported;
+
 
     protected IonReaderTextUserX(IonCatalog catalog,
                                  PrivateLocalSymbolTableFactory lstFactory,
@@ -87,6 +95,72 @@ class IonReaderTextUserX
         this(catalog, lstFactory, uis, 0);
     }
 
+    /**
+     * Re-points this reader at a new range of bytes, as if newly made over
+     * them, keeping its buffers, catalog and configuration.
+     * The reader must have been made over a byte array.
+     */
+    final void reset(byte[] bytes, int offset, int length)
+    {
+        ((FromByteArray)_scanner.getSourceStream()).reset(bytes, offset, length);
+        reset_raw();
+        _physical_start_offset = offset;
+        _symbols = _system_symtab;
+        clear_system_value_stack();
+        _metrics_end_reported = false;
+    }
+
+    /**
+     * Reports the work of this reader to the given listener.
+     * Should be called before the first call to {@link #next()}.
+     */
+    final void setMetricsListener(IonMetricsListener metrics)
+    {
+        _metrics = metrics;
+    }
+
+    @Override
+    public IonType next()
+    {
+        IonType t = super.next();
+        if (_metrics != null) {
+            report_next(t);
+        }
+        return t;
+    }
+
+    /**
+     * Loads the local symtab with reporting suspended, since the symtab
+     * factory reads its fields through {@link #next()}.
+     */
+    private SymbolTable load_local_symbol_table_metered()
+    {
+        IonMetricsListener metrics = _metrics;
+        _metrics = null;
+        long start = System.nanoTime();
+        SymbolTable symtab;
+        try {
+            symtab = _lstFactory.newLocalSymtab(_catalog, this, true);
+        }
+        finally {
+            _metrics = metrics;
+        }
+        metrics.localSymbolTableRead(symtab, System.nanoTime() - start);
+        return symtab;
+    }
+
+    private void report_next(IonType t)
+    {
+        if (t != null) {
+            _metrics.valueRead(t);
+        }
+        else if (getDepth() == 0 && !_metrics_end_reported) {
+            _metrics_end_reported = true;
+            long position = _scanner.getSourceStream().getPosition();
+            _metrics.inputConsumed(position - _physical_start_offset);
+        }
+    }
+
     /**
      * this looks forward to see if there is an upcoming value
      * and if there is it returns true.  It may have to clean up
@@ -130,9 +204,14 @@ class IonReaderTextUserX
                 switch (_value_type) {
                 case STRUCT:
                     if (_annotation_count > 0 && ION_SYMBOL_TABLE.equals(_annotations[0].getText())) {
-                        _symbols = _lstFactory.newLocalSymtab(_catalog,
-                                                              this,
-                                                              true);
+                        if (_metrics == null) {
+                            _symbols = _lstFactory.newLocalSymtab(_catalog,
+                                                                  this,
+                                                                  true);
+                        }
+                        else {
+                            _symbols = load_local_symbol_table_metered();
+                        }
                         push_symbol_table(_symbols);
                         _has_next_called = false;
                     }
@@ -260,16 +339,20 @@ class IonReaderTextUserX
     }
 
 
-    private static final class IonReaderTextSpan
+    /**
+     * A span over text, offering only its offset. Readers that track lines
+     * and columns hand out {@link IonReaderTextLineSpan}s instead.
+     */
+    private static class IonReaderTextSpan
         extends DowncastingFaceted
-        implements Span, TextSpan, OffsetSpan
+        implements Span, OffsetSpan
     {
         private final UnifiedDataPageX _data_page;
         private final IonType          _container_type;
 
         private final long             _start_offset;
-        private final long             _start_line;
-        private final long             _start_column;
+        final long                     _start_line;
+        final long                     _start_column;
 
         IonReaderTextSpan(IonReaderTextUserX reader)
         {
@@ -289,6 +372,35 @@ class IonReaderTextUserX
             _start_column = reader._value_start_column;
         }
 
+        public long getStartOffset()
+        {
+            return _start_offset;
+        }
+
+        public long getFinishOffset()
+        {
+            return -1;
+        }
+
+        IonType getContainerType() {
+            return _container_type;
+        }
+
+        UnifiedDataPageX getDataPage() {
+            return _data_page;
+        }
+    }
+
+
+    private static final class IonReaderTextLineSpan
+        extends IonReaderTextSpan
+        implements TextSpan
+    {
+        IonReaderTextLineSpan(IonReaderTextUserX reader)
+        {
+            super(reader);
+        }
+
         public long getStartLine()
         {
             if (_start_line < 1) {
@@ -314,24 +426,6 @@ class IonReaderTextUserX
         {
             return -1;
         }
-
-        public long getStartOffset()
-        {
-            return _start_offset;
-        }
-
-        public long getFinishOffset()
-        {
-            return -1;
-        }
-
-        IonType getContainerType() {
-            return _container_type;
-        }
-
-        UnifiedDataPageX getDataPage() {
-            return _data_page;
-        }
     }
 
 
@@ -340,7 +434,13 @@ class IonReaderTextUserX
         if (getType() == null) {
             throw new IllegalStateException("must be on a value");
         }
-        IonReaderTextSpan pos = new IonReaderTextSpan(this);
+        IonReaderTextSpan pos;
+        if (_position_tracking_enabled) {
+            pos = new IonReaderTextLineSpan(this);
+        }
+        else {
+            pos = new IonReaderTextSpan(this);
+        }
         return pos;
     }
 
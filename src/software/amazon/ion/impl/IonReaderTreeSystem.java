@@ -41,6 +41,7 @@ import software.amazon.ion.IonText;
 import software.amazon.ion.IonTimestamp;
 import software.amazon.ion.IonType;
 import software.amazon.ion.IonValue;
+import software.amazon.ion.LobStreamProvider;
 import software.amazon.ion.SymbolTable;
 import software.amazon.ion.SymbolToken;
 import software.amazon.ion.Timestamp;
@@ -85,14 +86,27 @@ class IonReaderTreeSystem
     }
 
 
-    /**
-     * @return This implementation always returns null.
-     */
     public <T> T asFacet(Class<T> facetType)
     {
+        if (facetType == LobStreamProvider.class)
+        {
+            return facetType.cast(new LobStreamProviderFacet());
+        }
         return null;
     }
 
+    private final class LobStreamProviderFacet
+        implements LobStreamProvider
+    {
+        public InputStream newInputStream()
+        {
+            if (_curr instanceof IonLob) {
+                return ((IonLob)_curr).newInputStream();
+            }
+            throw new IllegalStateException("current value is not an ion blob or clob");
+        }
+    }
+
     //========================================================================
 
     void re_init(IonValue value, boolean hoisted)
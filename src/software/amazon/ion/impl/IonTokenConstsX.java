@@ -187,6 +187,69 @@ final class IonTokenConstsX
         return (c == ' ' || c == '\t' || c == '\n' || c == '\r');
     }
 
+    // character classes of the 7 bit characters, these let the tokenizer
+    // classify a character with a single lookup and scan runs of similar
+    // characters directly over the input pages (see UnifiedInputStreamX)
+    /** space and tab, line endings are left out since they are counted */
+    static final int CC_WHITESPACE        = 0x01;
+    /** characters of an identifier symbol */
+    static final int CC_SYMBOL            = 0x02;
+    /** characters copied as is into a double quoted string */
+    static final int CC_STRING            = 0x04;
+    /** characters copied as is into a quoted symbol or a long string */
+    static final int CC_QUOTED_SYMBOL     = 0x08;
+    /** characters that end a number (other than EOF and comments) */
+    static final int CC_NUMERIC_STOP      = 0x10;
+    /** characters skipped as is in a block comment */
+    static final int CC_BLOCK_COMMENT     = 0x20;
+
+    static final byte[] characterClasses = makeCharacterClassArray();
+    private static byte[] makeCharacterClassArray()
+    {
+        byte[] classes = new byte[128];
+
+        classes[' ']  |= CC_WHITESPACE;
+        classes['\t'] |= CC_WHITESPACE;
+
+        for (int ii='a'; ii<='z'; ii++) {
+            classes[ii] |= CC_SYMBOL;
+        }
+        for (int ii='A'; ii<='Z'; ii++) {
+            classes[ii] |= CC_SYMBOL;
+        }
+        for (int ii='0'; ii<='9'; ii++) {
+            classes[ii] |= CC_SYMBOL;
+        }
+        classes['$'] |= CC_SYMBOL;
+        classes['_'] |= CC_SYMBOL;
+
+        for (int ii=0x20; ii<0x7f; ii++) {
+            classes[ii] |= CC_STRING | CC_QUOTED_SYMBOL;
+        }
+        classes['"']  &= ~CC_STRING;
+        classes['\''] &= ~CC_QUOTED_SYMBOL;
+        classes['\\'] &= ~(CC_STRING | CC_QUOTED_SYMBOL);
+
+        for (int ii=0x20; ii<0x7f; ii++) {
+            classes[ii] |= CC_BLOCK_COMMENT;
+        }
+        classes['\t'] |= CC_BLOCK_COMMENT;
+        classes['*'] &= ~CC_BLOCK_COMMENT;
+
+        for (char c : "{}[](),\"\' \t\n\r".toCharArray()) {
+            classes[c] |= CC_NUMERIC_STOP;
+        }
+        return classes;
+    }
+
+    /**
+     * @return the CC_ flags of the character, characters outside the 7 bit
+     *  range (including EOF and the CharacterSequence values) have none
+     */
+    static final int characterClass(int c) {
+        return is7bitValue(c) ? characterClasses[c] : 0;
+    }
+
     public final static boolean[] isBase64Character = makeBase64Array();
     public final static int       base64FillerCharacter = '=';
     private static boolean[] makeBase64Array()
@@ -461,27 +524,9 @@ final class IonTokenConstsX
         return (isValidExtendedSymbolCharacter[c & 0xff] && is8bitValue(c));
     }
 
-    private static final boolean isValidSymbolCharacter[] = makeIsValidSymbolCharacterArray();
-    private static final boolean [] makeIsValidSymbolCharacterArray() {
-        boolean [] values = new boolean [256];
-
-        for (int ii='a'; ii<='z'; ii++) {
-            values[ii] = true;
-        }
-        for (int ii='A'; ii<='Z'; ii++) {
-            values[ii] = true;
-        }
-        for (int ii='0'; ii<='9'; ii++) {
-            values[ii] = true;
-        }
-        values['$'] = true;
-        values['_'] = true;
-
-        return values;
-    }
     public final static boolean isValidSymbolCharacter(int c)
     {
-        return (isValidSymbolCharacter[c & 0xff] && is8bitValue(c));
+        return (characterClass(c) & CC_SYMBOL) != 0;
     }
 
     private static final boolean isValidStartSymbolCharacter[] = makeIsValidStartSymbolCharacterArray();
@@ -20,6 +20,7 @@ import static software.amazon.ion.impl.PrivateIonConstants.tidSexp;
 import static software.amazon.ion.impl.PrivateIonConstants.tidStruct;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -29,6 +30,7 @@ import software.amazon.ion.IonType;
 import software.amazon.ion.SymbolTable;
 import software.amazon.ion.SymbolToken;
 import software.amazon.ion.Timestamp;
+import software.amazon.ion.system.IonMetricsListener;
 import software.amazon.ion.system.IonTextWriterBuilder.LstMinimizing;
 import software.amazon.ion.util.IonTextUtils;
 import software.amazon.ion.util.PrivateFastAppendable;
@@ -36,6 +38,7 @@ import software.amazon.ion.util.IonTextUtils.SymbolVariant;
 
 class IonWriterSystemText
     extends IonWriterSystem
+    implements PrivateLobWriter
 {
     /** Not null. */
     private final PrivateIonTextWriterBuilder _options;
@@ -47,6 +50,9 @@ class IonWriterSystemText
     /** Ensure we don't use a closed {@link #output} stream. */
     private boolean _closed;
 
+    /** Notified of flushes; null if disabled. */
+    private final IonMetricsListener _metrics;
+
     /**
      * True when the current container is a struct, so we write field names.
      */
@@ -86,6 +92,7 @@ class IonWriterSystemText
             PrivateIonTextAppender.forFastAppendable(out,
                                                        options.getCharset());
         _options = options;
+        _metrics = options.getMetricsListener();
 
         if (_options.isPrettyPrintOn()) {
             _separator_character = '\n';
@@ -744,6 +751,34 @@ class IonWriterSystemText
         closeValue();
     }
 
+    public void writeBlob(long length, InputStream source)
+        throws IOException
+    {
+        if (source == null)
+        {
+            writeNull(IonType.BLOB);
+            return;
+        }
+
+        startValue();
+        _output.printBlob(_options, length, source);
+        closeValue();
+    }
+
+    public void writeClob(long length, InputStream source)
+        throws IOException
+    {
+        if (source == null)
+        {
+            writeNull(IonType.CLOB);
+            return;
+        }
+
+        startValue();
+        _output.printClob(_options, length, source);
+        closeValue();
+    }
+
 
     /**
      * {@inheritDoc}
@@ -754,7 +789,14 @@ class IonWriterSystemText
     public void flush() throws IOException
     {
         if (! _closed) {
-            _output.flush();
+            if (_metrics == null) {
+                _output.flush();
+            }
+            else {
+                long start = System.nanoTime();
+                _output.flush();
+                _metrics.flushed(System.nanoTime() - start);
+            }
         }
     }
 
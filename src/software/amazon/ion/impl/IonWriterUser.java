@@ -18,6 +18,7 @@ import static software.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE;
 import static software.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE_SID;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import software.amazon.ion.IonCatalog;
@@ -28,6 +29,7 @@ import software.amazon.ion.SymbolTable;
 import software.amazon.ion.SymbolToken;
 import software.amazon.ion.Timestamp;
 import software.amazon.ion.ValueFactory;
+import software.amazon.ion.util.IonStreamUtils;
 
 /**
  * This writer handles the symbol table processing and
@@ -48,7 +50,7 @@ import software.amazon.ion.ValueFactory;
  */
 class IonWriterUser
     extends PrivateIonWriterBase
-    implements PrivateIonWriter
+    implements PrivateIonWriter, PrivateLobWriter
 {
     /** Factory for constructing the DOM of local symtabs. Not null. */
     private final ValueFactory _symtab_value_factory;
@@ -409,6 +411,16 @@ class IonWriterUser
         _current_writer.writeClob(value, start, len);
     }
 
+    public void writeBlob(long length, InputStream source) throws IOException
+    {
+        IonStreamUtils.writeBlob(_current_writer, length, source);
+    }
+
+    public void writeClob(long length, InputStream source) throws IOException
+    {
+        IonStreamUtils.writeClob(_current_writer, length, source);
+    }
+
     @Override
     public void writeDecimal(BigDecimal value) throws IOException
     {
@@ -29,11 +29,11 @@ import static software.amazon.ion.impl.PrivateUtils.safeEquals;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import software.amazon.ion.IonCatalog;
 import software.amazon.ion.IonException;
 import software.amazon.ion.IonReader;
@@ -48,6 +48,10 @@ import software.amazon.ion.util.IonTextUtils;
  * A local symbol table.
  * <p>
  * Instances of this class are safe for use by multiple threads.
+ * Lookups never lock: local symbols are only ever appended, and each new
+ * symbol is published by a volatile write of {@link #mySymbolsCount} after
+ * its name is stored, and before it is added to {@link #mySymbolsMap}.
+ * Changes are serialized by synchronizing on the table.
  */
 class LocalSymbolTable
     implements SymbolTable
@@ -102,27 +106,31 @@ class LocalSymbolTable
 
     /**
      * Map of symbol names to symbol ids of local symbols that are not in
-     * imports.
+     * imports. A symbol is only added once its name is visible through
+     * {@link #mySymbolNames}.
      */
-    private final Map<String, Integer> mySymbolsMap;
+    private final ConcurrentMap<String, Integer> mySymbolsMap;
 
     /**
      * Whether this symbol table is read only, and thus, immutable.
      */
-    private boolean isReadOnly;
+    private volatile boolean isReadOnly;
 
     /**
      * The local symbol names declared in this symtab; never null.
      * The sid of the first element is {@link #myFirstLocalSid}.
      * Only the first {@link #mySymbolsCount} elements are valid.
+     * <p>
+     * Elements are never changed once valid, and the array is only replaced
+     * by a larger copy, so readers must read {@link #mySymbolsCount} first.
      */
-    String[] mySymbolNames;
+    volatile String[] mySymbolNames;
 
     /**
      * This is the number of symbols defined in this symbol table
      * locally, that is not imported from some other table.
      */
-    int mySymbolsCount;
+    volatile int mySymbolsCount;
 
     /**
      * The sid of the first local symbol, which is stored at
@@ -136,10 +144,11 @@ class LocalSymbolTable
 
     private void buildSymbolsMap()
     {
+        String[] names = mySymbolNames;
         int sid = myFirstLocalSid;
-        for (int i = 0; i < mySymbolNames.length; i++, sid++)
+        for (int i = 0; i < names.length; i++, sid++)
         {
-            String symbolText = mySymbolNames[i];
+            String symbolText = names[i];
             if (symbolText != null)
             {
                 putToMapIfNotThere(mySymbolsMap, symbolText, sid);
@@ -169,13 +178,15 @@ class LocalSymbolTable
         myFirstLocalSid = myImportsList.getMaxId() + 1;
 
         // Copy locally declared symbols to mySymbolsMap
-        mySymbolsMap = new HashMap<String, Integer>();
+        mySymbolsMap = new ConcurrentHashMap<String, Integer>();
         buildSymbolsMap();
     }
 
     /**
      * Copy-constructor, performs defensive copying of member fields where
      * necessary. The returned instance is mutable.
+     * <p>
+     * NOT SYNCHRONIZED! The caller must prevent {@code other} from changing.
      */
     protected LocalSymbolTable(LocalSymbolTable other, int maxId)
     {
@@ -190,11 +201,13 @@ class LocalSymbolTable
         if (maxId == other.getMaxId())
         {
             // Shallow copy
-            mySymbolsMap = new HashMap<String, Integer>(other.mySymbolsMap);
+            mySymbolsMap =
+                new ConcurrentHashMap<String, Integer>(other.mySymbolsMap);
         }
         else
         {
-            mySymbolsMap = new HashMap<String, Integer>(mySymbolsCount);
+            mySymbolsMap =
+                new ConcurrentHashMap<String, Integer>(mySymbolsCount);
             buildSymbolsMap();
         }
     }
@@ -316,14 +329,29 @@ class LocalSymbolTable
         return new LocalSymbolTableImports(importsList);
     }
 
-    synchronized LocalSymbolTable makeCopy()
+    LocalSymbolTable makeCopy()
     {
-        return new LocalSymbolTable(this, getMaxId());
+        if (isReadOnly)
+        {
+            // Nothing can change, so there's no need to block writers.
+            return new LocalSymbolTable(this, getMaxId());
+        }
+        synchronized (this)
+        {
+            return new LocalSymbolTable(this, getMaxId());
+        }
     }
 
-    synchronized LocalSymbolTable makeCopy(int maxId)
+    LocalSymbolTable makeCopy(int maxId)
     {
-        return new LocalSymbolTable(this, maxId);
+        if (isReadOnly)
+        {
+            return new LocalSymbolTable(this, maxId);
+        }
+        synchronized (this)
+        {
+            return new LocalSymbolTable(this, maxId);
+        }
     }
 
     public boolean isLocalTable()
@@ -346,7 +374,7 @@ class LocalSymbolTable
         return false;
     }
 
-    public synchronized boolean isReadOnly()
+    public boolean isReadOnly()
     {
         return isReadOnly;
     }
@@ -361,7 +389,7 @@ class LocalSymbolTable
         return myImportsList.getMaxId();
     }
 
-    public synchronized int getMaxId()
+    public int getMaxId()
     {
         int maxid = mySymbolsCount + myImportsList.getMaxId();
         return maxid;
@@ -383,9 +411,10 @@ class LocalSymbolTable
         return system_table.getIonVersionId();
     }
 
-    public synchronized Iterator<String> iterateDeclaredSymbolNames()
+    public Iterator<String> iterateDeclaredSymbolNames()
     {
-        return new SymbolIterator(mySymbolNames, mySymbolsCount);
+        int count = mySymbolsCount;
+        return new SymbolIterator(mySymbolNames, count);
     }
 
     public String findKnownSymbol(int id)
@@ -405,15 +434,9 @@ class LocalSymbolTable
         {
             int offset = id - myFirstLocalSid;
 
-            String[] names;
-            synchronized (this)
-            {
-                names = mySymbolNames;
-            }
-
-            if (offset < names.length)
+            if (offset < mySymbolsCount)
             {
-                name = names[offset];
+                name = mySymbolNames[offset];
             }
         }
 
@@ -436,12 +459,7 @@ class LocalSymbolTable
 
     private int findLocalSymbol(String name)
     {
-        Integer isid;
-        synchronized (this)
-        {
-            isid = mySymbolsMap.get(name);
-        }
-
+        Integer isid = mySymbolsMap.get(name);
         if (isid != null)
         {
             assert isid != UNKNOWN_SYMBOL_ID;
@@ -451,14 +469,22 @@ class LocalSymbolTable
     }
 
 
-    public synchronized SymbolToken intern(String text)
+    public SymbolToken intern(String text)
     {
         SymbolToken is = find(text);
         if (is == null)
         {
             validateSymbol(text);
-            int sid = putSymbol(text);
-            is = new SymbolTokenImpl(text, sid);
+            synchronized (this)
+            {
+                // Another thread may have added it since we looked.
+                is = find(text);
+                if (is == null)
+                {
+                    int sid = putSymbol(text);
+                    is = new SymbolTokenImpl(text, sid);
+                }
+            }
         }
         return is;
     }
@@ -473,18 +499,12 @@ class LocalSymbolTable
         // Look in local symbols
         if (symTok == null)
         {
-            Integer  sid;
-            String[] names;
-            synchronized (this)
-            {
-                sid = mySymbolsMap.get(text);
-                names = mySymbolNames;
-            }
-
+            Integer sid = mySymbolsMap.get(text);
             if (sid != null)
             {
+                // The name was published before the map entry.
                 int offset = sid - myFirstLocalSid;
-                String internedText = names[offset];
+                String internedText = mySymbolNames[offset];
                 assert internedText != null;
                 symTok = new SymbolTokenImpl(internedText, sid);
             }
@@ -538,46 +558,47 @@ class LocalSymbolTable
             throw new ReadOnlyValueException(SymbolTable.class);
         }
 
-        if (mySymbolsCount == mySymbolNames.length)
+        int count = mySymbolsCount;
+        String[] names = mySymbolNames;
+        if (count == names.length)
         {
-            int newlen = mySymbolsCount * 2;
+            int newlen = count * 2;
             if (newlen < DEFAULT_CAPACITY)
             {
                 newlen = DEFAULT_CAPACITY;
             }
             String[] temp = new String[newlen];
-            System.arraycopy(mySymbolNames, 0, temp, 0, mySymbolsCount);
-            mySymbolNames = temp;
+            System.arraycopy(names, 0, temp, 0, count);
+            names = temp;
         }
 
+        // Store the name, then publish the new array and count, and only
+        // then make the name findable, so lock-free readers never see a
+        // sid whose name isn't visible yet.
+        names[count] = symbolName;
+        mySymbolNames = names;
+        mySymbolsCount = count + 1;
+
         int sid = -1;
         if (symbolName != null)
         {
-            sid = mySymbolsCount + myFirstLocalSid;
-            assert sid == getMaxId() + 1;
+            sid = count + myFirstLocalSid;
+            assert sid == getMaxId();
 
             putToMapIfNotThere(mySymbolsMap, symbolName, sid);
         }
-        mySymbolNames[mySymbolsCount] = symbolName;
-        mySymbolsCount++;
 
         return sid;
     }
 
-    private static void putToMapIfNotThere(Map<String, Integer> symbolsMap,
+    private static void putToMapIfNotThere(ConcurrentMap<String, Integer> symbolsMap,
                                            String text,
                                            int sid)
     {
         // When there's a duplicate name, don't replace the lower sid.
-        // This pattern avoids double-lookup in the normal happy case
-        // and only requires a second lookup when there's a duplicate.
-        Integer extantSid = symbolsMap.put(text, sid);
-        if (extantSid != null)
-        {
-            // We always insert symbols with increasing sids
-            assert extantSid < sid;
-            symbolsMap.put(text, extantSid);
-        }
+        // We always insert symbols with increasing sids.
+        Integer extantSid = symbolsMap.putIfAbsent(text, sid);
+        assert extantSid == null || extantSid < sid;
     }
 
     public SymbolTable getSystemSymbolTable()
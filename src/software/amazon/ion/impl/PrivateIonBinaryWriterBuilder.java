@@ -26,6 +26,7 @@ import software.amazon.ion.ValueFactory;
 import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder;
 import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder.AllocatorMode;
 import software.amazon.ion.system.IonBinaryWriterBuilder;
+import software.amazon.ion.system.IonMetricsListener;
 import software.amazon.ion.system.IonSystemBuilder;
 
 /**
@@ -238,6 +239,13 @@ public class PrivateIonBinaryWriterBuilder
         myBinaryWriterBuilder.withStreamCopyOptimization(optimized);
     }
 
+    @Override
+    public void setMetricsListener(final IonMetricsListener listener)
+    {
+        super.setMetricsListener(listener);
+        myBinaryWriterBuilder.withMetricsListener(listener);
+    }
+
     //=========================================================================
 
 
@@ -288,6 +296,13 @@ public class PrivateIonBinaryWriterBuilder
         }
     }
 
+    @Override
+    protected boolean resetWriter(IonWriter writer, OutputStream out)
+        throws IOException
+    {
+        return PrivateIonManagedBinaryWriterBuilder.resetWriter(writer, out);
+    }
+
     //=========================================================================
 
 
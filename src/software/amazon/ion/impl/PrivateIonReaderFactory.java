@@ -28,6 +28,7 @@ import software.amazon.ion.IonException;
 import software.amazon.ion.IonReader;
 import software.amazon.ion.IonSystem;
 import software.amazon.ion.IonValue;
+import software.amazon.ion.system.IonMetricsListener;
 import software.amazon.ion.util.IonStreamUtils;
 
 /**
@@ -250,6 +251,125 @@ public final class PrivateIonReaderFactory
     }
 
 
+    /**
+     * Turns line and column tracking on or off for a freshly created text
+     * reader. Other readers are returned unchanged.
+     *
+     * @return the given reader.
+     */
+    public static final IonReader setTextPositionTracking(IonReader reader,
+                                                          boolean enabled)
+    {
+        if (reader instanceof IonReaderTextRawX) {
+            ((IonReaderTextRawX) reader).setPositionTrackingEnabled(enabled);
+        }
+        return reader;
+    }
+
+    /**
+     * Restricts a freshly created text reader to JSON input.
+     *
+     * @return the given reader.
+     *
+     * @throws IonException if the reader isn't reading text.
+     */
+    public static final IonReader setJsonStrict(IonReader reader,
+                                                boolean enabled)
+    {
+        if (reader instanceof IonReaderTextRawX) {
+            ((IonReaderTextRawX) reader).setJsonStrict(enabled);
+        }
+        else if (enabled) {
+            throw new IonException("JSON-strict readers require text input");
+        }
+        return reader;
+    }
+
+
+    /**
+     * Lets a freshly created binary reader share local symbol tables through
+     * the given cache. Other readers are returned unchanged.
+     *
+     * @param cache may be null to disable sharing.
+     *
+     * @return the given reader.
+     */
+    public static final IonReader setLocalSymbolTableCache(IonReader reader,
+                                                           PrivateLocalSymbolTableCache cache)
+    {
+        if (reader instanceof IonReaderBinaryUserX) {
+            ((IonReaderBinaryUserX) reader).setLocalSymbolTableCache(cache);
+        }
+        return reader;
+    }
+
+
+    /**
+     * Lets a freshly created binary or text reader report its work to the
+     * given listener. Other readers are returned unchanged.
+     *
+     * @param listener may be null to disable reporting.
+     *
+     * @return the given reader.
+     */
+    public static final IonReader setMetricsListener(IonReader reader,
+                                                     IonMetricsListener listener)
+    {
+        if (reader instanceof IonReaderBinaryUserX) {
+            ((IonReaderBinaryUserX) reader).setMetricsListener(listener);
+        }
+        else if (reader instanceof IonReaderTextUserX) {
+            ((IonReaderTextUserX) reader).setMetricsListener(listener);
+        }
+        return reader;
+    }
+
+
+    /**
+     * Re-points a reader made over a byte array at a new range of bytes,
+     * as if newly made over them, but keeping its buffers, catalog, local
+     * symtab factory and configuration.
+     *
+     * @return false if the reader can't be re-pointed at the data, in which
+     * case it's unchanged. That happens when the reader wasn't made by this
+     * factory over a byte array, when the data is GZIPped, or when the data
+     * isn't in the same format (binary or text) as that the reader was made
+     * over. Any reader can be re-pointed at empty data.
+     */
+    public static boolean resetReader(IonReader reader,
+                                      byte[] bytes,
+                                      int offset,
+                                      int length)
+    {
+        if (length != 0) {
+            if (IonStreamUtils.isGzip(bytes, offset, length)) {
+                return false;
+            }
+            boolean binary = isIonBinary(bytes, offset, length);
+            if (binary != (reader instanceof IonReaderBinaryUserX)) {
+                return false;
+            }
+        }
+
+        if (reader instanceof IonReaderBinaryUserX) {
+            IonReaderBinaryUserX r = (IonReaderBinaryUserX) reader;
+            if (r._input instanceof UnifiedInputStreamX.FromByteArray) {
+                r.reset(bytes, offset, length);
+                return true;
+            }
+        }
+        else if (reader instanceof IonReaderTextUserX) {
+            IonReaderTextUserX r = (IonReaderTextUserX) reader;
+            if (r._scanner.getSourceStream()
+                    instanceof UnifiedInputStreamX.FromByteArray) {
+                r.reset(bytes, offset, length);
+                return true;
+            }
+        }
+        return false;
+    }
+
+
     //=========================================================================
 
 
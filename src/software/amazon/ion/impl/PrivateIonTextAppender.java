@@ -19,17 +19,17 @@ import static software.amazon.ion.impl.PrivateIonConstants.isHighSurrogate;
 import static software.amazon.ion.impl.PrivateIonConstants.isLowSurrogate;
 import static software.amazon.ion.impl.PrivateIonConstants.makeUnicodeScalar;
 
-import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import software.amazon.ion.Decimal;
-import software.amazon.ion.impl.Base64Encoder.TextStream;
+import software.amazon.ion.IonException;
 import software.amazon.ion.system.IonTextWriterBuilder;
 import software.amazon.ion.util.PrivateFastAppendable;
 
@@ -874,15 +874,66 @@ public final class PrivateIonTextAppender
             return;
         }
 
-        @SuppressWarnings("resource")
-        TextStream ts =
-            new TextStream(new ByteArrayInputStream(value, start, len));
-
         // base64 encoding is 6 bits per char so
         // it evens out at 3 bytes in 4 characters
         char[] buf = new char[_options.isPrettyPrintOn() ? 80 : 400];
         CharBuffer cb = CharBuffer.wrap(buf);
+        int chunk = (buf.length / 4) * 3;
+
+        printBlobOpen(_options);
+
+        int end = start + len;
+        for (int pos = start; pos < end; pos += chunk)
+        {
+            int blen = Math.min(chunk, end - pos);
+            int clen = Base64Encoder.encode(value, pos, blen, buf, 0);
+            appendAscii(cb, 0, clen);
+        }
+
+        printBlobClose(_options);
+    }
 
+    /**
+     * Prints a blob read from a stream, encoding it a chunk at a time.
+     *
+     * @throws IonException if the stream ends before {@code length} bytes.
+     */
+    public void printBlob(PrivateIonTextWriterBuilder _options,
+                          long length, InputStream source)
+        throws IOException
+    {
+        if (source == null)
+        {
+            appendAscii("null.blob");
+            return;
+        }
+        if (length < 0)
+        {
+            throw new IllegalArgumentException("negative lob length: " + length);
+        }
+
+        // whole groups of 3 bytes, so only the last chunk can be padded
+        char[] buf = new char[_options.isPrettyPrintOn() ? 80 : 400];
+        CharBuffer cb = CharBuffer.wrap(buf);
+        byte[] bytes = new byte[(buf.length / 4) * 3];
+
+        printBlobOpen(_options);
+
+        for (long remaining = length; remaining > 0; )
+        {
+            int blen = (int) Math.min(bytes.length, remaining);
+            PrivateUtils.readExactly(source, bytes, 0, blen);
+            int clen = Base64Encoder.encode(bytes, 0, blen, buf, 0);
+            appendAscii(cb, 0, clen);
+            remaining -= blen;
+        }
+
+        printBlobClose(_options);
+    }
+
+    private void printBlobOpen(PrivateIonTextWriterBuilder _options)
+        throws IOException
+    {
         if (_options._blob_as_string)
         {
             appendAscii('"');
@@ -895,15 +946,11 @@ public final class PrivateIonTextAppender
                 appendAscii(' ');
             }
         }
+    }
 
-        for (;;)
-        {
-            // TODO is it better to fill up the CharBuffer before outputting?
-            int clen = ts.read(buf, 0, buf.length);
-            if (clen < 1) break;
-            appendAscii(cb, 0, clen);
-        }
-
+    private void printBlobClose(PrivateIonTextWriterBuilder _options)
+        throws IOException
+    {
         if (_options._blob_as_string)
         {
             appendAscii('"');
@@ -945,12 +992,57 @@ public final class PrivateIonTextAppender
             return;
         }
 
+        String[] escapes = printClobOpen(_options, len);
+        printClobBytes(value, start, start + len, escapes);
+        printClobClose(_options, escapes);
+    }
+
+    /**
+     * Prints a clob read from a stream, escaping it a chunk at a time.
+     *
+     * @throws IonException if the stream ends before {@code length} bytes.
+     */
+    public void printClob(PrivateIonTextWriterBuilder _options,
+                          long length, InputStream source)
+        throws IOException
+    {
+        if (source == null)
+        {
+            appendAscii("null.clob");
+            return;
+        }
+        if (length < 0)
+        {
+            throw new IllegalArgumentException("negative lob length: " + length);
+        }
+
+        byte[] bytes = new byte[(int) Math.min(length, 4096)];
+
+        String[] escapes = printClobOpen(_options, length);
+        for (long remaining = length; remaining > 0; )
+        {
+            int blen = (int) Math.min(bytes.length, remaining);
+            PrivateUtils.readExactly(source, bytes, 0, blen);
+            printClobBytes(bytes, 0, blen, escapes);
+            remaining -= blen;
+        }
+        printClobClose(_options, escapes);
+    }
 
+    /**
+     * Prints the punctuation before the clob's content.
+     *
+     * @return the escapes to print the content with.
+     */
+    private String[] printClobOpen(PrivateIonTextWriterBuilder _options,
+                                   long length)
+        throws IOException
+    {
         final boolean json =
             _options._clob_as_string && _options._string_as_json;
 
         final int threshold = _options.getLongStringThreshold();
-        final boolean longString = (0 < threshold && threshold < value.length);
+        final boolean longString = (0 < threshold && threshold < length);
 
         if (!_options._clob_as_string)
         {
@@ -964,8 +1056,7 @@ public final class PrivateIonTextAppender
         if (json)
         {
             appendAscii('"');
-            printClobBytes(value, start, start + len, JSON_ESCAPE_CODES);
-            appendAscii('"');
+            return JSON_ESCAPE_CODES;
         }
         else if (longString)
         {
@@ -975,13 +1066,25 @@ public final class PrivateIonTextAppender
 
             // TODO Account for NL versus CR+NL streams
             appendAscii(TRIPLE_QUOTES);
-            printClobBytes(value, start, start + len, LONG_STRING_ESCAPE_CODES);
-            appendAscii(TRIPLE_QUOTES);
+            return LONG_STRING_ESCAPE_CODES;
         }
         else
         {
             appendAscii('"');
-            printClobBytes(value, start, start + len, STRING_ESCAPE_CODES);
+            return STRING_ESCAPE_CODES;
+        }
+    }
+
+    private void printClobClose(PrivateIonTextWriterBuilder _options,
+                                String[] escapes)
+        throws IOException
+    {
+        if (escapes == LONG_STRING_ESCAPE_CODES)
+        {
+            appendAscii(TRIPLE_QUOTES);
+        }
+        else
+        {
             appendAscii('"');
         }
 
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import software.amazon.ion.IonReader;
+import software.amazon.ion.util.IonStreamUtils;
+import software.amazon.ion.util.IonStreamUtils.DoubleList;
+import software.amazon.ion.util.IonStreamUtils.LongList;
+
+/**
+ * An {@link IonReader} {@linkplain software.amazon.ion.facet facet} that can
+ * decode a list of numbers straight from its input, without visiting each
+ * value.
+ * <p>
+ * Each method requires the reader to be positioned on a list or sexp.
+ * When it returns true, the reader is positioned as if it had stepped into
+ * and out of the container. When it returns false, neither the reader nor
+ * the buffer have changed, and the caller must read the values one by one;
+ * that's also how malformed values are reported.
+ *
+ * @see IonStreamUtils#readLongList(IonReader, LongList)
+ * @see IonStreamUtils#readFloatList(IonReader, DoubleList)
+ *
+ * @deprecated This is an internal API that is subject to change without notice.
+ */
+@Deprecated
+public interface PrivateListReader
+{
+    /**
+     * Appends the current container's values, which must be ints that fit
+     * in a {@code long}.
+     */
+    public boolean readIntList(LongList values);
+
+    /**
+     * Appends the current container's values, which must be floats, ints,
+     * or decimals, as {@code double}s.
+     */
+    public boolean readFloatList(DoubleList values);
+}
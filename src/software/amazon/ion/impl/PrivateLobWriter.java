@@ -0,0 +1,35 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import software.amazon.ion.IonWriter;
+
+/**
+ * An IonWriter that can encode a blob or clob a chunk at a time, without
+ * holding the whole value in an array.
+ *
+ * @see software.amazon.ion.util.IonStreamUtils#writeBlob(IonWriter, long, InputStream)
+ *
+ * @deprecated This is an internal API that is subject to change without notice.
+ */
+@Deprecated
+public interface PrivateLobWriter
+    extends IonWriter
+{
+    public void writeBlob(long length, InputStream source) throws IOException;
+    public void writeClob(long length, InputStream source) throws IOException;
+}
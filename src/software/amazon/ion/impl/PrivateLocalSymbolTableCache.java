@@ -0,0 +1,205 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import software.amazon.ion.IonCatalog;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.system.SimpleCatalog;
+
+/**
+ * NOT FOR APPLICATION USE!
+ * <p>
+ * A bounded cache of local symbol tables, keyed by their binary encoding,
+ * shared by the readers built by one {@link software.amazon.ion.system.IonReaderBuilder}.
+ * Streams that each start with the same local symbol table then only parse
+ * it once.
+ * <p>
+ * Cached tables are read-only, and are only reused by readers with the same
+ * catalog and local symtab factory as the reader that parsed them.
+ * Lookups compare the full encoding, so hash collisions are harmless.
+ * <p>
+ * Instances of this class are safe for use by multiple threads.
+ */
+public final class PrivateLocalSymbolTableCache
+{
+    /**
+     * A range of bytes. Probes refer to the reader's buffer; stored keys
+     * own a copy.
+     */
+    private static final class Key
+    {
+        final byte[] myBytes;
+        final int    myOffset;
+        final int    myLength;
+        final int    myHashCode;
+
+        Key(byte[] bytes, int offset, int length)
+        {
+            myBytes  = bytes;
+            myOffset = offset;
+            myLength = length;
+
+            int hash = 1;
+            for (int i = offset, end = offset + length; i < end; i++)
+            {
+                hash = 31 * hash + bytes[i];
+            }
+            myHashCode = hash;
+        }
+
+        Key(Key probe)
+        {
+            myBytes = new byte[probe.myLength];
+            System.arraycopy(probe.myBytes, probe.myOffset,
+                             myBytes, 0, probe.myLength);
+            myOffset   = 0;
+            myLength   = probe.myLength;
+            myHashCode = probe.myHashCode;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return myHashCode;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            if (this == other) return true;
+            if (! (other instanceof Key)) return false;
+
+            Key that = (Key) other;
+            if (myHashCode != that.myHashCode
+                || myLength != that.myLength) return false;
+
+            for (int i = 0; i < myLength; i++)
+            {
+                if (myBytes[myOffset + i] != that.myBytes[that.myOffset + i])
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Entry
+    {
+        final SymbolTable                    mySymtab;
+        final IonCatalog                     myCatalog;
+        final PrivateLocalSymbolTableFactory myFactory;
+
+        Entry(SymbolTable symtab,
+              IonCatalog catalog,
+              PrivateLocalSymbolTableFactory factory)
+        {
+            mySymtab  = symtab;
+            myCatalog = catalog;
+            myFactory = factory;
+        }
+    }
+
+
+    private final int myMaxSize;
+
+    /**
+     * Used by readers whose builder has no catalog, so they can share.
+     */
+    private final IonCatalog myDefaultCatalog = new SimpleCatalog();
+
+    /**
+     * Guarded by itself.
+     */
+    private final LinkedHashMap<Key, Entry> myEntries;
+
+
+    /**
+     * @param maxSize the number of tables to retain; must be positive.
+     */
+    public PrivateLocalSymbolTableCache(int maxSize)
+    {
+        if (maxSize < 1)
+        {
+            throw new IllegalArgumentException("maxSize is < 1");
+        }
+        myMaxSize = maxSize;
+        myEntries = new LinkedHashMap<Key, Entry>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest)
+            {
+                return size() > myMaxSize;
+            }
+        };
+    }
+
+
+    public int getMaxSize()
+    {
+        return myMaxSize;
+    }
+
+    /**
+     * Returns an empty catalog for readers configured without one.
+     */
+    public IonCatalog getDefaultCatalog()
+    {
+        return myDefaultCatalog;
+    }
+
+
+    /**
+     * Finds the local symtab encoded by a range of bytes, parsing it with
+     * the given factory if it's not already cached.
+     *
+     * @param reader must be positioned on the encoded local symtab, and
+     * its current symtab must not be local, since the encoding alone then
+     * determines the result.
+     */
+    SymbolTable findOrParse(byte[] bytes, int offset, int length,
+                            IonCatalog catalog,
+                            PrivateLocalSymbolTableFactory factory,
+                            IonReaderBinaryUserX reader)
+    {
+        assert ! reader.getSymbolTable().isLocalTable();
+
+        Key probe = new Key(bytes, offset, length);
+        synchronized (myEntries)
+        {
+            Entry entry = myEntries.get(probe);
+            if (entry != null
+                && entry.myCatalog == catalog
+                && entry.myFactory == factory)
+            {
+                return entry.mySymtab;
+            }
+        }
+
+        SymbolTable symtab = factory.newLocalSymtab(catalog, reader, false);
+        symtab.makeReadOnly();
+
+        Key key = new Key(probe);
+        synchronized (myEntries)
+        {
+            myEntries.put(key, new Entry(symtab, catalog, factory));
+        }
+        return symtab;
+    }
+}
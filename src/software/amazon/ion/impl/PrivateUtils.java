@@ -555,6 +555,80 @@ public final class PrivateUtils
     }
 
 
+    /**
+     * Calls {@link #readFully(InputStream, byte[], int, int)}, requiring
+     * that the whole length be read.
+     *
+     * @throws IonException if EOF is encountered before reading that far.
+     */
+    public static void readExactly(InputStream in, byte[] buf,
+                                   int offset, int length)
+    throws IOException
+    {
+        int readBytes = readFully(in, buf, offset, length);
+        if (readBytes < length)
+        {
+            throw new IonException("Unexpected EOF: source ended "
+                                   + (length - readBytes)
+                                   + " bytes short of its declared length");
+        }
+    }
+
+
+    /**
+     * Checks that a lob of the given length can be read from a buffer.
+     *
+     * @return the buffer's position.
+     *
+     * @throws IllegalArgumentException if the length is negative or more
+     * than the buffer has remaining.
+     */
+    public static int checkLobRemaining(long length, ByteBuffer buffer)
+    {
+        if (length < 0 || length > buffer.remaining())
+        {
+            throw new IllegalArgumentException("lob length " + length
+                                               + " doesn't fit the "
+                                               + buffer.remaining()
+                                               + " bytes remaining in the buffer");
+        }
+        return buffer.position();
+    }
+
+
+    /**
+     * Returns a stream over the remaining bytes of a buffer, advancing the
+     * buffer's position as they're read.
+     */
+    public static InputStream newInputStream(final ByteBuffer buffer)
+    {
+        return new InputStream()
+        {
+            @Override
+            public int read()
+            {
+                return buffer.hasRemaining() ? (buffer.get() & 0xff) : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len)
+            {
+                if (len == 0) return 0;
+                if (! buffer.hasRemaining()) return -1;
+                len = Math.min(len, buffer.remaining());
+                buffer.get(b, off, len);
+                return len;
+            }
+
+            @Override
+            public int available()
+            {
+                return buffer.remaining();
+            }
+        };
+    }
+
+
     public static byte[] loadFileBytes(File file)
         throws IOException
     {
@@ -1122,6 +1196,22 @@ public final class PrivateUtils
     //========================================================================
 
 
+    public static void writeAsBase64(byte[] bytes, int offset, int length,
+                                     Appendable out)
+        throws IOException
+    {
+        // whole groups of 3 bytes, so only the last chunk can be padded
+        char[] buf = new char[512];
+        CharBuffer cb = CharBuffer.wrap(buf);
+        int chunk = (buf.length / 4) * 3;
+        int end = offset + length;
+        for (int pos = offset; pos < end; pos += chunk) {
+            int len = Base64Encoder.encode(bytes, pos, Math.min(chunk, end - pos),
+                                           buf, 0);
+            out.append(cb, 0, len);
+        }
+    }
+
     public static void writeAsBase64(InputStream byteStream, Appendable out)
         throws IOException
     {
@@ -176,6 +176,15 @@ abstract class UnifiedDataPageX
             _page_limit  = offset + len;
         }
 
+        /** Re-points this page at a new range of bytes. */
+        final void reset(byte[] bytes, int offset, int len) {
+            _bytes        = bytes;
+            _base_offset  = offset;
+            _page_limit   = offset + len;
+            _unread_count = 0;
+            _file_offset  = 0;
+        }
+
         @Override
         public int getValue(int offset) {
             return (_bytes[offset] & 0xff);
@@ -267,6 +267,12 @@ abstract class UnifiedInputBufferX
             _buffer_current = 0;
             _buffer_count = 1;
         }
+        /** Re-points the single page of an array-backed buffer. */
+        final void reset(byte[] bytes, int offset, int length) {
+            ((UnifiedDataPageX.Bytes)_buffers[0]).reset(bytes, offset, length);
+            _buffer_current = 0;
+            _buffer_count = 1;
+        }
         @Override
         public final BufferType getType() { return BufferType.BYTES; }
 
@@ -302,6 +302,246 @@ abstract class UnifiedInputStreamX
         return (_is_byte_data) ? (_bytes[_pos++] & 0xff) : _chars[_pos++];
     }
 
+    /**
+     * Consumes the run of characters, from the current page only, whose
+     * {@link IonTokenConstsX#characterClass(int)} includes any of the
+     * given classes.  The character that stops the run, and anything
+     * on the following pages, is left for {@link #read()}.
+     * @return the number of characters consumed
+     */
+    public final int skipRun(int classes)
+    {
+        int pos = _pos;
+        int limit = _limit;
+        byte[] character_classes = IonTokenConstsX.characterClasses;
+        if (_is_byte_data) {
+            byte[] bytes = _bytes;
+            while (pos < limit) {
+                int c = bytes[pos];
+                // high bit bytes are negative: not 7 bit
+                if (c < 0 || (character_classes[c] & classes) == 0) break;
+                pos++;
+            }
+        }
+        else {
+            char[] chars = _chars;
+            while (pos < limit) {
+                int c = chars[pos];
+                if (c > 0x7f || (character_classes[c] & classes) == 0) break;
+                pos++;
+            }
+        }
+        int count = pos - _pos;
+        _pos = pos;
+        return count;
+    }
+
+    /**
+     * Same as {@link #skipRun(int)} but appends the consumed characters
+     * to the given buffer.
+     * @return the number of characters consumed
+     */
+    public final int appendRun(StringBuilder sb, int classes)
+    {
+        int start = _pos;
+        int count = skipRun(classes);
+        if (count > 0) {
+            if (_is_byte_data) {
+                byte[] bytes = _bytes;
+                int end = start + count;
+                for (int ii = start; ii < end; ii++) {
+                    sb.append((char) bytes[ii]);
+                }
+            }
+            else {
+                sb.append(_chars, start, count);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Like {@link #skipRun(int)}, but non-ASCII text is part of the run
+     * too.  This is for skipping over string content, which isn't decoded,
+     * so the run accepts the same input as
+     * {@link #appendTextRun(StringBuilder, int)}: well formed UTF-8
+     * sequences lying entirely on the current page, or chars that aren't
+     * surrogates.  Anything else stops the run and is left for
+     * {@link #read()}, so malformed text is still reported by the caller.
+     * @return the number of bytes or chars consumed
+     */
+    public final int skipTextRun(int classes)
+    {
+        int pos = _pos;
+        int limit = _limit;
+        byte[] character_classes = IonTokenConstsX.characterClasses;
+        if (_is_byte_data) {
+            byte[] bytes = _bytes;
+            while (pos < limit) {
+                int c = bytes[pos];
+                if (c >= 0) {
+                    if ((character_classes[c] & classes) == 0) break;
+                    pos++;
+                    continue;
+                }
+                int len = utf8_sequence_length(bytes, pos, limit);
+                if (len == 0) break;
+                pos += len;
+            }
+        }
+        else {
+            char[] chars = _chars;
+            while (pos < limit) {
+                int c = chars[pos];
+                if (c <= 0x7f) {
+                    if ((character_classes[c] & classes) == 0) break;
+                }
+                else if (c >= 0xD800 && c <= 0xDFFF) {
+                    break;
+                }
+                pos++;
+            }
+        }
+        int count = pos - _pos;
+        _pos = pos;
+        return count;
+    }
+
+    /**
+     * Like {@link #appendRun(StringBuilder, int)}, but non-ASCII text is
+     * part of the run too, so the content of a string is decoded a page
+     * at a time rather than a character at a time.  Byte data is decoded
+     * as UTF-8, as long as each sequence is well formed and lies entirely
+     * on the current page; chars are taken as they are, as long as they
+     * aren't surrogates.  Anything else stops the run and is left for
+     * {@link #read()}, so the caller's character at a time handling, and
+     * its error reporting, apply as before.
+     * @return the number of bytes or chars consumed
+     */
+    public final int appendTextRun(StringBuilder sb, int classes)
+    {
+        int pos = _pos;
+        int limit = _limit;
+        byte[] character_classes = IonTokenConstsX.characterClasses;
+        if (_is_byte_data) {
+            byte[] bytes = _bytes;
+            while (pos < limit) {
+                int c = bytes[pos];
+                if (c >= 0) {
+                    if ((character_classes[c] & classes) == 0) break;
+                    sb.append((char) c);
+                    pos++;
+                    continue;
+                }
+                int len = utf8_sequence_length(bytes, pos, limit);
+                if (len == 0) break;
+                c &= 0xff;
+                switch (len) {
+                case 2:
+                    sb.append((char) (((c & 0x1f) << 6)
+                                      | (bytes[pos + 1] & 0x3f)));
+                    break;
+                case 3:
+                    sb.append((char) (((c & 0x0f) << 12)
+                                      | ((bytes[pos + 1] & 0x3f) << 6)
+                                      | (bytes[pos + 2] & 0x3f)));
+                    break;
+                default:
+                    sb.appendCodePoint(((c & 0x07) << 18)
+                                       | ((bytes[pos + 1] & 0x3f) << 12)
+                                       | ((bytes[pos + 2] & 0x3f) << 6)
+                                       | (bytes[pos + 3] & 0x3f));
+                    break;
+                }
+                pos += len;
+            }
+        }
+        else {
+            char[] chars = _chars;
+            int start = pos;
+            while (pos < limit) {
+                int c = chars[pos];
+                if (c <= 0x7f) {
+                    if ((character_classes[c] & classes) == 0) break;
+                }
+                else if (c >= 0xD800 && c <= 0xDFFF) {
+                    break;
+                }
+                pos++;
+            }
+            sb.append(chars, start, pos - start);
+        }
+        int count = pos - _pos;
+        _pos = pos;
+        return count;
+    }
+
+    /**
+     * Decodes the complete base64 groups on the current page into
+     * {@code dst}, see {@link Base64Encoder#decodeGroups}.  Whatever
+     * stops the run is left for {@link #read()}.
+     * @return the number of bytes written
+     */
+    public final int decodeBase64Run(byte[] dst, int offset, int len)
+    {
+        int decoded = (_is_byte_data)
+            ? Base64Encoder.decodeGroups(_bytes, _pos, _limit, dst, offset, len)
+            : Base64Encoder.decodeGroups(_chars, _pos, _limit, dst, offset, len);
+        _pos += (decoded / 3) * 4;
+        return decoded;
+    }
+
+    /**
+     * @return the length of the well formed UTF-8 sequence starting at
+     *  {@code pos}, or 0 if it is malformed, overlong, encodes a surrogate
+     *  or a value beyond U+10FFFF, or extends past {@code limit}.
+     */
+    private static int utf8_sequence_length(byte[] bytes, int pos, int limit)
+    {
+        int c = bytes[pos] & 0xff;
+        if (c < 0xC2) {
+            // a continuation byte, or an overlong two byte sequence
+            return 0;
+        }
+        if (c < 0xE0) {
+            if (pos + 1 >= limit
+                || (bytes[pos + 1] & 0xc0) != 0x80) {
+                return 0;
+            }
+            return 2;
+        }
+        if (c < 0xF0) {
+            if (pos + 2 >= limit
+                || (bytes[pos + 1] & 0xc0) != 0x80
+                || (bytes[pos + 2] & 0xc0) != 0x80) {
+                return 0;
+            }
+            int b2 = bytes[pos + 1] & 0xff;
+            if ((c == 0xE0 && b2 < 0xA0)     // overlong
+                || (c == 0xED && b2 > 0x9F)) // surrogate
+            {
+                return 0;
+            }
+            return 3;
+        }
+        if (c < 0xF5) {
+            if (pos + 3 >= limit
+                || (bytes[pos + 1] & 0xc0) != 0x80
+                || (bytes[pos + 2] & 0xc0) != 0x80
+                || (bytes[pos + 3] & 0xc0) != 0x80) {
+                return 0;
+            }
+            int b2 = bytes[pos + 1] & 0xff;
+            if ((c == 0xF0 && b2 < 0x90)     // overlong
+                || (c == 0xF4 && b2 > 0x8F)) // beyond U+10FFFF
+            {
+                return 0;
+            }
+            return 4;
+        }
+        return 0;
+    }
+
     protected final int read_helper() throws IOException
     {
         if (_eof) {
@@ -591,6 +831,19 @@ static class FromByteArray extends UnifiedInputStreamX
             make_page_current(curr, 0, offset, offset+length);
             super.init();
         }
+
+        /**
+         * Re-points this stream at a new range of bytes, as if newly
+         * constructed over them, but keeping its buffer and save points.
+         * The owners of the save points must clear them afterwards.
+         */
+        final void reset(byte[] bytes, int offset, int length)
+        {
+            _save_points.deactivateAll();
+            ((UnifiedInputBufferX.Bytes)_buffer).reset(bytes, offset, length);
+            UnifiedDataPageX curr = _buffer.getCurrentPage();
+            make_page_current(curr, 0, offset, offset+length);
+        }
     }
 
     private static class FromByteStream extends UnifiedInputStreamX
@@ -175,6 +175,21 @@ final class UnifiedSavePointManagerX
         _stream.make_page_current(curr, idx, pos, limit);
     }
 
+    /**
+     * Abandons all active save points without restoring the stream's
+     * position, for when the stream is re-pointed at new data.  The save
+     * points remain defined until their owners clear them.
+     */
+    final void deactivateAll()
+    {
+        while (_active_stack != null) {
+            SavePoint sp = _active_stack;
+            _active_stack = sp._next_active;
+            sp._next_active = null;
+            sp.set_inactive();
+        }
+    }
+
     public final void savePointPopActive(SavePoint sp)
     {
         if (sp != _active_stack) {
@@ -262,6 +277,29 @@ final class UnifiedSavePointManagerX
 
         return;
     }
+    private final void save_point_copy_range(SavePoint sp, SavePoint from) {
+        if (sp.isDefined()) {
+            throw new IllegalArgumentException("you can't start an active save point");
+        }
+        assert(from.isDefined());
+
+        _buffer.incLock();
+        sp.set_start_pos(from._start_idx, from._start_pos, from._start_line_count, from._start_line_start);
+        sp.set_end_pos(from._end_idx, from._end_pos);
+        _open_save_points++;
+    }
+    private final void save_point_advance_start(SavePoint sp, long line_number, long line_start) {
+        if (sp != _active_stack) {
+            throw new IllegalArgumentException("save point being advanced isn't currently active");
+        }
+
+        // the pages stay pinned from the original start, we just
+        // resume from the current position next time it's activated
+        sp._start_idx = _buffer.getCurrentPageIdx();
+        sp._start_pos = _stream._pos;
+        sp._start_line_count = line_number;
+        sp._start_line_start = line_start;
+    }
     private final void end_point_too_far(int curr_idx) {
         String message = "end point ["
                        + curr_idx
@@ -329,6 +367,14 @@ final class UnifiedSavePointManagerX
         public final void markEnd() {
             _owner.save_point_mark_end(this, 0);
         }
+        /** Starts this save point over the same range as another one. */
+        public final void copyRange(SavePoint from) {
+            _owner.save_point_copy_range(this, from);
+        }
+        /** Moves the start of this active save point up to the current position. */
+        public final void advanceStart(long line_number, long line_start) {
+            _owner.save_point_advance_start(this, line_number, line_start);
+        }
         public final void markEnd(int offset) {
             _owner.save_point_mark_end(this, offset);
         }
@@ -22,6 +22,7 @@ import software.amazon.ion.IonReader;
 import software.amazon.ion.IonType;
 import software.amazon.ion.IonValue;
 import software.amazon.ion.IonWriter;
+import software.amazon.ion.SymbolTable;
 import software.amazon.ion.SymbolToken;
 import software.amazon.ion.Timestamp;
 import software.amazon.ion.impl.PrivateByteTransferReader;
@@ -70,19 +71,41 @@ import software.amazon.ion.impl.PrivateUtils;
             final PrivateByteTransferReader transferReader =
                 reader.asFacet(PrivateByteTransferReader.class);
 
-            if (transferReader != null
-                && (PrivateUtils.isNonSymbolScalar(type)
-                 || symtabExtendsCache.symtabsCompat(getSymbolTable(), reader.getSymbolTable())))
+            if (transferReader != null)
             {
-                // we have something we can pipe over
-                transferReader.transferCurrentValue(this);
-                return;
+                if (PrivateUtils.isNonSymbolScalar(type)
+                    || symtabExtendsCache.symtabsCompat(getSymbolTable(), reader.getSymbolTable()))
+                {
+                    // we have something we can pipe over
+                    transferReader.transferCurrentValue(this);
+                    return;
+                }
+                if (IonType.isContainer(type) && !reader.isNullValue()
+                    && transferValueRemapped(transferReader, reader.getSymbolTable()))
+                {
+                    return;
+                }
             }
         }
 
         writeValueRecursive(reader);
     }
 
+    /**
+     * Transfers the binary encoding of a reader's current container whose symbol table isn't compatible with ours,
+     * translating its symbol IDs rather than re-encoding all of its values.
+     * <p>
+     * By default this does nothing, since only writers with a symbol table context can translate symbol IDs.
+     *
+     * @return false if nothing was written, in which case the value must be written some other way.
+     */
+    /*package*/ boolean transferValueRemapped(final PrivateByteTransferReader transferReader,
+                                              final SymbolTable readerSymbols)
+                                              throws IOException
+    {
+        return false;
+    }
+
     public final void writeValueRecursive(final IonReader reader) throws IOException
     {
         final IonType type = reader.getType();
@@ -14,6 +14,8 @@
 
 package software.amazon.ion.impl.bin;
 
+import software.amazon.ion.system.IonMetricsListener;
+
 /**
  * Utility implementations of {@link BlockAllocatorProvider}.
  */
@@ -57,4 +59,41 @@ package software.amazon.ion.impl.bin;
     public static BlockAllocatorProvider basicProvider() {
         return BASIC_PROVIDER;
     }
+
+    /**
+     * A {@link BlockAllocatorProvider} that reports every {@link Block} allocated from the given provider to a listener.
+     */
+    public static BlockAllocatorProvider metered(final BlockAllocatorProvider provider,
+                                                 final IonMetricsListener listener)
+    {
+        return new BlockAllocatorProvider()
+        {
+            @Override
+            public BlockAllocator vendAllocator(final int blockSize)
+            {
+                final BlockAllocator allocator = provider.vendAllocator(blockSize);
+                return new BlockAllocator() {
+                    @Override
+                    public Block allocateBlock()
+                    {
+                        final Block block = allocator.allocateBlock();
+                        listener.blockAllocated(block.capacity());
+                        return block;
+                    }
+
+                    @Override
+                    public int getBlockSize()
+                    {
+                        return allocator.getBlockSize();
+                    }
+
+                    @Override
+                    public void close()
+                    {
+                        allocator.close();
+                    }
+                };
+            }
+        };
+    }
 }
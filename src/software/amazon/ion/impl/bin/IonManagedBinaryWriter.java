@@ -31,6 +31,7 @@ import static software.amazon.ion.impl.bin.Symbols.systemSymbolTable;
 import static software.amazon.ion.impl.bin.Symbols.systemSymbols;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -49,12 +50,17 @@ import software.amazon.ion.SymbolTable;
 import software.amazon.ion.SymbolToken;
 import software.amazon.ion.Timestamp;
 import software.amazon.ion.UnknownSymbolException;
+import software.amazon.ion.impl.PrivateByteTransferReader;
+import software.amazon.ion.impl.PrivateByteTransferSink;
+import software.amazon.ion.impl.PrivateListWriter;
+import software.amazon.ion.impl.PrivateLobWriter;
 import software.amazon.ion.impl.PrivateUtils;
 import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamCloseMode;
 import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
+import software.amazon.ion.system.IonMetricsListener;
 
 /** Wraps {@link IonRawBinaryWriter} with symbol table management. */
-/*package*/ final class IonManagedBinaryWriter extends AbstractIonWriter
+/*package*/ final class IonManagedBinaryWriter extends AbstractIonWriter implements PrivateListWriter, PrivateLobWriter
 {
     private interface SymbolResolver
     {
@@ -374,6 +380,7 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
                     // replace the symbol table context with the user provided one
                     // TODO determine if the resolver mode should be configurable for this use case
                     self.imports = new ImportedSymbolContext(ImportedSymbolResolverMode.DELEGATE, self.userImports);
+                    self.symbolContextVersion++;
 
                     // explicitly start the local symbol table with no version marker
                     // in case we need the previous symbols
@@ -623,6 +630,8 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
 
     private final IonCatalog                    catalog;
     private final ImportedSymbolContext         bootstrapImports;
+    private final SymbolTable                   initialSymbolTable;
+    private final ImportedSymbolContext         initialImports;
 
     private ImportedSymbolContext               imports;
     private final Map<String, SymbolToken>      locals;
@@ -644,13 +653,32 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
     private boolean                             forceSystemOutput;
     private boolean                             closed;
 
+    // null if metrics are disabled
+    private final IonMetricsListener            metrics;
+
+    // changed whenever the SIDs of our symbols may change, invalidating remapped symbols
+    private int                                 symbolContextVersion;
+
+    // translation of a reader's SIDs to our symbols for transferValueRemapped()
+    private final TransferredValue              remapValue;
+    private SymbolTable                         remapSymbols;
+    private int                                 remapSymbolsMaxId;
+    private int                                 remapContextVersion;
+    private int                                 remapStamp;
+    private SymbolToken[]                       remapTokens;
+    private int[]                               remapStamps;
+
     /*package*/ IonManagedBinaryWriter(final PrivateIonManagedBinaryWriterBuilder builder,
                                        final OutputStream out)
                                        throws IOException
     {
         super(builder.optimization);
+        this.metrics = builder.metricsListener;
+        final BlockAllocatorProvider provider = metrics == null
+            ? builder.provider
+            : BlockAllocatorProviders.metered(builder.provider, metrics);
         this.symbols = new IonRawBinaryWriter(
-            builder.provider,
+            provider,
             builder.symbolsBlockSize,
             out,
             WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
@@ -660,7 +688,7 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
             builder.isFloatBinary32Enabled
         );
         this.user = new IonRawBinaryWriter(
-            builder.provider,
+            provider,
             builder.userBlockSize,
             out,
             WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
@@ -670,6 +698,9 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
             builder.isFloatBinary32Enabled
         );
 
+        symbols.setMetricsListener(metrics);
+        user.setMetricsListener(metrics);
+
         this.catalog = builder.catalog;
         this.bootstrapImports = builder.imports;
 
@@ -683,6 +714,10 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
 
         this.userState = UserState.NORMAL;
 
+        this.remapValue = new TransferredValue();
+        this.remapTokens = new SymbolToken[0];
+        this.remapStamps = new int[0];
+
         this.userSymbolTablePosition = 0L;
         this.userImports = new ArrayList<SymbolTable>();
         this.userSymbols = new ArrayList<String>();
@@ -690,16 +725,30 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
 
         // TODO decide if initial LST should survive finish() and seed the next LST
         final SymbolTable lst = builder.initialSymbolTable;
+        this.initialSymbolTable = lst;
         if (lst != null)
         {
             // build import context from seeded LST
             final List<SymbolTable> lstImportList = Arrays.asList(lst.getImportedTables());
             // TODO determine if the resolver mode should be configurable for this use case
-            final ImportedSymbolContext lstImports = new ImportedSymbolContext(ImportedSymbolResolverMode.DELEGATE, lstImportList);
-            this.imports = lstImports;
+            this.initialImports = new ImportedSymbolContext(ImportedSymbolResolverMode.DELEGATE, lstImportList);
+        }
+        else
+        {
+            this.initialImports = null;
+        }
+        startStream();
+    }
+
+    /** Sets up the symbol context at the start of an output stream. */
+    private void startStream() throws IOException
+    {
+        if (initialSymbolTable != null)
+        {
+            this.imports = initialImports;
 
             // intern all of the local symbols provided from LST
-            final Iterator<String> symbolIter = lst.iterateDeclaredSymbolNames();
+            final Iterator<String> symbolIter = initialSymbolTable.iterateDeclaredSymbolNames();
             while (symbolIter.hasNext())
             {
                 final String text = symbolIter.next();
@@ -711,10 +760,41 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
         }
         else
         {
-            this.imports = builder.imports;
+            this.imports = bootstrapImports;
         }
     }
 
+    /**
+     * Discards any unfinished output and starts writing a new stream to the given output, as if this writer had just
+     * been constructed.  The buffers and the import context (including that of the initial symbol table) are retained.
+     *
+     * @return false if this writer is closed, in which case it cannot be reset.
+     */
+    /*package*/ boolean reset(final OutputStream out) throws IOException
+    {
+        if (closed)
+        {
+            return false;
+        }
+        symbols.reset(out);
+        user.reset(out);
+
+        locals.clear();
+        localsLocked = false;
+        symbolState = SymbolState.SYSTEM_SYMBOLS;
+        userState = UserState.NORMAL;
+        symbolContextVersion++;
+
+        userSymbolTablePosition = 0L;
+        userImports.clear();
+        userSymbols.clear();
+        userCurrentImport.reset();
+        forceSystemOutput = false;
+
+        startStream();
+        return true;
+    }
+
     // Compatibility with Implementation Writer Interface
 
     public IonCatalog getCatalog()
@@ -823,6 +903,10 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
                 locals.put(text, token);
 
                 symbols.writeString(text);
+                if (metrics != null)
+                {
+                    metrics.localSymbolAdded(text);
+                }
             }
             return token;
         }
@@ -1044,6 +1128,16 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
         user.writeBlob(data, offset, length);
     }
 
+    public void writeClob(final long length, final InputStream source) throws IOException
+    {
+        user.writeClob(length, source);
+    }
+
+    public void writeBlob(final long length, final InputStream source) throws IOException
+    {
+        user.writeBlob(length, source);
+    }
+
     public void writeBytes(byte[] data, int off, int len) throws IOException
     {
         // this is a raw transfer--we basically have to dump the symbol table since we don't have much context
@@ -1051,6 +1145,395 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
         user.writeBytes(data, off, len);
     }
 
+    // Bulk List Writing -- a list written while the user is building a local symbol table must be intercepted
+
+    public void writeBoolList(final boolean[] values) throws IOException
+    {
+        if (userState != UserState.NORMAL)
+        {
+            stepIn(LIST);
+            for (final boolean value : values)
+            {
+                writeBool(value);
+            }
+            stepOut();
+            return;
+        }
+        user.writeBoolList(values);
+    }
+
+    public void writeFloatList(final float[] values) throws IOException
+    {
+        if (userState != UserState.NORMAL)
+        {
+            stepIn(LIST);
+            for (final float value : values)
+            {
+                writeFloat(value);
+            }
+            stepOut();
+            return;
+        }
+        user.writeFloatList(values);
+    }
+
+    public void writeFloatList(final double[] values) throws IOException
+    {
+        if (userState != UserState.NORMAL)
+        {
+            stepIn(LIST);
+            for (final double value : values)
+            {
+                writeFloat(value);
+            }
+            stepOut();
+            return;
+        }
+        user.writeFloatList(values);
+    }
+
+    public void writeIntList(final byte[] values) throws IOException
+    {
+        if (userState != UserState.NORMAL)
+        {
+            stepIn(LIST);
+            for (final byte value : values)
+            {
+                writeInt(value);
+            }
+            stepOut();
+            return;
+        }
+        user.writeIntList(values);
+    }
+
+    public void writeIntList(final short[] values) throws IOException
+    {
+        if (userState != UserState.NORMAL)
+        {
+            stepIn(LIST);
+            for (final short value : values)
+            {
+                writeInt(value);
+            }
+            stepOut();
+            return;
+        }
+        user.writeIntList(values);
+    }
+
+    public void writeIntList(final int[] values) throws IOException
+    {
+        if (userState != UserState.NORMAL)
+        {
+            stepIn(LIST);
+            for (final int value : values)
+            {
+                writeInt(value);
+            }
+            stepOut();
+            return;
+        }
+        user.writeIntList(values);
+    }
+
+    public void writeIntList(final long[] values) throws IOException
+    {
+        if (userState != UserState.NORMAL)
+        {
+            stepIn(LIST);
+            for (final long value : values)
+            {
+                writeInt(value);
+            }
+            stepOut();
+            return;
+        }
+        user.writeIntList(values);
+    }
+
+    public void writeStringList(final String[] values) throws IOException
+    {
+        if (userState != UserState.NORMAL)
+        {
+            stepIn(LIST);
+            for (final String value : values)
+            {
+                writeString(value);
+            }
+            stepOut();
+            return;
+        }
+        user.writeStringList(values);
+    }
+
+    // Symbol ID Remapping
+
+    /** Captures the encoding of a value from a {@link PrivateByteTransferReader} without copying it. */
+    private static final class TransferredValue implements PrivateByteTransferSink
+    {
+        byte[] bytes;
+        int    offset;
+        int    length;
+
+        public void writeBytes(final byte[] data, final int off, final int len)
+        {
+            bytes = data;
+            offset = off;
+            length = len;
+        }
+    }
+
+    @Override
+    /*package*/ boolean transferValueRemapped(final PrivateByteTransferReader transferReader,
+                                              final SymbolTable readerSymbols)
+                                              throws IOException
+    {
+        if (userState != UserState.NORMAL)
+        {
+            // the user is writing a local symbol table through us
+            return false;
+        }
+        transferReader.transferCurrentValue(remapValue);
+        final byte[] bytes = remapValue.bytes;
+        final int start = remapValue.offset;
+        final int end = start + remapValue.length;
+        // don't retain the reader's buffer
+        remapValue.bytes = null;
+
+        startRemapping(readerSymbols);
+
+        // resolve every symbol first so that nothing is written if one of them has unknown text
+        if (!remapValues(bytes, start, end, /*inStruct*/ false, /*write*/ false))
+        {
+            return false;
+        }
+        remapValues(bytes, start, end, /*inStruct*/ false, /*write*/ true);
+        return true;
+    }
+
+    /** Invalidates the translated symbols unless they're for the same reader symbols and symbol context. */
+    private void startRemapping(final SymbolTable readerSymbols)
+    {
+        final int maxId = readerSymbols.getMaxId();
+        if (remapSymbols == readerSymbols
+            && remapSymbolsMaxId == maxId
+            && remapContextVersion == symbolContextVersion)
+        {
+            return;
+        }
+        remapSymbols = readerSymbols;
+        remapSymbolsMaxId = maxId;
+        remapContextVersion = symbolContextVersion;
+        // entries are only valid with the current stamp, which saves clearing them
+        remapStamp++;
+        if (remapTokens.length <= maxId)
+        {
+            remapTokens = new SymbolToken[maxId + 1];
+            remapStamps = new int[maxId + 1];
+        }
+    }
+
+    /** Translates a SID of the reader to our symbol, or returns null if its text is unknown. */
+    private SymbolToken remap(final int sid)
+    {
+        if (sid > remapSymbolsMaxId)
+        {
+            return null;
+        }
+        if (remapStamps[sid] == remapStamp)
+        {
+            return remapTokens[sid];
+        }
+        final SymbolToken token;
+        if (sid == 0)
+        {
+            token = PrivateUtils.newSymbolToken(0);
+        }
+        else
+        {
+            final String text = remapSymbols.findKnownSymbol(sid);
+            if (text == null)
+            {
+                return null;
+            }
+            token = intern(text);
+        }
+        remapTokens[sid] = token;
+        remapStamps[sid] = remapStamp;
+        return token;
+    }
+
+    /**
+     * Walks the binary encoding of a sequence of values, translating their SIDs.  When writing, containers are
+     * rebuilt around the translated SIDs while all other values are copied as-is.
+     *
+     * @return false if a symbol's text is unknown.
+     */
+    private boolean remapValues(final byte[] bytes,
+                                int position,
+                                final int end,
+                                final boolean inStruct,
+                                final boolean write)
+                                throws IOException
+    {
+        while (position < end)
+        {
+            SymbolToken fieldName = null;
+            if (inStruct)
+            {
+                fieldName = remap(readRemapVarUInt(bytes, position));
+                position = remapPosition;
+                if (fieldName == null)
+                {
+                    return false;
+                }
+            }
+
+            int valueStart = position;
+            int descriptor = bytes[position] & 0xFF;
+            position = readRemapHeader(bytes, position);
+            final int valueEnd = remapPosition;
+            if (descriptor >> 4 == 0 && (descriptor & 0xF) != 0xF)
+            {
+                // NOP padding
+                position = valueEnd;
+                continue;
+            }
+
+            SymbolToken[] annotations = null;
+            if (descriptor >> 4 == 0xE)
+            {
+                final int annotationsLength = readRemapVarUInt(bytes, position);
+                int annotationPosition = remapPosition;
+                final int annotationsEnd = annotationPosition + annotationsLength;
+                int count = 0;
+                for (int i = annotationPosition; i < annotationsEnd; i++)
+                {
+                    if ((bytes[i] & 0x80) != 0)
+                    {
+                        count++;
+                    }
+                }
+                annotations = new SymbolToken[count];
+                for (int i = 0; i < count; i++)
+                {
+                    annotations[i] = remap(readRemapVarUInt(bytes, annotationPosition));
+                    annotationPosition = remapPosition;
+                    if (annotations[i] == null)
+                    {
+                        return false;
+                    }
+                }
+                valueStart = annotationsEnd;
+                descriptor = bytes[valueStart] & 0xFF;
+                position = readRemapHeader(bytes, valueStart);
+            }
+
+            final int type = descriptor >> 4;
+            final boolean isNull = (descriptor & 0xF) == 0xF;
+            final int bodyEnd = remapPosition;
+            if (write)
+            {
+                if (fieldName != null)
+                {
+                    user.setFieldNameSymbol(fieldName);
+                }
+                if (annotations != null)
+                {
+                    user.setTypeAnnotationSymbols(annotations);
+                }
+            }
+
+            if (type == 0x7 && !isNull)
+            {
+                int sid = 0;
+                for (int i = position; i < bodyEnd; i++)
+                {
+                    sid = (sid << 8) | (bytes[i] & 0xFF);
+                }
+                final SymbolToken token = remap(sid);
+                if (token == null)
+                {
+                    return false;
+                }
+                if (write)
+                {
+                    user.writeSymbolToken(token);
+                }
+            }
+            else if (type >= 0xB && type <= 0xD && !isNull && position < bodyEnd)
+            {
+                if (write)
+                {
+                    user.stepIn(type == 0xB ? LIST : type == 0xC ? IonType.SEXP : STRUCT);
+                }
+                if (!remapValues(bytes, position, bodyEnd, type == 0xD, write))
+                {
+                    return false;
+                }
+                if (write)
+                {
+                    user.stepOut();
+                }
+            }
+            else if (write)
+            {
+                // everything else has no symbols, so it's copied as-is
+                user.writeBytes(bytes, valueStart, bodyEnd - valueStart);
+            }
+            position = valueEnd;
+        }
+        return true;
+    }
+
+    // the position after the last VarUInt or header read by the following
+    private int remapPosition;
+
+    private int readRemapVarUInt(final byte[] bytes, int position)
+    {
+        int value = 0;
+        int b;
+        do
+        {
+            b = bytes[position++];
+            value = (value << 7) | (b & 0x7F);
+        }
+        while ((b & 0x80) == 0);
+        remapPosition = position;
+        return value;
+    }
+
+    /**
+     * Reads a type descriptor and any length following it, leaving the end of the value in {@link #remapPosition}.
+     *
+     * @return the position of the body of the value.
+     */
+    private int readRemapHeader(final byte[] bytes, final int position)
+    {
+        final int descriptor = bytes[position] & 0xFF;
+        final int type = descriptor >> 4;
+        final int lengthNibble = descriptor & 0xF;
+        int bodyStart = position + 1;
+        int length;
+        if (lengthNibble == 0xF || type == 0x1)
+        {
+            // null or bool
+            length = 0;
+        }
+        else if (lengthNibble == 0xE || (type == 0xD && lengthNibble == 0x1))
+        {
+            length = readRemapVarUInt(bytes, bodyStart);
+            bodyStart = remapPosition;
+        }
+        else
+        {
+            length = lengthNibble;
+        }
+        remapPosition = bodyStart + length;
+        return bodyStart;
+    }
+
     // Stream Terminators
 
     public void flush() throws IOException
@@ -1063,6 +1546,7 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
 
     private void unsafeFlush() throws IOException
     {
+        final long start = metrics == null ? 0 : System.nanoTime();
         if (user.hasWrittenValuesSinceFinished() || forceSystemOutput)
         {
             // this implies that we have a local symbol table of some sort and the user locked it
@@ -1075,6 +1559,10 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
         // push the data out
         symbols.finish();
         user.finish();
+        if (metrics != null)
+        {
+            metrics.flushed(System.nanoTime() - start);
+        }
     }
 
     public void finish() throws IOException
@@ -1090,6 +1578,7 @@ import software.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
         localsLocked = false;
         symbolState = SymbolState.SYSTEM_SYMBOLS;
         imports = bootstrapImports;
+        symbolContextVersion++;
     }
 
     public void close() throws IOException
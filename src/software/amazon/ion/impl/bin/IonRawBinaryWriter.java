@@ -38,6 +38,7 @@ import static software.amazon.ion.Timestamp.Precision.MONTH;
 import static software.amazon.ion.Timestamp.Precision.SECOND;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -53,11 +54,14 @@ import software.amazon.ion.IonWriter;
 import software.amazon.ion.SymbolTable;
 import software.amazon.ion.SymbolToken;
 import software.amazon.ion.Timestamp;
+import software.amazon.ion.impl.PrivateListWriter;
+import software.amazon.ion.impl.PrivateLobWriter;
+import software.amazon.ion.system.IonMetricsListener;
 
 /**
  * Low-level binary {@link IonWriter} that understands encoding concerns but doesn't operate with any sense of symbol table management.
  */
-/*package*/ final class IonRawBinaryWriter extends AbstractIonWriter
+/*package*/ final class IonRawBinaryWriter extends AbstractIonWriter implements PrivateListWriter, PrivateLobWriter
 {
     /** short-hand for array of bytes--useful for static definitions. */
     private static byte[] bytes(int... vals) {
@@ -109,6 +113,7 @@ import software.amazon.ion.Timestamp;
 
     private static final byte CLOB_TYPE         = (byte) 0x90;
     private static final byte BLOB_TYPE         = (byte) 0xA0;
+    private static final byte LIST_TYPE         = (byte) 0xB0;
 
     private static final byte DECIMAL_POS_ZERO               = (byte) 0x50;
     private static final byte DECIMAL_NEGATIVE_ZERO_MANTISSA = (byte) 0x80;
@@ -455,7 +460,7 @@ import software.amazon.ion.Timestamp;
     }
 
     private final BlockAllocator                allocator;
-    private final OutputStream                  out;
+    private OutputStream                        out;
     private final StreamCloseMode               streamCloseMode;
     private final StreamFlushMode               streamFlushMode;
     private final PreallocationMode             preallocationMode;
@@ -475,6 +480,9 @@ import software.amazon.ion.Timestamp;
 
     private boolean                     closed;
 
+    // notified of the patches performed and bytes written by finish(); null if disabled
+    private IonMetricsListener          metrics;
+
     /*package*/ IonRawBinaryWriter(final BlockAllocatorProvider provider,
                                    final int blockSize,
                                    final OutputStream out,
@@ -511,6 +519,38 @@ import software.amazon.ion.Timestamp;
         this.closed = false;
     }
 
+    /*package*/ void setMetricsListener(final IonMetricsListener metrics)
+    {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Discards any unfinished output and starts writing a new stream to the
+     * given output, keeping this writer's buffers.
+     */
+    /*package*/ void reset(final OutputStream out)
+    {
+        if (out == null) { throw new NullPointerException(); }
+        if (closed)
+        {
+            throw new IllegalStateException("Cannot reset a closed writer");
+        }
+
+        this.out = out;
+        patchPoints.clear();
+        patchBuffer.reset();
+        buffer.reset();
+        containers.clear();
+
+        this.depth                            = 0;
+        this.hasWrittenValuesSinceFinished    = false;
+        this.hasWrittenValuesSinceConstructed = false;
+
+        this.currentFieldName                 = null;
+        this.currentAnnotations.clear();
+        this.hasTopLevelSymbolTableAnnotation = false;
+    }
+
     /** Always returns {@link Symbols#systemSymbolTable()}. */
     public SymbolTable getSymbolTable()
     {
@@ -1397,6 +1437,62 @@ import software.amazon.ion.Timestamp;
         finishValue();
     }
 
+    public void writeClob(final long length, final InputStream source) throws IOException
+    {
+        if (source == null)
+        {
+            writeNull(IonType.CLOB);
+            return;
+        }
+        prepareValue();
+        writeTypedStream(CLOB_TYPE, length, source);
+        finishValue();
+    }
+
+    public void writeBlob(final long length, final InputStream source) throws IOException
+    {
+        if (source == null)
+        {
+            writeNull(IonType.BLOB);
+            return;
+        }
+        prepareValue();
+        writeTypedStream(BLOB_TYPE, length, source);
+        finishValue();
+    }
+
+    /**
+     * Copies a known length of a stream as some type, a block at a time.
+     * Note that this does not do {@link #prepareValue()}.
+     */
+    private void writeTypedStream(final int type, final long length, final InputStream source) throws IOException
+    {
+        if (length < 0)
+        {
+            throw new IllegalArgumentException("negative lob length: " + length);
+        }
+        long totalLength = 1 + length;
+        if (length < 14)
+        {
+            buffer.writeUInt8(type | length);
+        }
+        else
+        {
+            // need to specify length explicitly
+            buffer.writeUInt8(type | 0xE);
+            final int sizeLength = buffer.writeVarUInt(length);
+            totalLength += sizeLength;
+        }
+        updateLength(totalLength);
+        final long copied = buffer.writeBytes(source, length);
+        if (copied < length)
+        {
+            throw new IonException("Unexpected EOF: source ended "
+                                   + (length - copied)
+                                   + " bytes short of its declared length");
+        }
+    }
+
     /**
      * Writes a raw value into the buffer, updating lengths appropriately.
      * <p>
@@ -1410,6 +1506,158 @@ import software.amazon.ion.Timestamp;
         finishValue();
     }
 
+    // Bulk List Writing -- the length of the list is known up front, so there's nothing to patch
+
+    /** Writes the type descriptor and length of a list, accounting for its content. */
+    private void writeListHeader(final long contentLength)
+    {
+        prepareValue();
+        int headerLength = 1;
+        if (contentLength < 0xE)
+        {
+            buffer.writeUInt8(LIST_TYPE | contentLength);
+        }
+        else
+        {
+            buffer.writeUInt8(LIST_TYPE | 0xE);
+            headerLength += buffer.writeVarUInt(contentLength);
+        }
+        updateLength(headerLength + contentLength);
+    }
+
+    public void writeBoolList(final boolean[] values) throws IOException
+    {
+        writeListHeader(values.length);
+        for (int i = 0; i < values.length; i++)
+        {
+            buffer.writeByte(values[i] ? BOOL_TRUE : BOOL_FALSE);
+        }
+        finishValue();
+    }
+
+    /** Whether {@link #writeFloat(double)} would write the value as a binary32. */
+    private boolean isFloat32(final double value)
+    {
+        return isFloatBinary32Enabled && value == ((double) ((float) value));
+    }
+
+    public void writeFloatList(final float[] values) throws IOException
+    {
+        long length = 0;
+        for (int i = 0; i < values.length; i++)
+        {
+            length += isFloat32(values[i]) ? 5 : 9;
+        }
+        writeListHeader(length);
+        for (int i = 0; i < values.length; i++)
+        {
+            final float value = values[i];
+            if (isFloat32(value))
+            {
+                buffer.writeFloat32Value(value);
+            }
+            else
+            {
+                buffer.writeFloat64Value(value);
+            }
+        }
+        finishValue();
+    }
+
+    public void writeFloatList(final double[] values) throws IOException
+    {
+        long length = 0;
+        for (int i = 0; i < values.length; i++)
+        {
+            length += isFloat32(values[i]) ? 5 : 9;
+        }
+        writeListHeader(length);
+        for (int i = 0; i < values.length; i++)
+        {
+            final double value = values[i];
+            if (isFloat32(value))
+            {
+                buffer.writeFloat32Value((float) value);
+            }
+            else
+            {
+                buffer.writeFloat64Value(value);
+            }
+        }
+        finishValue();
+    }
+
+    public void writeIntList(final byte[] values) throws IOException
+    {
+        long length = 0;
+        for (int i = 0; i < values.length; i++)
+        {
+            length += WriteBuffer.intValueLength(values[i]);
+        }
+        writeListHeader(length);
+        for (int i = 0; i < values.length; i++)
+        {
+            buffer.writeIntValue(values[i]);
+        }
+        finishValue();
+    }
+
+    public void writeIntList(final short[] values) throws IOException
+    {
+        long length = 0;
+        for (int i = 0; i < values.length; i++)
+        {
+            length += WriteBuffer.intValueLength(values[i]);
+        }
+        writeListHeader(length);
+        for (int i = 0; i < values.length; i++)
+        {
+            buffer.writeIntValue(values[i]);
+        }
+        finishValue();
+    }
+
+    public void writeIntList(final int[] values) throws IOException
+    {
+        long length = 0;
+        for (int i = 0; i < values.length; i++)
+        {
+            length += WriteBuffer.intValueLength(values[i]);
+        }
+        writeListHeader(length);
+        for (int i = 0; i < values.length; i++)
+        {
+            buffer.writeIntValue(values[i]);
+        }
+        finishValue();
+    }
+
+    public void writeIntList(final long[] values) throws IOException
+    {
+        long length = 0;
+        for (int i = 0; i < values.length; i++)
+        {
+            length += WriteBuffer.intValueLength(values[i]);
+        }
+        writeListHeader(length);
+        for (int i = 0; i < values.length; i++)
+        {
+            buffer.writeIntValue(values[i]);
+        }
+        finishValue();
+    }
+
+    public void writeStringList(final String[] values) throws IOException
+    {
+        // computing the UTF-8 length up front would mean encoding twice, so let the container patch it
+        stepIn(LIST);
+        for (int i = 0; i < values.length; i++)
+        {
+            writeString(values[i]);
+        }
+        stepOut();
+    }
+
     // Stream Manipulation/Terminators
 
     /*package*/ long position()
@@ -1441,6 +1689,8 @@ import software.amazon.ion.Timestamp;
             throw new IllegalStateException("Cannot finish within container: " + containers);
         }
 
+        int patchCount = 0;
+        long bytesWritten = buffer.position();
         if (patchPoints.isEmpty())
         {
             // nothing to patch--write 'em out!
@@ -1451,6 +1701,9 @@ import software.amazon.ion.Timestamp;
             long bufferPosition = 0;
             for (final PatchPoint patch : patchPoints)
             {
+                patchCount++;
+                bytesWritten += patch.patchLength - patch.oldLength;
+
                 // write up to the thing to be patched
                 final long bufferLength = patch.oldPosition - bufferPosition;
                 buffer.writeTo(out, bufferPosition, bufferLength);
@@ -1468,6 +1721,18 @@ import software.amazon.ion.Timestamp;
         patchBuffer.reset();
         buffer.reset();
 
+        if (metrics != null)
+        {
+            if (patchCount > 0)
+            {
+                metrics.lengthsPatched(patchCount);
+            }
+            if (bytesWritten > 0)
+            {
+                metrics.bytesWritten(bytesWritten);
+            }
+        }
+
         if (streamFlushMode == StreamFlushMode.FLUSH)
         {
             out.flush();
@@ -29,6 +29,7 @@ import software.amazon.ion.impl.bin.AbstractIonWriter.WriteValueOptimization;
 import software.amazon.ion.impl.bin.IonManagedBinaryWriter.ImportedSymbolContext;
 import software.amazon.ion.impl.bin.IonManagedBinaryWriter.ImportedSymbolResolverMode;
 import software.amazon.ion.impl.bin.IonRawBinaryWriter.PreallocationMode;
+import software.amazon.ion.system.IonMetricsListener;
 import software.amazon.ion.system.SimpleCatalog;
 
 // TODO unify this with the IonWriter builder APIs
@@ -76,6 +77,7 @@ public final class PrivateIonManagedBinaryWriterBuilder
     /*package*/ volatile WriteValueOptimization optimization;
     /*package*/ volatile SymbolTable            initialSymbolTable;
     /*package*/ volatile boolean                isFloatBinary32Enabled;
+    /*package*/ volatile IonMetricsListener     metricsListener;
 
     private PrivateIonManagedBinaryWriterBuilder(final BlockAllocatorProvider provider)
     {
@@ -100,6 +102,7 @@ public final class PrivateIonManagedBinaryWriterBuilder
         this.optimization       = other.optimization;
         this.initialSymbolTable = other.initialSymbolTable;
         this.isFloatBinary32Enabled = other.isFloatBinary32Enabled;
+        this.metricsListener    = other.metricsListener;
     }
 
     public PrivateIonManagedBinaryWriterBuilder copy()
@@ -201,6 +204,12 @@ public final class PrivateIonManagedBinaryWriterBuilder
         return this;
     }
 
+    public PrivateIonManagedBinaryWriterBuilder withMetricsListener(final IonMetricsListener listener)
+    {
+        this.metricsListener = listener;
+        return this;
+    }
+
     public PrivateIonManagedBinaryWriterBuilder withInitialSymbolTable(SymbolTable symbolTable)
     {
         if (symbolTable != null)
@@ -243,6 +252,21 @@ public final class PrivateIonManagedBinaryWriterBuilder
         return new IonManagedBinaryWriter(this, out);
     }
 
+    /**
+     * Discards any unfinished output of a writer constructed by {@link #newWriter(OutputStream)} and redirects it to
+     * a new stream, retaining its buffers and import context.
+     *
+     * @return false if the writer is closed or was not constructed by a builder of this class.
+     */
+    public static boolean resetWriter(final IonWriter writer, final OutputStream out) throws IOException
+    {
+        if (writer instanceof IonManagedBinaryWriter)
+        {
+            return ((IonManagedBinaryWriter) writer).reset(out);
+        }
+        return false;
+    }
+
     // Static Factories
 
     /**
@@ -16,6 +16,7 @@ package software.amazon.ion.impl.bin;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
@@ -175,6 +176,37 @@ import java.util.List;
         writeBytes(bytes, 0, bytes.length);
     }
 
+    /**
+     * Writes bytes read from a stream directly into the buffer, expanding if necessary.
+     * Returns the number of bytes written, which is less than requested only if the stream ended first.
+     */
+    public long writeBytes(final InputStream in, final long len) throws IOException
+    {
+        long remaining = len;
+        while (remaining > 0)
+        {
+            if (remaining() < 1)
+            {
+                if (index == blocks.size() - 1)
+                {
+                    allocateNewBlock();
+                }
+                index++;
+                current = blocks.get(index);
+            }
+            final Block block = current;
+            final int amount = (int) Math.min(remaining, block.remaining());
+            final int read = in.read(block.data, block.limit, amount);
+            if (read < 0)
+            {
+                break;
+            }
+            block.limit += read;
+            remaining -= read;
+        }
+        return len - remaining;
+    }
+
     // UTF-8 character writing
 
     private static final char HIGH_SURROGATE_FIRST      = 0xD800;
@@ -729,6 +761,89 @@ import java.util.List;
         writeUInt64(value);
     }
 
+    // complete Ion value writes -- type descriptor included, for encoding the elements of a list in one pass
+
+    private static final int POS_INT_TYPE  = 0x20;
+    private static final int NEG_INT_TYPE  = 0x30;
+    private static final int FLOAT_TYPE    = 0x40;
+
+    /** Returns the number of octets of the Ion int encoding of a value, including its type descriptor. */
+    public static int intValueLength(final long value)
+    {
+        if (value == 0)
+        {
+            return 1;
+        }
+        // the magnitude of Long.MIN_VALUE is itself, which as unsigned fills all eight octets
+        final long magnitude = value < 0 ? -value : value;
+        return 1 + ((64 - Long.numberOfLeadingZeros(magnitude) + 7) >>> 3);
+    }
+
+    private void writeIntValueSlow(final int type, final long magnitude, final int length)
+    {
+        writeUInt8(type | (length - 1));
+        for (int shift = (length - 2) * 8; shift >= 0; shift -= 8)
+        {
+            writeUInt8(magnitude >> shift);
+        }
+    }
+
+    /** Writes the Ion int encoding of a value, which is {@link #intValueLength(long)} octets long. */
+    public void writeIntValue(final long value)
+    {
+        final int length = intValueLength(value);
+        final int type = value < 0 ? NEG_INT_TYPE : POS_INT_TYPE;
+        final long magnitude = value < 0 ? -value : value;
+        if (remaining() < length)
+        {
+            writeIntValueSlow(type, magnitude, length);
+            return;
+        }
+
+        final Block block = current;
+        final byte[] data = block.data;
+        int limit = block.limit;
+        data[limit++] = (byte) (type | (length - 1));
+        for (int shift = (length - 2) * 8; shift >= 0; shift -= 8)
+        {
+            data[limit++] = (byte) (magnitude >> shift);
+        }
+        block.limit = limit;
+    }
+
+    /** Writes the five octet Ion float encoding of a value. */
+    public void writeFloat32Value(final float value)
+    {
+        writeUInt8(FLOAT_TYPE | 4);
+        writeUInt32(Float.floatToRawIntBits(value));
+    }
+
+    /** Writes the nine octet Ion float encoding of a value. */
+    public void writeFloat64Value(final double value)
+    {
+        if (remaining() < 9)
+        {
+            writeUInt8(FLOAT_TYPE | 8);
+            writeUInt64(Double.doubleToRawLongBits(value));
+            return;
+        }
+
+        final long bits = Double.doubleToRawLongBits(value);
+        final Block block = current;
+        final byte[] data = block.data;
+        int limit = block.limit;
+        data[limit++] = (byte) (FLOAT_TYPE | 8);
+        data[limit++] = (byte) (bits >> UINT_8_OCTET_SHIFT);
+        data[limit++] = (byte) (bits >> UINT_7_OCTET_SHIFT);
+        data[limit++] = (byte) (bits >> UINT_6_OCTET_SHIFT);
+        data[limit++] = (byte) (bits >> UINT_5_OCTET_SHIFT);
+        data[limit++] = (byte) (bits >> UINT_4_OCTET_SHIFT);
+        data[limit++] = (byte) (bits >> UINT_3_OCTET_SHIFT);
+        data[limit++] = (byte) (bits >> UINT_2_OCTET_SHIFT);
+        data[limit++] = (byte) (bits                      );
+        block.limit = limit;
+    }
+
     // variable length integer writing
 
     private static final long VAR_INT_BITS_PER_OCTET = 7;
@@ -15,7 +15,6 @@
 package software.amazon.ion.impl.lite;
 
 import java.io.IOException;
-import java.io.InputStream;
 import software.amazon.ion.IonBlob;
 import software.amazon.ion.IonType;
 import software.amazon.ion.IonWriter;
@@ -70,15 +69,8 @@ final class IonBlobLite
         throws IOException
     {
         validateThisNotNull();
-        InputStream byteStream = newInputStream();
-        try
-        {
-            PrivateUtils.writeAsBase64(byteStream, out);
-        }
-        finally
-        {
-            byteStream.close();
-        }
+        byte[] bytes = getBytesNoCopy();
+        PrivateUtils.writeAsBase64(bytes, 0, bytes.length, out);
     }
 
     @Override
@@ -22,7 +22,9 @@ import software.amazon.ion.ContainedValueException;
 import software.amazon.ion.IonContainer;
 import software.amazon.ion.IonDatagram;
 import software.amazon.ion.IonException;
+import software.amazon.ion.IonType;
 import software.amazon.ion.IonValue;
+import software.amazon.ion.IonWriter;
 import software.amazon.ion.NullValueException;
 import software.amazon.ion.ReadOnlyValueException;
 import software.amazon.ion.SymbolTable;
@@ -40,6 +42,29 @@ abstract class IonContainerLite
     protected IonValueLite[] _children;
     protected int            structuralModificationCount;
 
+    /**
+     * The hash code of this container, cached once it is read-only and can
+     * no longer change. Zero when not yet computed.
+     */
+    private int              _cached_hash_code;
+
+    /**
+     * A read-only container whose children this clone has yet to copy, or
+     * null. The children of a clone of a read-only container are only
+     * cloned (one level at a time) when they're first accessed, so the
+     * untouched parts of a large read-only value aren't copied at all.
+     */
+    private IonContainerLite _clone_source;
+
+    /**
+     * Set on read-only containers when some symbol in their content has no
+     * text, in which case cloning may throw
+     * {@link software.amazon.ion.UnknownSymbolException}
+     * and so isn't deferred.
+     */
+    private static final int HAS_UNKNOWN_SYMBOL_TEXT_MASK  = 0x80;
+    private static final int HAS_UNKNOWN_SYMBOL_TEXT_SHIFT = 7;
+
     protected IonContainerLite(ContainerlessContext context, boolean isNull)
     {
         // we'll let IonValueLite handle this work as we always need to know
@@ -51,32 +76,70 @@ abstract class IonContainerLite
         super(existing, context);
         int childCount = existing._child_count;
         this._child_count = childCount;
+
+        IonContainerLite source = existing._clone_source;
+        if (source == null
+            && childCount > 0
+            && existing._isLocked()
+            && !existing.contentHasUnknownSymbolText()
+            && !(this instanceof IonDatagramLite))
+        {
+            source = existing;
+        }
+
+        if (source != null) {
+            // Our children are cloned from the read-only source on demand.
+            this._clone_source = source;
+        }
+        else if (existing._children != null) {
+            clone_children(existing, isStruct);
+        }
+    }
+
+    /**
+     * Fills in this container's children with clones of those of
+     * {@code existing}, which has the same number of children.
+     */
+    private void clone_children(IonContainerLite existing, boolean isStruct)
+    {
+        int childCount = _child_count;
         // when cloning the children we establish 'this' the cloned outer container as the context
-        if (existing._children != null) {
-            boolean isDatagram = this instanceof IonDatagramLite;
-            this._children = new IonValueLite[childCount];
-            for (int i = 0; i < childCount; i++) {
-                IonValueLite child = existing._children[i];
-                IonContext childContext = isDatagram
-                     ? TopLevelContext.wrap(child.getAssignedSymbolTable(), (IonDatagramLite)this)
-                     : this;
-
-                IonValueLite copy = child.clone(childContext);
-                if (isStruct) {
-                    if(child.getFieldName() == null) {
-                        // when name is null it could be a sid 0 so we need to perform the full symbol token lookup.
-                        // this is expensive so only do it when necessary
-                        // TODO profile `getKnownFieldNameSymbol` to see if we can improve its performance so branching
-                        // is not necessary. https://github.com/amzn/ion-java/issues/140
-                        copy.setFieldNameSymbol(child.getKnownFieldNameSymbol());
-                    }
-                    else {
-                        // if we have a non null name copying it is sufficient
-                        copy.setFieldName(child.getFieldName());
-                    }
+        boolean isDatagram = this instanceof IonDatagramLite;
+        this._children = new IonValueLite[childCount];
+        for (int i = 0; i < childCount; i++) {
+            IonValueLite child = existing._children[i];
+            IonContext childContext = isDatagram
+                 ? TopLevelContext.wrap(child.getAssignedSymbolTable(), (IonDatagramLite)this)
+                 : this;
+
+            IonValueLite copy = child.clone(childContext);
+            if (isStruct) {
+                if(child.getFieldName() == null) {
+                    // when name is null it could be a sid 0 so we need to perform the full symbol token lookup.
+                    // this is expensive so only do it when necessary
+                    // TODO profile `getKnownFieldNameSymbol` to see if we can improve its performance so branching
+                    // is not necessary. https://github.com/amzn/ion-java/issues/140
+                    copy.setFieldNameSymbol(child.getKnownFieldNameSymbol());
+                }
+                else {
+                    // if we have a non null name copying it is sufficient
+                    copy.setFieldName(child.getFieldName());
                 }
-                this._children[i] = copy;
             }
+            this._children[i] = copy;
+        }
+    }
+
+    /**
+     * Clones our children from {@link #_clone_source}, if that has yet to
+     * be done. Must be called before accessing {@link #_children}.
+     */
+    private void clone_children_from_source()
+    {
+        IonContainerLite source = _clone_source;
+        if (source != null) {
+            _clone_source = null;
+            clone_children(source, getType() == IonType.STRUCT);
         }
     }
 
@@ -97,6 +160,13 @@ abstract class IonContainerLite
             assert _child_count == 0;
             _isNullValue(false);
         }
+        else if (_clone_source != null)
+        {
+            // There's nothing to detach from.
+            _clone_source = null;
+            _child_count = 0;
+            structuralModificationCount++;
+        }
         else if (!isEmpty())
         {
             detachAllChildren();
@@ -175,6 +245,7 @@ abstract class IonContainerLite
 
         public SequenceContentIterator(int index, boolean readOnly)
         {
+            clone_children_from_source();
             if (_isLocked() && !readOnly) {
                 throw new IllegalStateException("you can't open an updatable iterator on a read only value");
             }
@@ -189,10 +260,12 @@ abstract class IonContainerLite
         // case where we don't actually do anything
         protected final void force_position_sync()
         {
-            if (__pos <= 0 || __pos > _child_count) {
+            // after previous() we're positioned before the current value
+            int current_idx = __lastMoveWasPrevious ? __pos : __pos - 1;
+            if (current_idx < 0 || current_idx >= _child_count) {
                 return;
             }
-            if (__current == null || __current == _children[__pos - 1]) {
+            if (__current == null || __current == _children[current_idx]) {
                 return;
             }
             force_position_sync_helper();
@@ -382,16 +455,58 @@ abstract class IonContainerLite
     }
 
     @Override
+    public int hashCode()
+    {
+        // A cached hash code needs no symbol table provider.
+        int hash = _cached_hash_code;
+        if (hash != 0 && _isLocked()) {
+            return hash;
+        }
+        return super.hashCode();
+    }
+
+    /*
+     * Read-only containers can't change, and neither can their children, so
+     * their hash code is computed once, by makeReadOnlyInternal(). Mutable
+     * containers recompute it on every call.
+     */
+    @Override
+    final int hashCode(SymbolTableProvider symbolTableProvider)
+    {
+        if (!_isLocked()) {
+            return computeHashCode(symbolTableProvider);
+        }
+        int hash = _cached_hash_code;
+        if (hash == 0) {
+            hash = computeHashCode(symbolTableProvider);
+            _cached_hash_code = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Computes the hash code of this container and its children, as
+     * described by {@link IonValueLite#hashCode(SymbolTableProvider)}.
+     */
+    abstract int computeHashCode(SymbolTableProvider symbolTableProvider);
+
     void makeReadOnlyInternal()
     {
         if (_isLocked()) return;
 
+        clone_children_from_source();
+
+        boolean unknownSymbolText = false;
         if (_children != null) {
             for (int ii=0; ii<_child_count; ii++) {
                 IonValueLite child = _children[ii];
                 child.makeReadOnlyInternal();
+                unknownSymbolText |= child.hasUnknownSymbolText();
             }
         }
+        _setMetadata(unknownSymbolText ? 1 : 0,
+                     HAS_UNKNOWN_SYMBOL_TEXT_MASK,
+                     HAS_UNKNOWN_SYMBOL_TEXT_SHIFT);
         // we don't need to call our copy of clear symbol ID's
         // which recurses since the calls to child.makeReadOnly
         // will have clear out the child symbol ID's already
@@ -400,6 +515,10 @@ abstract class IonContainerLite
         // table reference if one exists.
         super.clearSymbolIDValues();
         _isLocked(true);
+
+        // Compute the hash code now so that reads never write to a locked
+        // value; our children have already cached theirs.
+        hashCode(new LazySymbolTableProvider(this));
     }
 
     /*
@@ -431,10 +550,44 @@ abstract class IonContainerLite
         return null;
     }
 
+    /**
+     * Writes our children, taking them straight from our read-only clone
+     * source (if any) rather than cloning them first.
+     */
+    final void writeContainerChildren(IonWriter writer,
+                                      SymbolTableProvider symbolTableProvider)
+    {
+        IonContainerLite source = _clone_source;
+        if (source != null) {
+            writeChildren(writer, source, new LazySymbolTableProvider(source));
+        }
+        else {
+            writeChildren(writer, this, symbolTableProvider);
+        }
+    }
+
+    /**
+     * Determines whether any symbol in this container's content has no
+     * text. Only meaningful once this container is read-only.
+     */
+    private boolean contentHasUnknownSymbolText()
+    {
+        return _getMetadata(HAS_UNKNOWN_SYMBOL_TEXT_MASK,
+                            HAS_UNKNOWN_SYMBOL_TEXT_SHIFT) != 0;
+    }
+
+    @Override
+    boolean hasUnknownSymbolText()
+    {
+        return super.hasUnknownSymbolText() || contentHasUnknownSymbolText();
+    }
+
     @Override
     void clearSymbolIDValues()
     {
         super.clearSymbolIDValues();
+        // Children yet to be cloned from a read-only source have no SIDs.
+        if (_clone_source != null) return;
         for (int ii=0; ii<get_child_count(); ii++) {
             IonValueLite child = get_child(ii);
             child.clearSymbolIDValues();
@@ -608,10 +761,12 @@ abstract class IonContainerLite
     }
 
     public final int get_child_count() {
+        clone_children_from_source();
         return _child_count;
     }
 
     public final IonValueLite get_child(int idx) {
+        clone_children_from_source();
         if (idx < 0 || idx >= _child_count) {
             throw new IndexOutOfBoundsException(Integer.toString(idx));
         }
@@ -621,6 +776,7 @@ abstract class IonContainerLite
 
     final IonValueLite set_child(int idx, IonValueLite child)
     {
+        clone_children_from_source();
         if (idx < 0 || idx >= _child_count) {
             throw new IndexOutOfBoundsException(Integer.toString(idx));
         }
@@ -640,6 +796,7 @@ abstract class IonContainerLite
      */
     protected int add_child(int idx, IonValueLite child)
     {
+        clone_children_from_source();
         _isNullValue(false); // if we add children we're not null anymore
         child.setContext(this.getContextForIndex(child, idx));
         if (_children == null || _child_count >= _children.length) {
@@ -673,6 +830,7 @@ abstract class IonContainerLite
      */
     void remove_child(int idx)
     {
+        clone_children_from_source();
         assert(idx >=0);
         assert(idx < get_child_count()); // this also asserts child count > 0
         assert get_child(idx) != null : "No child at index " + idx;
@@ -164,6 +164,9 @@ final class IonDatagramLite
                 child.makeReadOnly();
             }
         }
+        // System iteration needs this, and must not create it once we're
+        // shared between threads.
+        get_ivm().makeReadOnly();
         _isLocked(true);
     }
 
@@ -318,7 +321,7 @@ final class IonDatagramLite
     }
 
     @Override
-    int hashCode(SymbolTableProvider symbolTableProvider) {
+    int computeHashCode(SymbolTableProvider symbolTableProvider) {
         String message = "IonDatagrams do not need a resolved Symbol table use #hashCode()";
         throw new UnsupportedOperationException(message);
     }
@@ -532,7 +535,7 @@ final class IonDatagramLite
     //////////////////////////////////////////////////////////////////////////////
     //////////////////////////////////////////////////////////////////////////////
 
-    protected synchronized IonSymbolLite get_ivm()
+    protected IonSymbolLite get_ivm()
     {
         if (_ivm == null) {
             _ivm = getSystem().newSymbol(ION_1_0);
@@ -397,7 +397,7 @@ abstract class IonSequenceLite
         else
         {
             writer.stepIn(type);
-            writeChildren(writer, this, symbolTableProvider);
+            writeContainerChildren(writer, symbolTableProvider);
             writer.stepOut();
         }
     }
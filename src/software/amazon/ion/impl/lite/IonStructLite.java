@@ -291,7 +291,7 @@ final class IonStructLite
      *          {@link Object#hashCode()} and {@link Object#equals(Object)}.
      */
     @Override
-    int hashCode(SymbolTableProvider symbolTableProvider)
+    int computeHashCode(SymbolTableProvider symbolTableProvider)
     {
         final int nameHashSalt  = 16777619; // prime to salt name of each Field
         final int valueHashSalt = 8191;     // prime to salt value of each Field
@@ -434,6 +434,20 @@ final class IonStructLite
         return -1;
     }
 
+    @Override
+    void makeReadOnlyInternal()
+    {
+        if (_isLocked()) return;
+
+        // Large structs normally have a field map, but not if they were
+        // cleared and refilled. Build it now, since lookups on a read-only
+        // struct must not modify it.
+        if (_field_map == null && get_child_count() > initialSize()) {
+            build_field_map();
+        }
+        super.makeReadOnlyInternal();
+    }
+
     @Override
     public void clear()
     {
@@ -804,7 +818,7 @@ final class IonStructLite
         else
         {
             writer.stepIn(IonType.STRUCT);
-            writeChildren(writer, this, symbolTableProvider);
+            writeContainerChildren(writer, symbolTableProvider);
             writer.stepOut();
         }
     }
@@ -235,6 +235,14 @@ final class IonSymbolLite
         }
     }
 
+    @Override
+    boolean hasUnknownSymbolText()
+    {
+        // Once SIDs are cleared, only symbols without text retain theirs.
+        return super.hasUnknownSymbolText()
+            || (! isNullValue() && _sid != UNKNOWN_SYMBOL_ID && _sid != 0);
+    }
+
     protected void setIsIonVersionMarker(boolean isIVM)
     {
         assert (ION_1_0.equals(this._get_value()) == isIVM);
@@ -314,7 +314,7 @@ abstract class IonValueLite
 
     public abstract void accept(ValueVisitor visitor) throws Exception;
 
-    public /* synchronized */ void addTypeAnnotation(String annotation)
+    public void addTypeAnnotation(String annotation)
     {
         checkForLock();
 
@@ -346,7 +346,7 @@ abstract class IonValueLite
         _annotations[old_len] = sym;
     }
 
-    public final /* synchronized */ void clearTypeAnnotations()
+    public final void clearTypeAnnotations()
     {
         checkForLock();
 
@@ -475,6 +475,30 @@ abstract class IonValueLite
         return token;
     }
 
+    /**
+     * Determines whether this value's field name, annotations or content
+     * include a symbol with a SID but no text. Only accurate once SIDs have
+     * been cleared by {@link #makeReadOnly()}.
+     */
+    boolean hasUnknownSymbolText()
+    {
+        if (_fieldName == null && _fieldId > 0) return true;
+
+        if (_annotations != null)
+        {
+            for (SymbolToken annotation : _annotations)
+            {
+                // _annotations may have nulls at the end.
+                if (annotation == null) break;
+                if (annotation.getText() == null && annotation.getSid() != 0)
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Sets this value's symbol table to null, and erases any SIDs here and
      * recursively.
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.system;
+
+import static software.amazon.ion.SystemSymbols.ION_SHARED_SYMBOL_TABLE;
+import static software.amazon.ion.SystemSymbols.NAME;
+import static software.amazon.ion.SystemSymbols.VERSION;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import software.amazon.ion.IonCatalog;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonType;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.impl.PrivateUtils;
+
+
+/**
+ * An {@link IonCatalog} of the shared symbol tables serialized in the files
+ * of a directory, loading each table only when it's requested.
+ * <p>
+ * The directory is indexed when the catalog is constructed: every
+ * top-level struct annotated with {@code $ion_shared_symbol_table} in every
+ * file is noted by name and version. A file may hold any number of tables;
+ * when more than one has the same name and version, the one in the file
+ * whose name sorts last wins.
+ * <p>
+ * Loaded tables are cached, evicting the least recently used ones once the
+ * total number of symbols they declare exceeds the configured limit. An
+ * evicted table is simply loaded again when next requested.
+ * <p>
+ * Instances of this class are safe for use by multiple threads.
+ * Changes to the directory after construction are not observed.
+ */
+public class FileSystemCatalog
+    implements IonCatalog
+{
+    /*  CAVEATS AND LIMITATIONS
+     *
+     *  - Loading a table re-reads its file up to the table, so files holding
+     *    many large tables are slower to load from than one table per file.
+     *  - Two threads missing the cache for the same table may both load it;
+     *    the first one cached wins.
+     */
+
+    /**
+     * Where a table is serialized: the index of the top-level value in its
+     * file. Also serves as the cache key.
+     */
+    private static final class Location
+    {
+        final File myFile;
+        final int  myIndex;
+
+        Location(File file, int index)
+        {
+            myFile  = file;
+            myIndex = index;
+        }
+    }
+
+    private final IonReaderBuilder myReaderBuilder;
+
+    /**
+     * Immutable once constructed, so it's read without synchronization.
+     */
+    private final Map<String, TreeMap<Integer, Location>> myLocationsByName;
+
+    private final long myMaxCachedSymbols;
+
+    /**
+     * Guarded by itself, along with {@link #myCachedSymbols}.
+     */
+    private final LinkedHashMap<Location, SymbolTable> myCache =
+        new LinkedHashMap<Location, SymbolTable>(16, 0.75f, true);
+
+    private long myCachedSymbols;
+
+
+    /**
+     * Indexes the shared symbol tables in the files of a directory.
+     * Subdirectories and hidden files are ignored.
+     *
+     * @param directory must not be null.
+     * @param maxCachedSymbols the number of symbols that may be held by all
+     * of the cached tables together; must be positive. The most recently
+     * loaded table is always cached, even if it alone exceeds this limit.
+     *
+     * @throws IOException if the directory can't be read.
+     * @throws IonException if a file isn't valid Ion.
+     */
+    public FileSystemCatalog(File directory, long maxCachedSymbols)
+        throws IOException
+    {
+        this(directory, maxCachedSymbols, IonReaderBuilder.standard());
+    }
+
+    /**
+     * Indexes the shared symbol tables in the files of a directory, reading
+     * them with the given builder.
+     *
+     * @param directory must not be null.
+     * @param maxCachedSymbols the number of symbols that may be held by all
+     * of the cached tables together; must be positive.
+     * @param readerBuilder builds the readers of the files; must not be null.
+     *
+     * @throws IOException if the directory can't be read.
+     * @throws IonException if a file isn't valid Ion.
+     *
+     * @see #FileSystemCatalog(File, long)
+     */
+    public FileSystemCatalog(File directory,
+                             long maxCachedSymbols,
+                             IonReaderBuilder readerBuilder)
+        throws IOException
+    {
+        if (maxCachedSymbols < 1)
+        {
+            throw new IllegalArgumentException("maxCachedSymbols is < 1");
+        }
+        File[] files = directory.listFiles();
+        if (files == null)
+        {
+            throw new IOException("Cannot list directory " + directory);
+        }
+        Arrays.sort(files);
+
+        myReaderBuilder    = readerBuilder.immutable();
+        myMaxCachedSymbols = maxCachedSymbols;
+
+        Map<String, TreeMap<Integer, Location>> locations =
+            new HashMap<String, TreeMap<Integer, Location>>();
+        for (File file : files)
+        {
+            if (file.isFile() && ! file.isHidden())
+            {
+                indexFile(file, locations);
+            }
+        }
+        myLocationsByName = Collections.unmodifiableMap(locations);
+    }
+
+
+    private void indexFile(File file,
+                           Map<String, TreeMap<Integer, Location>> locations)
+        throws IOException
+    {
+        InputStream in = new FileInputStream(file);
+        try
+        {
+            IonReader reader = myReaderBuilder.build(in);
+            try
+            {
+                int index = 0;
+                for (IonType t; (t = reader.next()) != null; index++)
+                {
+                    if (t != IonType.STRUCT || reader.isNullValue()
+                        || ! isSharedSymbolTable(reader))
+                    {
+                        continue;
+                    }
+
+                    String name = null;
+                    int version = 1;
+                    reader.stepIn();
+                    while (reader.next() != null)
+                    {
+                        if (reader.isNullValue()) continue;
+
+                        String fieldName = reader.getFieldName();
+                        if (NAME.equals(fieldName)
+                            && reader.getType() == IonType.STRING)
+                        {
+                            name = reader.stringValue();
+                        }
+                        else if (VERSION.equals(fieldName)
+                                 && reader.getType() == IonType.INT)
+                        {
+                            // As per the Spec, treat a version < 1 as 1.
+                            version = Math.max(1, reader.intValue());
+                        }
+                    }
+                    reader.stepOut();
+
+                    // Malformed tables are reported when they're loaded.
+                    if (name == null || name.length() == 0) continue;
+
+                    TreeMap<Integer, Location> versions = locations.get(name);
+                    if (versions == null)
+                    {
+                        versions = new TreeMap<Integer, Location>();
+                        locations.put(name, versions);
+                    }
+                    versions.put(version, new Location(file, index));
+                }
+            }
+            finally
+            {
+                reader.close();
+            }
+        }
+        finally
+        {
+            in.close();
+        }
+    }
+
+    private static boolean isSharedSymbolTable(IonReader reader)
+    {
+        Iterator<String> annotations = reader.iterateTypeAnnotations();
+        return annotations.hasNext()
+            && ION_SHARED_SYMBOL_TABLE.equals(annotations.next());
+    }
+
+
+    public SymbolTable getTable(String name)
+    {
+        if (name == null)
+        {
+            throw new IllegalArgumentException("name is null");
+        }
+        if (name.length() == 0)
+        {
+            throw new IllegalArgumentException("name is empty");
+        }
+
+        TreeMap<Integer, Location> versions = myLocationsByName.get(name);
+        if (versions == null) return null;
+
+        return getTable(versions.lastEntry().getValue());
+    }
+
+    public SymbolTable getTable(String name, int version)
+    {
+        if (name == null)
+        {
+            throw new IllegalArgumentException("name is null");
+        }
+        if (name.length() == 0)
+        {
+            throw new IllegalArgumentException("name is empty");
+        }
+        if (version < 1)
+        {
+            throw new IllegalArgumentException("version is < 1");
+        }
+
+        TreeMap<Integer, Location> versions = myLocationsByName.get(name);
+        if (versions == null) return null;
+
+        Location location = versions.get(version);
+        if (location == null)
+        {
+            // Same best match as SimpleCatalog
+            Integer best = SimpleCatalog.bestMatch(version, versions.keySet());
+            location = versions.get(best);
+        }
+        return getTable(location);
+    }
+
+
+    private SymbolTable getTable(Location location)
+    {
+        synchronized (myCache)
+        {
+            SymbolTable table = myCache.get(location);
+            if (table != null) return table;
+        }
+
+        // Load without holding the lock, so other lookups aren't blocked.
+        SymbolTable table = load(location);
+
+        synchronized (myCache)
+        {
+            SymbolTable cached = myCache.get(location);
+            if (cached != null) return cached;
+
+            myCache.put(location, table);
+            myCachedSymbols += symbolCount(table);
+
+            Iterator<SymbolTable> eldest = myCache.values().iterator();
+            while (myCachedSymbols > myMaxCachedSymbols && myCache.size() > 1)
+            {
+                myCachedSymbols -= symbolCount(eldest.next());
+                eldest.remove();
+            }
+        }
+        return table;
+    }
+
+    private static int symbolCount(SymbolTable table)
+    {
+        // Count empty tables too, so the cache size is always bounded.
+        return Math.max(1, table.getMaxId());
+    }
+
+    private SymbolTable load(Location location)
+    {
+        try
+        {
+            InputStream in = new FileInputStream(location.myFile);
+            try
+            {
+                IonReader reader = myReaderBuilder.build(in);
+                try
+                {
+                    for (int i = 0; i < location.myIndex; i++)
+                    {
+                        reader.next();
+                    }
+                    if (reader.next() != IonType.STRUCT)
+                    {
+                        throw new IonException("Shared symbol table moved in "
+                                               + location.myFile);
+                    }
+                    return PrivateUtils.newSharedSymtab(reader, true);
+                }
+                finally
+                {
+                    reader.close();
+                }
+            }
+            finally
+            {
+                in.close();
+            }
+        }
+        catch (IOException e)
+        {
+            throw new IonException(e);
+        }
+    }
+}
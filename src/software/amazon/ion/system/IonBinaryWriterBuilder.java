@@ -14,6 +14,8 @@
 
 package software.amazon.ion.system;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import software.amazon.ion.IonCatalog;
 import software.amazon.ion.IonReader;
 import software.amazon.ion.IonWriter;
@@ -94,6 +96,13 @@ public abstract class IonBinaryWriterBuilder
         return super.withImports(imports);
     }
 
+    @Override
+    public final
+    IonBinaryWriterBuilder withMetricsListener(IonMetricsListener listener)
+    {
+        return super.withMetricsListener(listener);
+    }
+
 
     //=========================================================================
 
@@ -280,4 +289,40 @@ public abstract class IonBinaryWriterBuilder
         b.setStreamCopyOptimized(optimized);
         return b;
     }
+
+
+    //=========================================================================
+
+
+    /**
+     * Creates a pool of writers configured like this builder, so that
+     * applications writing many short streams can reuse writers and their
+     * buffers instead of building new ones.
+     * Subsequent changes to this builder don't affect the pool.
+     *
+     * @param maxIdleWriters the number of released writers the pool retains
+     * for reuse; must be positive.
+     *
+     * @return a new pool, which is safe for use by multiple threads.
+     */
+    public final IonBinaryWriterPool buildPool(int maxIdleWriters)
+    {
+        return new IonBinaryWriterPool(immutable(), maxIdleWriters);
+    }
+
+    /**
+     * NOT FOR APPLICATION USE!
+     * <p>
+     * Discards any unfinished output of a writer built by this builder and
+     * redirects it to a new stream, retaining its buffers and import context.
+     *
+     * @return false if the writer can't be reused, in which case it's
+     * unchanged. This implementation always returns false, so pools of
+     * subclasses that don't override it never reuse their writers.
+     */
+    protected boolean resetWriter(IonWriter writer, OutputStream out)
+        throws IOException
+    {
+        return false;
+    }
 }
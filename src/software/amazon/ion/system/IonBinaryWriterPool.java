@@ -0,0 +1,253 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.system;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonWriter;
+
+
+/**
+ * A pool of binary {@link IonWriter}s, created by
+ * {@link IonBinaryWriterBuilder#buildPool(int)}.
+ * <p>
+ * Building a binary writer allocates its buffers and symbol table
+ * bookkeeping, which is costly when each writer only writes a small
+ * stream. Instead, {@linkplain #acquire(OutputStream) acquire} a writer
+ * from a pool and {@linkplain #release(IonWriter) release} it when done:
+ * <pre>
+ *    IonWriter writer = pool.acquire(out);
+ *    try
+ *    {
+ *        ...
+ *    }
+ *    finally
+ *    {
+ *        pool.release(writer);
+ *    }
+ * </pre>
+ * A reused writer behaves exactly like a newly built one, except that it
+ * retains its buffers and its import context, including that of the
+ * builder's {@linkplain IonBinaryWriterBuilder#getInitialSymbolTable()
+ * initial symbol table}.
+ * <p>
+ * Instances of this class are safe for use by multiple threads, but each
+ * writer must only be used by one thread at a time.
+ */
+public final class IonBinaryWriterPool
+    implements Closeable
+{
+    /**
+     * The stream of released writers, so that misuse fails instead of
+     * writing to the stream of the writer's next user.
+     */
+    private static final OutputStream RELEASED = new OutputStream()
+    {
+        @Override
+        public void write(int b) throws IOException
+        {
+            throw new IOException("Writer has been released to its pool");
+        }
+    };
+
+
+    private final IonBinaryWriterBuilder myBuilder;
+    private final int                    myMaxIdleWriters;
+
+    /**
+     * Guarded by itself, along with {@link #myClosed}.
+     * Used as a stack so that recently used writers, whose buffers are
+     * more likely to be in cache, are reused first.
+     */
+    private final List<IonWriter> myIdleWriters;
+
+    /**
+     * Guarded by {@link #myIdleWriters}.
+     * The writers built by this pool, so that writers built elsewhere, with
+     * other imports or options, are never handed out. Held weakly since
+     * acquired writers needn't be released.
+     */
+    private final Set<IonWriter> myWriters =
+        Collections.newSetFromMap(new WeakHashMap<IonWriter, Boolean>());
+
+    private boolean myClosed;
+
+
+    /**
+     * @param builder must be immutable.
+     */
+    IonBinaryWriterPool(IonBinaryWriterBuilder builder, int maxIdleWriters)
+    {
+        if (maxIdleWriters < 1)
+        {
+            throw new IllegalArgumentException("maxIdleWriters is < 1");
+        }
+        myBuilder        = builder;
+        myMaxIdleWriters = maxIdleWriters;
+        myIdleWriters    = new ArrayList<IonWriter>(maxIdleWriters);
+    }
+
+
+    /**
+     * Gets the builder that configures the writers of this pool.
+     *
+     * @return an immutable builder.
+     */
+    public IonBinaryWriterBuilder getBuilder()
+    {
+        return myBuilder;
+    }
+
+    public int getMaxIdleWriters()
+    {
+        return myMaxIdleWriters;
+    }
+
+    /**
+     * Gets the number of released writers currently awaiting reuse.
+     */
+    public int getIdleWriterCount()
+    {
+        synchronized (myIdleWriters)
+        {
+            return myIdleWriters.size();
+        }
+    }
+
+
+    /**
+     * Gets a writer for a new stream, reusing a released writer if possible.
+     * As with {@link IonBinaryWriterBuilder#build(OutputStream)}, closing
+     * the writer closes the stream.
+     *
+     * @param out the stream that will receive Ion binary data.
+     * Must not be null.
+     *
+     * @return a writer that may be {@linkplain #release(IonWriter) released}
+     * to this pool once the stream is complete.
+     */
+    public IonWriter acquire(OutputStream out)
+    {
+        if (out == null)
+        {
+            throw new NullPointerException("out is null");
+        }
+
+        while (true)
+        {
+            IonWriter writer;
+            synchronized (myIdleWriters)
+            {
+                int size = myIdleWriters.size();
+                if (size == 0) break;
+                writer = myIdleWriters.remove(size - 1);
+            }
+
+            try
+            {
+                if (myBuilder.resetWriter(writer, out)) return writer;
+            }
+            catch (IOException e)
+            {
+                throw new IonException(e);
+            }
+            // Otherwise the writer was closed after it was released.
+            synchronized (myIdleWriters)
+            {
+                myWriters.remove(writer);
+            }
+        }
+
+        IonWriter writer = myBuilder.build(out);
+        synchronized (myIdleWriters)
+        {
+            myWriters.add(writer);
+        }
+        return writer;
+    }
+
+    /**
+     * Finishes a writer and retains it for reuse by
+     * {@link #acquire(OutputStream)}, unless the pool already holds its
+     * maximum number of idle writers. The writer's stream is neither flushed
+     * nor closed beyond what {@link IonWriter#finish()} does, and the writer
+     * must not be used by the caller afterwards.
+     * <p>
+     * Writers that have been closed are discarded, as are writers not
+     * acquired from this pool.
+     *
+     * @throws IOException if thrown by {@link IonWriter#finish()}, in which
+     * case the writer is discarded.
+     * @throws IllegalStateException if the writer isn't at top-level, in
+     * which case it is discarded.
+     */
+    public void release(IonWriter writer)
+        throws IOException
+    {
+        writer.finish();
+
+        synchronized (myIdleWriters)
+        {
+            if (! myWriters.contains(writer)) return;
+        }
+
+        if (myBuilder.resetWriter(writer, RELEASED))
+        {
+            synchronized (myIdleWriters)
+            {
+                if (! myClosed && myIdleWriters.size() < myMaxIdleWriters)
+                {
+                    myIdleWriters.add(writer);
+                    return;
+                }
+            }
+            writer.close();
+        }
+
+        synchronized (myIdleWriters)
+        {
+            myWriters.remove(writer);
+        }
+    }
+
+    /**
+     * Closes all idle writers, releasing their buffers. Writers released
+     * after this are closed instead of being retained, but the pool may
+     * still be used to acquire new ones.
+     */
+    public void close()
+        throws IOException
+    {
+        List<IonWriter> idle;
+        synchronized (myIdleWriters)
+        {
+            myClosed = true;
+            idle = new ArrayList<IonWriter>(myIdleWriters);
+            myIdleWriters.clear();
+        }
+
+        for (IonWriter writer : idle)
+        {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.system;
+
+import software.amazon.ion.IonType;
+import software.amazon.ion.SymbolTable;
+
+
+/**
+ * Receives notifications of the work done by readers and writers, so that
+ * applications can export it to their metrics or tracing systems.
+ * <p>
+ * A listener is configured on a builder via
+ * {@link IonReaderBuilder#withMetricsListener(IonMetricsListener)},
+ * {@link IonBinaryWriterBuilder#withMetricsListener(IonMetricsListener)} or
+ * {@link IonTextWriterBuilder#withMetricsListener(IonMetricsListener)}.
+ * By default builders have no listener, in which case their readers and
+ * writers don't gather any of this information.
+ * Readers over {@link software.amazon.ion.IonValue}s don't report events.
+ * <p>
+ * Every method of this class does nothing, so subclasses need only override
+ * those of interest. Methods are called synchronously by the reader or
+ * writer doing the work, so they should return quickly.
+ * <p>
+ * <b>Implementations must be safe for use by multiple threads</b>, since
+ * all the readers and writers built by a builder share its listener.
+ */
+public abstract class IonMetricsListener
+{
+    protected IonMetricsListener()
+    {
+    }
+
+
+    //=========================================================================
+    // Readers
+
+
+    /**
+     * Called when a reader moves onto a value, at any depth.
+     * System values, such as symbol tables, are not reported.
+     *
+     * @param type the type of the value; not null.
+     */
+    public void valueRead(IonType type)
+    {
+    }
+
+    /**
+     * Called when a reader has read a local symbol table from its input.
+     *
+     * @param symtab the table; not null.
+     * @param nanos the time spent reading the table. For binary readers that
+     * share local symbol tables, it includes looking up the table.
+     */
+    public void localSymbolTableRead(SymbolTable symtab, long nanos)
+    {
+    }
+
+    /**
+     * Called once when a reader reaches the end of its input.
+     *
+     * @param count the number of bytes read from the input, or the number of
+     * characters for text read from characters.
+     */
+    public void inputConsumed(long count)
+    {
+    }
+
+
+    //=========================================================================
+    // Writers
+
+
+    /**
+     * Called when a binary writer adds a symbol to the local symbol table of
+     * its output.
+     *
+     * @param text the text of the symbol; not null.
+     */
+    public void localSymbolAdded(String text)
+    {
+    }
+
+    /**
+     * Called when a binary writer allocates a block of its buffer.
+     *
+     * @param size the number of bytes in the block.
+     */
+    public void blockAllocated(int size)
+    {
+    }
+
+    /**
+     * Called when a binary writer flushes data containing values whose
+     * lengths it didn't know when it started them, and so had to patch in.
+     *
+     * @param count the number of patched lengths; positive.
+     */
+    public void lengthsPatched(int count)
+    {
+    }
+
+    /**
+     * Called when a binary writer flushes data to its output stream.
+     *
+     * @param count the number of bytes written; positive.
+     */
+    public void bytesWritten(long count)
+    {
+    }
+
+    /**
+     * Called when a writer has flushed its output, including when it's
+     * finished or closed.
+     *
+     * @param nanos the time spent flushing.
+     */
+    public void flushed(long nanos)
+    {
+    }
+}
@@ -15,6 +15,7 @@
 package software.amazon.ion.system;
 
 import static software.amazon.ion.impl.PrivateIonReaderFactory.makeReader;
+import static software.amazon.ion.impl.PrivateIonReaderFactory.setTextPositionTracking;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -25,6 +26,9 @@ import software.amazon.ion.IonReader;
 import software.amazon.ion.IonStruct;
 import software.amazon.ion.IonSystem;
 import software.amazon.ion.IonValue;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.impl.PrivateIonReaderFactory;
+import software.amazon.ion.impl.PrivateLocalSymbolTableCache;
 
 /**
  * Build a new {@link IonReader} from the given {@link IonCatalog} and data
@@ -40,6 +44,10 @@ public class IonReaderBuilder
 {
 
     private IonCatalog catalog = null;
+    private boolean textPositionTracking = true;
+    private boolean jsonStrict = false;
+    private PrivateLocalSymbolTableCache localSymbolTableCache = null;
+    private IonMetricsListener metricsListener = null;
 
     private IonReaderBuilder()
     {
@@ -48,6 +56,11 @@ public class IonReaderBuilder
     private IonReaderBuilder(IonReaderBuilder that)
     {
         this.catalog = that.catalog;
+        this.textPositionTracking = that.textPositionTracking;
+        this.jsonStrict = that.jsonStrict;
+        // Copies share the cache, along with the tables already in it.
+        this.localSymbolTableCache = that.localSymbolTableCache;
+        this.metricsListener = that.metricsListener;
     }
 
     /**
@@ -149,10 +162,260 @@ public class IonReaderBuilder
         return catalog;
     }
 
+    /**
+     * Declares whether text readers track the line and column of each value,
+     * returning a new mutable builder if this is immutable.
+     *
+     * @param enabled false to skip line and column bookkeeping while reading
+     * text.
+     *
+     * @return this instance, if mutable;
+     * otherwise a mutable copy of this instance.
+     *
+     * @see #setTextPositionTrackingEnabled(boolean)
+     */
+    public IonReaderBuilder withTextPositionTrackingEnabled(boolean enabled)
+    {
+        IonReaderBuilder b = mutable();
+        b.setTextPositionTrackingEnabled(enabled);
+        return b;
+    }
+
+    /**
+     * Declares whether text readers track the line and column of each value.
+     * By default this is enabled.
+     * <p>
+     * Tracking costs a little bookkeeping on every line of input. When it is
+     * disabled, spans from the reader's
+     * {@link software.amazon.ion.facet.SpanProvider} don't offer the
+     * {@link software.amazon.ion.TextSpan} facet (offset spans still work),
+     * and syntax errors report the stream offset rather than a line and
+     * column.
+     * Binary and {@link IonValue} readers are not affected.
+     *
+     * @param enabled false to skip line and column bookkeeping while reading
+     * text.
+     *
+     * @throws UnsupportedOperationException if this is immutable.
+     *
+     * @see #withTextPositionTrackingEnabled(boolean)
+     */
+    public void setTextPositionTrackingEnabled(boolean enabled)
+    {
+        mutationCheck();
+        this.textPositionTracking = enabled;
+    }
+
+    /**
+     * Indicates whether text readers track the line and column of each value.
+     * By default this is enabled.
+     *
+     * @see #setTextPositionTrackingEnabled(boolean)
+     * @see #withTextPositionTrackingEnabled(boolean)
+     */
+    public boolean isTextPositionTrackingEnabled()
+    {
+        return textPositionTracking;
+    }
+
+    /**
+     * Declares whether built readers accept only JSON, returning a new
+     * mutable builder if this is immutable.
+     *
+     * @param jsonStrict true to restrict built readers to JSON input.
+     *
+     * @return this instance, if mutable;
+     * otherwise a mutable copy of this instance.
+     *
+     * @see #setJsonStrict(boolean)
+     */
+    public IonReaderBuilder withJsonStrict(boolean jsonStrict)
+    {
+        IonReaderBuilder b = mutable();
+        b.setJsonStrict(jsonStrict);
+        return b;
+    }
+
+    /**
+     * Declares whether built readers accept only JSON. By default this is
+     * disabled and the full Ion text and binary formats are accepted.
+     * <p>
+     * A JSON-strict reader still presents JSON through the standard
+     * {@link IonReader} interface, using the same mapping as Ion text:
+     * numbers with a fraction are decimals, numbers with an exponent are
+     * floats, and objects are structs. Since annotations, s-expressions,
+     * lobs, symbols, timestamps, comments and the Ion-only numeric forms
+     * can't appear, the reader doesn't look ahead for them, and raises a
+     * syntax error if they do appear.
+     * Building a JSON-strict reader over binary Ion data fails with an
+     * {@link IonException}; {@link #build(IonValue)} is not affected.
+     *
+     * @param jsonStrict true to restrict built readers to JSON input.
+     *
+     * @throws UnsupportedOperationException if this is immutable.
+     *
+     * @see #withJsonStrict(boolean)
+     */
+    public void setJsonStrict(boolean jsonStrict)
+    {
+        mutationCheck();
+        this.jsonStrict = jsonStrict;
+    }
+
+    /**
+     * Indicates whether built readers accept only JSON.
+     * By default this is disabled.
+     *
+     * @see #setJsonStrict(boolean)
+     * @see #withJsonStrict(boolean)
+     */
+    public boolean isJsonStrict()
+    {
+        return jsonStrict;
+    }
+
+    /**
+     * Declares the number of local symbol tables shared by built readers,
+     * returning a new mutable builder if this is immutable.
+     *
+     * @param size the number of tables to retain; zero disables sharing.
+     *
+     * @return this instance, if mutable;
+     * otherwise a mutable copy of this instance.
+     *
+     * @see #setLocalSymbolTableCacheSize(int)
+     */
+    public IonReaderBuilder withLocalSymbolTableCacheSize(int size)
+    {
+        IonReaderBuilder b = mutable();
+        b.setLocalSymbolTableCacheSize(size);
+        return b;
+    }
+
+    /**
+     * Declares the number of local symbol tables shared by built readers.
+     * By default this is zero, so each reader parses every local symbol
+     * table it encounters.
+     * <p>
+     * When enabled, binary readers built over byte arrays remember the local
+     * symbol tables they parse, keyed by their encoding, so a table that
+     * starts many payloads is only parsed once. The least recently used
+     * tables are forgotten once more than {@code size} are cached. Shared
+     * tables are read-only, so {@link SymbolTable#intern(String)} on them
+     * fails; tables appended to a previous local symbol table are never
+     * shared.
+     * <p>
+     * The cache is shared with copies of this builder, and with readers on
+     * any thread. Imports are resolved when a table is first parsed, so the
+     * catalog's contents should not change while the cache is in use.
+     *
+     * @param size the number of tables to retain; zero disables sharing.
+     *
+     * @throws IllegalArgumentException if {@code size} is negative.
+     * @throws UnsupportedOperationException if this is immutable.
+     *
+     * @see #withLocalSymbolTableCacheSize(int)
+     */
+    public void setLocalSymbolTableCacheSize(int size)
+    {
+        mutationCheck();
+        if (size < 0)
+        {
+            throw new IllegalArgumentException("size is < 0");
+        }
+        this.localSymbolTableCache =
+            (size == 0 ? null : new PrivateLocalSymbolTableCache(size));
+    }
+
+    /**
+     * Indicates the number of local symbol tables shared by built readers.
+     * By default this is zero.
+     *
+     * @see #setLocalSymbolTableCacheSize(int)
+     * @see #withLocalSymbolTableCacheSize(int)
+     */
+    public int getLocalSymbolTableCacheSize()
+    {
+        return localSymbolTableCache == null
+            ? 0
+            : localSymbolTableCache.getMaxSize();
+    }
+
+    /**
+     * Declares the listener notified of the work done by built readers,
+     * returning a new mutable builder if this is immutable.
+     *
+     * @param listener may be null, in which case readers don't gather any
+     * metrics.
+     *
+     * @return this instance, if mutable;
+     * otherwise a mutable copy of this instance.
+     *
+     * @see #setMetricsListener(IonMetricsListener)
+     */
+    public IonReaderBuilder withMetricsListener(IonMetricsListener listener)
+    {
+        IonReaderBuilder b = mutable();
+        b.setMetricsListener(listener);
+        return b;
+    }
+
+    /**
+     * Sets the listener notified of the work done by built readers.
+     * By default there is none.
+     *
+     * @param listener may be null, in which case readers don't gather any
+     * metrics.
+     *
+     * @throws UnsupportedOperationException if this is immutable.
+     *
+     * @see #withMetricsListener(IonMetricsListener)
+     */
+    public void setMetricsListener(IonMetricsListener listener)
+    {
+        mutationCheck();
+        this.metricsListener = listener;
+    }
+
+    /**
+     * Gets the listener notified of the work done by built readers.
+     * By default this is null.
+     *
+     * @see #setMetricsListener(IonMetricsListener)
+     * @see #withMetricsListener(IonMetricsListener)
+     */
+    public IonMetricsListener getMetricsListener()
+    {
+        return metricsListener;
+    }
+
+    private IonReader configure(IonReader reader)
+    {
+        if (!textPositionTracking) {
+            setTextPositionTracking(reader, false);
+        }
+        if (jsonStrict) {
+            PrivateIonReaderFactory.setJsonStrict(reader, true);
+        }
+        if (localSymbolTableCache != null) {
+            PrivateIonReaderFactory.setLocalSymbolTableCache(reader,
+                                                             localSymbolTableCache);
+        }
+        if (metricsListener != null) {
+            PrivateIonReaderFactory.setMetricsListener(reader, metricsListener);
+        }
+        return reader;
+    }
+
     private IonCatalog validateCatalog()
     {
         // matches behavior in IonSystemBuilder when no catalog provided
-        return catalog != null ? catalog : new SimpleCatalog();
+        if (catalog != null) return catalog;
+        if (localSymbolTableCache != null) {
+            // readers must have the same catalog to share symbol tables
+            return localSymbolTableCache.getDefaultCatalog();
+        }
+        return new SimpleCatalog();
     }
 
     /**
@@ -177,7 +440,7 @@ public class IonReaderBuilder
      */
     public IonReader build(byte[] ionData)
     {
-        return makeReader(validateCatalog(), ionData);
+        return configure(makeReader(validateCatalog(), ionData));
     }
 
     /**
@@ -204,7 +467,7 @@ public class IonReaderBuilder
      */
     public IonReader build(byte[] ionData, int offset, int length)
     {
-        return makeReader(validateCatalog(), ionData, offset, length);
+        return configure(makeReader(validateCatalog(), ionData, offset, length));
     }
 
     /**
@@ -234,7 +497,7 @@ public class IonReaderBuilder
      */
     public IonReader build(InputStream ionData)
     {
-        return makeReader(validateCatalog(), ionData);
+        return configure(makeReader(validateCatalog(), ionData));
     }
 
     /**
@@ -256,7 +519,7 @@ public class IonReaderBuilder
      */
     public IonReader build(Reader ionText)
     {
-        return makeReader(validateCatalog(), ionText);
+        return configure(makeReader(validateCatalog(), ionText));
     }
 
     /**
@@ -283,7 +546,34 @@ public class IonReaderBuilder
      */
     public IonReader build(String ionText)
     {
-        return makeReader(validateCatalog(), ionText);
+        return configure(makeReader(validateCatalog(), ionText));
+    }
+
+    /**
+     * Creates a pool of readers configured like this builder, so that
+     * applications reading many small blocks of Ion data can reuse readers
+     * and their buffers instead of building new ones.
+     * Subsequent changes to this builder don't affect the pool.
+     *
+     * @param maxIdleReaders the number of released readers the pool retains
+     * for reuse; must be positive.
+     *
+     * @return a new pool, which is safe for use by multiple threads.
+     */
+    public IonReaderPool buildPool(int maxIdleReaders)
+    {
+        return new IonReaderPool(immutable(), maxIdleReaders);
+    }
+
+    /**
+     * Re-points a reader built by this builder at a new block of Ion data.
+     *
+     * @return false if the reader can't be re-pointed at the data, in which
+     * case it's unchanged.
+     */
+    boolean resetReader(IonReader reader, byte[] ionData, int offset, int length)
+    {
+        return PrivateIonReaderFactory.resetReader(reader, ionData, offset, length);
     }
 
     private static class Mutable extends IonReaderBuilder
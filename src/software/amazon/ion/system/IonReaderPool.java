@@ -0,0 +1,271 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.system;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import software.amazon.ion.IonReader;
+
+
+/**
+ * A pool of {@link IonReader}s over blocks of Ion data, created by
+ * {@link IonReaderBuilder#buildPool(int)}.
+ * <p>
+ * Building a reader allocates its input buffers, position stacks and
+ * annotation arrays, which is costly when each reader only reads a small
+ * message. Instead, {@linkplain #acquire(byte[], int, int) acquire} a reader
+ * from a pool and {@linkplain #release(IonReader) release} it when done:
+ * <pre>
+ *    IonReader reader = pool.acquire(message);
+ *    try
+ *    {
+ *        ...
+ *    }
+ *    finally
+ *    {
+ *        pool.release(reader);
+ *    }
+ * </pre>
+ * A reused reader behaves exactly like a newly built one, except that it
+ * retains its buffers. Binary and text readers are pooled together; a
+ * released reader is only reused for data in the same format.
+ * GZIPped data is read by newly built readers, which are never reused.
+ * <p>
+ * Instances of this class are safe for use by multiple threads, but each
+ * reader must only be used by one thread at a time.
+ */
+@SuppressWarnings("deprecation")
+public final class IonReaderPool
+    implements Closeable
+{
+    /** The data of released readers, so they don't retain the caller's. */
+    private static final byte[] RELEASED = new byte[0];
+
+
+    private final IonReaderBuilder myBuilder;
+    private final int              myMaxIdleReaders;
+
+    /**
+     * Guarded by itself, along with {@link #myClosed}.
+     * Used as a stack so that recently used readers are reused first.
+     */
+    private final List<IonReader> myIdleReaders;
+
+    /**
+     * Guarded by {@link #myIdleReaders}.
+     * The readers built by this pool, so that readers built elsewhere, with
+     * another catalog or options, are never handed out. Held weakly since
+     * acquired readers needn't be released.
+     */
+    private final Set<IonReader> myReaders =
+        Collections.newSetFromMap(new WeakHashMap<IonReader, Boolean>());
+
+    private boolean myClosed;
+
+
+    /**
+     * @param builder must be immutable.
+     */
+    IonReaderPool(IonReaderBuilder builder, int maxIdleReaders)
+    {
+        if (maxIdleReaders < 1)
+        {
+            throw new IllegalArgumentException("maxIdleReaders is < 1");
+        }
+        myBuilder        = builder;
+        myMaxIdleReaders = maxIdleReaders;
+        myIdleReaders    = new ArrayList<IonReader>(maxIdleReaders);
+    }
+
+
+    /**
+     * Gets the builder that configures the readers of this pool.
+     *
+     * @return an immutable builder.
+     */
+    public IonReaderBuilder getBuilder()
+    {
+        return myBuilder;
+    }
+
+    public int getMaxIdleReaders()
+    {
+        return myMaxIdleReaders;
+    }
+
+    /**
+     * Gets the number of released readers currently awaiting reuse.
+     */
+    public int getIdleReaderCount()
+    {
+        synchronized (myIdleReaders)
+        {
+            return myIdleReaders.size();
+        }
+    }
+
+
+    /**
+     * Gets a reader over the given Ion data, reusing a released reader if
+     * possible.
+     *
+     * @param ionData may be either Ion binary data or UTF-8 Ion text.
+     * The reader retains a reference to the array, so its data must not be
+     * modified until the reader is released. Must not be null.
+     *
+     * @return a reader that may be {@linkplain #release(IonReader) released}
+     * to this pool once it's no longer needed.
+     *
+     * @see IonReaderBuilder#build(byte[])
+     */
+    public IonReader acquire(byte[] ionData)
+    {
+        return acquire(ionData, 0, ionData.length);
+    }
+
+    /**
+     * Gets a reader over the given range of Ion data, reusing a released
+     * reader if possible.
+     *
+     * @param ionData may be either Ion binary data or UTF-8 Ion text.
+     * The reader retains a reference to the array, so its data must not be
+     * modified until the reader is released. Must not be null.
+     * @param offset must be non-negative and less than {@code ionData.length}.
+     * @param length must be non-negative and {@code offset+length} must not
+     * exceed {@code ionData.length}.
+     *
+     * @return a reader that may be {@linkplain #release(IonReader) released}
+     * to this pool once it's no longer needed.
+     *
+     * @see IonReaderBuilder#build(byte[], int, int)
+     */
+    public IonReader acquire(byte[] ionData, int offset, int length)
+    {
+        if (ionData == null)
+        {
+            throw new NullPointerException("ionData is null");
+        }
+
+        synchronized (myIdleReaders)
+        {
+            // Resetting is cheap, so it's done while holding the lock.
+            for (int i = myIdleReaders.size() - 1; i >= 0; i--)
+            {
+                IonReader reader = myIdleReaders.get(i);
+                if (myBuilder.resetReader(reader, ionData, offset, length))
+                {
+                    myIdleReaders.remove(i);
+                    return reader;
+                }
+            }
+        }
+
+        IonReader reader = myBuilder.build(ionData, offset, length);
+        synchronized (myIdleReaders)
+        {
+            myReaders.add(reader);
+        }
+        return reader;
+    }
+
+    /**
+     * Gets a reader over the remaining bytes of the given buffer, reusing a
+     * released reader if possible. The buffer's position is not changed.
+     * <p>
+     * Buffers backed by an accessible array are read in place, so their data
+     * must not be modified until the reader is released. Other buffers are
+     * copied.
+     *
+     * @param ionData may be either Ion binary data or UTF-8 Ion text.
+     * Must not be null.
+     *
+     * @return a reader that may be {@linkplain #release(IonReader) released}
+     * to this pool once it's no longer needed.
+     */
+    public IonReader acquire(ByteBuffer ionData)
+    {
+        if (ionData.hasArray())
+        {
+            return acquire(ionData.array(),
+                           ionData.arrayOffset() + ionData.position(),
+                           ionData.remaining());
+        }
+
+        byte[] copy = new byte[ionData.remaining()];
+        ionData.duplicate().get(copy);
+        return acquire(copy, 0, copy.length);
+    }
+
+    /**
+     * Retains a reader for reuse by {@link #acquire(byte[], int, int)},
+     * unless the pool already holds its maximum number of idle readers.
+     * The reader no longer refers to its data afterwards, and must not be
+     * used by the caller.
+     * <p>
+     * Readers that can't be reused, such as those over GZIPped data or not
+     * acquired from this pool, are discarded.
+     */
+    public void release(IonReader reader)
+    {
+        synchronized (myIdleReaders)
+        {
+            if (! myReaders.contains(reader)) return;
+        }
+
+        boolean reusable = myBuilder.resetReader(reader, RELEASED, 0, 0);
+
+        synchronized (myIdleReaders)
+        {
+            if (reusable && ! myClosed
+                && myIdleReaders.size() < myMaxIdleReaders)
+            {
+                myIdleReaders.add(reader);
+            }
+            else
+            {
+                myReaders.remove(reader);
+            }
+        }
+    }
+
+    /**
+     * Closes all idle readers. Readers released after this are discarded
+     * instead of being retained, but the pool may still be used to acquire
+     * new ones.
+     */
+    public void close()
+        throws IOException
+    {
+        List<IonReader> idle;
+        synchronized (myIdleReaders)
+        {
+            myClosed = true;
+            idle = new ArrayList<IonReader>(myIdleReaders);
+            myIdleReaders.clear();
+            myReaders.removeAll(idle);
+        }
+
+        for (IonReader reader : idle)
+        {
+            reader.close();
+        }
+    }
+}
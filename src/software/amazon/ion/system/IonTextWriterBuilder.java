@@ -227,6 +227,13 @@ public abstract class IonTextWriterBuilder
         return super.withImports(imports);
     }
 
+    @Override
+    public final
+    IonTextWriterBuilder withMetricsListener(IonMetricsListener listener)
+    {
+        return super.withMetricsListener(listener);
+    }
+
 
     //-------------------------------------------------------------------------
 
@@ -28,8 +28,9 @@ abstract class IonWriterBuilderBase<T extends IonWriterBuilderBase>
     //      those symbols that were interned when setInitialSymbolTable() was
     //      called.
 
-    private IonCatalog    myCatalog;
-    private SymbolTable[] myImports;
+    private IonCatalog         myCatalog;
+    private SymbolTable[]      myImports;
+    private IonMetricsListener myMetricsListener;
 
 
     /** NOT FOR APPLICATION USE! */
@@ -42,6 +43,7 @@ abstract class IonWriterBuilderBase<T extends IonWriterBuilderBase>
     {
         this.myCatalog = that.myCatalog;
         this.myImports = that.myImports;
+        this.myMetricsListener = that.myMetricsListener;
     }
 
 
@@ -136,6 +138,57 @@ abstract class IonWriterBuilderBase<T extends IonWriterBuilderBase>
 
     //-------------------------------------------------------------------------
 
+    /**
+     * Gets the listener notified of the work done by built writers.
+     * By default, this property is null.
+     *
+     * @see #setMetricsListener(IonMetricsListener)
+     * @see #withMetricsListener(IonMetricsListener)
+     */
+    public final IonMetricsListener getMetricsListener()
+    {
+        return myMetricsListener;
+    }
+
+    /**
+     * Sets the listener notified of the work done by built writers.
+     *
+     * @param listener may be null, in which case writers don't gather any
+     * metrics.
+     *
+     * @see #getMetricsListener()
+     * @see #withMetricsListener(IonMetricsListener)
+     *
+     * @throws UnsupportedOperationException if this is immutable.
+     */
+    public void setMetricsListener(IonMetricsListener listener)
+    {
+        mutationCheck();
+        myMetricsListener = listener;
+    }
+
+    /**
+     * Declares the listener notified of the work done by built writers,
+     * returning a new mutable builder if this is immutable.
+     *
+     * @param listener may be null, in which case writers don't gather any
+     * metrics.
+     *
+     * @return this instance, if mutable;
+     * otherwise a mutable copy of this instance.
+     *
+     * @see #getMetricsListener()
+     * @see #setMetricsListener(IonMetricsListener)
+     */
+    public T withMetricsListener(IonMetricsListener listener)
+    {
+        T b = mutable();
+        b.setMetricsListener(listener);
+        return b;
+    }
+
+    //-------------------------------------------------------------------------
+
 
     private static SymbolTable[] safeCopy(SymbolTable[] imports)
     {
@@ -15,11 +15,10 @@
 package software.amazon.ion.system;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import software.amazon.ion.IonCatalog;
 import software.amazon.ion.IonMutableCatalog;
 import software.amazon.ion.SymbolTable;
@@ -28,19 +27,111 @@ import software.amazon.ion.SymbolTable;
 /**
  * A basic implementation of {@link IonCatalog} as a hash table.  There is no
  * automatic removal of entries.
+ * <p>
+ * Instances of this class are safe for use by multiple threads. Lookups
+ * never lock, so any number of readers may resolve imports concurrently;
+ * changes are serialized.
  */
 public class SimpleCatalog
     implements IonMutableCatalog, Iterable<SymbolTable>
 {
     /*  CAVEATS AND LIMITATIONS
      *
-     *  - When getTable can't find an exact match, it does a linear scan of
-     *    all tables with the same name to find the best match.
-     *  - Synchonization could probably be tighter using read/write locks
-     *    instead of simple monitors.
+     *  - Each change copies all versions of the affected name, which is
+     *    fine since catalogs are read far more often than written.
      */
-    private Map<String,TreeMap<Integer,SymbolTable>> myTablesByName =
-        new HashMap<String,TreeMap<Integer,SymbolTable>>();
+
+    /**
+     * The versions of a table, sorted by version number. Immutable, so it
+     * can be read without synchronization; changes replace it wholesale.
+     */
+    private static final class Versions
+    {
+        final int[]         myVersions;
+        final SymbolTable[] myTables;
+
+        Versions(int[] versions, SymbolTable[] tables)
+        {
+            assert versions.length == tables.length && versions.length != 0;
+            myVersions = versions;
+            myTables   = tables;
+        }
+
+        SymbolTable highest()
+        {
+            return myTables[myTables.length - 1];
+        }
+
+        /**
+         * Returns the requested version, or if that's not available, the
+         * lowest newer version, or failing that the highest older version.
+         * This is the same choice as {@link SimpleCatalog#bestMatch}.
+         */
+        SymbolTable bestMatch(int version)
+        {
+            int pos = Arrays.binarySearch(myVersions, version);
+            if (pos >= 0) return myTables[pos];
+
+            int insertionPoint = -(pos + 1);
+            if (insertionPoint < myTables.length)
+            {
+                return myTables[insertionPoint];
+            }
+            return highest();
+        }
+
+        Versions with(int version, SymbolTable table)
+        {
+            int pos = Arrays.binarySearch(myVersions, version);
+            if (pos >= 0)
+            {
+                SymbolTable[] tables = myTables.clone();
+                tables[pos] = table;
+                return new Versions(myVersions, tables);
+            }
+
+            int insertionPoint = -(pos + 1);
+            int length = myVersions.length;
+            int[] versions = new int[length + 1];
+            SymbolTable[] tables = new SymbolTable[length + 1];
+            System.arraycopy(myVersions, 0, versions, 0, insertionPoint);
+            System.arraycopy(myTables, 0, tables, 0, insertionPoint);
+            versions[insertionPoint] = version;
+            tables[insertionPoint] = table;
+            System.arraycopy(myVersions, insertionPoint,
+                             versions, insertionPoint + 1,
+                             length - insertionPoint);
+            System.arraycopy(myTables, insertionPoint,
+                             tables, insertionPoint + 1,
+                             length - insertionPoint);
+            return new Versions(versions, tables);
+        }
+
+        /**
+         * @return null if the last version was removed.
+         */
+        Versions without(int pos)
+        {
+            int length = myVersions.length;
+            if (length == 1) return null;
+
+            int[] versions = new int[length - 1];
+            SymbolTable[] tables = new SymbolTable[length - 1];
+            System.arraycopy(myVersions, 0, versions, 0, pos);
+            System.arraycopy(myTables, 0, tables, 0, pos);
+            System.arraycopy(myVersions, pos + 1, versions, pos,
+                             length - pos - 1);
+            System.arraycopy(myTables, pos + 1, tables, pos,
+                             length - pos - 1);
+            return new Versions(versions, tables);
+        }
+    }
+
+    /**
+     * Readers access this without locking; writers synchronize on it.
+     */
+    private final ConcurrentMap<String,Versions> myTablesByName =
+        new ConcurrentHashMap<String,Versions>();
 
 
     public SymbolTable getTable(String name)
@@ -54,19 +145,10 @@ public class SimpleCatalog
             throw new IllegalArgumentException("name is empty");
         }
 
-        TreeMap<Integer,SymbolTable> versions;
-        synchronized (myTablesByName)
-        {
-            versions = myTablesByName.get(name);
-        }
-
+        Versions versions = myTablesByName.get(name);
         if (versions == null) return null;
 
-        synchronized (versions)
-        {
-            Integer highestVersion = versions.lastKey();
-            return versions.get(highestVersion);
-        }
+        return versions.highest();
     }
 
     public SymbolTable getTable(String name, int version)
@@ -84,32 +166,13 @@ public class SimpleCatalog
             throw new IllegalArgumentException("version is < 1");
         }
 
-        TreeMap<Integer,SymbolTable> versions;
-        synchronized (myTablesByName)
-        {
-            versions = myTablesByName.get(name);
-        }
-
+        Versions versions = myTablesByName.get(name);
         if (versions == null) return null;
 
-        synchronized (versions)
-        {
-            SymbolTable st = versions.get(version);
-            if (st == null)
-            {
-                // if we don't have the one you want, we'll give you the
-                // "best" one we have, even if it's newer than what you
-                // asked for (see CAVEAT above)
-                assert !versions.isEmpty();
-
-                Integer ibest = bestMatch(version, versions.keySet());
-                assert(ibest != null);
-                st = versions.get(ibest);
-                assert st != null;
-            }
-
-            return st;
-        }
+        // if we don't have the one you want, we'll give you the
+        // "best" one we have, even if it's newer than what you
+        // asked for
+        return versions.bestMatch(version);
     }
 
     static Integer bestMatch(int requestedVersion,
@@ -156,17 +219,17 @@ public class SimpleCatalog
 
         synchronized (myTablesByName)
         {
-            TreeMap<Integer,SymbolTable> versions =
-                myTablesByName.get(name);
+            Versions versions = myTablesByName.get(name);
             if (versions == null)
             {
-                versions = new TreeMap<Integer,SymbolTable>();
-                myTablesByName.put(name, versions);
+                versions = new Versions(new int[] { version },
+                                        new SymbolTable[] { table });
             }
-            synchronized (versions)
+            else
             {
-                versions.put(version, table);
+                versions = versions.with(version, table);
             }
+            myTablesByName.put(name, versions);
         }
     }
 
@@ -179,28 +242,30 @@ public class SimpleCatalog
      */
     public SymbolTable removeTable(String name, int version)
     {
-        SymbolTable removed = null;
+        if (name == null) return null;
 
         synchronized (myTablesByName)
         {
-            TreeMap<Integer,SymbolTable> versions =
-                myTablesByName.get(name);
-            if (versions != null)
+            Versions versions = myTablesByName.get(name);
+            if (versions == null) return null;
+
+            int pos = Arrays.binarySearch(versions.myVersions, version);
+            if (pos < 0) return null;
+
+            SymbolTable removed = versions.myTables[pos];
+            versions = versions.without(pos);
+
+            // Remove empty intermediate table
+            if (versions == null)
             {
-                synchronized (versions)
-                {
-                    removed = versions.remove(version);
-
-                    // Remove empty intermediate table
-                    if (versions.isEmpty())
-                    {
-                        myTablesByName.remove(name);
-                    }
-                }
+                myTablesByName.remove(name);
+            }
+            else
+            {
+                myTablesByName.put(name, versions);
             }
+            return removed;
         }
-
-        return removed;
     }
 
 
@@ -213,23 +278,15 @@ public class SimpleCatalog
      */
     public Iterator<SymbolTable> iterator()
     {
-        ArrayList<SymbolTable> tables;
+        ArrayList<SymbolTable> tables =
+            new ArrayList<SymbolTable>(myTablesByName.size());
 
+        // Hold the lock so the snapshot is consistent across names.
         synchronized (myTablesByName)
         {
-            tables = new ArrayList<SymbolTable>(myTablesByName.size());
-
-            // I don't think we can shorten the synchronization block
-            // because HashMap.values() result is a live view (not a copy) and
-            // thus needs to be synched too.
-            Collection<TreeMap<Integer, SymbolTable>> symtabNames =
-                myTablesByName.values();
-            for (TreeMap<Integer,SymbolTable> versions : symtabNames)
+            for (Versions versions : myTablesByName.values())
             {
-                synchronized (versions)
-                {
-                    tables.addAll(versions.values());
-                }
+                tables.addAll(Arrays.asList(versions.myTables));
             }
         }
 
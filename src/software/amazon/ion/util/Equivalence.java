@@ -18,12 +18,12 @@ import static software.amazon.ion.impl.PrivateIonConstants.UNKNOWN_SYMBOL_TEXT_P
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
-import java.util.Map;
-import java.util.Set;
 import software.amazon.ion.Decimal;
 import software.amazon.ion.IonBool;
+import software.amazon.ion.IonContainer;
 import software.amazon.ion.IonDecimal;
 import software.amazon.ion.IonException;
 import software.amazon.ion.IonFloat;
@@ -154,97 +154,116 @@ public final class Equivalence {
 
 
     /**
-     * Converts an IonStruct to a multi-set for use in IonStruct equality
-     * checks. This method returns the multi-set as a {@code Map<Field, Field>}.
-     * <p>
-     * A multi-set supports order-independent equality, and may have duplicate
-     * elements.
-     * <p>
-     * Take special note that {@link Set} is missing a {@code get()} API,
-     * and cannot contain duplicate elements, hence we cannot use it.
+     * Collects the fields of a struct into an array ordered by field name,
+     * so that two structs can be matched up by a single merge-like pass
+     * instead of hashing every field into a multi-set.
      */
-    private static final Map<Field, Field>
-        convertToMultiSet(final IonStruct struct, final boolean strict) {
-
-        final Map<Field, Field> structMultiSet =
-            new HashMap<Field, Field>();
-
+    private static Field[] sortedFields(final IonStruct struct,
+                                        final boolean strict)
+    {
+        final Field[] fields = new Field[struct.size()];
+        int i = 0;
         for (final IonValue val : struct) {
-            final Field item = new Field(val, strict);
-            Field curr = structMultiSet.put(item, item);
-            // curr will be non-null if the multi-set already contains the
-            // name/value pair
-            if (curr != null) {
-                // Set the 'occurrences' of the Field that is contained in
-                // the multi-set (i.e. item) to that of the previously mapped
-                // Field (i.e. curr)
-                item.occurrences = curr.occurrences;
-            }
-            // At this point, item will be an existing
-            // name/value pair in the multi-set - increment its occurrence
-            item.occurrences++;
+            fields[i++] = new Field(val, strict);
         }
-
-        return structMultiSet;
+        if (fields.length > 1) {
+            Arrays.sort(fields, FIELD_NAME_ORDER);
+        }
+        return fields;
     }
 
 
-    private static int compareStructs(final IonStruct s1,
-                                      final IonStruct s2,
-                                      boolean strict)
+    /**
+     * Matches up the fields of two non-null structs of the same size. Fields
+     * whose names are unique within their struct are paired positionally and
+     * pushed onto {@code pending}, to be compared by the caller's loop.
+     * Fields that share a name are matched here, as a multi-set, since any
+     * field of such a run may be equivalent to any other.
+     *
+     * @return true if the structs' fields could be paired up; the pushed
+     * pairs must still be compared.
+     */
+    private static boolean matchStructFields(final IonStruct s1,
+                                             final IonStruct s2,
+                                             final boolean strict,
+                                             final PairStack pending)
     {
-        int result = s1.size() - s2.size();
-        if (result == 0) {
-            // We convert IonStruct s1 to a multi-set (which is a
-            // Map<Field, Field>). Refer to convertToMultiSet()'s
-            // documentation for more info
-            final Map<Field, Field> s1MultiSet
-                    = convertToMultiSet(s1, strict);
-
-            // Iterates through each name/value pair in IonStruct s2 and
-            // determine if it also occurs in s1MultiSet.
-            // During each iteration:
-            //          If it does, remove an occurrence from s1MultiSet
-            //          If it doesn't, the two IonStructs aren't equal
-            for (IonValue val : s2) {
-                Field field = new Field(val, strict);
-
-                // Find an occurrence of the name/value pair in s1MultiSet
-                Field mappedValue = s1MultiSet.get(field);
-
-                if (mappedValue == null || mappedValue.occurrences == 0) {
-                    // No match in occurrences, the IonStructs aren't equal
-                    return -1;
-                }
+        final Field[] f1 = sortedFields(s1, strict);
+        final Field[] f2 = sortedFields(s2, strict);
+        final int len = f1.length;
+
+        // The two sorted name arrays must be identical, so that each run of
+        // equally-named fields lines up with the matching run in f2.
+        for (int i = 0; i < len; i++) {
+            if (!f1[i].name.equals(f2[i].name)) {
+                return false;
+            }
+        }
+
+        int start = 0;
+        while (start < len) {
+            final String name = f1[start].name;
+            int end = start + 1;
+            while (end < len && name.equals(f1[end].name)) {
+                end++;
+            }
 
-                // Remove an occurrence by decrementing count instead of
-                // explicitly calling Map.remove(), as Map.remove() is a slower
-                // operation
-                mappedValue.occurrences--;
+            if (end - start == 1) {
+                pending.push(f1[start].value, f2[start].value);
             }
+            else if (!matchFieldRun(f1, f2, start, end, strict)) {
+                return false;
+            }
+            start = end;
         }
-        return result;
+        return true;
     }
 
 
-    private static int compareSequences(final IonSequence s1,
-                                        final IonSequence s2,
-                                        boolean strict)
+    /**
+     * Matches a run of equally-named fields as a multi-set: each field of
+     * {@code f2} must consume a distinct, equivalent field of {@code f1}.
+     * Since equivalence is transitive, greedily taking the first match is
+     * sufficient.
+     */
+    private static boolean matchFieldRun(final Field[] f1,
+                                         final Field[] f2,
+                                         final int start,
+                                         final int end,
+                                         final boolean strict)
     {
-        int result = s1.size() - s2.size();
-        if (result == 0) {
-            Iterator<IonValue> iter1 = s1.iterator();
-            Iterator<IonValue> iter2 = s2.iterator();
-            while (iter1.hasNext()) {
-                result = ionCompareToImpl(iter1.next(),
-                                          iter2.next(),
-                                          strict);
-                if (result != 0) {
+        for (int j = start; j < end; j++) {
+            final Field field = f2[j];
+            boolean found = false;
+            for (int i = start; i < end; i++) {
+                final Field candidate = f1[i];
+                if (!candidate.matched && field.equals(candidate)) {
+                    candidate.matched = true;
+                    found = true;
                     break;
                 }
             }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Pushes the elements of two non-null sequences of the same size onto
+     * {@code pending}, to be compared pairwise by the caller's loop.
+     */
+    private static void pushSequenceElements(final IonSequence s1,
+                                             final IonSequence s2,
+                                             final PairStack pending)
+    {
+        Iterator<IonValue> iter1 = s1.iterator();
+        Iterator<IonValue> iter2 = s2.iterator();
+        while (iter1.hasNext()) {
+            pending.push(iter1.next(), iter2.next());
         }
-        return result;
     }
 
 
@@ -297,27 +316,21 @@ public final class Equivalence {
      * symbol tokens, and the values are unrestricted. Each name/value pair is
      * called a <em>field</em>.
      * <p>
-     * The responsibilities of this class is to expose a
-     * {@code Map<Field, Field>} as a multi-set. A Field instance holds the name
-     * and value of a Struct field, and counts the number of times that
-     * name/value pair occurs within the multi-set.
-     * <p>
-     * For example, an IonStruct:
+     * Struct equality is checked by sorting the fields of both structs by
+     * name (see {@link #FIELD_NAME_ORDER}) and pairing them up. Fields that
+     * share a name within a struct, as in:
      *<pre>
      *  {
      *    a : 123,
-     *    a : 123
+     *    a : 456
      *  }
      *</pre>
-     * will be converted into a multi-set {@code Map<Field, Field>} with
-     * a single {@code Field} -> {@code Field} with {@code occurrences} of 2.
+     * are matched as a multi-set using {@link Field#equals(Object)}, with
+     * {@link #matched} marking those already consumed.
      * <p>
      * Refer to
-     * {@link Equivalence#convertToMultiSet(IonStruct, boolean)} and
-     * {@link Field#equals(Object)} for more info.
-     * <p>
-     * NOTE: This class should only be instantiated for the sole purpose of
-     * using it as either a <em>key</em> or <em>value</em> in a {@link Map}.
+     * {@link Equivalence#matchStructFields(IonStruct, IonStruct, boolean, PairStack)}
+     * for more info.
      */
     static class Field {
         private final String    name; // aka field name
@@ -325,10 +338,10 @@ public final class Equivalence {
         private final boolean   strict;
 
         /**
-         * Number of times that this specific field (with the same name
-         * and value) occurs within the struct.
+         * Whether this field has already been matched against a field of
+         * the other struct.
          */
-        private int occurrences;
+        private boolean matched;
 
         Field(final IonValue value, final boolean strict)
         {
@@ -341,9 +354,6 @@ public final class Equivalence {
             this.name = name;
             this.value = value;
             this.strict = strict;
-
-            // Occurrences of this name/value pair is 0 initially
-            this.occurrences = 0;
         }
 
         @Override
@@ -359,8 +369,8 @@ public final class Equivalence {
         }
 
         /**
-         * This method is implicitly called by {@link Map#get(Object)} to
-         * obtain a value to which {@code other} is mapped.
+         * Determines whether two fields have the same name and equivalent
+         * values.
          */
         @Override
         public boolean equals(final Object other) {
@@ -373,26 +383,119 @@ public final class Equivalence {
         }
     }
 
-    private static boolean ionEqualsImpl(final IonValue v1,
-                                               final IonValue v2,
-                                               final boolean strict)
+    /** Orders {@link Field}s by name. */
+    private static final Comparator<Field> FIELD_NAME_ORDER =
+        new Comparator<Field>()
     {
-        return (ionCompareToImpl(v1, v2, strict) == 0);
-    }
+        public int compare(final Field f1, final Field f2)
+        {
+            return f1.name.compareTo(f2.name);
+        }
+    };
 
-    private static int ionCompareToImpl(final IonValue v1,
-                                        final IonValue v2,
-                                        final boolean strict)
+
+    /**
+     * A growable stack of value pairs that are still to be compared. Using
+     * an explicit stack rather than recursion keeps the comparison of deeply
+     * nested values from exhausting the Java stack.
+     */
+    private static final class PairStack
     {
-        int result = 0;
+        private IonValue[] values = new IonValue[16];
+        private int        top;
+
+        void push(final IonValue v1, final IonValue v2)
+        {
+            if (top + 2 > values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[top++] = v1;
+            values[top++] = v2;
+        }
+
+        /** Pops one value; pairs are popped second value first. */
+        IonValue pop()
+        {
+            final IonValue v = values[--top];
+            values[top] = null;
+            return v;
+        }
+
+        boolean isEmpty()
+        {
+            return top == 0;
+        }
+    }
 
+
+    private static boolean ionEqualsImpl(final IonValue v1,
+                                         final IonValue v2,
+                                         final boolean strict)
+    {
         if (v1 == null || v2 == null) {
-            if (v1 != null) result = 1;
-            if (v2 != null) result = -1;
-            // otherwise v1 == v2 == null and result == 0
-            return result;
+            return v1 == v2;
+        }
+
+        // Equivalent values have equal hash codes, so read-only values (whose
+        // hash codes can't change) are rejected cheaply when they differ.
+        // Hash codes include annotations, so this only holds when strict.
+        if (strict && v1.isReadOnly() && v2.isReadOnly()
+            && v1.hashCode() != v2.hashCode()) {
+            return false;
         }
 
+        PairStack pending = null;
+        IonValue a = v1;
+        IonValue b = v2;
+        for (;;) {
+            if (a != b) {
+                if (compareShallow(a, b, strict) != 0) {
+                    return false;
+                }
+
+                if (!a.isNullValue()) {
+                    switch (a.getType())
+                    {
+                    case STRUCT:
+                        if (pending == null) pending = new PairStack();
+                        if (!matchStructFields((IonStruct) a, (IonStruct) b,
+                                               strict, pending)) {
+                            return false;
+                        }
+                        break;
+                    case LIST:
+                    case SEXP:
+                    case DATAGRAM:
+                        if (pending == null) pending = new PairStack();
+                        pushSequenceElements((IonSequence) a,
+                                             (IonSequence) b,
+                                             pending);
+                        break;
+                    default:
+                        break;
+                    }
+                }
+            }
+
+            if (pending == null || pending.isEmpty()) {
+                return true;
+            }
+            b = pending.pop();
+            a = pending.pop();
+        }
+    }
+
+    /**
+     * Compares two non-null values without descending into their children:
+     * containers are only compared by size. The remaining content of
+     * containers is compared by {@link #ionEqualsImpl}.
+     */
+    private static int compareShallow(final IonValue v1,
+                                      final IonValue v2,
+                                      final boolean strict)
+    {
+        int result = 0;
+
         // check type
         IonType ty1 = v1.getType();
         IonType ty2 = v2.getType();
@@ -469,16 +572,12 @@ public final class Equivalence {
                     break;
                 case STRUCT:
                     assert !PUBLIC_COMPARISON_API; // TODO amzn/ion-java#26
-                    result = compareStructs((IonStruct) v1,
-                                            (IonStruct) v2,
-                                            strict);
-                    break;
+                    // fall through
                 case LIST:
                 case SEXP:
                 case DATAGRAM:
-                    result = compareSequences((IonSequence) v1,
-                                              (IonSequence) v2,
-                                              strict);
+                    result = ((IonContainer) v1).size()
+                           - ((IonContainer) v2).size();
                     break;
                 }
             }
@@ -496,6 +595,7 @@ public final class Equivalence {
         return result;
     }
 
+
     /**
      * Checks for strict data equivalence over two Ion Values.
      *
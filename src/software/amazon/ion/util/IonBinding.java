@@ -0,0 +1,1143 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import software.amazon.ion.IntegerSize;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.SymbolToken;
+import software.amazon.ion.Timestamp;
+
+/**
+ * Reads and writes Java objects as Ion structs, streaming directly between
+ * an {@link IonReader} or {@link IonWriter} and the object's fields, without
+ * building an intermediate DOM.
+ * <p>
+ * A class is bound by its non-static, non-transient fields, including those
+ * inherited, each mapped to the struct field of the same name. The class
+ * must be concrete and have a no-argument constructor, which may be private.
+ * Fields may be:
+ * <ul>
+ *   <li>primitives other than {@code char}, and their wrappers;</li>
+ *   <li>{@link String}, {@link BigInteger}, {@link BigDecimal},
+ *       {@link Timestamp}, {@link Date}, and {@code byte[]}, which is a
+ *       blob;</li>
+ *   <li>enums, which are symbols;</li>
+ *   <li>{@code int[]}, {@code long[]}, and {@code double[]}, which are
+ *       read and written in bulk by {@link IonStreamUtils};</li>
+ *   <li>{@link List}s of any of these, which are Ion lists;</li>
+ *   <li>other bindable classes, which are nested structs.</li>
+ * </ul>
+ * Fields are found, checked, and made accessible once per class, so
+ * reading or writing an object only gets and sets its fields. When reading,
+ * struct fields are matched by symbol ID, falling back to their text the
+ * first time each ID is seen within a symbol table, so binary data that
+ * shares a symbol table across many values avoids comparing field names.
+ * Struct fields with no matching Java field are skipped, and null Java
+ * fields aren't written.
+ * <p>
+ * Instances of this class are safe for use by multiple threads.
+ *
+ * @param <T> the bound class.
+ */
+public final class IonBinding<T>
+{
+    private static final ConcurrentMap<Class<?>, IonBinding<?>> BINDINGS =
+        new ConcurrentHashMap<Class<?>, IonBinding<?>>();
+
+    /**
+     * The most symbol IDs cached per symbol table; fields with higher IDs
+     * are always matched by text.
+     */
+    private static final int MAX_CACHED_SID = 4096;
+
+    /**
+     * The most symbol tables whose symbol IDs are cached at once, so that
+     * threads reading different streams don't evict each other's. A power
+     * of two.
+     */
+    private static final int CACHED_SYMTABS = 8;
+
+
+    /**
+     * Returns the binding for a class, creating it the first time the class
+     * is bound.
+     *
+     * @throws IllegalArgumentException if the class or any of its fields
+     * can't be bound.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> IonBinding<T> of(Class<T> type)
+    {
+        IonBinding<T> binding = (IonBinding<T>) BINDINGS.get(type);
+        if (binding == null)
+        {
+            // Nested classes are bound now too, so that one that can't be
+            // bound fails here rather than partway through reading or
+            // writing. None are kept unless they can all be bound.
+            Map<Class<?>, IonBinding<?>> bound =
+                new HashMap<Class<?>, IonBinding<?>>();
+            bindAll(type, bound);
+            for (IonBinding<?> b : bound.values())
+            {
+                BINDINGS.putIfAbsent(b.myType, b);
+            }
+            binding = (IonBinding<T>) BINDINGS.get(type);
+        }
+        return binding;
+    }
+
+    /**
+     * Binds a class and, recursively, the classes of its nested structs.
+     *
+     * @param bound the classes bound so far, which also stops cycles.
+     */
+    private static void bindAll(Class<?> type,
+                                Map<Class<?>, IonBinding<?>> bound)
+    {
+        if (BINDINGS.containsKey(type) || bound.containsKey(type)) return;
+
+        IonBinding<?> binding = newBinding(type);
+        bound.put(type, binding);
+        for (Property property : binding.myProperties)
+        {
+            Class<?> nested = property.nestedType();
+            if (nested == null) continue;
+            try
+            {
+                bindAll(nested, bound);
+            }
+            catch (IllegalArgumentException e)
+            {
+                throw new IllegalArgumentException("Cannot bind field "
+                                                   + property.describe()
+                                                   + ": " + e.getMessage(),
+                                                   e);
+            }
+        }
+    }
+
+    private static <T> IonBinding<T> newBinding(Class<T> type)
+    {
+        return new IonBinding<T>(type);
+    }
+
+
+    //=========================================================================
+    // Codecs
+
+
+    /**
+     * Reads and writes the values of one Java type.
+     */
+    private interface Codec
+    {
+        /**
+         * @param reader is positioned on a non-null value.
+         */
+        Object read(IonReader reader);
+
+        /**
+         * @param value is not null.
+         */
+        void write(IonWriter writer, Object value)
+            throws IOException;
+    }
+
+
+    private static void expect(IonReader reader, IonType expected)
+    {
+        IonType type = reader.getType();
+        if (type != expected)
+        {
+            throw new IonException("Expected " + expected + " but found "
+                                   + type);
+        }
+    }
+
+    private static long readLong(IonReader reader, long min, long max)
+    {
+        expect(reader, IonType.INT);
+        if (reader.getIntegerSize() == IntegerSize.BIG_INTEGER)
+        {
+            throw new IonException("Int is out of range: "
+                                   + reader.bigIntegerValue());
+        }
+        long value = reader.longValue();
+        if (value < min || value > max)
+        {
+            throw new IonException("Int is out of range: " + value);
+        }
+        return value;
+    }
+
+    private static double readDouble(IonReader reader)
+    {
+        switch (reader.getType())
+        {
+            case FLOAT:
+            case DECIMAL:
+                return reader.doubleValue();
+            case INT:
+                if (reader.getIntegerSize() == IntegerSize.BIG_INTEGER)
+                {
+                    return reader.bigIntegerValue().doubleValue();
+                }
+                return reader.longValue();
+            default:
+                throw new IonException("Expected a number but found "
+                                       + reader.getType());
+        }
+    }
+
+    private static boolean readBool(IonReader reader)
+    {
+        expect(reader, IonType.BOOL);
+        return reader.booleanValue();
+    }
+
+
+    /**
+     * Codecs for the wrapper and value types that map to one Ion scalar.
+     */
+    private enum Scalar implements Codec
+    {
+        BOOLEAN
+        {
+            public Object read(IonReader reader)
+            {
+                return Boolean.valueOf(readBool(reader));
+            }
+
+            public void write(IonWriter writer, Object value)
+                throws IOException
+            {
+                writer.writeBool(((Boolean) value).booleanValue());
+            }
+        },
+        BYTE
+        {
+            public Object read(IonReader reader)
+            {
+                return Byte.valueOf((byte) readLong(reader, Byte.MIN_VALUE,
+                                                    Byte.MAX_VALUE));
+            }
+        },
+        SHORT
+        {
+            public Object read(IonReader reader)
+            {
+                return Short.valueOf((short) readLong(reader, Short.MIN_VALUE,
+                                                      Short.MAX_VALUE));
+            }
+        },
+        INTEGER
+        {
+            public Object read(IonReader reader)
+            {
+                return Integer.valueOf((int) readLong(reader, Integer.MIN_VALUE,
+                                                      Integer.MAX_VALUE));
+            }
+        },
+        LONG
+        {
+            public Object read(IonReader reader)
+            {
+                return Long.valueOf(readLong(reader, Long.MIN_VALUE,
+                                             Long.MAX_VALUE));
+            }
+        },
+        FLOAT
+        {
+            public Object read(IonReader reader)
+            {
+                return Float.valueOf((float) readDouble(reader));
+            }
+
+            public void write(IonWriter writer, Object value)
+                throws IOException
+            {
+                writer.writeFloat(((Number) value).doubleValue());
+            }
+        },
+        DOUBLE
+        {
+            public Object read(IonReader reader)
+            {
+                return Double.valueOf(readDouble(reader));
+            }
+
+            public void write(IonWriter writer, Object value)
+                throws IOException
+            {
+                writer.writeFloat(((Number) value).doubleValue());
+            }
+        },
+        STRING
+        {
+            public Object read(IonReader reader)
+            {
+                IonType type = reader.getType();
+                if (type != IonType.STRING && type != IonType.SYMBOL)
+                {
+                    throw new IonException("Expected STRING but found "
+                                           + type);
+                }
+                return reader.stringValue();
+            }
+
+            public void write(IonWriter writer, Object value)
+                throws IOException
+            {
+                writer.writeString((String) value);
+            }
+        },
+        BIG_INTEGER
+        {
+            public Object read(IonReader reader)
+            {
+                expect(reader, IonType.INT);
+                return reader.bigIntegerValue();
+            }
+
+            public void write(IonWriter writer, Object value)
+                throws IOException
+            {
+                writer.writeInt((BigInteger) value);
+            }
+        },
+        BIG_DECIMAL
+        {
+            public Object read(IonReader reader)
+            {
+                if (reader.getType() == IonType.INT)
+                {
+                    return new BigDecimal(reader.bigIntegerValue());
+                }
+                expect(reader, IonType.DECIMAL);
+                return reader.bigDecimalValue();
+            }
+
+            public void write(IonWriter writer, Object value)
+                throws IOException
+            {
+                writer.writeDecimal((BigDecimal) value);
+            }
+        },
+        TIMESTAMP
+        {
+            public Object read(IonReader reader)
+            {
+                expect(reader, IonType.TIMESTAMP);
+                return reader.timestampValue();
+            }
+
+            public void write(IonWriter writer, Object value)
+                throws IOException
+            {
+                writer.writeTimestamp((Timestamp) value);
+            }
+        },
+        DATE
+        {
+            public Object read(IonReader reader)
+            {
+                expect(reader, IonType.TIMESTAMP);
+                return reader.dateValue();
+            }
+
+            public void write(IonWriter writer, Object value)
+                throws IOException
+            {
+                writer.writeTimestamp(Timestamp.forDateZ((Date) value));
+            }
+        },
+        BYTES
+        {
+            public Object read(IonReader reader)
+            {
+                IonType type = reader.getType();
+                if (type != IonType.BLOB && type != IonType.CLOB)
+                {
+                    throw new IonException("Expected BLOB but found " + type);
+                }
+                return reader.newBytes();
+            }
+
+            public void write(IonWriter writer, Object value)
+                throws IOException
+            {
+                writer.writeBlob((byte[]) value);
+            }
+        },
+        INT_ARRAY
+        {
+            public Object read(IonReader reader)
+            {
+                expect(reader, IonType.LIST);
+                return IonStreamUtils.readIntList(reader);
+            }
+
+            public void write(IonWriter writer, Object value)
+                throws IOException
+            {
+                IonStreamUtils.writeIntList(writer, (int[]) value);
+            }
+        },
+        LONG_ARRAY
+        {
+            public Object read(IonReader reader)
+            {
+                expect(reader, IonType.LIST);
+                return IonStreamUtils.readLongList(reader);
+            }
+
+            public void write(IonWriter writer, Object value)
+                throws IOException
+            {
+                IonStreamUtils.writeIntList(writer, (long[]) value);
+            }
+        },
+        DOUBLE_ARRAY
+        {
+            public Object read(IonReader reader)
+            {
+                expect(reader, IonType.LIST);
+                return IonStreamUtils.readFloatList(reader);
+            }
+
+            public void write(IonWriter writer, Object value)
+                throws IOException
+            {
+                IonStreamUtils.writeFloatList(writer, (double[]) value);
+            }
+        };
+
+        /** Writes the integral wrappers; the others override this. */
+        public void write(IonWriter writer, Object value)
+            throws IOException
+        {
+            writer.writeInt(((Number) value).longValue());
+        }
+    }
+
+
+    private static final class EnumCodec
+        implements Codec
+    {
+        private final Class<?>            myType;
+        private final Map<String, Object> myConstants;
+
+        EnumCodec(Class<?> type)
+        {
+            myType = type;
+            myConstants = new HashMap<String, Object>();
+            for (Object constant : type.getEnumConstants())
+            {
+                myConstants.put(((Enum<?>) constant).name(), constant);
+            }
+        }
+
+        public Object read(IonReader reader)
+        {
+            IonType type = reader.getType();
+            if (type != IonType.SYMBOL && type != IonType.STRING)
+            {
+                throw new IonException("Expected SYMBOL but found " + type);
+            }
+            String name = reader.stringValue();
+            Object constant = myConstants.get(name);
+            if (constant == null)
+            {
+                throw new IonException("No constant " + name + " in "
+                                       + myType.getName());
+            }
+            return constant;
+        }
+
+        public void write(IonWriter writer, Object value)
+            throws IOException
+        {
+            writer.writeSymbol(((Enum<?>) value).name());
+        }
+    }
+
+
+    private static final class ListCodec
+        implements Codec
+    {
+        private final Codec myElementCodec;
+
+        ListCodec(Codec elementCodec)
+        {
+            myElementCodec = elementCodec;
+        }
+
+        public Object read(IonReader reader)
+        {
+            IonType type = reader.getType();
+            if (type != IonType.LIST && type != IonType.SEXP)
+            {
+                throw new IonException("Expected LIST but found " + type);
+            }
+
+            List<Object> values = new ArrayList<Object>();
+            reader.stepIn();
+            while (reader.next() != null)
+            {
+                values.add(reader.isNullValue()
+                               ? null
+                               : myElementCodec.read(reader));
+            }
+            reader.stepOut();
+            return values;
+        }
+
+        public void write(IonWriter writer, Object value)
+            throws IOException
+        {
+            writer.stepIn(IonType.LIST);
+            for (Object element : (Iterable<?>) value)
+            {
+                if (element == null)
+                {
+                    writer.writeNull();
+                }
+                else
+                {
+                    myElementCodec.write(writer, element);
+                }
+            }
+            writer.stepOut();
+        }
+    }
+
+
+    /**
+     * Looks up the binding lazily, since classes may refer to each other or
+     * to themselves. {@link IonBinding#of} has already bound the class.
+     */
+    private static final class NestedCodec
+        implements Codec
+    {
+        private final Class<?>      myType;
+        private volatile IonBinding<?> myBinding;
+
+        NestedCodec(Class<?> type)
+        {
+            myType = type;
+        }
+
+        private IonBinding<?> binding()
+        {
+            IonBinding<?> binding = myBinding;
+            if (binding == null)
+            {
+                binding = of(myType);
+                myBinding = binding;
+            }
+            return binding;
+        }
+
+        public Object read(IonReader reader)
+        {
+            expect(reader, IonType.STRUCT);
+            return binding().readStruct(reader);
+        }
+
+        public void write(IonWriter writer, Object value)
+            throws IOException
+        {
+            binding().writeStruct(writer, value);
+        }
+    }
+
+
+    private static Codec codecFor(Class<?> type, Type genericType)
+    {
+        if (type == Boolean.class)    return Scalar.BOOLEAN;
+        if (type == Byte.class)       return Scalar.BYTE;
+        if (type == Short.class)      return Scalar.SHORT;
+        if (type == Integer.class)    return Scalar.INTEGER;
+        if (type == Long.class)       return Scalar.LONG;
+        if (type == Float.class)      return Scalar.FLOAT;
+        if (type == Double.class)     return Scalar.DOUBLE;
+        if (type == String.class)     return Scalar.STRING;
+        if (type == BigInteger.class) return Scalar.BIG_INTEGER;
+        if (type == BigDecimal.class) return Scalar.BIG_DECIMAL;
+        if (type == Timestamp.class)  return Scalar.TIMESTAMP;
+        if (type == Date.class)       return Scalar.DATE;
+        if (type == byte[].class)     return Scalar.BYTES;
+        if (type == int[].class)      return Scalar.INT_ARRAY;
+        if (type == long[].class)     return Scalar.LONG_ARRAY;
+        if (type == double[].class)   return Scalar.DOUBLE_ARRAY;
+
+        if (type.isEnum())
+        {
+            return new EnumCodec(type);
+        }
+
+        if (type.isAssignableFrom(ArrayList.class)
+            && type != Object.class)
+        {
+            if (genericType instanceof ParameterizedType)
+            {
+                Type element =
+                    ((ParameterizedType) genericType).getActualTypeArguments()[0];
+                if (element instanceof Class)
+                {
+                    return new ListCodec(codecFor((Class<?>) element, element));
+                }
+                if (element instanceof ParameterizedType)
+                {
+                    Type raw = ((ParameterizedType) element).getRawType();
+                    return new ListCodec(codecFor((Class<?>) raw, element));
+                }
+            }
+            throw new IllegalArgumentException("Cannot bind a list without a"
+                                               + " concrete element type: "
+                                               + genericType);
+        }
+
+        checkBindable(type);
+        return new NestedCodec(type);
+    }
+
+    private static void checkBindable(Class<?> type)
+    {
+        if (type.isPrimitive() || type.isArray() || type.isInterface()
+            || Modifier.isAbstract(type.getModifiers())
+            || type.getName().startsWith("java."))
+        {
+            throw new IllegalArgumentException("Cannot bind " + type.getName());
+        }
+        try
+        {
+            type.getDeclaredConstructor();
+        }
+        catch (NoSuchMethodException e)
+        {
+            throw new IllegalArgumentException("Cannot bind " + type.getName()
+                                               + " without a no-argument"
+                                               + " constructor", e);
+        }
+    }
+
+
+    //=========================================================================
+    // Properties
+
+
+    /**
+     * Reads and writes primitive fields without boxing.
+     */
+    private enum Primitive
+    {
+        BOOLEAN
+        {
+            void read(IonReader reader, Field field, Object target)
+                throws IllegalAccessException
+            {
+                field.setBoolean(target, readBool(reader));
+            }
+
+            void write(IonWriter writer, Field field, Object source)
+                throws IOException, IllegalAccessException
+            {
+                writer.writeBool(field.getBoolean(source));
+            }
+        },
+        BYTE
+        {
+            void read(IonReader reader, Field field, Object target)
+                throws IllegalAccessException
+            {
+                field.setByte(target, (byte) readLong(reader, Byte.MIN_VALUE,
+                                                      Byte.MAX_VALUE));
+            }
+
+            void write(IonWriter writer, Field field, Object source)
+                throws IOException, IllegalAccessException
+            {
+                writer.writeInt(field.getByte(source));
+            }
+        },
+        SHORT
+        {
+            void read(IonReader reader, Field field, Object target)
+                throws IllegalAccessException
+            {
+                field.setShort(target, (short) readLong(reader, Short.MIN_VALUE,
+                                                        Short.MAX_VALUE));
+            }
+
+            void write(IonWriter writer, Field field, Object source)
+                throws IOException, IllegalAccessException
+            {
+                writer.writeInt(field.getShort(source));
+            }
+        },
+        INT
+        {
+            void read(IonReader reader, Field field, Object target)
+                throws IllegalAccessException
+            {
+                field.setInt(target, (int) readLong(reader, Integer.MIN_VALUE,
+                                                    Integer.MAX_VALUE));
+            }
+
+            void write(IonWriter writer, Field field, Object source)
+                throws IOException, IllegalAccessException
+            {
+                writer.writeInt(field.getInt(source));
+            }
+        },
+        LONG
+        {
+            void read(IonReader reader, Field field, Object target)
+                throws IllegalAccessException
+            {
+                field.setLong(target, readLong(reader, Long.MIN_VALUE,
+                                               Long.MAX_VALUE));
+            }
+
+            void write(IonWriter writer, Field field, Object source)
+                throws IOException, IllegalAccessException
+            {
+                writer.writeInt(field.getLong(source));
+            }
+        },
+        FLOAT
+        {
+            void read(IonReader reader, Field field, Object target)
+                throws IllegalAccessException
+            {
+                field.setFloat(target, (float) readDouble(reader));
+            }
+
+            void write(IonWriter writer, Field field, Object source)
+                throws IOException, IllegalAccessException
+            {
+                writer.writeFloat(field.getFloat(source));
+            }
+        },
+        DOUBLE
+        {
+            void read(IonReader reader, Field field, Object target)
+                throws IllegalAccessException
+            {
+                field.setDouble(target, readDouble(reader));
+            }
+
+            void write(IonWriter writer, Field field, Object source)
+                throws IOException, IllegalAccessException
+            {
+                writer.writeFloat(field.getDouble(source));
+            }
+        };
+
+        /**
+         * @param reader is positioned on a non-null value.
+         */
+        abstract void read(IonReader reader, Field field, Object target)
+            throws IllegalAccessException;
+
+        abstract void write(IonWriter writer, Field field, Object source)
+            throws IOException, IllegalAccessException;
+
+        static Primitive forType(Class<?> type)
+        {
+            if (type == boolean.class) return BOOLEAN;
+            if (type == byte.class)    return BYTE;
+            if (type == short.class)   return SHORT;
+            if (type == int.class)     return INT;
+            if (type == long.class)    return LONG;
+            if (type == float.class)   return FLOAT;
+            if (type == double.class)  return DOUBLE;
+            throw new IllegalArgumentException("Cannot bind " + type);
+        }
+    }
+
+
+    private static final class Property
+    {
+        final String    myName;
+        final Field     myField;
+        /** Null for object fields. */
+        final Primitive myPrimitive;
+        /** Null for primitive fields. */
+        final Codec     myCodec;
+
+        Property(Field field)
+        {
+            myName  = field.getName();
+            myField = field;
+
+            Class<?> type = field.getType();
+            try
+            {
+                if (type.isPrimitive())
+                {
+                    myPrimitive = Primitive.forType(type);
+                    myCodec     = null;
+                }
+                else
+                {
+                    myPrimitive = null;
+                    myCodec     = codecFor(type, field.getGenericType());
+                }
+            }
+            catch (IllegalArgumentException e)
+            {
+                throw new IllegalArgumentException("Cannot bind field "
+                                                   + describe() + ": "
+                                                   + e.getMessage(), e);
+            }
+            field.setAccessible(true);
+        }
+
+        String describe()
+        {
+            return myField.getDeclaringClass().getName() + "." + myName;
+        }
+
+        /**
+         * Gets the class of the nested structs of this field, or of its
+         * list elements.
+         *
+         * @return null if the field doesn't hold nested structs.
+         */
+        Class<?> nestedType()
+        {
+            Codec codec = myCodec;
+            while (codec instanceof ListCodec)
+            {
+                codec = ((ListCodec) codec).myElementCodec;
+            }
+            return (codec instanceof NestedCodec
+                        ? ((NestedCodec) codec).myType
+                        : null);
+        }
+
+        void read(IonReader reader, Object target)
+        {
+            try
+            {
+                if (reader.isNullValue())
+                {
+                    if (myPrimitive != null)
+                    {
+                        throw new IonException("Cannot assign null to a"
+                                               + " primitive");
+                    }
+                    myField.set(target, null);
+                }
+                else if (myPrimitive != null)
+                {
+                    myPrimitive.read(reader, myField, target);
+                }
+                else
+                {
+                    myField.set(target, myCodec.read(reader));
+                }
+            }
+            catch (IllegalAccessException e)
+            {
+                throw new IonException("Cannot set field " + describe(), e);
+            }
+            catch (IonException e)
+            {
+                throw new IonException("Error reading field " + describe()
+                                       + ": " + e.getMessage(), e);
+            }
+        }
+
+        void write(IonWriter writer, Object source)
+            throws IOException
+        {
+            try
+            {
+                if (myPrimitive != null)
+                {
+                    writer.setFieldName(myName);
+                    myPrimitive.write(writer, myField, source);
+                    return;
+                }
+
+                Object value = myField.get(source);
+                if (value != null)
+                {
+                    writer.setFieldName(myName);
+                    myCodec.write(writer, value);
+                }
+            }
+            catch (IllegalAccessException e)
+            {
+                throw new IonException("Cannot get field " + describe(), e);
+            }
+        }
+    }
+
+
+    /**
+     * The properties of the struct fields seen so far in one symbol table,
+     * indexed by symbol ID.
+     */
+    private static final class PropertiesBySid
+    {
+        final SymbolTable mySymtab;
+        final Property[]  myProperties;
+
+        PropertiesBySid(SymbolTable symtab)
+        {
+            mySymtab = symtab;
+            int size = (symtab == null ? 0 : symtab.getMaxId()) + 1;
+            myProperties = new Property[Math.min(size, MAX_CACHED_SID)];
+        }
+    }
+
+
+    //=========================================================================
+
+
+    private final Class<T>              myType;
+    private final Constructor<T>        myConstructor;
+    private final Property[]            myProperties;
+    private final Map<String, Property> myPropertiesByName;
+
+    /**
+     * The caches of the symbol tables read most recently, replaced in turn
+     * as structs are read with other symbol tables.
+     */
+    private final AtomicReferenceArray<PropertiesBySid> myPropertiesBySid =
+        new AtomicReferenceArray<PropertiesBySid>(CACHED_SYMTABS);
+    private final AtomicInteger myNextPropertiesBySid = new AtomicInteger();
+
+
+    private IonBinding(Class<T> type)
+    {
+        checkBindable(type);
+        myType = type;
+        try
+        {
+            myConstructor = type.getDeclaredConstructor();
+        }
+        catch (NoSuchMethodException e)
+        {
+            throw new IllegalArgumentException(e);
+        }
+        myConstructor.setAccessible(true);
+
+        // Superclass fields first, so they're written first.
+        List<Class<?>> classes = new ArrayList<Class<?>>();
+        for (Class<?> c = type; c != Object.class; c = c.getSuperclass())
+        {
+            classes.add(0, c);
+        }
+
+        List<Property> properties = new ArrayList<Property>();
+        myPropertiesByName = new HashMap<String, Property>();
+        for (Class<?> c : classes)
+        {
+            for (Field field : c.getDeclaredFields())
+            {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers)
+                    || Modifier.isTransient(modifiers)
+                    || field.isSynthetic())
+                {
+                    continue;
+                }
+                Property property = new Property(field);
+                if (myPropertiesByName.put(property.myName, property) != null)
+                {
+                    throw new IllegalArgumentException("Cannot bind "
+                                                       + type.getName()
+                                                       + " with two fields"
+                                                       + " named "
+                                                       + property.myName);
+                }
+                properties.add(property);
+            }
+        }
+        myProperties = properties.toArray(new Property[properties.size()]);
+    }
+
+
+    /**
+     * Gets the bound class.
+     */
+    public Class<T> getType()
+    {
+        return myType;
+    }
+
+
+    /**
+     * Reads the reader's current struct into a new instance of the bound
+     * class. Afterwards the reader is positioned as if it had stepped out
+     * of the struct.
+     *
+     * @return the new instance, or null if the struct is
+     * {@code null.struct}.
+     *
+     * @throws IllegalStateException if the reader isn't positioned on a
+     * struct.
+     * @throws IonException if a field's value can't be assigned to the
+     * corresponding Java field.
+     */
+    public T read(IonReader reader)
+    {
+        IonType type = reader.getType();
+        if (type != IonType.STRUCT)
+        {
+            throw new IllegalStateException("Reader isn't positioned on a"
+                                            + " struct: " + type);
+        }
+        return readStruct(reader);
+    }
+
+    private T readStruct(IonReader reader)
+    {
+        if (reader.isNullValue())
+        {
+            return null;
+        }
+
+        T value = newInstance();
+        reader.stepIn();
+
+        Property[] properties =
+            propertiesBySid(reader.getSymbolTable()).myProperties;
+
+        while (reader.next() != null)
+        {
+            SymbolToken name = reader.getFieldNameSymbol();
+            int sid = name.getSid();
+            boolean cacheable = sid > 0 && sid < properties.length;
+
+            Property property = (cacheable ? properties[sid] : null);
+            if (property == null)
+            {
+                String text = name.getText();
+                property = (text == null ? null : myPropertiesByName.get(text));
+                if (property == null)
+                {
+                    continue;
+                }
+
+                if (cacheable)
+                {
+                    // Races are harmless: every thread stores the same one.
+                    properties[sid] = property;
+                }
+            }
+            property.read(reader, value);
+        }
+
+        reader.stepOut();
+        return value;
+    }
+
+    /**
+     * Gets the cache for a symbol table, replacing the oldest one if the
+     * table isn't cached.
+     */
+    PropertiesBySid propertiesBySid(SymbolTable symtab)
+    {
+        for (int i = 0; i < CACHED_SYMTABS; i++)
+        {
+            PropertiesBySid bySid = myPropertiesBySid.get(i);
+            if (bySid != null && bySid.mySymtab == symtab)
+            {
+                return bySid;
+            }
+        }
+
+        PropertiesBySid bySid = new PropertiesBySid(symtab);
+        int slot =
+            myNextPropertiesBySid.getAndIncrement() & (CACHED_SYMTABS - 1);
+        myPropertiesBySid.set(slot, bySid);
+        return bySid;
+    }
+
+    private T newInstance()
+    {
+        try
+        {
+            return myConstructor.newInstance();
+        }
+        catch (InvocationTargetException e)
+        {
+            throw new IonException("Cannot construct " + myType.getName(),
+                                   e.getCause());
+        }
+        catch (Exception e)
+        {
+            throw new IonException("Cannot construct " + myType.getName(), e);
+        }
+    }
+
+
+    /**
+     * Writes an instance of the bound class as a struct. Null fields are
+     * omitted.
+     *
+     * @param value may be null, which is written as {@code null.struct}.
+     */
+    public void write(IonWriter writer, T value)
+        throws IOException
+    {
+        writeStruct(writer, value);
+    }
+
+    private void writeStruct(IonWriter writer, Object value)
+        throws IOException
+    {
+        if (value == null)
+        {
+            writer.writeNull(IonType.STRUCT);
+            return;
+        }
+
+        writer.stepIn(IonType.STRUCT);
+        for (Property property : myProperties)
+        {
+            property.write(writer, value);
+        }
+        writer.stepOut();
+    }
+}
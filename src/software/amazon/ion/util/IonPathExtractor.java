@@ -0,0 +1,566 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonType;
+import software.amazon.ion.SymbolToken;
+
+/**
+ * Finds the values at many paths within each value of a stream, in a single
+ * pass over an {@link IonReader}, without loading the values.
+ * <p>
+ * Paths are relative to the value the reader is positioned on, and are
+ * made of steps:
+ * <ul>
+ *   <li>{@code name} matches the struct field with that name. Names that
+ *       aren't plain text can be quoted as in Ion text:
+ *       {@code 'a.b'} or {@code "*"}.</li>
+ *   <li>{@code [2]} matches the element of a list or sexp at that
+ *       zero-based index.</li>
+ *   <li>{@code [*]} matches every element of a list or sexp.</li>
+ *   <li>{@code *} matches every child of any container.</li>
+ * </ul>
+ * Steps after the first are separated by dots, except before brackets, as
+ * in {@code a.b[2].c} or {@code x.*.y}.
+ * <p>
+ * All paths are compiled into one tree of steps, so each value is visited at
+ * most once however many paths there are, the reader only steps into
+ * containers that a path could match within, and a list is left as soon as
+ * no remaining index can match.
+ * <p>
+ * A value may match several paths, whose callbacks are then called in the
+ * order the paths were added. A callback may read the value, and may step
+ * into a container as long as it steps back out; but then no other path may
+ * match the same value or any of its children, since the reader can't
+ * return to it.
+ * <p>
+ * Instances of this class are safe for use by multiple threads, as long as
+ * the callbacks are.
+ */
+public final class IonPathExtractor
+{
+    /**
+     * Receives the values matching a path.
+     */
+    public interface Callback
+    {
+        /**
+         * Called with the reader positioned on a matching value, which may
+         * be null. The reader must be at the same depth when this returns.
+         */
+        public void onMatch(IonReader reader);
+    }
+
+
+    private static final int FIELD       = 0;
+    private static final int INDEX       = 1;
+    private static final int ANY_ELEMENT = 2;
+    private static final int ANY_CHILD   = 3;
+
+    private static final class Step
+    {
+        final int    myKind;
+        final String myName;
+        final int    myIndex;
+
+        Step(int kind, String name, int index)
+        {
+            myKind  = kind;
+            myName  = name;
+            myIndex = index;
+        }
+    }
+
+
+    /**
+     * The steps that follow one path prefix, and the callbacks of the paths
+     * that end there.
+     */
+    private static final class Node
+    {
+        Map<String, Node>  myFields;
+        Map<Integer, Node> myIndexes;
+        /** The largest key of {@link #myIndexes}. */
+        int                myMaxIndex = -1;
+        Node               myAnyElement;
+        Node               myAnyChild;
+        Callback[]         myCallbacks;
+        /** The order in which each of {@link #myCallbacks} was added. */
+        int[]              myCallbackOrders;
+
+        Node child(Step step)
+        {
+            Node child;
+            switch (step.myKind)
+            {
+                case FIELD:
+                    if (myFields == null)
+                    {
+                        myFields = new HashMap<String, Node>();
+                    }
+                    child = myFields.get(step.myName);
+                    if (child == null)
+                    {
+                        child = new Node();
+                        myFields.put(step.myName, child);
+                    }
+                    return child;
+                case INDEX:
+                    if (myIndexes == null)
+                    {
+                        myIndexes = new HashMap<Integer, Node>();
+                    }
+                    child = myIndexes.get(step.myIndex);
+                    if (child == null)
+                    {
+                        child = new Node();
+                        myIndexes.put(step.myIndex, child);
+                        myMaxIndex = Math.max(myMaxIndex, step.myIndex);
+                    }
+                    return child;
+                case ANY_ELEMENT:
+                    if (myAnyElement == null)
+                    {
+                        myAnyElement = new Node();
+                    }
+                    return myAnyElement;
+                default:
+                    if (myAnyChild == null)
+                    {
+                        myAnyChild = new Node();
+                    }
+                    return myAnyChild;
+            }
+        }
+
+        void addCallback(Callback callback, int order)
+        {
+            if (myCallbacks == null)
+            {
+                myCallbacks      = new Callback[] { callback };
+                myCallbackOrders = new int[] { order };
+            }
+            else
+            {
+                int count = myCallbacks.length;
+                Callback[] callbacks = new Callback[count + 1];
+                System.arraycopy(myCallbacks, 0, callbacks, 0, count);
+                callbacks[count] = callback;
+                myCallbacks = callbacks;
+
+                int[] orders = new int[count + 1];
+                System.arraycopy(myCallbackOrders, 0, orders, 0, count);
+                orders[count] = order;
+                myCallbackOrders = orders;
+            }
+        }
+
+        boolean hasChildren()
+        {
+            return myFields != null || myIndexes != null
+                || myAnyElement != null || myAnyChild != null;
+        }
+    }
+
+
+    /**
+     * Collects paths and their callbacks.
+     */
+    public static final class Builder
+    {
+        private final List<List<Step>> myPaths     = new ArrayList<List<Step>>();
+        private final List<Callback>    myCallbacks = new ArrayList<Callback>();
+
+        private Builder() { }
+
+        /**
+         * Adds a path, with the callback to call for each value matching
+         * it.
+         *
+         * @return this builder.
+         *
+         * @throws IllegalArgumentException if the path isn't valid.
+         */
+        public Builder withPath(String path, Callback callback)
+        {
+            if (callback == null)
+            {
+                throw new NullPointerException("callback is null");
+            }
+            myPaths.add(parse(path));
+            myCallbacks.add(callback);
+            return this;
+        }
+
+        /**
+         * Compiles the paths added so far. The builder may be used again
+         * afterwards without changing the result.
+         */
+        public IonPathExtractor build()
+        {
+            Node root = new Node();
+            for (int i = 0; i < myPaths.size(); i++)
+            {
+                Node node = root;
+                for (Step step : myPaths.get(i))
+                {
+                    node = node.child(step);
+                }
+                node.addCallback(myCallbacks.get(i), i);
+            }
+            return new IonPathExtractor(root);
+        }
+    }
+
+
+    /**
+     * Returns a new builder without any paths.
+     */
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+
+    //=========================================================================
+    // Parsing
+
+
+    private static IllegalArgumentException badPath(String path, int pos,
+                                                    String reason)
+    {
+        return new IllegalArgumentException("Invalid path " + path
+                                            + " at offset " + pos + ": "
+                                            + reason);
+    }
+
+    private static boolean isNameChar(char c)
+    {
+        return c != '.' && c != '[' && c != ']' && c != '\'' && c != '"'
+            && ! Character.isWhitespace(c);
+    }
+
+    private static List<Step> parse(String path)
+    {
+        List<Step> steps = new ArrayList<Step>();
+        int len = path.length();
+        if (len == 0)
+        {
+            throw badPath(path, 0, "path is empty");
+        }
+
+        int pos = 0;
+        while (pos < len)
+        {
+            char c = path.charAt(pos);
+            if (c == '.')
+            {
+                if (steps.isEmpty())
+                {
+                    throw badPath(path, pos, "path starts with '.'");
+                }
+                pos++;
+                if (pos == len || path.charAt(pos) == '.'
+                    || path.charAt(pos) == '[')
+                {
+                    throw badPath(path, pos, "expected a field name");
+                }
+                c = path.charAt(pos);
+            }
+            else if (c != '[' && ! steps.isEmpty())
+            {
+                throw badPath(path, pos, "expected '.' or '['");
+            }
+
+            if (c == '[')
+            {
+                int end = path.indexOf(']', pos);
+                if (end < 0)
+                {
+                    throw badPath(path, pos, "unterminated '['");
+                }
+                String text = path.substring(pos + 1, end);
+                if (text.equals("*"))
+                {
+                    steps.add(new Step(ANY_ELEMENT, null, -1));
+                }
+                else
+                {
+                    int index;
+                    try
+                    {
+                        index = Integer.parseInt(text);
+                    }
+                    catch (NumberFormatException e)
+                    {
+                        index = -1;
+                    }
+                    if (index < 0 || text.startsWith("+"))
+                    {
+                        throw badPath(path, pos, "expected an index or '*'");
+                    }
+                    steps.add(new Step(INDEX, null, index));
+                }
+                pos = end + 1;
+            }
+            else if (c == '\'' || c == '"')
+            {
+                StringBuilder name = new StringBuilder();
+                int start = pos++;
+                while (true)
+                {
+                    if (pos == len)
+                    {
+                        throw badPath(path, start, "unterminated quote");
+                    }
+                    char d = path.charAt(pos++);
+                    if (d == c) break;
+                    if (d == '\\')
+                    {
+                        if (pos == len)
+                        {
+                            throw badPath(path, start, "unterminated quote");
+                        }
+                        d = path.charAt(pos++);
+                    }
+                    name.append(d);
+                }
+                steps.add(new Step(FIELD, name.toString(), -1));
+            }
+            else
+            {
+                int start = pos;
+                while (pos < len && isNameChar(path.charAt(pos)))
+                {
+                    pos++;
+                }
+                if (pos == start)
+                {
+                    throw badPath(path, pos, "expected a field name");
+                }
+                String name = path.substring(start, pos);
+                if (name.equals("*"))
+                {
+                    steps.add(new Step(ANY_CHILD, null, -1));
+                }
+                else
+                {
+                    steps.add(new Step(FIELD, name, -1));
+                }
+            }
+        }
+        return steps;
+    }
+
+
+    //=========================================================================
+    // Matching
+
+
+    private final Node[] myRoots;
+
+    private IonPathExtractor(Node root)
+    {
+        myRoots = new Node[] { root };
+    }
+
+
+    /**
+     * Matches the paths within the reader's current value. Afterwards the
+     * reader is positioned as if it had stepped out of the value.
+     *
+     * @throws IllegalStateException if the reader isn't positioned on a
+     * value, or a callback changes the reader's depth.
+     */
+    public void match(IonReader reader)
+    {
+        IonType type = reader.getType();
+        if (type == null)
+        {
+            throw new IllegalStateException("Reader isn't positioned on a"
+                                            + " value");
+        }
+        if (IonType.isContainer(type) && ! reader.isNullValue()
+            && myRoots[0].hasChildren())
+        {
+            reader.stepIn();
+            matchChildren(reader, myRoots);
+            reader.stepOut();
+        }
+    }
+
+    /**
+     * Matches the paths within each of the values remaining at the reader's
+     * current depth.
+     *
+     * @throws IllegalStateException if a callback changes the reader's
+     * depth.
+     */
+    public void matchAll(IonReader reader)
+    {
+        while (reader.next() != null)
+        {
+            match(reader);
+        }
+    }
+
+
+    /**
+     * @param reader has stepped into a container.
+     * @param active the nodes whose steps may match the container's
+     * children.
+     */
+    private static void matchChildren(IonReader reader, Node[] active)
+    {
+        boolean inStruct = reader.isInStruct();
+
+        // Sequences needing nothing but indexes can be left after the last.
+        int lastIndex = -1;
+        if (! inStruct)
+        {
+            for (Node node : active)
+            {
+                if (node.myAnyElement != null || node.myAnyChild != null)
+                {
+                    lastIndex = Integer.MAX_VALUE;
+                    break;
+                }
+                lastIndex = Math.max(lastIndex, node.myMaxIndex);
+            }
+        }
+
+        List<Node> matched = new ArrayList<Node>(active.length + 1);
+        List<Node> callers = new ArrayList<Node>(active.length + 1);
+        int index = -1;
+        while (reader.next() != null)
+        {
+            index++;
+            if (! inStruct && index > lastIndex) break;
+
+            matched.clear();
+            String fieldName = null;
+            boolean hasFieldName = false;
+            for (Node node : active)
+            {
+                if (inStruct)
+                {
+                    if (node.myFields != null)
+                    {
+                        if (! hasFieldName)
+                        {
+                            // Fields with unknown text can't match.
+                            SymbolToken token = reader.getFieldNameSymbol();
+                            fieldName = token.getText();
+                            hasFieldName = true;
+                        }
+                        Node child = (fieldName == null
+                                          ? null
+                                          : node.myFields.get(fieldName));
+                        if (child != null)
+                        {
+                            matched.add(child);
+                        }
+                    }
+                }
+                else
+                {
+                    if (node.myIndexes != null)
+                    {
+                        Node child = node.myIndexes.get(index);
+                        if (child != null)
+                        {
+                            matched.add(child);
+                        }
+                    }
+                    if (node.myAnyElement != null)
+                    {
+                        matched.add(node.myAnyElement);
+                    }
+                }
+                if (node.myAnyChild != null)
+                {
+                    matched.add(node.myAnyChild);
+                }
+            }
+            if (matched.isEmpty()) continue;
+
+            callers.clear();
+            boolean descend = false;
+            for (Node node : matched)
+            {
+                if (node.myCallbacks != null)
+                {
+                    callers.add(node);
+                }
+                descend |= node.hasChildren();
+            }
+            if (! callers.isEmpty())
+            {
+                invoke(reader, callers);
+            }
+
+            if (descend
+                && IonType.isContainer(reader.getType())
+                && ! reader.isNullValue())
+            {
+                reader.stepIn();
+                matchChildren(reader,
+                              matched.toArray(new Node[matched.size()]));
+                reader.stepOut();
+            }
+        }
+    }
+
+    /**
+     * Calls the callbacks of the nodes matching one value in the order their
+     * paths were added. Each node's callbacks are already in that order, so
+     * they're merged.
+     */
+    private static void invoke(IonReader reader, List<Node> nodes)
+    {
+        int depth = reader.getDepth();
+        int[] next = new int[nodes.size()];
+        while (true)
+        {
+            int first = -1;
+            int firstOrder = Integer.MAX_VALUE;
+            for (int i = 0; i < next.length; i++)
+            {
+                Node node = nodes.get(i);
+                if (next[i] < node.myCallbacks.length
+                    && node.myCallbackOrders[next[i]] < firstOrder)
+                {
+                    first = i;
+                    firstOrder = node.myCallbackOrders[next[i]];
+                }
+            }
+            if (first < 0) break;
+
+            Callback callback = nodes.get(first).myCallbacks[next[first]++];
+            callback.onMatch(reader);
+            if (reader.getDepth() != depth)
+            {
+                throw new IllegalStateException("Callback " + callback
+                                                + " changed the reader's"
+                                                + " depth");
+            }
+        }
+    }
+}
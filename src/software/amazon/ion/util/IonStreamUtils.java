@@ -19,10 +19,17 @@ import static software.amazon.ion.util.GzipOrRawInputStream.GZIP_HEADER;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import software.amazon.ion.IntegerSize;
+import software.amazon.ion.IonException;
 import software.amazon.ion.IonReader;
 import software.amazon.ion.IonType;
 import software.amazon.ion.IonWriter;
+import software.amazon.ion.impl.PrivateListReader;
 import software.amazon.ion.impl.PrivateListWriter;
+import software.amazon.ion.impl.PrivateLobWriter;
+import software.amazon.ion.impl.PrivateUtils;
 
 /**
  * Utility methods for working with the Ion streaming interfaces,
@@ -311,4 +318,527 @@ public class IonStreamUtils
         }
         writer.stepOut();
     }
+
+
+    //=========================================================================
+    // Writing lobs a chunk at a time
+
+
+    /**
+     * Writes bytes read from a stream as an IonBlob value. Writers that
+     * support it copy the bytes a chunk at a time, so that large values
+     * needn't be held in a single array; others read the whole value first.
+     * The stream is not closed.
+     *
+     * @param length the number of bytes to read from {@code source} and write.
+     * @param source supplies the bytes to be written.
+     * May be {@code null} to represent {@code null.blob}.
+     *
+     * @throws IonException if {@code source} ends before {@code length}
+     * bytes have been read; the value may have been partially written.
+     */
+    public static void writeBlob(IonWriter writer, long length,
+                                 InputStream source)
+        throws IOException
+    {
+        writeLob(writer, IonType.BLOB, length, source);
+    }
+
+    /**
+     * Writes bytes read from a stream as an IonClob value.
+     *
+     * @see #writeBlob(IonWriter, long, InputStream)
+     */
+    public static void writeClob(IonWriter writer, long length,
+                                 InputStream source)
+        throws IOException
+    {
+        writeLob(writer, IonType.CLOB, length, source);
+    }
+
+    /**
+     * Writes bytes from a buffer as an IonBlob value, starting at the
+     * buffer's position and advancing it past the bytes written. Direct
+     * buffers are copied a chunk at a time by writers that support it.
+     *
+     * @param length the number of bytes to write from {@code source}.
+     * @param source bytes to be written.
+     * May be {@code null} to represent {@code null.blob}.
+     *
+     * @throws IllegalArgumentException if fewer than {@code length} bytes
+     * remain in {@code source}.
+     */
+    public static void writeBlob(IonWriter writer, long length,
+                                 ByteBuffer source)
+        throws IOException
+    {
+        writeLob(writer, IonType.BLOB, length, source);
+    }
+
+    /**
+     * Writes bytes from a buffer as an IonClob value.
+     *
+     * @see #writeBlob(IonWriter, long, ByteBuffer)
+     */
+    public static void writeClob(IonWriter writer, long length,
+                                 ByteBuffer source)
+        throws IOException
+    {
+        writeLob(writer, IonType.CLOB, length, source);
+    }
+
+
+    private static void writeLob(IonWriter writer, IonType type, long length,
+                                 InputStream source)
+        throws IOException
+    {
+        if (source == null) {
+            writer.writeNull(type);
+            return;
+        }
+        if (length < 0) {
+            throw new IllegalArgumentException("negative lob length: " + length);
+        }
+
+        if (writer instanceof PrivateLobWriter) {
+            PrivateLobWriter lobWriter = (PrivateLobWriter) writer;
+            if (type == IonType.BLOB) {
+                lobWriter.writeBlob(length, source);
+            }
+            else {
+                lobWriter.writeClob(length, source);
+            }
+            return;
+        }
+
+        if (length > Integer.MAX_VALUE) {
+            throw new IonException("Lob length " + length
+                                   + " can't be held by this writer");
+        }
+        byte[] value = new byte[(int) length];
+        PrivateUtils.readExactly(source, value, 0, value.length);
+        writeLob(writer, type, value, 0, value.length);
+    }
+
+    private static void writeLob(IonWriter writer, IonType type, long length,
+                                 ByteBuffer source)
+        throws IOException
+    {
+        if (source == null) {
+            writer.writeNull(type);
+            return;
+        }
+
+        int start = PrivateUtils.checkLobRemaining(length, source);
+        if (source.hasArray()) {
+            writeLob(writer, type, source.array(),
+                     source.arrayOffset() + start, (int) length);
+            source.position(start + (int) length);
+        }
+        else {
+            writeLob(writer, type, length, PrivateUtils.newInputStream(source));
+        }
+    }
+
+    private static void writeLob(IonWriter writer, IonType type,
+                                 byte[] value, int start, int len)
+        throws IOException
+    {
+        if (type == IonType.BLOB) {
+            writer.writeBlob(value, start, len);
+        }
+        else {
+            writer.writeClob(value, start, len);
+        }
+    }
+
+
+    //=========================================================================
+    // Reading lists of numbers
+
+
+    /**
+     * A growable array of {@code long}s, for reading many lists of Ion ints
+     * without allocating an array for each.
+     *
+     * @see IonStreamUtils#readLongList(IonReader, LongList)
+     */
+    public static final class LongList
+    {
+        private long[] myValues;
+        private int    mySize;
+
+        public LongList()
+        {
+            this(16);
+        }
+
+        /**
+         * @param initialCapacity the number of values that can be added
+         * before the list must grow.
+         */
+        public LongList(int initialCapacity)
+        {
+            if (initialCapacity < 0)
+            {
+                throw new IllegalArgumentException("initialCapacity is < 0");
+            }
+            myValues = new long[initialCapacity];
+        }
+
+        public int size()
+        {
+            return mySize;
+        }
+
+        public long get(int index)
+        {
+            if (index < 0 || index >= mySize)
+            {
+                throw new IndexOutOfBoundsException(index + " >= " + mySize);
+            }
+            return myValues[index];
+        }
+
+        /**
+         * Gets the array holding the values, which has at least
+         * {@link #size()} elements. The list replaces it as it grows.
+         */
+        public long[] getArray()
+        {
+            return myValues;
+        }
+
+        /**
+         * Copies the values to a new array of exactly {@link #size()}
+         * elements.
+         */
+        public long[] toArray()
+        {
+            return Arrays.copyOf(myValues, mySize);
+        }
+
+        public void add(long value)
+        {
+            if (mySize == myValues.length)
+            {
+                myValues = Arrays.copyOf(myValues,
+                                         Math.max(16, 2 * myValues.length));
+            }
+            myValues[mySize++] = value;
+        }
+
+        /**
+         * Removes the values after the first {@code size}.
+         */
+        public void truncate(int size)
+        {
+            if (size < 0 || size > mySize)
+            {
+                throw new IndexOutOfBoundsException(size + " > " + mySize);
+            }
+            mySize = size;
+        }
+
+        public void clear()
+        {
+            mySize = 0;
+        }
+    }
+
+
+    /**
+     * A growable array of {@code double}s, for reading many lists of Ion
+     * floats without allocating an array for each.
+     *
+     * @see IonStreamUtils#readFloatList(IonReader, DoubleList)
+     */
+    public static final class DoubleList
+    {
+        private double[] myValues;
+        private int      mySize;
+
+        public DoubleList()
+        {
+            this(16);
+        }
+
+        /**
+         * @param initialCapacity the number of values that can be added
+         * before the list must grow.
+         */
+        public DoubleList(int initialCapacity)
+        {
+            if (initialCapacity < 0)
+            {
+                throw new IllegalArgumentException("initialCapacity is < 0");
+            }
+            myValues = new double[initialCapacity];
+        }
+
+        public int size()
+        {
+            return mySize;
+        }
+
+        public double get(int index)
+        {
+            if (index < 0 || index >= mySize)
+            {
+                throw new IndexOutOfBoundsException(index + " >= " + mySize);
+            }
+            return myValues[index];
+        }
+
+        /**
+         * Gets the array holding the values, which has at least
+         * {@link #size()} elements. The list replaces it as it grows.
+         */
+        public double[] getArray()
+        {
+            return myValues;
+        }
+
+        /**
+         * Copies the values to a new array of exactly {@link #size()}
+         * elements.
+         */
+        public double[] toArray()
+        {
+            return Arrays.copyOf(myValues, mySize);
+        }
+
+        public void add(double value)
+        {
+            if (mySize == myValues.length)
+            {
+                myValues = Arrays.copyOf(myValues,
+                                         Math.max(16, 2 * myValues.length));
+            }
+            myValues[mySize++] = value;
+        }
+
+        /**
+         * Removes the values after the first {@code size}.
+         */
+        public void truncate(int size)
+        {
+            if (size < 0 || size > mySize)
+            {
+                throw new IndexOutOfBoundsException(size + " > " + mySize);
+            }
+            mySize = size;
+        }
+
+        public void clear()
+        {
+            mySize = 0;
+        }
+    }
+
+
+    /**
+     * Reads the Ion ints within the reader's current list or sexp. This is
+     * the same as stepping in, reading each value with
+     * {@link IonReader#longValue()}, and stepping out, but the Ion binary
+     * and text readers decode the values directly from their input, without
+     * visiting each in turn.
+     * <p>
+     * Annotations on the values are ignored, and a null list reads as
+     * empty. Afterwards the reader is positioned as if it had stepped out of
+     * the list.
+     *
+     * @return the values of the list.
+     *
+     * @throws IllegalStateException if the reader isn't positioned on a list
+     * or sexp.
+     * @throws IonException if a value isn't a non-null int that fits in a
+     * {@code long}.
+     */
+    public static long[] readLongList(IonReader reader)
+    {
+        LongList values = new LongList();
+        readLongList(reader, values);
+        return values.toArray();
+    }
+
+    /**
+     * Reads the Ion ints within the reader's current list or sexp.
+     * This is the same as {@link #readLongList(IonReader)}, but the values
+     * must fit in an {@code int}.
+     *
+     * @return the values of the list.
+     *
+     * @throws IllegalStateException if the reader isn't positioned on a list
+     * or sexp.
+     * @throws IonException if a value isn't a non-null int that fits in an
+     * {@code int}.
+     */
+    public static int[] readIntList(IonReader reader)
+    {
+        LongList values = new LongList();
+        readLongList(reader, values);
+
+        long[] longs = values.getArray();
+        int[] ints = new int[values.size()];
+        for (int i = 0; i < ints.length; i++)
+        {
+            long value = longs[i];
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+            {
+                throw new IonException("Int in list is too large for an int: "
+                                       + value);
+            }
+            ints[i] = (int) value;
+        }
+        return ints;
+    }
+
+    /**
+     * Reads the Ion ints within the reader's current list or sexp, appending
+     * them to the given buffer. Otherwise this is the same as
+     * {@link #readLongList(IonReader)}.
+     *
+     * @return the number of values appended.
+     *
+     * @throws IllegalStateException if the reader isn't positioned on a list
+     * or sexp.
+     * @throws IonException if a value isn't a non-null int that fits in a
+     * {@code long}, in which case the buffer is left as it was.
+     */
+    public static int readLongList(IonReader reader, LongList values)
+    {
+        checkOnList(reader);
+        int start = values.size();
+
+        PrivateListReader lists = reader.asFacet(PrivateListReader.class);
+        if (lists == null || ! lists.readIntList(values))
+        {
+            reader.stepIn();
+            try
+            {
+                IonType type;
+                while ((type = reader.next()) != null)
+                {
+                    if (type != IonType.INT || reader.isNullValue())
+                    {
+                        throw new IonException("Expected a non-null int in list"
+                                               + " but found " + describe(reader));
+                    }
+                    if (reader.getIntegerSize() == IntegerSize.BIG_INTEGER)
+                    {
+                        throw new IonException("Int in list is too large for a long: "
+                                               + reader.bigIntegerValue());
+                    }
+                    values.add(reader.longValue());
+                }
+            }
+            catch (RuntimeException e)
+            {
+                values.truncate(start);
+                throw e;
+            }
+            reader.stepOut();
+        }
+        return values.size() - start;
+    }
+
+    /**
+     * Reads the numbers within the reader's current list or sexp as
+     * {@code double}s. This is the same as stepping in, reading and
+     * converting each value, and stepping out, but the Ion
+     * binary and text readers decode the values directly from their input,
+     * without visiting each in turn.
+     * <p>
+     * The values are usually floats, but ints and decimals are also
+     * converted. Annotations on the values are ignored, and a null list
+     * reads as empty. Afterwards the reader is positioned as if it had
+     * stepped out of the list.
+     *
+     * @return the values of the list.
+     *
+     * @throws IllegalStateException if the reader isn't positioned on a list
+     * or sexp.
+     * @throws IonException if a value isn't a non-null float, int, or decimal.
+     */
+    public static double[] readFloatList(IonReader reader)
+    {
+        DoubleList values = new DoubleList();
+        readFloatList(reader, values);
+        return values.toArray();
+    }
+
+    /**
+     * Reads the numbers within the reader's current list or sexp as
+     * {@code double}s, appending them to the given buffer. Otherwise this is
+     * the same as {@link #readFloatList(IonReader)}.
+     *
+     * @return the number of values appended.
+     *
+     * @throws IllegalStateException if the reader isn't positioned on a list
+     * or sexp.
+     * @throws IonException if a value isn't a non-null float, int, or
+     * decimal, in which case the buffer is left as it was.
+     */
+    public static int readFloatList(IonReader reader, DoubleList values)
+    {
+        checkOnList(reader);
+        int start = values.size();
+
+        PrivateListReader lists = reader.asFacet(PrivateListReader.class);
+        if (lists == null || ! lists.readFloatList(values))
+        {
+            reader.stepIn();
+            try
+            {
+                IonType type;
+                while ((type = reader.next()) != null)
+                {
+                    if ((type != IonType.FLOAT
+                         && type != IonType.INT
+                         && type != IonType.DECIMAL)
+                        || reader.isNullValue())
+                    {
+                        throw new IonException("Expected a non-null number in list"
+                                               + " but found " + describe(reader));
+                    }
+                    if (type != IonType.INT)
+                    {
+                        values.add(reader.doubleValue());
+                    }
+                    else if (reader.getIntegerSize() == IntegerSize.BIG_INTEGER)
+                    {
+                        values.add(reader.bigIntegerValue().doubleValue());
+                    }
+                    else
+                    {
+                        values.add(reader.longValue());
+                    }
+                }
+            }
+            catch (RuntimeException e)
+            {
+                values.truncate(start);
+                throw e;
+            }
+            reader.stepOut();
+        }
+        return values.size() - start;
+    }
+
+    private static void checkOnList(IonReader reader)
+    {
+        IonType type = reader.getType();
+        if (type != IonType.LIST && type != IonType.SEXP)
+        {
+            throw new IllegalStateException("Reader isn't positioned on a list"
+                                            + " or sexp: " + type);
+        }
+    }
+
+    private static String describe(IonReader reader)
+    {
+        String type = reader.getType().toString().toLowerCase();
+        return (reader.isNullValue() ? "null." + type : type);
+    }
 }
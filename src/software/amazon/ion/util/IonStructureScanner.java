@@ -0,0 +1,770 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import static software.amazon.ion.SystemSymbols.ION_1_0;
+import static software.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE;
+import static software.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE_SID;
+import static software.amazon.ion.impl.PrivateIonConstants.BINARY_VERSION_MARKER_1_0;
+import static software.amazon.ion.impl.PrivateIonConstants.BINARY_VERSION_MARKER_SIZE;
+import static software.amazon.ion.impl.PrivateIonConstants.lnIsNull;
+import static software.amazon.ion.impl.PrivateIonConstants.lnIsOrderedStruct;
+import static software.amazon.ion.impl.PrivateIonConstants.lnIsVarLen;
+import static software.amazon.ion.impl.PrivateIonConstants.tidBoolean;
+import static software.amazon.ion.impl.PrivateIonConstants.tidList;
+import static software.amazon.ion.impl.PrivateIonConstants.tidNull;
+import static software.amazon.ion.impl.PrivateIonConstants.tidSexp;
+import static software.amazon.ion.impl.PrivateIonConstants.tidStruct;
+import static software.amazon.ion.impl.PrivateIonConstants.tidTypedecl;
+import static software.amazon.ion.impl.PrivateIonConstants.tidUnused;
+
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+
+/**
+ * Locates the top-level values of Ion data without decoding them, for tasks
+ * such as counting records, checking framing, or splitting a stream.
+ * <p>
+ * Binary data is scanned using only type descriptors and length prefixes,
+ * and text data using only brackets, quotes and comments, so no symbol
+ * tables are processed and no values are materialized. This is much faster
+ * than walking an {@link IonReader}, but the data is only checked for
+ * framing: a scan can succeed on data that an {@link IonReader} rejects.
+ * <p>
+ * System values (version markers and local symbol tables) and binary
+ * padding aren't reported as values, though they're scanned like any other
+ * value.
+ * <p>
+ * This class is not intended to be extended.
+ *
+ * @see IonStreamUtils#isIonBinary(byte[], int, int)
+ */
+public final class IonStructureScanner
+{
+    /**
+     * The top-level values found by a scan.
+     * Instances are immutable and safe for use by multiple threads.
+     */
+    public static final class Result
+    {
+        private final boolean myBinary;
+        private final int     myCount;
+        private final int[]   myOffsets;
+        private final int[]   mySizes;
+        private final int     myMaxDepth;
+
+        private Result(boolean binary, int count, int[] offsets, int[] sizes,
+                       int maxDepth)
+        {
+            myBinary   = binary;
+            myCount    = count;
+            myOffsets  = offsets;
+            mySizes    = sizes;
+            myMaxDepth = maxDepth;
+        }
+
+        /**
+         * Indicates whether the data was scanned as Ion binary.
+         */
+        public boolean isBinary()
+        {
+            return myBinary;
+        }
+
+        /**
+         * Gets the number of top-level user values.
+         */
+        public int getValueCount()
+        {
+            return myCount;
+        }
+
+        /**
+         * Gets the position, within the scanned buffer, of the first byte of
+         * a top-level value, including its annotations.
+         *
+         * @param index must be less than {@link #getValueCount()}.
+         */
+        public int getValueOffset(int index)
+        {
+            checkIndex(index);
+            return myOffsets[index];
+        }
+
+        /**
+         * Gets the number of bytes of a top-level value, including its
+         * annotations. In text, this excludes any whitespace or comments
+         * following the value.
+         *
+         * @param index must be less than {@link #getValueCount()}.
+         */
+        public int getValueSize(int index)
+        {
+            checkIndex(index);
+            return mySizes[index];
+        }
+
+        /**
+         * Gets the greatest number of containers nested within each other,
+         * over all values including system values.
+         * This is zero when there are only scalars.
+         *
+         * @return the depth, or -1 if the scan didn't measure it.
+         *
+         * @see IonStructureScanner#scan(byte[], int, int, boolean)
+         */
+        public int getMaxDepth()
+        {
+            return myMaxDepth;
+        }
+
+        private void checkIndex(int index)
+        {
+            if (index < 0 || index >= myCount)
+            {
+                throw new IndexOutOfBoundsException(Integer.toString(index));
+            }
+        }
+    }
+
+
+    private final byte[]  myBytes;
+    private final int     myEnd;
+    private final boolean myMeasureDepth;
+
+    private int   myCount;
+    private int[] myOffsets = new int[16];
+    private int[] mySizes   = new int[16];
+    private int   myMaxDepth;
+
+    private IonStructureScanner(byte[] bytes, int end, boolean measureDepth)
+    {
+        myBytes        = bytes;
+        myEnd          = end;
+        myMeasureDepth = measureDepth;
+    }
+
+
+    /**
+     * Scans the top-level values of Ion binary or text data.
+     *
+     * @param data must not be null. Binary data must start with an Ion
+     * version marker; anything else is scanned as text.
+     *
+     * @throws IonException if the data isn't properly framed.
+     *
+     * @see #scan(byte[], int, int)
+     */
+    public static Result scan(byte[] data)
+    {
+        return scan(data, 0, data.length);
+    }
+
+    /**
+     * Scans the top-level values of Ion binary or text data.
+     *
+     * @param data must not be null. Binary data must start with an Ion
+     * version marker; anything else is scanned as text. GZIPped data isn't
+     * supported.
+     * @param offset the position of the data within the buffer.
+     * @param length the number of bytes of data.
+     *
+     * @throws IonException if the data isn't properly framed.
+     *
+     * @see #scan(byte[], int, int, boolean)
+     */
+    public static Result scan(byte[] data, int offset, int length)
+    {
+        return scan(data, offset, length, true);
+    }
+
+    /**
+     * Scans the top-level values of Ion binary or text data, optionally
+     * without measuring their depth.
+     * <p>
+     * Binary containers must be walked to measure their depth; otherwise
+     * they're skipped whole using their length, so a scan's time is
+     * proportional to the number of top-level values rather than the
+     * size of the data. Their contents then aren't checked for framing.
+     *
+     * @param data must not be null. Binary data must start with an Ion
+     * version marker; anything else is scanned as text. GZIPped data isn't
+     * supported.
+     * @param offset the position of the data within the buffer.
+     * @param length the number of bytes of data.
+     * @param measureDepth whether to measure the depth of the values.
+     *
+     * @throws IonException if the data isn't properly framed.
+     */
+    public static Result scan(byte[] data, int offset, int length,
+                              boolean measureDepth)
+    {
+        if (offset < 0 || length < 0 || offset > data.length - length)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        boolean binary = IonStreamUtils.isIonBinary(data, offset, length);
+        IonStructureScanner scanner =
+            new IonStructureScanner(data, offset + length, measureDepth);
+        if (binary)
+        {
+            scanner.scanBinary(offset);
+        }
+        else
+        {
+            scanner.scanText(offset);
+        }
+        return new Result(binary, scanner.myCount, scanner.myOffsets,
+                          scanner.mySizes,
+                          measureDepth ? scanner.myMaxDepth : -1);
+    }
+
+
+    private void addValue(int start, int end)
+    {
+        if (myCount == myOffsets.length)
+        {
+            int[] offsets = new int[myCount * 2];
+            int[] sizes   = new int[myCount * 2];
+            System.arraycopy(myOffsets, 0, offsets, 0, myCount);
+            System.arraycopy(mySizes, 0, sizes, 0, myCount);
+            myOffsets = offsets;
+            mySizes   = sizes;
+        }
+        myOffsets[myCount] = start;
+        mySizes[myCount]   = end - start;
+        myCount++;
+    }
+
+    private IonException error(String message, int position)
+    {
+        return new IonException(message + " at position " + position);
+    }
+
+
+    //=========================================================================
+    // Binary
+
+
+    /** The end of the body of the last header read. */
+    private int myBodyEnd;
+
+    /**
+     * Walks every value, keeping a stack of the ends of the containers
+     * we're within rather than recursing.
+     */
+    private void scanBinary(int position)
+    {
+        int[]     containerEnds = new int[16];
+        boolean[] inStruct      = new boolean[16];
+        int       depth         = 0;
+
+        int pos = position;
+        for (;;)
+        {
+            while (depth > 0 && pos == containerEnds[depth - 1])
+            {
+                depth--;
+            }
+            if (pos == myEnd) break;
+
+            int limit = (depth == 0 ? myEnd : containerEnds[depth - 1]);
+            if (depth > 0 && inStruct[depth - 1])
+            {
+                pos = skipVarUInt(pos, limit);  // field name
+            }
+
+            int start = pos;
+            int td = myBytes[pos] & 0xff;
+            if (depth == 0 && td == (BINARY_VERSION_MARKER_1_0[0] & 0xff))
+            {
+                if (! IonStreamUtils.isIonBinary(myBytes, pos, myEnd - pos))
+                {
+                    throw error("Invalid Ion version marker", pos);
+                }
+                pos += BINARY_VERSION_MARKER_SIZE;
+                continue;
+            }
+
+            boolean isSymbolTable = false;
+            pos = readHeader(pos, limit);
+            if ((td >> 4) == tidTypedecl)
+            {
+                // Annotation wrapper: skip the annotations, then read the
+                // header of the wrapped value.
+                int wrapperEnd = myBodyEnd;
+                int annotationsLength = readVarUInt(pos, wrapperEnd);
+                pos = skipVarUInt(pos, wrapperEnd);
+                int annotationsEnd = pos + annotationsLength;
+                if (annotationsLength == 0 || annotationsEnd >= wrapperEnd)
+                {
+                    throw error("Invalid annotation wrapper", start);
+                }
+                int firstSid = readVarUInt(pos, annotationsEnd);
+                pos = annotationsEnd;
+
+                td = myBytes[pos] & 0xff;
+                if ((td >> 4) == tidTypedecl)
+                {
+                    throw error("Nested annotation wrapper", pos);
+                }
+                pos = readHeader(pos, wrapperEnd);
+                if (myBodyEnd != wrapperEnd)
+                {
+                    throw error("Annotation wrapper length mismatch", start);
+                }
+                isSymbolTable = (firstSid == ION_SYMBOL_TABLE_SID
+                                 && (td >> 4) == tidStruct);
+            }
+
+            int type = td >> 4;
+            int end  = myBodyEnd;
+            boolean isPadding = (type == tidNull && (td & 0x0f) != lnIsNull);
+            if (depth == 0 && ! isPadding && ! isSymbolTable)
+            {
+                addValue(start, end);
+            }
+
+            if (myMeasureDepth
+                && (type == tidList || type == tidSexp || type == tidStruct)
+                && (td & 0x0f) != lnIsNull)
+            {
+                if (depth == containerEnds.length)
+                {
+                    int[] ends = new int[depth * 2];
+                    boolean[] structs = new boolean[depth * 2];
+                    System.arraycopy(containerEnds, 0, ends, 0, depth);
+                    System.arraycopy(inStruct, 0, structs, 0, depth);
+                    containerEnds = ends;
+                    inStruct      = structs;
+                }
+                containerEnds[depth] = end;
+                inStruct[depth]      = (type == tidStruct);
+                depth++;
+                if (depth > myMaxDepth) myMaxDepth = depth;
+            }
+            else
+            {
+                pos = end;
+            }
+        }
+    }
+
+    /**
+     * Reads a type descriptor and any length that follows it, setting
+     * {@link #myBodyEnd}.
+     *
+     * @return the position of the body of the value.
+     */
+    private int readHeader(int pos, int limit)
+    {
+        if (pos >= limit)
+        {
+            throw error("Value overruns its container", pos);
+        }
+        int td   = myBytes[pos] & 0xff;
+        int type = td >> 4;
+        int ln   = td & 0x0f;
+        int bodyStart = pos + 1;
+
+        int length;
+        if (type == tidUnused)
+        {
+            throw error("Invalid type descriptor", pos);
+        }
+        else if (ln == lnIsNull || type == tidBoolean)
+        {
+            length = 0;
+        }
+        else if (ln == lnIsVarLen
+                 || (type == tidStruct && ln == lnIsOrderedStruct))
+        {
+            length = readVarUInt(bodyStart, limit);
+            bodyStart = skipVarUInt(bodyStart, limit);
+        }
+        else
+        {
+            length = ln;
+        }
+
+        if (type == tidTypedecl && (ln == lnIsNull || length < 3))
+        {
+            throw error("Invalid annotation wrapper", pos);
+        }
+        if (length > limit - bodyStart)
+        {
+            throw error("Value overruns its container", pos);
+        }
+        myBodyEnd = bodyStart + length;
+        return bodyStart;
+    }
+
+    private int readVarUInt(int pos, int limit)
+    {
+        int result = 0;
+        for (;;)
+        {
+            if (pos >= limit)
+            {
+                throw error("Truncated VarUInt", pos);
+            }
+            int b = myBytes[pos++] & 0xff;
+            if (result > (Integer.MAX_VALUE >> 7))
+            {
+                throw error("VarUInt too large", pos);
+            }
+            result = (result << 7) | (b & 0x7f);
+            if ((b & 0x80) != 0) return result;
+        }
+    }
+
+    private int skipVarUInt(int pos, int limit)
+    {
+        for (;;)
+        {
+            if (pos >= limit)
+            {
+                throw error("Truncated VarUInt", pos);
+            }
+            if ((myBytes[pos++] & 0x80) != 0) return pos;
+        }
+    }
+
+
+    //=========================================================================
+    // Text
+
+
+    /**
+     * The kinds of the atoms, the tokens that make up a value and its
+     * annotations.
+     */
+    private static final int ATOM_OTHER       = 0;
+    private static final int ATOM_STRUCT      = 1;
+    private static final int ATOM_LONG_STRING = 2;
+
+    private int myAtomKind;
+
+    private void scanText(int position)
+    {
+        int pos = skipWhitespace(position);
+        while (pos < myEnd)
+        {
+            int start = pos;
+            boolean annotated = false;
+            boolean isSymbolTable = false;
+            for (;;)
+            {
+                int atomStart = pos;
+                int atomEnd = scanAtom(pos);
+                pos = skipWhitespace(atomEnd);
+
+                if (pos + 1 < myEnd
+                    && myBytes[pos] == ':' && myBytes[pos + 1] == ':')
+                {
+                    if (! annotated)
+                    {
+                        isSymbolTable =
+                            symbolMatches(ION_SYMBOL_TABLE, atomStart, atomEnd);
+                        annotated = true;
+                    }
+                    pos = skipWhitespace(pos + 2);
+                    if (pos == myEnd)
+                    {
+                        throw error("Annotation without a value", atomStart);
+                    }
+                    continue;
+                }
+
+                // Adjacent long strings are one value.
+                int end = atomEnd;
+                while (myAtomKind == ATOM_LONG_STRING && isLongStringAt(pos))
+                {
+                    end = skipLongString(pos);
+                    pos = skipWhitespace(end);
+                }
+
+                boolean isSystem =
+                    (annotated
+                     ? isSymbolTable && myAtomKind == ATOM_STRUCT
+                     : symbolMatches(ION_1_0, atomStart, atomEnd)
+                       && myBytes[atomStart] != '\'');
+                if (! isSystem)
+                {
+                    addValue(start, end);
+                }
+                break;
+            }
+        }
+    }
+
+    /**
+     * Indicates whether an atom is an unquoted or quoted symbol with the
+     * given (ASCII) text. Quoted symbols with escapes never match.
+     */
+    private boolean symbolMatches(String text, int start, int end)
+    {
+        if (myBytes[start] == '\'' && end - start > 2)
+        {
+            start++;
+            end--;
+        }
+        if (end - start != text.length()) return false;
+        for (int i = 0; i < text.length(); i++)
+        {
+            if (myBytes[start + i] != text.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Scans a value or annotation, setting {@link #myAtomKind}.
+     *
+     * @return the position after the atom.
+     */
+    private int scanAtom(int pos)
+    {
+        myAtomKind = ATOM_OTHER;
+        byte c = myBytes[pos];
+        switch (c)
+        {
+            case '{':
+                if (pos + 1 < myEnd && myBytes[pos + 1] == '{')
+                {
+                    return skipLob(pos);
+                }
+                myAtomKind = ATOM_STRUCT;
+                return skipContainer(pos);
+            case '[':
+            case '(':
+                return skipContainer(pos);
+            case '"':
+                return skipString(pos, '"');
+            case '\'':
+                if (isLongStringAt(pos))
+                {
+                    myAtomKind = ATOM_LONG_STRING;
+                    return skipLongString(pos);
+                }
+                return skipString(pos, '\'');
+            case '}':
+            case ']':
+            case ')':
+            case ',':
+            case ':':
+                throw error("Unexpected '" + (char) c + "'", pos);
+            default:
+                return skipToken(pos);
+        }
+    }
+
+    /**
+     * Skips an unquoted token: a number, timestamp, identifier, null, etc.
+     */
+    private int skipToken(int pos)
+    {
+        while (pos < myEnd)
+        {
+            byte c = myBytes[pos];
+            switch (c)
+            {
+                case ' ': case '\t': case '\n': case '\r': case '\f': case 0x0b:
+                case '{': case '}': case '[': case ']': case '(': case ')':
+                case ',': case '"': case '\'':
+                    return pos;
+                case ':':
+                    // Timestamps contain single colons.
+                    if (pos + 1 < myEnd && myBytes[pos + 1] == ':') return pos;
+                    break;
+                case '/':
+                    if (isCommentAt(pos)) return pos;
+                    break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private int skipContainer(int pos)
+    {
+        byte[] closers = new byte[8];
+        int depth = 0;
+        while (pos < myEnd)
+        {
+            byte c = myBytes[pos];
+            switch (c)
+            {
+                case '{':
+                    if (pos + 1 < myEnd && myBytes[pos + 1] == '{')
+                    {
+                        pos = skipLob(pos);
+                        continue;
+                    }
+                    // fall through
+                case '[':
+                case '(':
+                    if (depth == closers.length)
+                    {
+                        byte[] grown = new byte[depth * 2];
+                        System.arraycopy(closers, 0, grown, 0, depth);
+                        closers = grown;
+                    }
+                    closers[depth++] =
+                        (byte) (c == '{' ? '}' : c == '[' ? ']' : ')');
+                    if (depth > myMaxDepth) myMaxDepth = depth;
+                    pos++;
+                    continue;
+                case '}':
+                case ']':
+                case ')':
+                    if (closers[--depth] != c)
+                    {
+                        throw error("Mismatched '" + (char) c + "'", pos);
+                    }
+                    pos++;
+                    if (depth == 0) return pos;
+                    continue;
+                case '"':
+                    pos = skipString(pos, '"');
+                    continue;
+                case '\'':
+                    pos = (isLongStringAt(pos)
+                           ? skipLongString(pos)
+                           : skipString(pos, '\''));
+                    continue;
+                case '/':
+                    if (isCommentAt(pos))
+                    {
+                        pos = skipComment(pos);
+                        continue;
+                    }
+                    break;
+            }
+            pos++;
+        }
+        throw error("Unterminated container", pos);
+    }
+
+    /**
+     * Skips a blob or clob, from its opening braces.
+     */
+    private int skipLob(int pos)
+    {
+        pos += 2;
+        while (pos < myEnd)
+        {
+            byte c = myBytes[pos];
+            if (c == '}' && pos + 1 < myEnd && myBytes[pos + 1] == '}')
+            {
+                return pos + 2;
+            }
+            if (c == '"')
+            {
+                pos = skipString(pos, '"');
+            }
+            else if (isLongStringAt(pos))
+            {
+                pos = skipLongString(pos);
+            }
+            else
+            {
+                pos++;
+            }
+        }
+        throw error("Unterminated lob", pos);
+    }
+
+    /**
+     * Skips a string or quoted symbol, from its opening quote.
+     */
+    private int skipString(int pos, char quote)
+    {
+        int start = pos++;
+        while (pos < myEnd)
+        {
+            byte c = myBytes[pos];
+            if (c == quote) return pos + 1;
+            pos += (c == '\\' ? 2 : 1);
+        }
+        throw error("Unterminated string", start);
+    }
+
+    private boolean isLongStringAt(int pos)
+    {
+        return pos + 2 < myEnd
+            && myBytes[pos] == '\''
+            && myBytes[pos + 1] == '\''
+            && myBytes[pos + 2] == '\'';
+    }
+
+    private int skipLongString(int pos)
+    {
+        int start = pos;
+        pos += 3;
+        while (pos < myEnd)
+        {
+            if (isLongStringAt(pos)) return pos + 3;
+            pos += (myBytes[pos] == '\\' ? 2 : 1);
+        }
+        throw error("Unterminated long string", start);
+    }
+
+    private boolean isCommentAt(int pos)
+    {
+        return pos + 1 < myEnd
+            && myBytes[pos] == '/'
+            && (myBytes[pos + 1] == '/' || myBytes[pos + 1] == '*');
+    }
+
+    private int skipComment(int pos)
+    {
+        int start = pos;
+        if (myBytes[pos + 1] == '/')
+        {
+            while (pos < myEnd && myBytes[pos] != '\n') pos++;
+            return pos;
+        }
+        pos += 2;
+        while (pos + 1 < myEnd)
+        {
+            if (myBytes[pos] == '*' && myBytes[pos + 1] == '/') return pos + 2;
+            pos++;
+        }
+        throw error("Unterminated comment", start);
+    }
+
+    private int skipWhitespace(int pos)
+    {
+        while (pos < myEnd)
+        {
+            switch (myBytes[pos])
+            {
+                case ' ': case '\t': case '\n': case '\r': case '\f': case 0x0b:
+                    pos++;
+                    break;
+                case '/':
+                    if (isCommentAt(pos))
+                    {
+                        pos = skipComment(pos);
+                        break;
+                    }
+                    return pos;
+                default:
+                    return pos;
+            }
+        }
+        return pos;
+    }
+}
@@ -46,6 +46,7 @@ import software.amazon.ion.LongStringTest;
 import software.amazon.ion.NonEquivsTest;
 import software.amazon.ion.NopPaddingTest;
 import software.amazon.ion.NullTest;
+import software.amazon.ion.ReadOnlyValueConcurrencyTest;
 import software.amazon.ion.RoundTripTest;
 import software.amazon.ion.SexpTest;
 import software.amazon.ion.StringFieldNameEscapesTest;
@@ -116,6 +117,7 @@ import software.amazon.ion.util.TextTest;
     BoolTest.class,
     ClobTest.class,
     CloneTest.class,
+    ReadOnlyValueConcurrencyTest.class,
     DatagramTest.class,
     DecimalTest.class,
     FloatTest.class,
@@ -25,6 +25,7 @@ import software.amazon.ion.IonType;
 import software.amazon.ion.NullValueException;
 import software.amazon.ion.UnexpectedEofException;
 import software.amazon.ion.impl.PrivateUtils;
+import software.amazon.ion.system.IonTextWriterBuilder;
 
 
 public class BlobTest
@@ -338,4 +339,46 @@ public class BlobTest
         badValue("{{ Zg= }}");
         badValue("{{ Zm8 }}");
     }
+
+    @Test
+    public void testLargeBlobsRoundTripThroughText()
+        throws IOException
+    {
+        java.util.Random random = new java.util.Random(42);
+        for (int len = 0; len < 4100; len += 1 + len / 3)
+        {
+            byte[] data = new byte[len];
+            random.nextBytes(data);
+
+            for (IonTextWriterBuilder b : new IonTextWriterBuilder[] {
+                     IonTextWriterBuilder.standard(),
+                     IonTextWriterBuilder.pretty() })
+            {
+                StringBuilder text = new StringBuilder();
+                IonWriter writer = b.build(text);
+                writer.writeBlob(data);
+                writer.close();
+
+                IonReader reader = system().newReader(text.toString());
+                assertEquals(IonType.BLOB, reader.next());
+                assertEquals(len, reader.byteSize());
+                assertArrayEquals(data, reader.newBytes());
+
+                reader = system().newReader(PrivateUtils.utf8(text.toString()));
+                reader.next();
+                byte[] buffer = new byte[len + 2];
+                assertEquals(len, reader.byteSize());
+                assertEquals(len, reader.getBytes(buffer, 1, len));
+                for (int i = 0; i < len; i++)
+                {
+                    assertEquals(data[i], buffer[i + 1]);
+                }
+            }
+
+            StringBuilder base64 = new StringBuilder();
+            system().newBlob(data).printBase64(base64);
+            IonBlob blob = (IonBlob) oneValue("{{" + base64 + "}}");
+            assertArrayEquals(data, blob.getBytes());
+        }
+    }
 }
@@ -20,6 +20,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import software.amazon.ion.IonInt;
+import software.amazon.ion.IonList;
+import software.amazon.ion.IonSequence;
 import software.amazon.ion.IonStruct;
 import software.amazon.ion.IonSymbol;
 import software.amazon.ion.IonSystem;
@@ -166,4 +168,82 @@ public class CloneTest
         // If we don't fail we should at least retain the SID.
         assertEquals(99, copy.iterator().next().getFieldNameSymbol().getSid());
     }
+
+
+    private static final String TEMPLATE =
+        "ann::{a:1, b:[x, {c:\"s\", d:(e f::[2.0, 3e0])}], g:{h:null.list, i:{{MTIz}}}, a:4}";
+
+    @Test
+    public void testCloneOfReadOnlyIsIndependent()
+    {
+        IonStruct original = (IonStruct) oneValue(TEMPLATE);
+        original.makeReadOnly();
+
+        IonStruct copy = original.clone();
+        assertFalse(copy.isReadOnly());
+        assertEquals(original, copy);
+        assertEquals(original.toString(), copy.toString());
+        assertEquals(original.hashCode(), copy.hashCode());
+
+        IonList b = (IonList) copy.get("b");
+        assertSame(copy, b.getContainer());
+        assertFalse(b.isReadOnly());
+        IonStruct inner = (IonStruct) b.get(1);
+        assertSame(b, inner.getContainer());
+        ((IonSequence) inner.get("d")).add(system().newInt(5));
+        copy.remove(copy.get("g"));
+        copy.put("j", system().newString("new"));
+
+        assertEquals(oneValue(TEMPLATE), original);
+        assertEquals(oneValue("ann::{a:1, b:[x, {c:\"s\", d:(e f::[2.0, 3e0] 5)}], j:\"new\", a:4}"),
+                     copy);
+    }
+
+    @Test
+    public void testCloneOfReadOnlyWritesWithoutChange()
+    {
+        IonStruct original = (IonStruct) oneValue(TEMPLATE);
+        original.makeReadOnly();
+
+        IonStruct copy = original.clone();
+        copy.setTypeAnnotations("other");
+        assertEquals("other::" + original.toString().substring("ann::".length()),
+                     copy.toString());
+
+        IonDatagram dg = system().newDatagram(copy.clone());
+        assertEquals(copy, loader().load(dg.getBytes()).get(0));
+    }
+
+    @Test
+    public void testCloneOfCloneOfReadOnly()
+    {
+        IonStruct original = (IonStruct) oneValue(TEMPLATE);
+        original.makeReadOnly();
+
+        IonStruct copy = original.clone();
+        IonStruct copyOfCopy = copy.clone();
+        copy.clear();
+        assertTrue(copy.isEmpty());
+        assertEquals(original, copyOfCopy);
+
+        copyOfCopy.makeReadOnly();
+        assertEquals(original, copyOfCopy.clone());
+        assertEquals(original, system().clone(original));
+        assertEquals(original.cloneAndRemove("a"), copyOfCopy.cloneAndRetain("b", "g"));
+    }
+
+    @Test
+    public void testCloneOfReadOnlyWithUnknownFieldNameText()
+    {
+        SymbolToken tok = newSymbolToken(99);
+        IonStruct original = system().newEmptyStruct();
+        IonStruct child = system().newEmptyStruct();
+        child.add(tok, system().newNull());
+        original.add("a", child);
+        original.makeReadOnly();
+
+        thrown.expect(UnknownSymbolException.class);
+        thrown.expectMessage("$99");
+        original.clone();
+    }
 }
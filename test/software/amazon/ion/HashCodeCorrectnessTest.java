@@ -627,4 +627,32 @@ public class HashCodeCorrectnessTest
         testTypeAnnotationHashCode("(a b c)",           IonType.SEXP);
     }
 
+    @Test
+    public void testReadOnlyHashCode()
+    {
+        String text = "a::{b:[1, c::(d \"e\" 2.0)], f:{g:null.int, '$99':{{MTIz}}}}";
+        IonDatagram dg = loader().load("$ion_symbol_table::{symbols:[\"x\"]} "
+                                       + text + " [x, $10]");
+        IonValue mutable = oneValue(text);
+        IonStruct readOnly = (IonStruct) dg.get(0);
+        int expected = mutable.hashCode();
+        int dgHash = dg.hashCode();
+
+        dg.makeReadOnly();
+        assertEquals(expected, readOnly.hashCode());
+        assertEquals(expected, readOnly.hashCode());
+        assertEquals(mutable.hashCode(), readOnly.hashCode());
+        assertEquals(dgHash, dg.hashCode());
+
+        // Children reached through a cached parent hash the same way.
+        IonValue child = readOnly.get("f");
+        assertEquals(oneValue(child.toString()).hashCode(), child.hashCode());
+
+        // Clones are mutable again, and so recompute their hash code.
+        IonStruct copy = readOnly.clone();
+        assertEquals(expected, copy.hashCode());
+        copy.put("h", system().newInt(3));
+        assertFalse(copy.hashCode() == readOnly.hashCode());
+    }
+
 }
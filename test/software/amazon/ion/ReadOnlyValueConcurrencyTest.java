@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion;
+
+import static software.amazon.ion.TestUtils.runConcurrently;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import org.junit.Test;
+
+/**
+ * Reads read-only values from many threads at once, without any locking.
+ */
+public class ReadOnlyValueConcurrencyTest
+    extends IonTestCase
+{
+    private static final int THREADS    = 8;
+    private static final int ITERATIONS = 200;
+
+    private static final String DOCUMENT =
+        "$ion_symbol_table::{symbols:[\"s1\", \"s2\"]} " +
+        "config::{name:\"shared\", s1:s2, list:[1, 2.5, 3e0, a::b, {{MTIz}}]," +
+        " f0:0, f1:1, f2:2, f3:3, f4:4, f5:5, f6:6, f7:7, f8:8, f9:9," +
+        " nested:{deep:[(x y z), {k:v}], ts:2016-01-01T}} " +
+        "[top, 2]";
+
+
+    /**
+     * Summarizes a value using many of the read paths of the DOM.
+     */
+    private static String summarize(IonDatagram dg)
+    {
+        StringBuilder buf = new StringBuilder();
+        buf.append(dg.hashCode()).append(' ');
+        buf.append(dg.systemSize()).append(' ');
+        Iterator<IonValue> system = dg.systemIterator();
+        while (system.hasNext()) {
+            buf.append(system.next().getType()).append(' ');
+        }
+
+        IonStruct config = (IonStruct) dg.get(0);
+        buf.append(config.hashCode()).append(' ');
+        buf.append(config.get("f7")).append(' ');
+        buf.append(config.get("nested")).append(' ');
+        buf.append(config.containsKey("missing")).append(' ');
+        buf.append(((IonSymbol) config.get("s1")).symbolValue().getText());
+        for (IonValue v : (IonList) config.get("list")) {
+            buf.append(v.hashCode()).append(' ');
+        }
+        buf.append(config.toString()).append(' ');
+        buf.append(dg.get(1).toString()).append(' ');
+        buf.append(config.equals(config.clone())).append(' ');
+        buf.append(dg.getBytes().length);
+        return buf.toString();
+    }
+
+    @Test
+    public void testConcurrentReads()
+        throws Exception
+    {
+        // Load separately so the expected summary doesn't touch the shared tree.
+        final String expected = summarize(loader().load(DOCUMENT));
+
+        final IonDatagram dg = loader().load(DOCUMENT);
+        dg.makeReadOnly();
+
+        Callable<String> task = new Callable<String>()
+        {
+            public String call() throws Exception
+            {
+                String summary = null;
+                for (int i = 0; i < ITERATIONS; i++)
+                {
+                    summary = summarize(dg);
+                    assertEquals(expected, summary);
+                }
+                return summary;
+            }
+        };
+
+        for (String summary : runConcurrently(Collections.nCopies(THREADS, task)))
+        {
+            assertEquals(expected, summary);
+        }
+    }
+
+    @Test
+    public void testMakeReadOnlyFinalizesLargeStruct()
+    {
+        IonStruct struct = system().newEmptyStruct();
+        for (int i = 0; i < 20; i++)
+        {
+            struct.add("f" + i, system().newInt(i));
+        }
+        // Clearing drops the field map, which isn't rebuilt by refilling.
+        struct.clear();
+        for (int i = 0; i < 20; i++)
+        {
+            struct.add("g" + i, system().newInt(i));
+        }
+        int hash = struct.hashCode();
+        struct.makeReadOnly();
+
+        assertEquals(hash, struct.hashCode());
+        for (int i = 0; i < 20; i++)
+        {
+            assertEquals(system().newInt(i), struct.get("g" + i));
+        }
+        assertNull(struct.get("f0"));
+    }
+}
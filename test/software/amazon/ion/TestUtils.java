@@ -26,6 +26,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class TestUtils
 {
@@ -232,6 +238,55 @@ public class TestUtils
     }
 
 
+    //========================================================================
+
+    /**
+     * Runs all the tasks at once, each on its own thread, and waits for them
+     * to finish. No task is called until every thread is running and waiting
+     * to call its task, so that the tasks actually overlap.
+     *
+     * @return the tasks' results, in the same order as the tasks.
+     *
+     * @throws ExecutionException if any task fails; the first failure (in
+     * task order) is rethrown.
+     */
+    public static <T> List<T> runConcurrently(List<? extends Callable<T>> tasks)
+        throws InterruptedException, ExecutionException
+    {
+        final CountDownLatch ready = new CountDownLatch(tasks.size());
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try
+        {
+            List<Future<T>> futures = new ArrayList<Future<T>>();
+            for (final Callable<T> task : tasks)
+            {
+                futures.add(executor.submit(new Callable<T>()
+                {
+                    public T call() throws Exception
+                    {
+                        ready.countDown();
+                        start.await();
+                        return task.call();
+                    }
+                }));
+            }
+            ready.await();
+            start.countDown();
+
+            List<T> results = new ArrayList<T>();
+            for (Future<T> future : futures)
+            {
+                results.add(future.get());
+            }
+            return results;
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
     //========================================================================
 
     /**
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.apps;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.system.IonBinaryWriterBuilder;
+import software.amazon.ion.util.IonStreamUtils;
+
+public class TranscodeAppTest
+    extends IonTestCase
+{
+    /** Several times the smallest buffer, so values are carried over. */
+    private static final int INPUT_SIZE = 3 << 20;
+
+    private static final byte[] IVM = {
+        (byte) 0xE0, 0x01, 0x00, (byte) 0xEA
+    };
+
+    /** {@code $ion_symbol_table::{symbols:["a"]}} */
+    private static final byte[] SYMBOLS_A = {
+        (byte) 0xE7, (byte) 0x81, (byte) 0x83, (byte) 0xD4,
+        (byte) 0x87, (byte) 0xB2, (byte) 0x81, 'a'
+    };
+
+    /** {@code $ion_symbol_table::{imports:$ion_symbol_table, symbols:["b"]}} */
+    private static final byte[] APPEND_SYMBOLS_B = {
+        (byte) 0xEA, (byte) 0x81, (byte) 0x83, (byte) 0xD7,
+        (byte) 0x86, 0x71, 0x03, (byte) 0x87, (byte) 0xB2, (byte) 0x81, 'b'
+    };
+
+    @Rule
+    public TemporaryFolder myFolder = new TemporaryFolder();
+
+
+    private byte[] transcode(byte[] input, String... options)
+        throws IOException
+    {
+        File in = myFolder.newFile();
+        OutputStream out = new FileOutputStream(in);
+        try
+        {
+            out.write(input);
+        }
+        finally
+        {
+            out.close();
+        }
+
+        File output = new File(myFolder.getRoot(), "output");
+        String[] args = Arrays.copyOf(options, options.length + 3);
+        args[options.length]     = "--output";
+        args[options.length + 1] = output.getPath();
+        args[options.length + 2] = in.getPath();
+        TranscodeApp.main(args);
+
+        return BaseApp.loadAsByteArray(output);
+    }
+
+    private void checkSameValues(byte[] expected, byte[] actual)
+    {
+        IonReader expectedReader = system().newReader(expected);
+        IonReader actualReader   = system().newReader(actual);
+        int count = 0;
+        while (expectedReader.next() != null)
+        {
+            assertNotNull("missing value " + count, actualReader.next());
+            assertEquals("value " + count,
+                         system().newValue(expectedReader),
+                         system().newValue(actualReader));
+            count++;
+        }
+        assertNull(actualReader.next());
+    }
+
+    /**
+     * A list of 100 symbols alternating between two IDs.
+     */
+    private static byte[] symbolList(int sid1, int sid2)
+    {
+        byte[] list = new byte[203];
+        list[0] = (byte) 0xBE;
+        list[1] = 0x01;
+        list[2] = (byte) 0xC8;
+        for (int i = 3; i < list.length; i += 2)
+        {
+            list[i]     = 0x71;
+            list[i + 1] = (byte) (i % 4 == 3 ? sid1 : sid2);
+        }
+        return list;
+    }
+
+    private static String text(int size)
+    {
+        StringBuilder text = new StringBuilder();
+        text.append("$ion_symbol_table::{symbols:[\"a\", \"b\", \"a\"]}\n");
+        while (text.length() < size / 3)
+        {
+            text.append("{x:$10, y:[$11, $12, \"str\"], z:b::1.5} 'a' ");
+            text.append("'''con''' '''cat'''\n");
+        }
+        text.append("$ion_symbol_table::{imports:$ion_symbol_table,");
+        text.append(" symbols:[\"c\"]}\n");
+        while (text.length() < 2 * size / 3)
+        {
+            text.append("($13 $10 (c)) /* comment */ 2016-01-01T c::12e3\n");
+        }
+        text.append("$ion_1_0 ");
+
+        // A value larger than the buffer, which must grow to hold it.
+        char[] large = new char[size / 2];
+        Arrays.fill(large, 'x');
+        text.append('"').append(large).append("\" \"\u00e9\u4e2d\"\n");
+        return text.toString();
+    }
+
+
+    @Test
+    public void testBinaryAcrossBuffers()
+        throws IOException
+    {
+        ByteArrayOutputStream input = new ByteArrayOutputStream();
+        input.write(IVM);
+        input.write(SYMBOLS_A);
+        byte[] list = symbolList(10, 10);
+        while (input.size() < INPUT_SIZE / 3)
+        {
+            input.write(list);
+        }
+        input.write(APPEND_SYMBOLS_B);
+        list = symbolList(10, 11);
+        while (input.size() < 2 * INPUT_SIZE / 3)
+        {
+            input.write(list);
+        }
+
+        IonWriter writer = IonBinaryWriterBuilder.standard().build(input);
+        writer.writeBlob(new byte[INPUT_SIZE / 2]);
+        for (int i = 0; i < 1000; i++)
+        {
+            writer.stepIn(IonType.STRUCT);
+            writer.setFieldName("field" + i);
+            writer.writeSymbol("sym" + (i % 10));
+            writer.stepOut();
+        }
+        writer.close();
+
+        byte[] output = transcode(input.toByteArray(),
+                                  "--buffer-limit", "1",
+                                  "--batch-size", "10",
+                                  "--threads", "3");
+        assertTrue(IonStreamUtils.isIonBinary(output));
+        checkSameValues(input.toByteArray(), output);
+    }
+
+    @Test
+    public void testTextAcrossBuffers()
+        throws IOException
+    {
+        byte[] input = text(INPUT_SIZE).getBytes("UTF-8");
+        byte[] output = transcode(input,
+                                  "--format", "text",
+                                  "--buffer-limit", "1",
+                                  "--batch-size", "7",
+                                  "--threads", "3");
+        checkSameValues(input, output);
+    }
+
+    @Test
+    public void testGzippedTextToBinary()
+        throws IOException
+    {
+        byte[] input = text(INPUT_SIZE).getBytes("UTF-8");
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        GZIPOutputStream out = new GZIPOutputStream(gzipped);
+        out.write(input);
+        out.close();
+
+        byte[] output = transcode(gzipped.toByteArray(),
+                                  "--buffer-limit", "1",
+                                  "--threads", "2");
+        assertTrue(IonStreamUtils.isIonBinary(output));
+        checkSameValues(input, output);
+    }
+}
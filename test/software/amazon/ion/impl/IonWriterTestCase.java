@@ -23,10 +23,14 @@ import static software.amazon.ion.impl.PrivateUtils.newSymbolToken;
 import static software.amazon.ion.impl.Symtabs.FRED_MAX_IDS;
 import static software.amazon.ion.junit.IonAssert.assertIonEquals;
 import static software.amazon.ion.junit.IonAssert.expectNextField;
+import static software.amazon.ion.util.IonStreamUtils.writeBlob;
+import static software.amazon.ion.util.IonStreamUtils.writeClob;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Iterator;
 import org.junit.After;
@@ -443,6 +447,55 @@ public abstract class IonWriterTestCase
     }
 
 
+    @Test
+    public void testWritingStreamedLobs()
+        throws Exception
+    {
+        // big enough to take several chunks and cross buffer blocks
+        byte[] data = new byte[100000];
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = (byte) (i * 31);
+        }
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+        direct.put(data);
+        direct.flip();
+
+        iw = makeWriter();
+        writeBlob(iw, data.length, new ByteArrayInputStream(data));
+        writeClob(iw, 90, new ByteArrayInputStream(data, 10, 100));
+        writeBlob(iw, 90, (ByteBuffer) ByteBuffer.wrap(data).position(10));
+        writeClob(iw, data.length, direct);
+        writeBlob(iw, 0, (ByteBuffer) null);
+        writeClob(iw, 0, new ByteArrayInputStream(data));
+        assertEquals(data.length, direct.position());
+
+        IonDatagram dg = reload();
+        assertEquals(6, dg.size());
+        assertTrue(Arrays.equals(data, ((IonBlob) dg.get(0)).getBytes()));
+        assertEqualBytes(data, 10, 100, ((IonClob) dg.get(1)).getBytes());
+        assertEqualBytes(data, 10, 100, ((IonBlob) dg.get(2)).getBytes());
+        assertTrue(Arrays.equals(data, ((IonClob) dg.get(3)).getBytes()));
+        assertTrue(dg.get(4).isNullValue());
+        assertEquals(0, ((IonClob) dg.get(5)).byteSize());
+    }
+
+    @Test
+    public void testWritingStreamedLobTooShort()
+        throws Exception
+    {
+        iw = makeWriter();
+        try {
+            writeBlob(iw, 10, ByteBuffer.allocate(5));
+            fail("expected exception");
+        }
+        catch (IllegalArgumentException e) { }
+
+        thrown.expect(IonException.class);
+        writeBlob(iw, 10, new ByteArrayInputStream(new byte[5]));
+    }
+
+
     @Test
     public void testWritingDeepNestedList() throws Exception {
         IonDatagram dg = loader().load("[[[[[[[[[[[[[[[[]]]]]]]]]]]]]]]]");
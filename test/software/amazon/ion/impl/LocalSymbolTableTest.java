@@ -14,12 +14,16 @@
 
 package software.amazon.ion.impl;
 
+import static software.amazon.ion.TestUtils.runConcurrently;
 import static software.amazon.ion.impl.PrivateUtils.EMPTY_STRING_ARRAY;
 import static software.amazon.ion.impl.PrivateUtils.copyLocalSymbolTable;
 import static software.amazon.ion.impl.Symtabs.FRED_MAX_IDS;
 import static software.amazon.ion.impl.Symtabs.LOCAL_SYMBOLS_ABC;
 import static software.amazon.ion.impl.Symtabs.makeLocalSymtab;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
 import org.junit.Test;
 import software.amazon.ion.IonException;
 import software.amazon.ion.IonTestCase;
@@ -298,4 +302,117 @@ public class LocalSymbolTableTest
         SymbolTable st = makeLocalSymtab(system(), LOCAL_SYMBOLS_ABC);
         assertEquals(0, st.getVersion());
     }
+
+
+    //-------------------------------------------------------------------------
+    // Concurrency
+
+    private static final int THREADS = 8;
+
+    @Test
+    public void testConcurrentIntern()
+        throws Exception
+    {
+        final SymbolTable st = makeLocalSymtab(system(), LOCAL_SYMBOLS_ABC,
+                                               ST_FRED_V2);
+        final int symbolCount = 2000;
+        final SymbolToken[][] tokens = new SymbolToken[THREADS][symbolCount];
+
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        for (int t = 0; t < THREADS; t++)
+        {
+            final int thread = t;
+            tasks.add(new Callable<Void>()
+            {
+                public Void call()
+                {
+                    // Each thread interns the same symbols in its own order.
+                    for (int i = 0; i < symbolCount; i++)
+                    {
+                        int s = (i * 7 + thread * 263) % symbolCount;
+                        tokens[thread][s] = st.intern("sym" + s);
+                    }
+                    return null;
+                }
+            });
+        }
+        runConcurrently(tasks);
+
+        assertEquals(st.getImportedMaxId() + LOCAL_SYMBOLS_ABC.length
+                         + symbolCount,
+                     st.getMaxId());
+        for (int s = 0; s < symbolCount; s++)
+        {
+            SymbolToken expected = st.find("sym" + s);
+            assertEquals("sym" + s, st.findKnownSymbol(expected.getSid()));
+            for (int t = 0; t < THREADS; t++)
+            {
+                assertEquals(expected.getSid(), tokens[t][s].getSid());
+            }
+        }
+    }
+
+    /**
+     * Many readers hammering a table that one writer keeps extending.
+     * Readers must always see a consistent table: every sid they find
+     * resolves to its text, and the max id never shrinks.
+     *
+     * @see software.amazon.ion.profile.SymbolTableLookupTiming
+     */
+    @Test
+    public void testContendedLookups()
+        throws Exception
+    {
+        final SymbolTable st = makeLocalSymtab(system(), LOCAL_SYMBOLS_ABC,
+                                               ST_FRED_V2);
+        final int symbolCount = 5000;
+
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        tasks.add(new Callable<Void>()
+        {
+            public Void call()
+            {
+                for (int i = 0; i < symbolCount; i++)
+                {
+                    st.intern("sym" + i);
+                }
+                return null;
+            }
+        });
+        for (int t = 1; t < THREADS; t++)
+        {
+            tasks.add(new Callable<Void>()
+            {
+                public Void call()
+                {
+                    int maxId = 0;
+                    for (int i = 0; i < symbolCount; i++)
+                    {
+                        String text = "sym" + i;
+                        SymbolToken tok = st.find(text);
+                        if (tok != null)
+                        {
+                            assertEquals(text, tok.getText());
+                            assertEquals(text,
+                                         st.findKnownSymbol(tok.getSid()));
+                            assertEquals(tok.getSid(), st.findSymbol(text));
+                        }
+                        assertEquals(A, st.find(A).getText());
+
+                        int newMaxId = st.getMaxId();
+                        assertTrue(newMaxId >= maxId);
+                        maxId = newMaxId;
+                        String last = st.findKnownSymbol(maxId);
+                        assertNotNull(last);
+                    }
+                    return null;
+                }
+            });
+        }
+        runConcurrently(tasks);
+
+        assertEquals(st.getImportedMaxId() + LOCAL_SYMBOLS_ABC.length
+                         + symbolCount,
+                     st.getMaxId());
+    }
 }
@@ -24,6 +24,7 @@ import org.junit.Test;
 import software.amazon.ion.IonDatagram;
 import software.amazon.ion.IonType;
 import software.amazon.ion.SymbolTable;
+import software.amazon.ion.UnknownSymbolException;
 import software.amazon.ion.impl.PrivateUtils;
 
 /**
@@ -37,7 +38,7 @@ public class OptimizedBinaryWriterSymbolTableTest
      * Checks that the writer's symtab is not an extension of the reader's,
      * and that optimized write has taken place depending on whether the
      * the writer {@link #isStreamCopyOptimized()} and reader's current value
-     * is a non-symbol scalar.
+     * is a non-symbol scalar or a container, whose symbols are remapped.
      */
     private void checkWriteValueWithIncompatibleSymtab()
         throws Exception
@@ -45,7 +46,9 @@ public class OptimizedBinaryWriterSymbolTableTest
         IonType type = ir.next();
 
         assertFalse(symtabExtends(iw.getSymbolTable(), ir.getSymbolTable()));
-        checkWriteValue(isStreamCopyOptimized() && isNonSymbolScalar(type));
+        boolean transferable = isNonSymbolScalar(type)
+            || (IonType.isContainer(type) && ! ir.isNullValue());
+        checkWriteValue(isStreamCopyOptimized() && transferable);
     }
 
     /**
@@ -287,6 +290,78 @@ public class OptimizedBinaryWriterSymbolTableTest
                                 system().iterate(outputByteArray()));
     }
 
+    /**
+     * Writer's LST differs from Reader's - containers are transferred with
+     * their symbols remapped.
+     */
+    @Test
+    public void testOptimizedWriteValueRemappedContainers()
+        throws Exception
+    {
+        String readerLST = printLocalSymtab("a", "b", "c", "d");
+        String data =
+            "{a:b, c:[b, d::1, (c 2.5 \"s\" {{aGk=}}), null.sexp], $0:$0}" +
+            " a::[{}, [], d::{d:null.symbol}] null.list (a)";
+        byte[] source = encode(readerLST + data);
+        ir = makeReaderProxy(source);
+        iw = makeWriterWithLocalSymtab("z", "c", "b");
+
+        checkWriteValueWithIncompatibleSymtab();    // {a:b, ...}
+        // Annotated values aren't transferred, but their children may be.
+        ir.next();
+        iw.writeValue(ir);                          // a::[...]
+        checkWriteValueWithIncompatibleSymtab();    // null.list
+        checkWriteValueWithIncompatibleSymtab();    // (a)
+
+        iw.close();
+
+        IonDatagram expected = loader().load(data);
+        IonDatagram actual   = loader().load(outputByteArray());
+        assertIonEquals(expected, actual);
+    }
+
+    /**
+     * Merges streams with different LSTs, across which the writer's symbols
+     * are reset.
+     */
+    @Test
+    public void testOptimizedWriteValueRemappedAcrossStreams()
+        throws Exception
+    {
+        byte[] source1 = encode(printLocalSymtab("x", "y") + "{x:y} [y, x]");
+        byte[] source2 = encode(printLocalSymtab("y", "w") + "{y:w} (w)");
+        iw = makeWriterWithLocalSymtab("w");
+
+        ir = makeReaderProxy(source1);
+        checkWriteValueWithIncompatibleSymtab();
+        checkWriteValueWithIncompatibleSymtab();
+        iw.finish();
+
+        ir = makeReaderProxy(source2);
+        checkWriteValueWithIncompatibleSymtab();
+        iw.finish();
+        checkWriteValueWithIncompatibleSymtab();
+
+        IonDatagram expected = loader().load("{x:y} [y, x] {y:w} (w)");
+        IonDatagram actual   = loader().load(outputByteArray());
+        assertIonEquals(expected, actual);
+    }
+
+    /**
+     * Symbols with unknown text can't be remapped.
+     */
+    @Test(expected = UnknownSymbolException.class)
+    public void testOptimizedWriteValueRemappedUnknownSymbol()
+        throws Exception
+    {
+        byte[] source = encode(importFred1 + "[fred_1, $11]");
+        ir = makeReaderProxy(source);
+        iw = makeWriter();
+
+        ir.next();
+        iw.writeValue(ir);
+    }
+
     /**
      * Reader's source contains interspersed LSTs.
      * TODO amzn/ion-java#39 Investigate allowing a config. option to copy reader's LST
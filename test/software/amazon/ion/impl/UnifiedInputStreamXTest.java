@@ -6,7 +6,11 @@ package software.amazon.ion.impl;
 
 import org.junit.Assert;
 import org.junit.Test;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.system.IonReaderBuilder;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
@@ -50,4 +54,133 @@ public class UnifiedInputStreamXTest extends Assert {
 
         assertArrayEquals(expected, actual);
     }
+
+    @Test
+    public void testRunsStopAtClassBoundary() throws Exception {
+        UnifiedInputStreamX chars = UnifiedInputStreamX.makeStream("ab_9$ \u00e9");
+        UnifiedInputStreamX bytes = UnifiedInputStreamX.makeStream("ab_9$ \u00e9".getBytes("UTF-8"));
+
+        for (UnifiedInputStreamX uix : Arrays.asList(chars, bytes)) {
+            StringBuilder sb = new StringBuilder();
+            assertEquals(5, uix.appendRun(sb, IonTokenConstsX.CC_SYMBOL));
+            assertEquals("ab_9$", sb.toString());
+            assertEquals(0, uix.appendRun(sb, IonTokenConstsX.CC_SYMBOL));
+            assertEquals(1, uix.skipRun(IonTokenConstsX.CC_WHITESPACE));
+            // non 7 bit characters always end a run
+            assertEquals(0, uix.skipRun(IonTokenConstsX.CC_STRING));
+            assertTrue(uix.read() > 0x7F);
+        }
+    }
+
+    @Test
+    public void testRunsStopAtPageBoundary() throws Exception {
+        // one byte per read, so every page holds a single character
+        InputStream trickle = new InputStream() {
+            int remaining = 3;
+
+            @Override
+            public int read() throws IOException {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (remaining == 0) {
+                    return -1;
+                }
+                remaining--;
+                b[off] = (byte) 'a';
+                return 1;
+            }
+        };
+        UnifiedInputStreamX uix = UnifiedInputStreamX.makeStream(trickle);
+
+        StringBuilder sb = new StringBuilder();
+        assertEquals(1, uix.appendRun(sb, IonTokenConstsX.CC_SYMBOL));
+        assertEquals(0, uix.appendRun(sb, IonTokenConstsX.CC_SYMBOL));
+        assertEquals('a', uix.read());
+        assertEquals(0, uix.appendRun(sb, IonTokenConstsX.CC_SYMBOL));
+        assertEquals('a', uix.read());
+        assertEquals("a", sb.toString());
+        assertEquals(UnifiedInputStreamX.EOF, uix.read());
+        assertEquals(0, uix.skipRun(IonTokenConstsX.CC_SYMBOL));
+    }
+
+    @Test
+    public void testTextRunsDecodeNonAscii() throws Exception {
+        String text = "a\u00e9\u4e2d\ud83d\ude00b\"c";
+        UnifiedInputStreamX chars = UnifiedInputStreamX.makeStream(text);
+        UnifiedInputStreamX bytes = UnifiedInputStreamX.makeStream(text.getBytes("UTF-8"));
+
+        StringBuilder sb = new StringBuilder();
+        // surrogates end a run over chars, the caller pairs them up
+        assertEquals(3, chars.appendTextRun(sb, IonTokenConstsX.CC_STRING));
+        assertEquals("a\u00e9\u4e2d", sb.toString());
+
+        sb.setLength(0);
+        assertEquals(11, bytes.appendTextRun(sb, IonTokenConstsX.CC_STRING));
+        assertEquals("a\u00e9\u4e2d\ud83d\ude00b", sb.toString());
+        assertEquals('"', bytes.read());
+
+        bytes = UnifiedInputStreamX.makeStream(text.getBytes("UTF-8"));
+        assertEquals(11, bytes.skipTextRun(IonTokenConstsX.CC_STRING));
+        assertEquals('"', bytes.read());
+    }
+
+    @Test
+    public void testTextRunsStopAtMalformedUtf8() throws Exception {
+        byte[][] malformed = {
+            { (byte) 0x80 },                                      // continuation
+            { (byte) 0xC0, (byte) 0x80 },                         // overlong
+            { (byte) 0xE0, (byte) 0x80, (byte) 0x80 },            // overlong
+            { (byte) 0xED, (byte) 0xA0, (byte) 0x80 },            // surrogate
+            { (byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80 }, // > U+10FFFF
+            { (byte) 0xE4, (byte) 0xB8 },                         // truncated
+            { (byte) 0xF8 },
+        };
+        for (byte[] bad : malformed) {
+            byte[] data = new byte[bad.length + 1];
+            data[0] = 'a';
+            System.arraycopy(bad, 0, data, 1, bad.length);
+            UnifiedInputStreamX uix = UnifiedInputStreamX.makeStream(data);
+            StringBuilder sb = new StringBuilder();
+            assertEquals(1, uix.appendTextRun(sb, IonTokenConstsX.CC_STRING));
+            assertEquals("a", sb.toString());
+            assertEquals(bad[0] & 0xFF, uix.read());
+
+            uix = UnifiedInputStreamX.makeStream(data);
+            assertEquals(1, uix.skipTextRun(IonTokenConstsX.CC_STRING));
+            assertEquals(bad[0] & 0xFF, uix.read());
+        }
+    }
+
+    @Test
+    public void testSkippedTextRejectsMalformedUtf8() throws Exception {
+        String[][] values = {
+            { "\"a", "b\"" },
+            { "'a", "b'" },
+            { "'''a", "b'''" },
+            { "[\"a", "b\"]" },
+        };
+        // bytes that can't start a UTF-8 sequence
+        byte[] starts = { (byte) 0x80, (byte) 0xF8 };
+        for (String[] value : values) {
+            for (byte bad : starts) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                out.write(value[0].getBytes("UTF-8"));
+                out.write(bad);
+                out.write((value[1] + " 1").getBytes("UTF-8"));
+
+                IonReader reader = IonReaderBuilder.standard().build(out.toByteArray());
+                try {
+                    // the text is skipped, never read: by next() looking for
+                    // the end of a symbol or string, or by next() moving on
+                    reader.next();
+                    reader.next();
+                    fail("expected an error skipping " + value[0] + value[1]);
+                }
+                catch (IonException e) { }
+            }
+        }
+    }
 }
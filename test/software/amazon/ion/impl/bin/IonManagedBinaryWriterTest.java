@@ -40,6 +40,7 @@ import software.amazon.ion.impl.bin.Symbols;
 import software.amazon.ion.impl.bin.IonManagedBinaryWriter.ImportedSymbolResolverMode;
 import software.amazon.ion.impl.bin.PrivateIonManagedBinaryWriterBuilder.AllocatorMode;
 import software.amazon.ion.junit.Injected.Inject;
+import software.amazon.ion.util.IonStreamUtils;
 
 public class IonManagedBinaryWriterTest extends IonRawBinaryWriterTest
 {
@@ -202,6 +203,46 @@ public class IonManagedBinaryWriterTest extends IonRawBinaryWriterTest
         assertValue("{a:1, b:2, c:3, d:4, e:5}");
     }
 
+    @Test
+    public void testStringListInLocalSymbolTable() throws Exception
+    {
+        // the list's strings must be intercepted as the table's symbols
+        writer.setTypeAnnotations("$ion_symbol_table");
+        writer.stepIn(IonType.STRUCT);
+        {
+            writer.setFieldName("symbols");
+            IonStreamUtils.writeStringList(writer, new String[] { "x", "y" });
+        }
+        writer.stepOut();
+        assertEquals(SystemSymbols.ION_1_0_MAX_ID + 2, writer.getSymbolTable().findSymbol("y"));
+
+        writer.writeSymbol("y");
+        assertValue("y");
+    }
+
+    @Test
+    public void testPrimitiveListsInLocalSymbolTable() throws Exception
+    {
+        // open content of the table, written while its symbols are intercepted
+        writer.setTypeAnnotations("$ion_symbol_table");
+        writer.stepIn(IonType.STRUCT);
+        {
+            writer.setFieldName("ints");
+            IonStreamUtils.writeIntList(writer, new int[] { 1, 2 });
+            writer.setFieldName("floats");
+            IonStreamUtils.writeFloatList(writer, new double[] { 1.5 });
+            writer.setFieldName("bools");
+            IonStreamUtils.writeBoolList(writer, new boolean[] { true });
+            writer.setFieldName("symbols");
+            IonStreamUtils.writeStringList(writer, new String[] { "x" });
+        }
+        writer.stepOut();
+        assertEquals(SystemSymbols.ION_1_0_MAX_ID + 1, writer.getSymbolTable().findSymbol("x"));
+
+        IonStreamUtils.writeIntList(writer, new long[] { 3, 4 });
+        assertValue("[3, 4]");
+    }
+
     @Test
     public void testSymbolTableExport() throws Exception {
         writer.stepIn(IonType.STRUCT);
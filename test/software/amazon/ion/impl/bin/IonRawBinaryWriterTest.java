@@ -60,6 +60,7 @@ import software.amazon.ion.junit.Injected;
 import software.amazon.ion.junit.IonAssert;
 import software.amazon.ion.junit.Injected.Inject;
 import software.amazon.ion.system.IonSystemBuilder;
+import software.amazon.ion.util.IonStreamUtils;
 
 // TODO incorporate this into the main reader/writer tests
 
@@ -288,6 +289,105 @@ public class IonRawBinaryWriterTest extends Assert
         buffer.reset();
     }
 
+    @Test
+    public void testIntList() throws Exception
+    {
+        IonStreamUtils.writeIntList(writer, new long[0]);
+        assertValue("[]");
+
+        IonStreamUtils.writeIntList(writer, new long[] {
+            0, 1, -1, 255, 256, -65536, Long.MAX_VALUE, Long.MIN_VALUE
+        });
+        assertValue("[0, 1, -1, 255, 256, -65536, 0x7FFFFFFFFFFFFFFF, -0x8000000000000000]");
+
+        IonStreamUtils.writeIntList(writer, new int[] { Integer.MIN_VALUE, Integer.MAX_VALUE });
+        assertValue("[-2147483648, 2147483647]");
+
+        IonStreamUtils.writeIntList(writer, new short[] { Short.MIN_VALUE, 0 });
+        assertValue("[-32768, 0]");
+
+        IonStreamUtils.writeIntList(writer, new byte[] { Byte.MIN_VALUE, Byte.MAX_VALUE });
+        assertValue("[-128, 127]");
+
+        // long enough to need a length field and to span several blocks
+        final int[] values = new int[100];
+        final StringBuilder literal = new StringBuilder("[");
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = (i - 50) * 1000003;
+            literal.append(values[i]).append(',');
+        }
+        literal.append(']');
+        IonStreamUtils.writeIntList(writer, values);
+        assertValue(literal.toString());
+    }
+
+    @Test
+    public void testFloatList() throws Exception
+    {
+        IonStreamUtils.writeFloatList(writer, new double[] {
+            0.0, -0.0, 1.5, 2.147483647e9, Double.NaN, Double.NEGATIVE_INFINITY
+        });
+        assertValue("[0e0, -0e0, 1.5e0, 2.147483647e9, nan, -inf]");
+
+        IonStreamUtils.writeFloatList(writer, new float[] { 0.1f, Float.MAX_VALUE });
+        assertValue("[" + ((double) 0.1f) + "e0, " + ((double) Float.MAX_VALUE) + "]");
+    }
+
+    @Test
+    public void testVariableFloatList() throws Exception
+    {
+        // normalize the BVM as in testVariableFloat
+        writer.writeFloat(0.0);
+        writer.finish();
+        buffer.reset();
+
+        // both fit in 32-bits
+        IonStreamUtils.writeFloatList(writer, new double[] { 0.0, Double.POSITIVE_INFINITY });
+        writer.finish();
+        assertEquals(ivmLength() + 1 + 5 + 5,
+                     buffer.size());
+        buffer.reset();
+
+        // the second needs 64-bits
+        IonStreamUtils.writeFloatList(writer, new double[] { 0.5, 6e128 });
+        writer.finish();
+        assertEquals(ivmLength() + 2 + 5 + 9,
+                     buffer.size());
+        buffer.reset();
+
+        IonStreamUtils.writeFloatList(writer, new float[] { 0.1f, 3.0f, 6e28f });
+        writer.finish();
+        assertEquals(ivmLength() + 2 + 5 + 5 + 5,
+                     buffer.size());
+        buffer.reset();
+    }
+
+    @Test
+    public void testOtherLists() throws Exception
+    {
+        IonStreamUtils.writeBoolList(writer, new boolean[] { true, false });
+        assertValue("[true, false]");
+
+        IonStreamUtils.writeStringList(writer, new String[] { "a", null, "" });
+        assertValue("[\"a\", null.string, \"\"]");
+    }
+
+    @Test
+    public void testListInContainer() throws Exception
+    {
+        writer.stepIn(STRUCT);
+        {
+            writer.setFieldNameSymbol(systemSymbol(NAME_SID));
+            writer.setTypeAnnotationSymbols(systemSymbol(VERSION_SID));
+            IonStreamUtils.writeIntList(writer, new int[] { 1, 2, 3 });
+            writer.setFieldNameSymbol(systemSymbol(IMPORTS_SID));
+            IonStreamUtils.writeFloatList(writer, new double[] { 1.5 });
+        }
+        writer.stepOut();
+        assertValue("{name:version::[1, 2, 3], imports:[1.5e0]}");
+    }
+
     private static final String DECIMAL_10_DIGIT  = "1.000000001";
     private static final String DECIMAL_45_DIGIT = "1.00000000000000000000000000000000000000000001";
     @Test
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.profile;
+
+import static software.amazon.ion.TestUtils.runConcurrently;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import software.amazon.ion.IonSystem;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.system.IonSystemBuilder;
+
+/**
+ * Measures the throughput of lookups on a local symbol table shared by
+ * several threads, while one more thread keeps interning new symbols.
+ * <p>
+ * Each run is timed twice: once calling the table directly, and once
+ * holding the table's monitor around every lookup, which is what each
+ * lookup cost when the table's methods were synchronized.
+ * <p>
+ * Usage: {@code SymbolTableLookupTiming [threads [millis]]}
+ */
+public class SymbolTableLookupTiming
+{
+    private static final int SYMBOLS = 1000;
+
+    private static volatile boolean running;
+
+    public static void main(String[] args)
+        throws Exception
+    {
+        int maxThreads = (args.length > 0 ? Integer.parseInt(args[0]) : 8);
+        long millis    = (args.length > 1 ? Long.parseLong(args[1]) : 2000);
+
+        IonSystem ion = IonSystemBuilder.standard().build();
+
+        // Warm up the JIT so the first row isn't skewed.
+        time(ion, maxThreads, millis, false);
+        time(ion, maxThreads, millis, true);
+
+        System.out.println("threads  direct ops/ms  locked ops/ms");
+        for (int threads = 1; threads <= maxThreads; threads *= 2)
+        {
+            long direct = time(ion, threads, millis, false);
+            long locked = time(ion, threads, millis, true);
+            System.out.println(String.format("%7d  %13d  %13d",
+                                             threads,
+                                             direct / millis,
+                                             locked / millis));
+        }
+    }
+
+    /**
+     * @return the total number of lookups done by all the readers.
+     */
+    private static long time(IonSystem ion, int readers, final long millis,
+                             final boolean locked)
+        throws Exception
+    {
+        final SymbolTable st = ion.newLocalSymbolTable();
+        for (int i = 0; i < SYMBOLS; i++)
+        {
+            st.intern("sym" + i);
+        }
+
+        List<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+        tasks.add(new Callable<Long>()
+        {
+            public Long call()
+            {
+                long i = SYMBOLS;
+                while (running)
+                {
+                    String text = "new" + i++;
+                    if (locked)
+                    {
+                        synchronized (st)
+                        {
+                            st.intern(text);
+                        }
+                    }
+                    else
+                    {
+                        st.intern(text);
+                    }
+                }
+                return 0L;
+            }
+        });
+        for (int t = 0; t < readers; t++)
+        {
+            tasks.add(new Callable<Long>()
+            {
+                public Long call()
+                {
+                    long ops = 0;
+                    while (running)
+                    {
+                        for (int i = 0; i < SYMBOLS; i++)
+                        {
+                            if (locked)
+                            {
+                                synchronized (st)
+                                {
+                                    lookup(st, i);
+                                }
+                            }
+                            else
+                            {
+                                lookup(st, i);
+                            }
+                        }
+                        ops += SYMBOLS;
+                    }
+                    return ops;
+                }
+            });
+        }
+
+        running = true;
+        Thread timer = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    Thread.sleep(millis);
+                }
+                catch (InterruptedException e) { }
+                running = false;
+            }
+        };
+        timer.start();
+
+        long total = 0;
+        for (Long ops : runConcurrently(tasks))
+        {
+            total += ops;
+        }
+        timer.join();
+        return total;
+    }
+
+    private static void lookup(SymbolTable st, int i)
+    {
+        int sid = st.findSymbol("sym" + i);
+        if (st.findKnownSymbol(sid) == null || st.getMaxId() < sid)
+        {
+            throw new IllegalStateException("inconsistent table");
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.streaming;
+
+import static software.amazon.ion.impl.PrivateUtils.utf8;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import org.junit.Test;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.system.IonReaderBuilder;
+
+public class JsonStrictReaderTest
+    extends IonTestCase
+{
+    private static final IonReaderBuilder JSON =
+        IonReaderBuilder.standard().withJsonStrict(true).immutable();
+
+    private static final String JSON_DOCUMENT =
+        "{\"a\": [1, -2, 3.50, -0.0, 6e-1, 7E+2, \"str\\u00e9\"],\n" +
+        " \"b\": {\"c\": null, \"d\": true, \"e\": false},\n" +
+        " \"\": 12345678901234567890123}\n" +
+        "[] {} \"top\" 0 null";
+
+    private void readAll(IonReader reader)
+    {
+        while (reader.next() != null)
+        {
+            if (IonType.isContainer(reader.getType()))
+            {
+                reader.stepIn();
+                readAll(reader);
+                reader.stepOut();
+            }
+            else if (reader.getType() == IonType.STRING)
+            {
+                // escapes are only decoded when the string is loaded
+                reader.stringValue();
+            }
+        }
+    }
+
+    private void badJson(String text)
+    {
+        try
+        {
+            readAll(JSON.build(text));
+            fail("expected a syntax error reading " + text);
+        }
+        catch (IonException e) { }
+    }
+
+
+    @Test
+    public void testReadsLikeIonText()
+    {
+        ReaderCompare.compare(system().newReader(JSON_DOCUMENT),
+                              JSON.build(JSON_DOCUMENT));
+        ReaderCompare.compare(system().newReader(JSON_DOCUMENT),
+                              JSON.build(utf8(JSON_DOCUMENT)));
+        ReaderCompare.compare(system().newReader(JSON_DOCUMENT),
+                              JSON.build(new ByteArrayInputStream(utf8(JSON_DOCUMENT))));
+        ReaderCompare.compare(system().newReader(JSON_DOCUMENT),
+                              JSON.build(new StringReader(JSON_DOCUMENT)));
+    }
+
+    @Test
+    public void testNumericTypes()
+    {
+        IonReader reader = JSON.build("[0, -1, 1.5, 1e0, 1.5E-3]");
+        reader.next();
+        reader.stepIn();
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(-1, reader.intValue());
+        assertEquals(IonType.DECIMAL, reader.next());
+        assertEquals(IonType.FLOAT, reader.next());
+        assertEquals(IonType.FLOAT, reader.next());
+        assertEquals(1.5e-3, reader.doubleValue(), 0);
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testJsonEscapes()
+    {
+        IonReader reader = JSON.build("\"\\\"\\\\\\/\\b\\f\\n\\r\\t\\u0041\"");
+        assertEquals(IonType.STRING, reader.next());
+        assertEquals("\"\\/\b\f\n\r\tA", reader.stringValue());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testRejectsIonOnlySyntax()
+    {
+        badJson("a::1");
+        badJson("(a)");
+        badJson("abc");
+        badJson("'abc'");
+        badJson("'''abc'''");
+        badJson("{a: 1}");
+        badJson("{'a': 1}");
+        badJson("{true: 1}");
+        badJson("null.int");
+        badJson("nan");
+        badJson("+inf");
+        badJson("-inf");
+        badJson("+1");
+        badJson("0x10");
+        badJson("0b10");
+        badJson("1d2");
+        badJson("1_000");
+        badJson("1.");
+        badJson("01");
+        badJson("2001-01-01T");
+        badJson("{{}}");
+        badJson("// comment\n1");
+        badJson("/* comment */ 1");
+        badJson("[1, /* comment */ 2]");
+        badJson("[1,]");
+        badJson("[1, ]");
+        badJson("{\"a\":1,}");
+        badJson("{\"a\":[{},],\"b\":2}");
+        badJson("\"\\x41\"");
+        badJson("\"\\0\"");
+        badJson("\"\\a\"");
+        badJson("\"\\U00000041\"");
+        badJson("\"a\\\nb\"");
+        badJson("{\"\\x41\":1}");
+    }
+
+    @Test
+    public void testRejectsBinary()
+    {
+        byte[] binary = system().newDatagram(system().newInt(1)).getBytes();
+        try
+        {
+            JSON.build(binary);
+            fail("expected exception");
+        }
+        catch (IonException e) { }
+    }
+}
@@ -17,7 +17,9 @@ package software.amazon.ion.streaming;
 import static software.amazon.ion.impl.Symtabs.printLocalSymtab;
 import static software.amazon.ion.junit.IonAssert.checkNullSymbol;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Arrays;
@@ -25,7 +27,9 @@ import org.junit.Ignore;
 import org.junit.Test;
 import software.amazon.ion.BinaryTest;
 import software.amazon.ion.Decimal;
+import software.amazon.ion.IonDatagram;
 import software.amazon.ion.IonType;
+import software.amazon.ion.LobStreamProvider;
 import software.amazon.ion.ReaderMaker;
 import software.amazon.ion.SymbolTable;
 import software.amazon.ion.SymbolToken;
@@ -228,6 +232,73 @@ public class ReaderTest
     }
 
 
+    /**
+     * The text reader computes small numerics while scanning them, larger
+     * ones are parsed from their text. Values on both sides of that boundary
+     * must read the same.
+     */
+    @Test
+    public void testReadingNumericsNearAccumulatorLimits()
+    {
+        read("999999999999999999 -999999999999999999 " +
+             "9223372036854775807 -9223372036854775808 " +
+             "2147483647 -2147483648 2147483648 -2147483649 " +
+             "0xfffffffffffffff -0x7fffffffffffffff 0b1_0000 " +
+             "-0.000 1.50 12d-3 123456789012345678.9 " +
+             "9007199254740992e0 9007199254740993e0 1e22 1e23 -0e0 5e-324");
+
+        assertEquals(IonType.INT, in.next());
+        assertEquals(999999999999999999L, in.longValue());
+        in.next();
+        assertEquals(-999999999999999999L, in.longValue());
+        in.next();
+        assertEquals(Long.MAX_VALUE, in.longValue());
+        in.next();
+        assertEquals(Long.MIN_VALUE, in.longValue());
+        in.next();
+        assertEquals(Integer.MAX_VALUE, in.intValue());
+        in.next();
+        assertEquals(Integer.MIN_VALUE, in.intValue());
+        in.next();
+        assertEquals(2147483648L, in.longValue());
+        in.next();
+        assertEquals(-2147483649L, in.longValue());
+        in.next();
+        assertEquals(0xfffffffffffffffL, in.longValue());
+        in.next();
+        assertEquals(-0x7fffffffffffffffL, in.longValue());
+        in.next();
+        assertEquals(16, in.intValue());
+
+        assertEquals(IonType.DECIMAL, in.next());
+        Decimal negativeZero = in.decimalValue();
+        assertTrue(negativeZero.isNegativeZero());
+        assertEquals(3, negativeZero.scale());
+        in.next();
+        assertEquals(new BigDecimal("1.50"), in.bigDecimalValue());
+        in.next();
+        assertEquals(new BigDecimal("12e-3"), in.bigDecimalValue());
+        in.next();
+        assertEquals(new BigDecimal("123456789012345678.9"),
+                     in.bigDecimalValue());
+
+        assertEquals(IonType.FLOAT, in.next());
+        assertEquals(9007199254740992d, in.doubleValue(), 0);
+        in.next();
+        assertEquals(9007199254740993d, in.doubleValue(), 0);
+        in.next();
+        assertEquals(1e22, in.doubleValue(), 0);
+        in.next();
+        assertEquals(1e23, in.doubleValue(), 0);
+        in.next();
+        assertEquals(Double.doubleToLongBits(-0d),
+                     Double.doubleToLongBits(in.doubleValue()));
+        in.next();
+        assertEquals(5e-324, in.doubleValue(), 0);
+        expectEof();
+    }
+
+
     /**
      * This isn't allowed by the documentation, but it's allowed by the text
      * and binary readers.  Not allowed by the tree reader.
@@ -369,6 +440,136 @@ public class ReaderTest
         testSkippingLob("{a:1, b:{ c:", "}}");
     }
 
+    private byte[] drain(InputStream lob)
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[1000];
+        int len;
+        while ((len = lob.read(buf)) >= 0)
+        {
+            out.write(buf, 0, len);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testLobInputStream()
+        throws Exception
+    {
+        byte[] data = new byte[20000];
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = (byte) (i % 127);
+        }
+        IonDatagram dg = system().newDatagram();
+        dg.add().newBlob(data);
+        dg.add().newClob(data);
+        dg.add().newNullBlob();
+        dg.add().newBlob(data);
+        dg.add().newInt(1);
+        read(dg.toString());
+
+        LobStreamProvider lobs = in.asFacet(LobStreamProvider.class);
+        assertNotNull(lobs);
+
+        assertEquals(IonType.BLOB, in.next());
+        assertTrue(Arrays.equals(data, drain(lobs.newInputStream())));
+        assertEquals(IonType.CLOB, in.next());
+        InputStream clob = lobs.newInputStream();
+        assertEquals(data[0], clob.read());
+        assertTrue(Arrays.equals(Arrays.copyOfRange(data, 1, data.length),
+                                 drain(clob)));
+        assertEquals(-1, clob.read());
+
+        assertEquals(IonType.BLOB, in.next());
+        assertNull(lobs.newInputStream());
+
+        // a partially read lob is skipped
+        assertEquals(IonType.BLOB, in.next());
+        byte[] head = new byte[100];
+        assertEquals(100, lobs.newInputStream().read(head));
+        assertEquals(IonType.INT, in.next());
+        assertEquals(1, in.intValue());
+        try {
+            lobs.newInputStream();
+            fail("expected exception");
+        }
+        catch (IllegalStateException e) { }
+    }
+
+    @Test
+    public void testByteSizeAfterPartialLobStream()
+        throws Exception
+    {
+        byte[] data = new byte[10000];
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = (byte) (i % 127);
+        }
+        IonDatagram dg = system().newDatagram();
+        dg.add().newBlob(data);
+        dg.add().newInt(1);
+        read(dg.toString());
+
+        assertEquals(IonType.BLOB, in.next());
+        LobStreamProvider lobs = in.asFacet(LobStreamProvider.class);
+        InputStream blob = lobs.newInputStream();
+        assertEquals(100, blob.read(new byte[100]));
+        assertEquals(10000, in.byteSize());
+        assertEquals(9900, drain(blob).length);
+        assertEquals(10000, in.byteSize());
+
+        if (myReaderMaker.sourceIsBinary())
+        {
+            // the streamed bytes have been consumed from the input
+            try {
+                in.newBytes();
+                fail("expected exception");
+            }
+            catch (IllegalStateException e) { }
+        }
+        else
+        {
+            assertTrue(Arrays.equals(data, in.newBytes()));
+        }
+        assertEquals(IonType.INT, in.next());
+        assertEquals(1, in.intValue());
+    }
+
+    /**
+     * Escaped newlines and the space between long string segments decode to
+     * nothing, so they mustn't be taken for the end of the clob.
+     */
+    @Test
+    public void testLongClobInputStream()
+        throws Exception
+    {
+        StringBuilder text = new StringBuilder("{{");
+        for (int i = 0; i < 50; i++)
+        {
+            text.append(" '''");
+            for (int j = 0; j < 100; j++)
+            {
+                text.append((char) ('a' + (i + j) % 26));
+                if (j % 10 == 9) text.append("\\\n");
+            }
+            text.append("'''\n");
+        }
+        text.append("}} 1");
+
+        read(text.toString());
+        assertEquals(IonType.CLOB, in.next());
+        byte[] expected = in.newBytes();
+        assertEquals(5000, expected.length);
+
+        read(text.toString());
+        assertEquals(IonType.CLOB, in.next());
+        LobStreamProvider lobs = in.asFacet(LobStreamProvider.class);
+        assertTrue(Arrays.equals(expected, drain(lobs.newInputStream())));
+        assertEquals(IonType.INT, in.next());
+    }
+
     @Test
     public void testGetSymbolTableBeforeFirstValue()
     {
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.system;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.SymbolTable;
+
+public class FileSystemCatalogTest
+    extends IonTestCase
+{
+    @Rule
+    public TemporaryFolder myFolder = new TemporaryFolder();
+
+
+    private static String sharedSymtab(String name, int version,
+                                       String... symbols)
+    {
+        StringBuilder buf = new StringBuilder();
+        buf.append("$ion_shared_symbol_table::{name:\"").append(name)
+           .append("\", version:").append(version).append(", symbols:[");
+        for (String symbol : symbols)
+        {
+            buf.append('"').append(symbol).append("\",");
+        }
+        buf.append("]} ");
+        return buf.toString();
+    }
+
+    private void writeText(String fileName, String text)
+        throws IOException
+    {
+        OutputStream out =
+            new FileOutputStream(new File(myFolder.getRoot(), fileName));
+        try
+        {
+            out.write(text.getBytes("UTF-8"));
+        }
+        finally
+        {
+            out.close();
+        }
+    }
+
+    private void writeBinary(String fileName, String text)
+        throws IOException
+    {
+        IonDatagram dg = loader().load(text);
+        OutputStream out =
+            new FileOutputStream(new File(myFolder.getRoot(), fileName));
+        try
+        {
+            IonWriter writer = system().newBinaryWriter(out);
+            dg.writeTo(writer);
+            writer.close();
+        }
+        finally
+        {
+            out.close();
+        }
+    }
+
+    private void checkSymbols(SymbolTable table, String name, int version,
+                              String... symbols)
+    {
+        assertTrue(table.isSharedTable());
+        assertEquals(name, table.getName());
+        assertEquals(version, table.getVersion());
+        assertEquals(symbols.length, table.getMaxId());
+        for (int i = 0; i < symbols.length; i++)
+        {
+            checkSymbol(symbols[i], i + 1, table);
+        }
+    }
+
+
+    @Test
+    public void testGetTable()
+        throws IOException
+    {
+        writeText("a.ion",
+                  sharedSymtab("A", 1, "a1") +
+                  "{name:\"not a table\"} 12 " +
+                  sharedSymtab("A", 3, "a1", "a2", "a3"));
+        writeBinary("b.10n",
+                    sharedSymtab("B", 1, "b1", "b2") +
+                    sharedSymtab("C", 2, "c1"));
+        myFolder.newFolder("ignored");
+
+        FileSystemCatalog cat =
+            new FileSystemCatalog(myFolder.getRoot(), 1000);
+
+        checkSymbols(cat.getTable("A"), "A", 3, "a1", "a2", "a3");
+        checkSymbols(cat.getTable("A", 1), "A", 1, "a1");
+        checkSymbols(cat.getTable("B", 1), "B", 1, "b1", "b2");
+        checkSymbols(cat.getTable("C"), "C", 2, "c1");
+        assertNull(cat.getTable("not a table"));
+        assertNull(cat.getTable("D"));
+        assertNull(cat.getTable("D", 1));
+
+        // Best match is the same as SimpleCatalog's
+        assertEquals(3, cat.getTable("A", 2).getVersion());
+        assertEquals(3, cat.getTable("A", 5).getVersion());
+        assertEquals(2, cat.getTable("C", 1).getVersion());
+
+        // Cached tables are reused
+        assertSame(cat.getTable("A"), cat.getTable("A", 3));
+    }
+
+    @Test
+    public void testLastFileWins()
+        throws IOException
+    {
+        writeText("1.ion", sharedSymtab("A", 1, "first"));
+        writeText("2.ion", sharedSymtab("A", 1, "second"));
+
+        FileSystemCatalog cat =
+            new FileSystemCatalog(myFolder.getRoot(), 1000);
+        checkSymbols(cat.getTable("A", 1), "A", 1, "second");
+    }
+
+    @Test
+    public void testEviction()
+        throws IOException
+    {
+        writeText("tables.ion",
+                  sharedSymtab("A", 1, "a1", "a2") +
+                  sharedSymtab("B", 1, "b1", "b2") +
+                  sharedSymtab("C", 1, "c1", "c2", "c3", "c4", "c5") +
+                  sharedSymtab("D", 1, "d1"));
+
+        FileSystemCatalog cat = new FileSystemCatalog(myFolder.getRoot(), 4);
+
+        SymbolTable a = cat.getTable("A");
+        SymbolTable b = cat.getTable("B");
+        assertSame(a, cat.getTable("A"));
+
+        // B is the least recently used, so it's evicted first.
+        cat.getTable("D");
+        assertSame(a, cat.getTable("A"));
+        SymbolTable b2 = cat.getTable("B");
+        assertNotSame(b, b2);
+        checkSymbols(b2, "B", 1, "b1", "b2");
+
+        // C alone exceeds the limit but stays cached until the next load.
+        SymbolTable c = cat.getTable("C");
+        checkSymbols(c, "C", 1, "c1", "c2", "c3", "c4", "c5");
+        assertSame(c, cat.getTable("C"));
+        assertNotSame(a, cat.getTable("A"));
+        assertNotSame(c, cat.getTable("C"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadCacheSize()
+        throws IOException
+    {
+        new FileSystemCatalog(myFolder.getRoot(), 0);
+    }
+
+    @Test(expected = IOException.class)
+    public void testMissingDirectory()
+        throws IOException
+    {
+        new FileSystemCatalog(new File(myFolder.getRoot(), "missing"), 10);
+    }
+
+    @Test
+    public void testReadersUseCatalog()
+        throws IOException
+    {
+        writeText("t.ion", sharedSymtab("T", 1, "hello", "world"));
+        FileSystemCatalog cat =
+            new FileSystemCatalog(myFolder.getRoot(), 1000);
+
+        IonDatagram dg = system().newLoader(cat).load(
+            "$ion_symbol_table::{imports:[{name:\"T\", version:1, max_id:2}]}" +
+            " $10 $11");
+        assertEquals("hello", dg.get(0).toString());
+        assertEquals("world", dg.get(1).toString());
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.system;
+
+import static software.amazon.ion.TestUtils.runConcurrently;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.junit.Test;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.impl.PrivateUtils;
+import software.amazon.ion.impl.Symtabs;
+
+public class IonBinaryWriterPoolTest
+    extends IonTestCase
+{
+    private static void writeMessage(IonWriter writer, int n)
+        throws IOException
+    {
+        writer.setTypeAnnotations("message");
+        writer.stepIn(IonType.STRUCT);
+        {
+            writer.setFieldName("id");
+            writer.writeInt(n);
+            writer.setFieldName("fred_1");
+            writer.writeSymbol("fred_2");
+            writer.setFieldName("tags");
+            writer.stepIn(IonType.LIST);
+            writer.writeSymbol("tag" + (n % 3));
+            writer.writeString("text");
+            writer.stepOut();
+        }
+        writer.stepOut();
+    }
+
+    /**
+     * Writes a message with a newly built writer.
+     */
+    private static byte[] expectedMessage(IonBinaryWriterBuilder builder,
+                                          int n)
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = builder.build(out);
+        writeMessage(writer, n);
+        writer.close();
+        return out.toByteArray();
+    }
+
+    private static byte[] pooledMessage(IonBinaryWriterPool pool, int n)
+        throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = pool.acquire(out);
+        writeMessage(writer, n);
+        pool.release(writer);
+        return out.toByteArray();
+    }
+
+    private void checkReusedOutput(IonBinaryWriterBuilder builder)
+        throws IOException
+    {
+        IonBinaryWriterPool pool = builder.buildPool(2);
+        for (int n = 0; n < 5; n++)
+        {
+            assertTrue(Arrays.equals(expectedMessage(builder, n),
+                                     pooledMessage(pool, n)));
+        }
+        assertEquals(1, pool.getIdleWriterCount());
+    }
+
+
+    @Test
+    public void testReusedOutput()
+        throws IOException
+    {
+        checkReusedOutput(IonBinaryWriterBuilder.standard());
+    }
+
+    @Test
+    public void testReusedOutputWithImports()
+        throws IOException
+    {
+        SymbolTable fred = Symtabs.CATALOG.getTable("fred", 1);
+        checkReusedOutput(IonBinaryWriterBuilder.standard().withImports(fred));
+    }
+
+    @Test
+    public void testReusedOutputWithInitialSymbolTable()
+        throws IOException
+    {
+        SymbolTable fred = Symtabs.CATALOG.getTable("fred", 1);
+        SymbolTable lst = Symtabs.localSymbolTableFactory()
+            .newLocalSymtab(PrivateUtils.systemSymtab(1), fred);
+        lst.intern("message");
+        lst.intern("tag1");
+        lst.makeReadOnly();
+
+        checkReusedOutput(IonBinaryWriterBuilder.standard()
+                              .withInitialSymbolTable(lst));
+    }
+
+    @Test
+    public void testWriterReuse()
+        throws IOException
+    {
+        IonBinaryWriterPool pool = IonBinaryWriterBuilder.standard()
+                                                         .buildPool(1);
+        assertEquals(1, pool.getMaxIdleWriters());
+        assertEquals(0, pool.getIdleWriterCount());
+
+        IonWriter w1 = pool.acquire(new ByteArrayOutputStream());
+        IonWriter w2 = pool.acquire(new ByteArrayOutputStream());
+        assertNotSame(w1, w2);
+
+        pool.release(w1);
+        assertEquals(1, pool.getIdleWriterCount());
+
+        // The pool is full, so this one is discarded.
+        pool.release(w2);
+        assertEquals(1, pool.getIdleWriterCount());
+
+        assertSame(w1, pool.acquire(new ByteArrayOutputStream()));
+        assertEquals(0, pool.getIdleWriterCount());
+    }
+
+    @Test
+    public void testReleaseFinishes()
+        throws IOException
+    {
+        IonBinaryWriterPool pool = IonBinaryWriterBuilder.standard()
+                                                         .buildPool(1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = pool.acquire(out);
+        writer.writeSymbol("hello");
+        assertEquals(0, out.size());
+
+        pool.release(writer);
+        assertEquals(system().singleValue("hello"),
+                     system().singleValue(out.toByteArray()));
+    }
+
+    @Test
+    public void testReleaseDiscardsUnfinishedWriter()
+        throws IOException
+    {
+        IonBinaryWriterPool pool = IonBinaryWriterBuilder.standard()
+                                                         .buildPool(1);
+        IonWriter writer = pool.acquire(new ByteArrayOutputStream());
+        writer.stepIn(IonType.LIST);
+        try
+        {
+            pool.release(writer);
+            fail("Expected IllegalStateException");
+        }
+        catch (IllegalStateException e) { }
+        assertEquals(0, pool.getIdleWriterCount());
+    }
+
+    @Test
+    public void testReleasedWriterIsDetached()
+        throws IOException
+    {
+        IonBinaryWriterPool pool = IonBinaryWriterBuilder.standard()
+                                                         .buildPool(1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = pool.acquire(out);
+        writer.writeInt(1);
+        pool.release(writer);
+        int size = out.size();
+
+        writer.writeInt(2);
+        try
+        {
+            writer.finish();
+            fail("Expected IOException");
+        }
+        catch (IOException e) { }
+        assertEquals(size, out.size());
+    }
+
+    @Test
+    public void testClosedWriterIsNotReused()
+        throws IOException
+    {
+        IonBinaryWriterPool pool = IonBinaryWriterBuilder.standard()
+                                                         .buildPool(2);
+        IonWriter closed = pool.acquire(new ByteArrayOutputStream());
+        closed.close();
+        pool.release(closed);
+        assertEquals(0, pool.getIdleWriterCount());
+
+        // Closed while idle.
+        IonWriter writer = pool.acquire(new ByteArrayOutputStream());
+        pool.release(writer);
+        writer.close();
+        assertEquals(1, pool.getIdleWriterCount());
+        assertNotSame(writer, pool.acquire(new ByteArrayOutputStream()));
+        assertEquals(0, pool.getIdleWriterCount());
+    }
+
+    @Test
+    public void testForeignWriterIsNotReused()
+        throws IOException
+    {
+        IonBinaryWriterBuilder fredBuilder = IonBinaryWriterBuilder.standard()
+            .withImports(Symtabs.CATALOG.getTable("fred", 1));
+        IonBinaryWriterPool pool = IonBinaryWriterBuilder.standard()
+                                                         .buildPool(2);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter built = fredBuilder.build(out);
+        built.writeInt(1);
+        pool.release(built);
+        assertEquals(0, pool.getIdleWriterCount());
+        assertTrue(out.size() > 0);
+
+        IonBinaryWriterPool fredPool = fredBuilder.buildPool(1);
+        pool.release(fredPool.acquire(new ByteArrayOutputStream()));
+        assertEquals(0, pool.getIdleWriterCount());
+
+        assertTrue(Arrays.equals(expectedMessage(pool.getBuilder(), 1),
+                                 pooledMessage(pool, 1)));
+    }
+
+    @Test
+    public void testClose()
+        throws IOException
+    {
+        IonBinaryWriterPool pool = IonBinaryWriterBuilder.standard()
+                                                         .buildPool(2);
+        IonWriter w1 = pool.acquire(new ByteArrayOutputStream());
+        IonWriter w2 = pool.acquire(new ByteArrayOutputStream());
+        pool.release(w1);
+
+        pool.close();
+        assertEquals(0, pool.getIdleWriterCount());
+
+        pool.release(w2);
+        assertEquals(0, pool.getIdleWriterCount());
+
+        // New writers can still be acquired.
+        assertTrue(Arrays.equals(
+            expectedMessage(pool.getBuilder(), 3), pooledMessage(pool, 3)));
+    }
+
+    @Test
+    public void testBuilderIsCopied()
+    {
+        IonBinaryWriterBuilder b = IonBinaryWriterBuilder.standard();
+        IonBinaryWriterPool pool = b.buildPool(1);
+        assertNotSame(b, pool.getBuilder());
+
+        b.setStreamCopyOptimized(true);
+        assertFalse(pool.getBuilder().isStreamCopyOptimized());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadMaxIdleWriters()
+    {
+        IonBinaryWriterBuilder.standard().buildPool(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAcquireNull()
+    {
+        IonBinaryWriterBuilder.standard().buildPool(1).acquire(null);
+    }
+
+    @Test
+    public void testConcurrentUse()
+        throws Exception
+    {
+        final int threads = 8;
+        final int iterations = 200;
+        final IonBinaryWriterBuilder builder =
+            IonBinaryWriterBuilder.standard()
+                .withImports(Symtabs.CATALOG.getTable("fred", 1));
+        final IonBinaryWriterPool pool = builder.buildPool(threads / 2);
+
+        final List<byte[]> expected = new ArrayList<byte[]>();
+        for (int n = 0; n < 3; n++)
+        {
+            expected.add(expectedMessage(builder, n));
+        }
+
+        Callable<Void> task = new Callable<Void>()
+        {
+            public Void call() throws Exception
+            {
+                for (int i = 0; i < iterations; i++)
+                {
+                    int n = i % 3;
+                    assertTrue(Arrays.equals(expected.get(n),
+                                             pooledMessage(pool, n)));
+                }
+                return null;
+            }
+        };
+        runConcurrently(Collections.nCopies(threads, task));
+
+        assertTrue(pool.getIdleWriterCount() <= threads / 2);
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.system;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.SymbolTable;
+
+public class IonMetricsListenerTest
+    extends IonTestCase
+{
+    private static final String DATA =
+        "$ion_symbol_table::{symbols:[\"s1\"]} " +
+        "{a:1, b:[s1, \"x\"]} 2.5 null";
+
+    private static class RecordingListener
+        extends IonMetricsListener
+    {
+        final Map<IonType, Integer> values =
+            new EnumMap<IonType, Integer>(IonType.class);
+        final List<SymbolTable> symtabs   = new ArrayList<SymbolTable>();
+        final List<Long>        consumed  = new ArrayList<Long>();
+        final List<String>      symbols   = new ArrayList<String>();
+        int  blocks;
+        int  patches;
+        long bytes;
+        int  flushes;
+
+        @Override
+        public synchronized void valueRead(IonType type)
+        {
+            Integer count = values.get(type);
+            values.put(type, count == null ? 1 : count + 1);
+        }
+
+        @Override
+        public synchronized void localSymbolTableRead(SymbolTable symtab,
+                                                      long nanos)
+        {
+            assertTrue(nanos >= 0);
+            symtabs.add(symtab);
+        }
+
+        @Override
+        public synchronized void inputConsumed(long count)
+        {
+            consumed.add(count);
+        }
+
+        @Override
+        public synchronized void localSymbolAdded(String text)
+        {
+            symbols.add(text);
+        }
+
+        @Override
+        public synchronized void blockAllocated(int size)
+        {
+            assertTrue(size > 0);
+            blocks++;
+        }
+
+        @Override
+        public synchronized void lengthsPatched(int count)
+        {
+            assertTrue(count > 0);
+            patches += count;
+        }
+
+        @Override
+        public synchronized void bytesWritten(long count)
+        {
+            assertTrue(count > 0);
+            bytes += count;
+        }
+
+        @Override
+        public synchronized void flushed(long nanos)
+        {
+            assertTrue(nanos >= 0);
+            flushes++;
+        }
+    }
+
+
+    private void checkReaderMetrics(byte[] data)
+        throws IOException
+    {
+        RecordingListener listener = new RecordingListener();
+        IonReaderBuilder builder =
+            IonReaderBuilder.standard().withMetricsListener(listener);
+        assertSame(listener, builder.getMetricsListener());
+
+        IonReader reader = builder.build(data);
+        try
+        {
+            assertEquals(IonType.STRUCT, reader.next());
+            reader.stepIn();
+            while (reader.next() != null) {}
+            // The end of a container isn't the end of the input.
+            assertTrue(listener.consumed.isEmpty());
+            reader.stepOut();
+            while (reader.next() != null) {}
+            assertNull(reader.next());
+        }
+        finally
+        {
+            reader.close();
+        }
+
+        // The list isn't stepped into, so its children aren't reported.
+        assertEquals(Integer.valueOf(1), listener.values.get(IonType.STRUCT));
+        assertEquals(Integer.valueOf(1), listener.values.get(IonType.INT));
+        assertEquals(Integer.valueOf(1), listener.values.get(IonType.LIST));
+        assertEquals(Integer.valueOf(1), listener.values.get(IonType.DECIMAL));
+        assertEquals(Integer.valueOf(1), listener.values.get(IonType.NULL));
+        assertNull(listener.values.get(IonType.SYMBOL));
+
+        assertEquals(1, listener.symtabs.size());
+        assertTrue(listener.symtabs.get(0).isLocalTable());
+        assertTrue(listener.symtabs.get(0).findSymbol("s1") > 0);
+
+        assertEquals(1, listener.consumed.size());
+        assertEquals(Long.valueOf(data.length), listener.consumed.get(0));
+    }
+
+    @Test
+    public void testTextReaderMetrics()
+        throws IOException
+    {
+        checkReaderMetrics(DATA.getBytes("UTF-8"));
+    }
+
+    @Test
+    public void testBinaryReaderMetrics()
+        throws IOException
+    {
+        checkReaderMetrics(loader().load(DATA).getBytes());
+    }
+
+    @Test
+    public void testReaderBuilderCopiesListener()
+    {
+        RecordingListener listener = new RecordingListener();
+        IonReaderBuilder builder =
+            IonReaderBuilder.standard().withMetricsListener(listener);
+        assertSame(listener, builder.copy().getMetricsListener());
+        assertSame(listener, builder.immutable().getMetricsListener());
+        assertNull(IonReaderBuilder.standard().getMetricsListener());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReaderBuilderImmutability()
+    {
+        IonReaderBuilder.standard().immutable()
+            .setMetricsListener(new RecordingListener());
+    }
+
+    @Test
+    public void testBinaryWriterMetrics()
+        throws IOException
+    {
+        RecordingListener listener = new RecordingListener();
+        IonBinaryWriterBuilder builder =
+            IonBinaryWriterBuilder.standard().withMetricsListener(listener);
+        assertSame(listener, builder.getMetricsListener());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = builder.build(out);
+        writer.stepIn(IonType.STRUCT);
+        writer.setFieldName("name");
+        writer.writeSymbol("value");
+        writer.setFieldName("list");
+        writer.stepIn(IonType.LIST);
+        writer.writeInt(1);
+        writer.writeSymbol("value");
+        writer.stepOut();
+        writer.stepOut();
+        writer.finish();
+
+        assertEquals(2, listener.symbols.size());
+        assertTrue(listener.symbols.contains("list"));
+        assertTrue(listener.symbols.contains("value"));
+        assertTrue(listener.blocks > 0);
+        assertEquals(1, listener.flushes);
+        assertEquals(out.size(), listener.bytes);
+
+        // Symbols are added again to the next stream's table.
+        writer.writeSymbol("value");
+        writer.close();
+        assertEquals(3, listener.symbols.size());
+        assertEquals(2, listener.flushes);
+        assertEquals(out.size(), listener.bytes);
+
+        assertEquals(IonType.STRUCT,
+                     system().newReader(out.toByteArray()).next());
+    }
+
+    @Test
+    public void testBinaryWriterPatches()
+        throws IOException
+    {
+        RecordingListener listener = new RecordingListener();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = IonBinaryWriterBuilder.standard()
+            .withMetricsListener(listener)
+            .build(out);
+
+        // Too long for the preallocated length, so it must be patched.
+        writer.stepIn(IonType.LIST);
+        for (int i = 0; i < 10000; i++)
+        {
+            writer.writeInt(i);
+        }
+        writer.stepOut();
+        writer.close();
+
+        assertTrue(listener.patches > 0);
+        assertEquals(out.size(), listener.bytes);
+    }
+
+    @Test
+    public void testTextWriterMetrics()
+        throws IOException
+    {
+        RecordingListener listener = new RecordingListener();
+        IonTextWriterBuilder builder =
+            IonTextWriterBuilder.standard().withMetricsListener(listener);
+        assertSame(listener, builder.getMetricsListener());
+
+        StringBuilder out = new StringBuilder();
+        IonWriter writer = builder.build(out);
+        // Text writers flush after every top-level value.
+        writer.writeSymbol("value");
+        assertEquals(1, listener.flushes);
+        writer.flush();
+        assertEquals(2, listener.flushes);
+        writer.close();
+
+        assertEquals("value", out.toString());
+        assertTrue(listener.flushes > 2);
+        // Text writers don't intern symbols nor allocate blocks.
+        assertTrue(listener.symbols.isEmpty());
+        assertEquals(0, listener.blocks);
+    }
+
+    @Test
+    public void testWriterBuilderCopiesListener()
+    {
+        RecordingListener listener = new RecordingListener();
+        IonBinaryWriterBuilder binary =
+            IonBinaryWriterBuilder.standard().withMetricsListener(listener);
+        assertSame(listener, binary.copy().getMetricsListener());
+        assertSame(listener, binary.immutable().getMetricsListener());
+        assertNull(IonBinaryWriterBuilder.standard().getMetricsListener());
+
+        IonTextWriterBuilder text =
+            IonTextWriterBuilder.standard().withMetricsListener(listener);
+        assertSame(listener, text.copy().getMetricsListener());
+        assertNull(IonTextWriterBuilder.standard().getMetricsListener());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testWriterBuilderImmutability()
+    {
+        IonBinaryWriterBuilder.standard().immutable()
+            .setMetricsListener(new RecordingListener());
+    }
+
+    @Test
+    public void testPooledReadersReport()
+        throws IOException
+    {
+        RecordingListener listener = new RecordingListener();
+        IonReaderPool pool = IonReaderBuilder.standard()
+            .withMetricsListener(listener)
+            .buildPool(1);
+        byte[] data = "1 2".getBytes("UTF-8");
+        for (int i = 0; i < 3; i++)
+        {
+            IonReader reader = pool.acquire(data);
+            while (reader.next() != null) {}
+            pool.release(reader);
+        }
+        assertEquals(Integer.valueOf(6), listener.values.get(IonType.INT));
+        assertEquals(3, listener.consumed.size());
+        for (Long count : listener.consumed)
+        {
+            assertEquals(Long.valueOf(data.length), count);
+        }
+    }
+}
@@ -15,8 +15,12 @@
 package software.amazon.ion.system;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -24,9 +28,15 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import software.amazon.ion.IonCatalog;
+import software.amazon.ion.IonException;
 import software.amazon.ion.IonReader;
 import software.amazon.ion.IonType;
 import software.amazon.ion.IonWriter;
+import software.amazon.ion.OffsetSpan;
+import software.amazon.ion.Span;
+import software.amazon.ion.SpanProvider;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.TextSpan;
 import software.amazon.ion.impl.PrivateIonBinaryWriterBuilder;
 
 /**
@@ -110,4 +120,211 @@ public class IonReaderBuilderTest
         assertEquals(42, reader.intValue());
     }
 
+    @Test
+    public void testTextPositionTrackingOption()
+    {
+        IonReaderBuilder mutable = IonReaderBuilder.standard();
+        assertTrue(mutable.isTextPositionTrackingEnabled());
+        IonReaderBuilder immutable =
+            mutable.withTextPositionTrackingEnabled(false).immutable();
+        assertFalse(immutable.isTextPositionTrackingEnabled());
+        assertFalse(immutable.copy().isTextPositionTrackingEnabled());
+        thrown.expect(UnsupportedOperationException.class);
+        immutable.setTextPositionTrackingEnabled(true);
+    }
+
+    @Test
+    public void testJsonStrictOption()
+    {
+        IonReaderBuilder mutable = IonReaderBuilder.standard();
+        assertFalse(mutable.isJsonStrict());
+        IonReaderBuilder immutable = mutable.withJsonStrict(true).immutable();
+        assertTrue(immutable.isJsonStrict());
+        assertTrue(immutable.copy().isJsonStrict());
+        thrown.expect(UnsupportedOperationException.class);
+        immutable.setJsonStrict(false);
+    }
+
+    @Test
+    public void testTextReaderWithoutPositionTracking()
+    {
+        IonReaderBuilder builder = IonReaderBuilder.standard()
+            .withTextPositionTrackingEnabled(false);
+        IonReader reader = builder.build("a::1\n[\r\n 'b c' ]\n  {x:2}");
+        SpanProvider spans = reader.asFacet(SpanProvider.class);
+
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(1, reader.intValue());
+        assertEquals(IonType.LIST, reader.next());
+        Span span = spans.currentSpan();
+        assertEquals(5, span.asFacet(OffsetSpan.class).getStartOffset());
+        assertNull(span.asFacet(TextSpan.class));
+        assertFalse(span instanceof TextSpan);
+        reader.stepIn();
+        assertEquals(IonType.SYMBOL, reader.next());
+        assertEquals("b c", reader.stringValue());
+        reader.stepOut();
+        assertEquals(IonType.STRUCT, reader.next());
+        assertEquals(19, spans.currentSpan().asFacet(OffsetSpan.class).getStartOffset());
+
+        reader = builder.build("[1,\n2,\n3 4]");
+        reader.next();
+        reader.stepIn();
+        try {
+            while (reader.next() != null) { }
+            fail("expected exception");
+        }
+        catch (IonException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(" at offset "));
+        }
+    }
+
+
+    private static byte[] bytes(int... values)
+    {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++)
+        {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+    private static byte[] concat(byte[]... parts)
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts)
+        {
+            out.write(part, 0, part.length);
+        }
+        return out.toByteArray();
+    }
+
+    private static final byte[] IVM = bytes(0xE0, 0x01, 0x00, 0xEA);
+
+    /** $ion_symbol_table::{symbols:["a"]} */
+    private static final byte[] LST_A =
+        bytes(0xE7, 0x81, 0x83, 0xD4, 0x87, 0xB2, 0x81, 'a');
+
+    /** $ion_symbol_table::{imports:$ion_symbol_table, symbols:["b"]} */
+    private static final byte[] LST_APPEND_B =
+        bytes(0xEA, 0x81, 0x83, 0xD7, 0x86, 0x71, 0x03, 0x87, 0xB2, 0x81, 'b');
+
+    private static final byte[] SYMBOL_10 = bytes(0x71, 0x0A);
+    private static final byte[] SYMBOL_11 = bytes(0x71, 0x0B);
+
+    private static SymbolTable readSymbols(IonReader reader, String... expected)
+    {
+        SymbolTable first = null;
+        for (String text : expected)
+        {
+            assertEquals(IonType.SYMBOL, reader.next());
+            assertEquals(text, reader.stringValue());
+            if (first == null) first = reader.getSymbolTable();
+        }
+        assertEquals(null, reader.next());
+        return first;
+    }
+
+    @Test
+    public void testLocalSymbolTableCacheOption()
+    {
+        IonReaderBuilder mutable = IonReaderBuilder.standard();
+        assertEquals(0, mutable.getLocalSymbolTableCacheSize());
+        IonReaderBuilder immutable =
+            mutable.withLocalSymbolTableCacheSize(10).immutable();
+        assertEquals(10, immutable.getLocalSymbolTableCacheSize());
+        assertEquals(10, immutable.copy().getLocalSymbolTableCacheSize());
+        assertEquals(0, immutable.withLocalSymbolTableCacheSize(0)
+                                 .getLocalSymbolTableCacheSize());
+        thrown.expect(UnsupportedOperationException.class);
+        immutable.setLocalSymbolTableCacheSize(5);
+    }
+
+    @Test
+    public void testLocalSymbolTableCacheNegativeSize()
+    {
+        thrown.expect(IllegalArgumentException.class);
+        IonReaderBuilder.standard().setLocalSymbolTableCacheSize(-1);
+    }
+
+    @Test
+    public void testLocalSymbolTablesNotSharedByDefault()
+    {
+        IonReaderBuilder builder = IonReaderBuilder.standard();
+        byte[] data = concat(IVM, LST_A, SYMBOL_10);
+        SymbolTable first = readSymbols(builder.build(data), "a");
+        SymbolTable second = readSymbols(builder.build(data), "a");
+        assertNotSame(first, second);
+        assertFalse(first.isReadOnly());
+    }
+
+    @Test
+    public void testLocalSymbolTablesShared()
+    {
+        IonReaderBuilder builder =
+            IonReaderBuilder.standard().withLocalSymbolTableCacheSize(4);
+        byte[] data = concat(IVM, LST_A, SYMBOL_10);
+
+        SymbolTable first = readSymbols(builder.build(data), "a");
+        assertTrue(first.isLocalTable());
+        assertTrue(first.isReadOnly());
+        assertSame(first, readSymbols(builder.build(data), "a"));
+
+        // Copies of the builder share the cache
+        assertSame(first,
+                   readSymbols(builder.immutable().build(data), "a"));
+
+        // Same encoding at a different offset
+        byte[] padded = concat(bytes(1, 2, 3), data, bytes(4));
+        assertSame(first,
+                   readSymbols(builder.build(padded, 3, data.length), "a"));
+
+        // Readers with another catalog don't share tables.
+        IonReaderBuilder other = builder.copy().withCatalog(new SimpleCatalog());
+        assertNotSame(first, readSymbols(other.build(data), "a"));
+    }
+
+    @Test
+    public void testAppendedLocalSymbolTablesNotShared()
+    {
+        IonReaderBuilder builder =
+            IonReaderBuilder.standard().withLocalSymbolTableCacheSize(4);
+        byte[] data = concat(IVM, LST_A, SYMBOL_10);
+        SymbolTable first = readSymbols(builder.build(data), "a");
+
+        IonReader reader = builder.build(concat(IVM, LST_A, SYMBOL_10,
+                                                LST_APPEND_B, SYMBOL_11,
+                                                SYMBOL_10));
+        assertEquals(IonType.SYMBOL, reader.next());
+        assertSame(first, reader.getSymbolTable());
+        assertEquals(IonType.SYMBOL, reader.next());
+        assertEquals("b", reader.stringValue());
+        SymbolTable appended = reader.getSymbolTable();
+        assertNotSame(first, appended);
+        assertEquals(first.getMaxId() + 1, appended.getMaxId());
+        assertEquals(IonType.SYMBOL, reader.next());
+        assertEquals("a", reader.stringValue());
+
+        // The shared table wasn't changed by the append
+        assertEquals(10, first.getMaxId());
+        assertSame(first, readSymbols(builder.build(data), "a"));
+    }
+
+    @Test
+    public void testLocalSymbolTableCacheEviction()
+    {
+        IonReaderBuilder builder =
+            IonReaderBuilder.standard().withLocalSymbolTableCacheSize(1);
+        byte[] dataA = concat(IVM, LST_A, SYMBOL_10);
+        // $ion_symbol_table::{symbols:["c"]}
+        byte[] dataC = concat(IVM,
+                              bytes(0xE7, 0x81, 0x83, 0xD4, 0x87, 0xB2, 0x81, 'c'),
+                              SYMBOL_10);
+
+        SymbolTable a = readSymbols(builder.build(dataA), "a");
+        SymbolTable c = readSymbols(builder.build(dataC), "c");
+        assertSame(c, readSymbols(builder.build(dataC), "c"));
+        assertNotSame(a, readSymbols(builder.build(dataA), "a"));
+    }
 }
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.system;
+
+import static software.amazon.ion.TestUtils.runConcurrently;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
+import org.junit.Test;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.OffsetSpan;
+import software.amazon.ion.SpanProvider;
+
+public class IonReaderPoolTest
+    extends IonTestCase
+{
+    private static final String[] MESSAGES = {
+        "$ion_symbol_table::{symbols:[\"a\", \"b\"]} a::{a:b, list:[1, 2.5]}",
+        "$ion_symbol_table::{symbols:[\"c\"]} c::(c 1e0 \"str\" {{MTIz}})",
+        "plain 2016-01-01T null.int [] {}",
+        "",
+    };
+
+
+    private byte[] binary(String text)
+    {
+        return loader().load(text).getBytes();
+    }
+
+    private static byte[] utf8(String text)
+        throws IOException
+    {
+        return text.getBytes("UTF-8");
+    }
+
+    private IonDatagram readAll(IonReader reader)
+        throws IOException
+    {
+        IonDatagram dg = system().newDatagram();
+        IonWriter writer = system().newWriter(dg);
+        writer.writeValues(reader);
+        writer.close();
+        return dg;
+    }
+
+    private void checkRead(IonReaderPool pool, byte[] data)
+        throws IOException
+    {
+        IonReader reader = pool.acquire(data);
+        assertEquals(loader().load(data), readAll(reader));
+        pool.release(reader);
+    }
+
+
+    @Test
+    public void testReuseBinary()
+        throws IOException
+    {
+        IonReaderPool pool = IonReaderBuilder.standard().buildPool(2);
+        IonReader first = pool.acquire(binary(MESSAGES[0]));
+        pool.release(first);
+
+        for (int i = 0; i < 3; i++)
+        {
+            for (String message : MESSAGES)
+            {
+                checkRead(pool, binary(message));
+                assertEquals(1, pool.getIdleReaderCount());
+            }
+        }
+        assertSame(first, pool.acquire(binary(MESSAGES[1])));
+    }
+
+    @Test
+    public void testReuseText()
+        throws IOException
+    {
+        IonReaderPool pool = IonReaderBuilder.standard().buildPool(2);
+        IonReader first = pool.acquire(utf8(MESSAGES[0]));
+        pool.release(first);
+
+        for (int i = 0; i < 3; i++)
+        {
+            for (String message : MESSAGES)
+            {
+                checkRead(pool, utf8(message));
+                assertEquals(1, pool.getIdleReaderCount());
+            }
+        }
+        assertSame(first, pool.acquire(utf8(MESSAGES[1])));
+    }
+
+    @Test
+    public void testFormatsArePooledSeparately()
+        throws IOException
+    {
+        IonReaderPool pool = IonReaderBuilder.standard().buildPool(2);
+        IonReader text = pool.acquire(utf8("1"));
+        IonReader binary = pool.acquire(binary("2"));
+        pool.release(text);
+        pool.release(binary);
+
+        assertSame(text, pool.acquire(utf8("3")));
+        pool.release(text);
+        assertSame(binary, pool.acquire(binary("4")));
+        assertEquals(1, pool.getIdleReaderCount());
+
+        // Empty data is read by either kind.
+        assertSame(text, pool.acquire(new byte[0]));
+    }
+
+    @Test
+    public void testReleaseMidValue()
+        throws IOException
+    {
+        String message = "ann::{f:[x::y::(1 2 3), {{\"clob\"}}], g:\"long string\"}";
+        byte[][] inputs = { binary(message), utf8(message) };
+        for (byte[] data : inputs)
+        {
+            IonReaderPool pool = IonReaderBuilder.standard().buildPool(1);
+            IonReader reader = pool.acquire(data);
+            assertEquals(IonType.STRUCT, reader.next());
+            reader.stepIn();
+            assertEquals(IonType.LIST, reader.next());
+            reader.stepIn();
+            assertEquals(IonType.SEXP, reader.next());
+            assertEquals(2, reader.getTypeAnnotations().length);
+            reader.stepIn();
+            reader.next();
+            pool.release(reader);
+
+            checkRead(pool, data);
+            assertEquals(1, pool.getIdleReaderCount());
+        }
+    }
+
+    @Test
+    public void testOffsetsAfterReuse()
+        throws IOException
+    {
+        byte[] message = binary("1 two");
+        byte[] padded = new byte[message.length + 7];
+        System.arraycopy(message, 0, padded, 5, message.length);
+
+        IonReaderPool pool = IonReaderBuilder.standard().buildPool(1);
+        IonReader reader = pool.acquire(message);
+        pool.release(reader);
+
+        assertSame(reader, pool.acquire(padded, 5, message.length));
+        reader.next();
+        IonReader fresh = IonReaderBuilder.standard().build(message);
+        fresh.next();
+        OffsetSpan expected =
+            (OffsetSpan) fresh.asFacet(SpanProvider.class).currentSpan();
+        OffsetSpan actual =
+            (OffsetSpan) reader.asFacet(SpanProvider.class).currentSpan();
+        assertEquals(expected.getStartOffset(), actual.getStartOffset());
+        assertEquals(expected.getFinishOffset(), actual.getFinishOffset());
+        assertEquals(1, reader.intValue());
+        assertEquals(IonType.SYMBOL, reader.next());
+        assertEquals("two", reader.stringValue());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testConfigurationIsRetained()
+        throws IOException
+    {
+        IonReaderPool pool = IonReaderBuilder.standard()
+                                             .withJsonStrict(true)
+                                             .buildPool(1);
+        IonReader reader = pool.acquire(utf8("{\"a\":1}"));
+        pool.release(reader);
+
+        assertSame(reader, pool.acquire(utf8("sym")));
+        try
+        {
+            reader.next();
+            fail("Expected IonException");
+        }
+        catch (IonException e) { }
+    }
+
+    @Test
+    public void testForeignReaderIsNotReused()
+        throws IOException
+    {
+        IonReaderPool pool = IonReaderBuilder.standard()
+                                             .withJsonStrict(true)
+                                             .buildPool(2);
+        IonReader lax = IonReaderBuilder.standard().build(utf8("1"));
+        pool.release(lax);
+        pool.release(IonReaderBuilder.standard().buildPool(1)
+                                     .acquire(utf8("2")));
+        assertEquals(0, pool.getIdleReaderCount());
+
+        IonReader reader = pool.acquire(utf8("abc::sym"));
+        assertNotSame(lax, reader);
+        try
+        {
+            reader.next();
+            fail("Expected IonException");
+        }
+        catch (IonException e) { }
+    }
+
+    @Test
+    public void testByteBuffers()
+        throws IOException
+    {
+        IonReaderPool pool = IonReaderBuilder.standard().buildPool(1);
+        byte[] data = binary("1 2 3");
+
+        ByteBuffer heap = ByteBuffer.allocate(data.length + 4);
+        heap.position(4);
+        heap.put(data);
+        heap.position(4);
+        ByteBuffer slice = heap.slice();
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+        direct.put(data);
+        direct.flip();
+
+        ByteBuffer[] buffers = { slice, direct };
+        for (ByteBuffer buffer : buffers)
+        {
+            IonReader reader = pool.acquire(buffer);
+            assertEquals(loader().load(data), readAll(reader));
+            pool.release(reader);
+            assertEquals(0, buffer.position());
+        }
+        assertEquals(1, pool.getIdleReaderCount());
+    }
+
+    @Test
+    public void testGzipIsNotPooled()
+        throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        GZIPOutputStream gzip = new GZIPOutputStream(bytes);
+        gzip.write(binary("1 2"));
+        gzip.close();
+
+        IonReaderPool pool = IonReaderBuilder.standard().buildPool(1);
+        IonReader reader = pool.acquire(bytes.toByteArray());
+        assertEquals(IonType.INT, reader.next());
+        pool.release(reader);
+        assertEquals(0, pool.getIdleReaderCount());
+    }
+
+    @Test
+    public void testMaxIdleReaders()
+    {
+        IonReaderPool pool = IonReaderBuilder.standard().buildPool(1);
+        assertEquals(1, pool.getMaxIdleReaders());
+        IonReader r1 = pool.acquire(new byte[0]);
+        IonReader r2 = pool.acquire(new byte[0]);
+        assertNotSame(r1, r2);
+        pool.release(r1);
+        pool.release(r2);
+        assertEquals(1, pool.getIdleReaderCount());
+        assertSame(r1, pool.acquire(new byte[0]));
+
+        // Readers not over byte arrays are discarded.
+        pool.release(IonReaderBuilder.standard().build("1"));
+        assertEquals(0, pool.getIdleReaderCount());
+    }
+
+    @Test
+    public void testClose()
+        throws IOException
+    {
+        IonReaderPool pool = IonReaderBuilder.standard().buildPool(2);
+        IonReader r1 = pool.acquire(utf8("1"));
+        IonReader r2 = pool.acquire(utf8("2"));
+        pool.release(r1);
+
+        pool.close();
+        assertEquals(0, pool.getIdleReaderCount());
+
+        pool.release(r2);
+        assertEquals(0, pool.getIdleReaderCount());
+
+        // New readers can still be acquired.
+        IonReader reader = pool.acquire(utf8("3"));
+        assertNotSame(r1, reader);
+        assertNotSame(r2, reader);
+        checkRead(pool, utf8("4 five"));
+    }
+
+    @Test
+    public void testBuilderIsCopied()
+    {
+        IonReaderBuilder b = IonReaderBuilder.standard();
+        IonReaderPool pool = b.buildPool(1);
+        assertNotSame(b, pool.getBuilder());
+
+        b.setJsonStrict(true);
+        assertFalse(pool.getBuilder().isJsonStrict());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadMaxIdleReaders()
+    {
+        IonReaderBuilder.standard().buildPool(0);
+    }
+
+    @Test
+    public void testConcurrentUse()
+        throws Exception
+    {
+        final int threads = 8;
+        final int iterations = 200;
+        final IonReaderPool pool =
+            IonReaderBuilder.standard().buildPool(threads / 2);
+
+        final List<byte[]> inputs = new ArrayList<byte[]>();
+        for (String message : MESSAGES)
+        {
+            inputs.add(binary(message));
+            inputs.add(utf8(message));
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        for (int t = 0; t < threads; t++)
+        {
+            final int offset = t;
+            tasks.add(new Callable<Void>()
+            {
+                public Void call() throws Exception
+                {
+                    for (int i = 0; i < iterations; i++)
+                    {
+                        byte[] data = inputs.get((i + offset) % inputs.size());
+                        checkRead(pool, data);
+                    }
+                    return null;
+                }
+            });
+        }
+        runConcurrently(tasks);
+
+        assertTrue(pool.getIdleReaderCount() <= threads / 2);
+    }
+}
@@ -14,14 +14,20 @@
 
 package software.amazon.ion.system;
 
+import static software.amazon.ion.TestUtils.runConcurrently;
+
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
 import org.junit.Test;
 import software.amazon.ion.IonDatagram;
 import software.amazon.ion.IonString;
@@ -110,6 +116,135 @@ public class SimpleCatalogTest
         List<Integer> asList = Arrays.asList(available);
         Integer best = SimpleCatalog.bestMatch(requested, asList);
         assertEquals("best match", expected, best.intValue());
+
+        for (Integer version : available)
+        {
+            cat.putTable(newSharedSymtab("T", version));
+        }
+        assertEquals("catalog match",
+                     expected, cat.getTable("T", requested).getVersion());
+    }
+
+    private SymbolTable newSharedSymtab(String name, int version)
+    {
+        String text =
+            "$ion_shared_symbol_table::{" +
+            "  name:'''" + name + "''', version:" + version + "," +
+            "  symbols:[ '''" + name + version + "''' ]" +
+            "}";
+        return system().newSharedSymbolTable(system().newReader(text));
+    }
+
+
+    @Test
+    public void testPutRemoveAndIterate()
+    {
+        SimpleCatalog cat = new SimpleCatalog();
+        SymbolTable a3 = newSharedSymtab("A", 3);
+        SymbolTable a1 = newSharedSymtab("A", 1);
+        SymbolTable a2 = newSharedSymtab("A", 2);
+        SymbolTable b1 = newSharedSymtab("B", 1);
+        cat.putTable(a3);
+        cat.putTable(a1);
+        cat.putTable(b1);
+        cat.putTable(a2);
+
+        assertSame(a3, cat.getTable("A"));
+        assertSame(a1, cat.getTable("A", 1));
+        assertSame(a2, cat.getTable("A", 2));
+
+        // Replacing a version keeps the others
+        SymbolTable a2b = newSharedSymtab("A", 2);
+        cat.putTable(a2b);
+        assertSame(a2b, cat.getTable("A", 2));
+        assertSame(a3, cat.getTable("A"));
+
+        Set<SymbolTable> tables = new HashSet<SymbolTable>();
+        for (SymbolTable table : cat)
+        {
+            tables.add(table);
+        }
+        assertEquals(new HashSet<SymbolTable>(Arrays.asList(a1, a2b, a3, b1)),
+                     tables);
+
+        assertNull(cat.removeTable("A", 4));
+        assertNull(cat.removeTable("C", 1));
+        assertSame(a3, cat.removeTable("A", 3));
+        assertSame(a2b, cat.getTable("A"));
+        assertSame(a2b, cat.getTable("A", 3));
+        assertSame(b1, cat.removeTable("B", 1));
+        assertNull(cat.getTable("B"));
+        assertNull(cat.getTable("B", 1));
+    }
+
+
+    private static int countTables(SimpleCatalog cat)
+    {
+        int size = 0;
+        for (Iterator<SymbolTable> i = cat.iterator(); i.hasNext(); i.next())
+        {
+            size++;
+        }
+        return size;
+    }
+
+    @Test
+    public void testConcurrentLookups()
+        throws Exception
+    {
+        final SimpleCatalog cat = new SimpleCatalog();
+        final SymbolTable stable = newSharedSymtab("stable", 2);
+        cat.putTable(stable);
+
+        final int threads = 8;
+        final int iterations = 2000;
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+
+        // One writer adds and removes versions while the others read.
+        tasks.add(new Callable<Void>()
+        {
+            public Void call()
+            {
+                for (int i = 1; i <= iterations; i++)
+                {
+                    cat.putTable(newSharedSymtab("churn", i));
+                    if (i % 2 == 0)
+                    {
+                        assertNotNull(cat.removeTable("churn", i - 1));
+                    }
+                }
+                return null;
+            }
+        });
+        for (int t = 1; t < threads; t++)
+        {
+            tasks.add(new Callable<Void>()
+            {
+                public Void call()
+                {
+                    for (int i = 1; i <= iterations; i++)
+                    {
+                        assertSame(stable, cat.getTable("stable", i));
+                        SymbolTable churn = cat.getTable("churn", i);
+                        if (churn != null)
+                        {
+                            assertEquals("churn", churn.getName());
+                        }
+                        for (SymbolTable table : cat)
+                        {
+                            assertNotNull(table);
+                        }
+                    }
+                    return null;
+                }
+            });
+        }
+        runConcurrently(tasks);
+
+        assertEquals(iterations, cat.getTable("churn").getVersion());
+        // Only the even versions remain.
+        assertEquals(2, cat.getTable("churn", 1).getVersion());
+        assertEquals(iterations / 2, countTables(cat) - 1);
     }
 
 
@@ -17,6 +17,7 @@ package software.amazon.ion.util;
 import org.junit.Ignore;
 import org.junit.Test;
 import software.amazon.ion.IonFloat;
+import software.amazon.ion.IonSequence;
 import software.amazon.ion.IonStruct;
 import software.amazon.ion.IonTestCase;
 import software.amazon.ion.IonValue;
@@ -182,6 +183,61 @@ public class EquivalenceTest
         assertIonEqForm(ion("{ a : a::1, b : 2 }"), ion("{ a : 1, b : 2 }"));
     }
 
+    @Test
+    public void testEqualsStructRepeatedFields() {
+        assertIonEq(ion("{ a : 1, b : 2, a : 3, a : 1 }"),
+                    ion("{ a : 1, a : 3, b : 2, a : 1 }"));
+        assertNotIonEq(ion("{ a : 1, b : 2, a : 3, a : 1 }"),
+                       ion("{ a : 3, a : 3, b : 2, a : 1 }"));
+        assertNotIonEq(ion("{ a : 1, a : 1 }"), ion("{ a : 1, b : 1 }"));
+    }
+
+    @Test
+    public void testEqualsNestedStructs() {
+        assertIonEq(ion("{ a : { c : [1, { d : e }] }, b : [{ f : 2 }] }"),
+                    ion("{ b : [{ f : 2 }], a : { c : [1, { d : e }] } }"));
+        assertNotIonEq(ion("{ a : { c : [1, { d : e }] }, b : [{ f : 2 }] }"),
+                       ion("{ b : [{ f : 2 }], a : { c : [1, { d : f }] } }"));
+    }
+
+    @Test
+    public void testEqualsReadOnly() {
+        IonValue v1 = ion("{ a : x::[1, 2], b : \"s\" }");
+        IonValue v2 = ion("{ b : \"s\", a : x::[1, 2] }");
+        IonValue v3 = ion("{ b : \"s\", a : [1, 2] }");
+        v1.makeReadOnly();
+        v2.makeReadOnly();
+        v3.makeReadOnly();
+        assertIonEq(v1, v2);
+        assertNotIonEq(v1, v3);
+        assertIonEqForm(v1, v3);
+    }
+
+    @Test
+    public void testDeeplyNestedValues() {
+        final int depth = 5000;
+        IonSequence left  = system().newEmptyList();
+        IonSequence right = system().newEmptyList();
+        IonSequence l = left;
+        IonSequence r = right;
+        for (int i = 0; i < depth; i++) {
+            IonSequence lc = (i % 2 == 0) ? system().newEmptySexp()
+                                          : system().newEmptyList();
+            IonSequence rc = (i % 2 == 0) ? system().newEmptySexp()
+                                          : system().newEmptyList();
+            l.add(lc);
+            r.add(rc);
+            l = lc;
+            r = rc;
+        }
+        assertTrue(Equivalence.ionEquals(left, right));
+
+        l.add(system().newInt(1));
+        assertFalse(Equivalence.ionEquals(left, right));
+        r.add(system().newInt(1));
+        assertTrue(Equivalence.ionEqualsByContent(left, right));
+    }
+
     @Test
     public void testFloat1() {
         assertNotIonEq(ionFloat(Double.NaN), ionFloat(1.0d));
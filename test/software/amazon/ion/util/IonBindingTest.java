@@ -0,0 +1,456 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import org.junit.Test;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.IonWriter;
+import software.amazon.ion.SymbolTable;
+import software.amazon.ion.Timestamp;
+import software.amazon.ion.system.IonBinaryWriterBuilder;
+import software.amazon.ion.system.SimpleCatalog;
+
+public class IonBindingTest
+    extends IonTestCase
+{
+    enum Color { RED, GREEN }
+
+    static class Base
+    {
+        String id;
+    }
+
+    static class Everything
+        extends Base
+    {
+        boolean         flag;
+        byte            b;
+        short           s;
+        int             i;
+        long            l;
+        float           f;
+        double          d;
+        Integer         boxed;
+        Double          boxedDouble;
+        BigInteger      big;
+        BigDecimal      dec;
+        Timestamp       ts;
+        Date            date;
+        byte[]          bytes;
+        Color           color;
+        int[]           ints;
+        long[]          longs;
+        double[]        doubles;
+        List<String>    names;
+        List<List<Long>> nested;
+        Everything      child;
+        transient int   ignored;
+        static int      alsoIgnored;
+    }
+
+    static class Point
+    {
+        private final int x;
+        private final int y;
+
+        private Point()
+        {
+            this(0, 0);
+        }
+
+        Point(int x, int y)
+        {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    static class NoDefaultConstructor
+    {
+        NoDefaultConstructor(int i) { }
+    }
+
+    static class BadField
+    {
+        char c;
+    }
+
+    static class RawList
+    {
+        @SuppressWarnings("rawtypes")
+        List values;
+    }
+
+    static class HasBadNested
+    {
+        int      i;
+        BadField nested;
+    }
+
+    static class HasBadNestedList
+    {
+        List<List<NoDefaultConstructor>> nested;
+    }
+
+    static class Left
+    {
+        Right right;
+    }
+
+    static class Right
+    {
+        List<Left> lefts;
+        String     name;
+    }
+
+
+    private Everything newEverything()
+    {
+        Everything e = new Everything();
+        e.id          = "root";
+        e.flag        = true;
+        e.b           = -128;
+        e.s           = 32767;
+        e.i           = Integer.MIN_VALUE;
+        e.l           = Long.MAX_VALUE;
+        e.f           = 1.5f;
+        e.d           = -0.25;
+        e.boxed       = 42;
+        e.big         = new BigInteger("123456789012345678901234567890");
+        e.dec         = new BigDecimal("1.10");
+        e.ts          = Timestamp.valueOf("2007-02-23T12:14:33.079-08:00");
+        e.date        = new Date(1000000000000L);
+        e.bytes       = new byte[] { 1, 2, 3 };
+        e.color       = Color.GREEN;
+        e.ints        = new int[] { 1, -2, 3 };
+        e.longs       = new long[] { Long.MIN_VALUE };
+        e.doubles     = new double[] { 0.5, 1e300 };
+        e.names       = Arrays.asList("a", null, "c");
+        e.nested      = Arrays.asList(Arrays.asList(1L, 2L),
+                                      Arrays.<Long>asList());
+        e.child       = new Everything();
+        e.child.id    = "child";
+        e.ignored     = 7;
+        return e;
+    }
+
+    private void checkEverything(Everything e)
+    {
+        assertEquals("root", e.id);
+        assertTrue(e.flag);
+        assertEquals(-128, e.b);
+        assertEquals(32767, e.s);
+        assertEquals(Integer.MIN_VALUE, e.i);
+        assertEquals(Long.MAX_VALUE, e.l);
+        assertEquals(1.5f, e.f, 0);
+        assertEquals(-0.25, e.d, 0);
+        assertEquals(Integer.valueOf(42), e.boxed);
+        assertNull(e.boxedDouble);
+        assertEquals(new BigInteger("123456789012345678901234567890"), e.big);
+        assertEquals(new BigDecimal("1.10"), e.dec);
+        assertEquals(Timestamp.valueOf("2007-02-23T12:14:33.079-08:00"), e.ts);
+        assertEquals(new Date(1000000000000L), e.date);
+        assertTrue(Arrays.equals(new byte[] { 1, 2, 3 }, e.bytes));
+        assertSame(Color.GREEN, e.color);
+        assertTrue(Arrays.equals(new int[] { 1, -2, 3 }, e.ints));
+        assertTrue(Arrays.equals(new long[] { Long.MIN_VALUE }, e.longs));
+        assertTrue(Arrays.equals(new double[] { 0.5, 1e300 }, e.doubles));
+        assertEquals(Arrays.asList("a", null, "c"), e.names);
+        assertEquals(Arrays.asList(Arrays.asList(1L, 2L),
+                                   Arrays.<Long>asList()),
+                     e.nested);
+        assertEquals(0, e.ignored);
+
+        assertEquals("child", e.child.id);
+        assertNull(e.child.names);
+        assertNull(e.child.child);
+    }
+
+    private <T> T read(IonBinding<T> binding, byte[] data)
+    {
+        IonReader reader = system().newReader(data);
+        assertEquals(IonType.STRUCT, reader.next());
+        T value = binding.read(reader);
+        assertNull(reader.next());
+        return value;
+    }
+
+    private <T> T read(IonBinding<T> binding, String text)
+        throws IOException
+    {
+        return read(binding, text.getBytes("UTF-8"));
+    }
+
+
+    @Test
+    public void testRoundTrip()
+        throws Exception
+    {
+        IonBinding<Everything> binding = IonBinding.of(Everything.class);
+        assertSame(binding, IonBinding.of(Everything.class));
+        assertSame(Everything.class, binding.getType());
+
+        StringBuilder text = new StringBuilder();
+        IonWriter writer = system().newTextWriter(text);
+        binding.write(writer, newEverything());
+        writer.close();
+        checkEverything(read(binding, text.toString()));
+
+        // Superclass fields come first, and nulls are omitted.
+        assertTrue(text.toString(), text.toString().startsWith("{id:\"root\""));
+        assertFalse(text.toString(), text.toString().contains("boxedDouble"));
+        assertFalse(text.toString(), text.toString().contains("ignored"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer = system().newBinaryWriter(out);
+        binding.write(writer, newEverything());
+        writer.close();
+        checkEverything(read(binding, out.toByteArray()));
+
+        // The DOM reader works too.
+        IonReader reader =
+            system().newReader(loader().load(text.toString()).get(0));
+        reader.next();
+        checkEverything(binding.read(reader));
+    }
+
+    @Test
+    public void testFinalFieldsAndPrivateConstructor()
+        throws Exception
+    {
+        IonBinding<Point> binding = IonBinding.of(Point.class);
+        StringBuilder text = new StringBuilder();
+        IonWriter writer = system().newTextWriter(text);
+        binding.write(writer, new Point(3, -4));
+        writer.close();
+        assertEquals("{x:3,y:-4}", text.toString());
+
+        Point p = read(binding, "{y:5, x:6}");
+        assertEquals(6, p.x);
+        assertEquals(5, p.y);
+    }
+
+    @Test
+    public void testLenientReading()
+        throws Exception
+    {
+        IonBinding<Everything> binding = IonBinding.of(Everything.class);
+        Everything e = read(binding,
+                            "a::{unknown:[1, 2], i:1, d:2, dec:3, names:(x y),"
+                            + " color:'RED', boxed:null, id:'sym', 'i':5}");
+        assertEquals(5, e.i);
+        assertEquals(2.0, e.d, 0);
+        assertEquals(new BigDecimal(3), e.dec);
+        assertEquals(Arrays.asList("x", "y"), e.names);
+        assertSame(Color.RED, e.color);
+        assertNull(e.boxed);
+        assertEquals("sym", e.id);
+
+        assertNull(read(binding, "null.struct"));
+    }
+
+    @Test
+    public void testWriteNull()
+        throws Exception
+    {
+        StringBuilder text = new StringBuilder();
+        IonWriter writer = system().newTextWriter(text);
+        IonBinding.of(Point.class).write(writer, null);
+        writer.close();
+        assertEquals("null.struct", text.toString());
+    }
+
+    private void checkBadData(String text)
+        throws Exception
+    {
+        try
+        {
+            read(IonBinding.of(Everything.class), text);
+            fail("Expected IonException for " + text);
+        }
+        catch (IonException e)
+        {
+            assertTrue(e.getMessage(), e.getMessage().contains("Everything"));
+        }
+    }
+
+    @Test
+    public void testBadData()
+        throws Exception
+    {
+        checkBadData("{i:2147483648}");
+        checkBadData("{b:128}");
+        checkBadData("{l:9223372036854775808}");
+        checkBadData("{i:null}");
+        checkBadData("{i:1.5}");
+        checkBadData("{flag:1}");
+        checkBadData("{color:BLUE}");
+        checkBadData("{ints:[1, 2.5]}");
+        checkBadData("{names:\"a\"}");
+        checkBadData("{child:[]}");
+        checkBadData("{child:{i:\"x\"}}");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotOnStruct()
+        throws Exception
+    {
+        IonReader reader = system().newReader("[]");
+        reader.next();
+        IonBinding.of(Point.class).read(reader);
+    }
+
+    private void checkUnbindable(Class<?> type)
+    {
+        try
+        {
+            IonBinding.of(type);
+            fail("Expected IllegalArgumentException for " + type);
+        }
+        catch (IllegalArgumentException e) { }
+    }
+
+    @Test
+    public void testUnbindable()
+    {
+        checkUnbindable(NoDefaultConstructor.class);
+        checkUnbindable(BadField.class);
+        checkUnbindable(RawList.class);
+        checkUnbindable(List.class);
+        checkUnbindable(String.class);
+        checkUnbindable(int.class);
+    }
+
+    @Test
+    public void testNestedClassesAreBoundEagerly()
+        throws Exception
+    {
+        // Bad nested classes fail when binding, not when reading.
+        checkUnbindable(HasBadNested.class);
+        checkUnbindable(HasBadNested.class);
+        checkUnbindable(HasBadNestedList.class);
+
+        // Cycles are fine.
+        IonBinding<Left> binding = IonBinding.of(Left.class);
+        Left left = read(binding, "{right:{name:\"r\", lefts:[{}, {right:{}}]}}");
+        assertEquals("r", left.right.name);
+        assertEquals(2, left.right.lefts.size());
+        assertNull(left.right.lefts.get(0).right);
+        assertNull(left.right.lefts.get(1).right.name);
+    }
+
+    /**
+     * Alternating between streams with their own symbol tables, as threads
+     * reading different streams do, reuses each table's cache.
+     */
+    @Test
+    public void testSymbolTableCachesAreRetained()
+        throws Exception
+    {
+        IonBinding<Point> binding = IonBinding.of(Point.class);
+        IonReader[] readers = {
+            system().newReader(loader().load("{x:1, y:2} {x:1, y:2}").getBytes()),
+            system().newReader(loader().load("{y:3, x:4} {y:3, x:4}").getBytes()),
+        };
+        Object[] caches = new Object[readers.length];
+        for (int round = 0; round < 2; round++)
+        {
+            for (int r = 0; r < readers.length; r++)
+            {
+                IonReader reader = readers[r];
+                assertEquals(IonType.STRUCT, reader.next());
+                Point p = binding.read(reader);
+                assertEquals(r == 0 ? 1 : 4, p.x);
+
+                Object cache = binding.propertiesBySid(reader.getSymbolTable());
+                if (round == 0)
+                {
+                    caches[r] = cache;
+                }
+                else
+                {
+                    assertSame(caches[r], cache);
+                }
+            }
+        }
+        assertNotSame(caches[0], caches[1]);
+    }
+
+    /**
+     * Field symbol IDs are cached per symbol table, so they mustn't leak
+     * into streams with other tables.
+     */
+    @Test
+    public void testChangingSymbolTables()
+        throws Exception
+    {
+        IonBinding<Point> binding = IonBinding.of(Point.class);
+        byte[] xFirst = loader().load("{x:1, y:2}").getBytes();
+        byte[] yFirst = loader().load("{y:3, x:4}").getBytes();
+        for (int i = 0; i < 3; i++)
+        {
+            Point p = read(binding, xFirst);
+            assertEquals(1, p.x);
+            assertEquals(2, p.y);
+
+            p = read(binding, yFirst);
+            assertEquals(4, p.x);
+            assertEquals(3, p.y);
+        }
+    }
+
+    @Test
+    public void testSharedSymbolTable()
+        throws Exception
+    {
+        SymbolTable shared =
+            system().newSharedSymbolTable("points", 1,
+                                          Arrays.asList("y", "x").iterator());
+        SimpleCatalog catalog = new SimpleCatalog();
+        catalog.putTable(shared);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = IonBinaryWriterBuilder.standard()
+            .withCatalog(catalog)
+            .withImports(shared)
+            .build(out);
+        IonBinding<Point> binding = IonBinding.of(Point.class);
+        for (int i = 0; i < 10; i++)
+        {
+            binding.write(writer, new Point(i, -i));
+        }
+        writer.close();
+
+        IonReader reader = newSystem(catalog).newReader(out.toByteArray());
+        for (int i = 0; i < 10; i++)
+        {
+            assertEquals(IonType.STRUCT, reader.next());
+            Point p = binding.read(reader);
+            assertEquals(i, p.x);
+            assertEquals(-i, p.y);
+        }
+        assertNull(reader.next());
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonValue;
+import software.amazon.ion.util.IonPathExtractor.Callback;
+
+public class IonPathExtractorTest
+    extends IonTestCase
+{
+    private static final String DATA =
+        "{a:{b:[0, 1, {c:\"first\"}, {c:\"other\"}]}," +
+        " x:{p:{y:1}, q:{z:2}, r:{y:3}}, 'odd.name':4, '*':5} " +
+        "{a:{b:[0, 1]}, x:[{y:6}, {y:7}], list:[1, [2, 3], null.list]} " +
+        "7 null.struct";
+
+    /**
+     * Records each matched value, tagged with the path's label.
+     */
+    private final class Recorder
+        implements Callback
+    {
+        final String       myLabel;
+        final List<String> myMatches;
+
+        Recorder(String label, List<String> matches)
+        {
+            myLabel   = label;
+            myMatches = matches;
+        }
+
+        public void onMatch(IonReader reader)
+        {
+            IonValue value = system().newValue(reader);
+            myMatches.add(myLabel + "=" + value);
+        }
+    }
+
+    private List<String> extract(byte[] data, String... paths)
+    {
+        List<String> matches = new ArrayList<String>();
+        IonPathExtractor.Builder builder = IonPathExtractor.builder();
+        for (String path : paths)
+        {
+            builder.withPath(path, new Recorder(path, matches));
+        }
+        IonReader reader = system().newReader(data);
+        builder.build().matchAll(reader);
+        assertNull(reader.next());
+        return matches;
+    }
+
+    private void checkExtract(String expected, String... paths)
+        throws Exception
+    {
+        byte[] text   = DATA.getBytes("UTF-8");
+        byte[] binary = loader().load(DATA).getBytes();
+        assertEquals(expected, extract(text, paths).toString());
+        assertEquals(expected, extract(binary, paths).toString());
+    }
+
+
+    @Test
+    public void testFieldsAndIndexes()
+        throws Exception
+    {
+        checkExtract("[a.b[2].c=\"first\"]", "a.b[2].c");
+        checkExtract("[a.b[1]=1, a.b[1]=1]", "a.b[1]");
+        checkExtract("[list[1][0]=2]", "list[1][0]");
+        checkExtract("['odd.name'=4, \"*\"=5]", "'odd.name'", "\"*\"");
+        checkExtract("[]", "a.c", "a.b[9]", "a.b.c", "list[2][0]");
+    }
+
+    @Test
+    public void testWildcards()
+        throws Exception
+    {
+        checkExtract("[x.*.y=1, x.*.y=3, x.*.y=6, x.*.y=7]", "x.*.y");
+        checkExtract("[x[*].y=6, x[*].y=7]", "x[*].y");
+        checkExtract("[a.b[*].c=\"first\", a.b[*].c=\"other\"]", "a.b[*].c");
+        checkExtract("[*.b[0]=0, *.b[0]=0]", "*.b[0]");
+    }
+
+    @Test
+    public void testManyPaths()
+        throws Exception
+    {
+        // Callbacks are called in the order the values are found, and for
+        // one value in the order the paths were added.
+        checkExtract("[a.b[0]=0, a.*[0]=0, x.r={y:3}, 'odd.name'=4,"
+                     + " a.b[0]=0, a.*[0]=0, list[1]=[2,3], list[2]=null.list]",
+                     "a.b[0]", "a.*[0]", "x.r", "list[1]", "'odd.name'",
+                     "list[2]");
+    }
+
+    @Test
+    public void testWildcardAddedFirst()
+        throws Exception
+    {
+        List<String> matches = new ArrayList<String>();
+        IonPathExtractor.builder()
+            .withPath("*", new Recorder("*", matches))
+            .withPath("a", new Recorder("a", matches))
+            .withPath("[*]", new Recorder("[*]", matches))
+            .withPath("[0]", new Recorder("[0]", matches))
+            .withPath("*", new Recorder("*again", matches))
+            .build()
+            .matchAll(system().newReader("{a:1} [2]"));
+        assertEquals("[*=1, a=1, *again=1, *=2, [*]=2, [0]=2, *again=2]",
+                     matches.toString());
+    }
+
+    @Test
+    public void testSameValueAtManyDepths()
+        throws Exception
+    {
+        // The callbacks only look at the type, so the reader can still step
+        // into the value for the longer path.
+        final List<String> matches = new ArrayList<String>();
+        class TypeRecorder
+            implements Callback
+        {
+            final String myLabel;
+
+            TypeRecorder(String label)
+            {
+                myLabel = label;
+            }
+
+            public void onMatch(IonReader reader)
+            {
+                matches.add(myLabel + "=" + reader.getType());
+            }
+        }
+
+        IonPathExtractor extractor = IonPathExtractor.builder()
+            .withPath("a.*", new TypeRecorder("a.*"))
+            .withPath("a", new TypeRecorder("a"))
+            .withPath("a.b[3]", new TypeRecorder("a.b[3]"))
+            .build();
+        IonReader reader = system().newReader(DATA);
+        reader.next();
+        extractor.match(reader);
+        assertEquals("[a=STRUCT, a.*=LIST, a.b[3]=STRUCT]", matches.toString());
+    }
+
+    private void checkBadPath(String path)
+    {
+        try
+        {
+            IonPathExtractor.builder().withPath(path, new Recorder(path, null));
+            fail("Expected IllegalArgumentException for " + path);
+        }
+        catch (IllegalArgumentException e) { }
+    }
+
+    @Test
+    public void testBadPaths()
+    {
+        checkBadPath("");
+        checkBadPath(".a");
+        checkBadPath("a.");
+        checkBadPath("a..b");
+        checkBadPath("a.[0]");
+        checkBadPath("a[");
+        checkBadPath("a[x]");
+        checkBadPath("a[-1]");
+        checkBadPath("a[+1]");
+        checkBadPath("a]");
+        checkBadPath("'a");
+        checkBadPath("'a'b");
+        checkBadPath("a b");
+    }
+
+    @Test
+    public void testLeavesListAfterLastIndex()
+        throws Exception
+    {
+        final List<Long> values = new ArrayList<Long>();
+        IonPathExtractor extractor = IonPathExtractor.builder()
+            .withPath("[1]", new Callback()
+            {
+                public void onMatch(IonReader reader)
+                {
+                    values.add(reader.longValue());
+                }
+            })
+            .build();
+        IonReader reader = system().newReader("[0, 1, 2, [3]] 5 [6]");
+        extractor.matchAll(reader);
+        assertNull(reader.next());
+        assertEquals("[1]", values.toString());
+    }
+
+    @Test
+    public void testCallbackMayStepIntoLeaf()
+        throws Exception
+    {
+        final List<String> names = new ArrayList<String>();
+        IonPathExtractor extractor = IonPathExtractor.builder()
+            .withPath("x.*", new Callback()
+            {
+                public void onMatch(IonReader reader)
+                {
+                    reader.stepIn();
+                    while (reader.next() != null)
+                    {
+                        names.add(reader.getFieldName());
+                    }
+                    reader.stepOut();
+                }
+            })
+            .build();
+        IonReader reader = system().newReader(DATA);
+        reader.next();
+        extractor.match(reader);
+        assertEquals("[y, z, y]", names.toString());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCallbackMustRestoreDepth()
+        throws Exception
+    {
+        IonPathExtractor extractor = IonPathExtractor.builder()
+            .withPath("a", new Callback()
+            {
+                public void onMatch(IonReader reader)
+                {
+                    reader.stepIn();
+                }
+            })
+            .build();
+        IonReader reader = system().newReader("{a:{}}");
+        reader.next();
+        extractor.match(reader);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotOnValue()
+    {
+        IonPathExtractor.builder()
+            .withPath("a", new Recorder("a", null))
+            .build()
+            .match(system().newReader("{a:1}"));
+    }
+
+    @Test
+    public void testBuilderReuse()
+        throws Exception
+    {
+        List<String> matches = new ArrayList<String>();
+        IonPathExtractor.Builder builder = IonPathExtractor.builder()
+            .withPath("a", new Recorder("a", matches));
+        IonPathExtractor first = builder.build();
+        builder.withPath("b", new Recorder("b", matches));
+
+        IonReader reader = system().newReader("{a:1, b:2}");
+        first.matchAll(reader);
+        assertEquals("[a=1]", matches.toString());
+    }
+}
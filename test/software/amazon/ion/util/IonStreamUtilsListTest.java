@@ -0,0 +1,300 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonReader;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonType;
+import software.amazon.ion.util.IonStreamUtils.DoubleList;
+import software.amazon.ion.util.IonStreamUtils.LongList;
+
+public class IonStreamUtilsListTest
+    extends IonTestCase
+{
+    /**
+     * Readers over the same data: text from bytes, chars and a stream,
+     * binary from bytes and a stream, and the DOM.
+     */
+    private List<IonReader> readers(String text)
+        throws Exception
+    {
+        byte[] utf8   = text.getBytes("UTF-8");
+        byte[] binary = loader().load(text).getBytes();
+
+        List<IonReader> readers = new ArrayList<IonReader>();
+        readers.add(system().newReader(utf8));
+        readers.add(system().newReader(text));
+        readers.add(system().newReader(new StringReader(text)));
+        readers.add(system().newReader(new ByteArrayInputStream(utf8)));
+        readers.add(system().newReader(binary));
+        readers.add(system().newReader(new ByteArrayInputStream(binary)));
+        readers.add(system().newReader(loader().load(text)));
+        return readers;
+    }
+
+    private void checkLongs(String text, long... expected)
+        throws Exception
+    {
+        for (IonReader reader : readers(text + " after"))
+        {
+            assertNotNull(reader.next());
+            long[] actual = IonStreamUtils.readLongList(reader);
+            assertTrue(text, Arrays.equals(expected, actual));
+            assertEquals(IonType.SYMBOL, reader.next());
+            assertEquals("after", reader.stringValue());
+            assertNull(reader.next());
+        }
+    }
+
+    private void checkDoubles(String text, double... expected)
+        throws Exception
+    {
+        for (IonReader reader : readers(text + " after"))
+        {
+            assertNotNull(reader.next());
+            double[] actual = IonStreamUtils.readFloatList(reader);
+            assertTrue(text, Arrays.equals(expected, actual));
+            assertEquals(IonType.SYMBOL, reader.next());
+            assertEquals("after", reader.stringValue());
+            assertNull(reader.next());
+        }
+    }
+
+    private void checkBadLongs(String text)
+        throws Exception
+    {
+        for (IonReader reader : readers(text))
+        {
+            reader.next();
+            LongList values = new LongList();
+            values.add(42);
+            try
+            {
+                IonStreamUtils.readLongList(reader, values);
+                fail("Expected IonException for " + text);
+            }
+            catch (IonException e) { }
+            assertEquals(1, values.size());
+            assertEquals(42, values.get(0));
+        }
+    }
+
+    private void checkBadDoubles(String text)
+        throws Exception
+    {
+        for (IonReader reader : readers(text))
+        {
+            reader.next();
+            DoubleList values = new DoubleList();
+            try
+            {
+                IonStreamUtils.readFloatList(reader, values);
+                fail("Expected IonException for " + text);
+            }
+            catch (IonException e) { }
+            assertEquals(0, values.size());
+        }
+    }
+
+
+    @Test
+    public void testReadLongList()
+        throws Exception
+    {
+        checkLongs("[1, 2, 3]", 1, 2, 3);
+        checkLongs("[]");
+        checkLongs("[ ]");
+        checkLongs("null.list");
+        checkLongs("[ -5 ,6 ,]", -5, 6);
+        checkLongs("[-0, 0, 9223372036854775807, -9223372036854775808]",
+                   0, 0, Long.MAX_VALUE, Long.MIN_VALUE);
+        checkLongs("a::[1, b::2]", 1, 2);
+        checkLongs("[1 /* c */, 2]", 1, 2);
+        checkLongs("[0x10, 0b11, 1_000]", 16, 3, 1000);
+        checkLongs("(1 2 -3)", 1, 2, -3);
+        checkLongs("[\n1,\n2\n]", 1, 2);
+    }
+
+    @Test
+    public void testReadLongListBadValues()
+        throws Exception
+    {
+        checkBadLongs("[9223372036854775808]");
+        checkBadLongs("[-9223372036854775809]");
+        checkBadLongs("[1, 2.5]");
+        checkBadLongs("[1, 2e0]");
+        checkBadLongs("[1, null]");
+        checkBadLongs("[1, null.int]");
+        checkBadLongs("[1, [2]]");
+        checkBadLongs("[1, \"2\"]");
+    }
+
+    @Test
+    public void testReadIntList()
+        throws Exception
+    {
+        IonReader reader = system().newReader("[2147483647, -2147483648]");
+        reader.next();
+        int[] values = IonStreamUtils.readIntList(reader);
+        assertEquals(2, values.length);
+        assertEquals(Integer.MAX_VALUE, values[0]);
+        assertEquals(Integer.MIN_VALUE, values[1]);
+
+        reader = system().newReader("[2147483648]");
+        reader.next();
+        try
+        {
+            IonStreamUtils.readIntList(reader);
+            fail("Expected IonException");
+        }
+        catch (IonException e) { }
+    }
+
+    @Test
+    public void testReadFloatList()
+        throws Exception
+    {
+        checkDoubles("[1.5e0, -0e0, 2e3, 1E-2]", 1.5, -0.0, 2000, 0.01);
+        checkDoubles("[1, 2.5, -0.0, 1.5d3]", 1, 2.5, -0.0, 1500);
+        checkDoubles("[0.1e0, 0.30000000000000004e0, 4.9e-324]",
+                     0.1, 0.30000000000000004, 4.9e-324);
+        checkDoubles("[nan, +inf, -inf]",
+                     Double.NaN, Double.POSITIVE_INFINITY,
+                     Double.NEGATIVE_INFINITY);
+        checkDoubles("[123456789012345678901234567890]",
+                     1.2345678901234568E29);
+        checkDoubles("[]");
+        checkDoubles("null.sexp");
+    }
+
+    @Test
+    public void testReadFloatListBadValues()
+        throws Exception
+    {
+        checkBadDoubles("[1e0, null.float]");
+        checkBadDoubles("[1e0, 2007-01-01T]");
+        checkBadDoubles("[1e0, [2e0]]");
+        checkBadDoubles("[1e0, sym]");
+    }
+
+    @Test
+    public void testAppend()
+        throws Exception
+    {
+        StringBuilder text = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++)
+        {
+            text.append(i).append(i % 10 == 0 ? ",\n" : ", ");
+        }
+        text.append("]");
+
+        for (IonReader reader : readers(text + " " + text))
+        {
+            LongList longs = new LongList(1);
+            assertEquals(IonType.LIST, reader.next());
+            assertEquals(1000, IonStreamUtils.readLongList(reader, longs));
+            assertEquals(IonType.LIST, reader.next());
+            assertEquals(1000, IonStreamUtils.readLongList(reader, longs));
+            assertEquals(2000, longs.size());
+            for (int i = 0; i < 2000; i++)
+            {
+                assertEquals(i % 1000, longs.get(i));
+            }
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void testNestedList()
+        throws Exception
+    {
+        for (IonReader reader : readers("{a:[1e0, 2e0], b:[3], c:x}"))
+        {
+            reader.next();
+            reader.stepIn();
+            assertEquals(IonType.LIST, reader.next());
+            assertTrue(Arrays.equals(new double[] { 1, 2 },
+                                     IonStreamUtils.readFloatList(reader)));
+            assertEquals(IonType.LIST, reader.next());
+            assertEquals("b", reader.getFieldName());
+            assertTrue(Arrays.equals(new long[] { 3 },
+                                     IonStreamUtils.readLongList(reader)));
+            assertEquals(IonType.SYMBOL, reader.next());
+            assertEquals("c", reader.getFieldName());
+            assertNull(reader.next());
+            reader.stepOut();
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void testLineNumbersAfterList()
+        throws Exception
+    {
+        IonReader reader =
+            system().newReader("[1,\n2,\n3]\n\n{".getBytes("UTF-8"));
+        reader.next();
+        IonStreamUtils.readLongList(reader);
+        try
+        {
+            reader.next();
+            reader.stepIn();
+            reader.next();
+            fail("Expected IonException");
+        }
+        catch (IonException e)
+        {
+            assertTrue(e.getMessage(), e.getMessage().contains("line 5"));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotOnList()
+        throws Exception
+    {
+        IonReader reader = system().newReader("{a:1}");
+        reader.next();
+        IonStreamUtils.readLongList(reader);
+    }
+
+    @Test
+    public void testBuffers()
+    {
+        LongList longs = new LongList();
+        for (int i = 0; i < 100; i++)
+        {
+            longs.add(i);
+        }
+        assertEquals(100, longs.size());
+        assertEquals(100, longs.toArray().length);
+        longs.truncate(10);
+        assertEquals(10, longs.size());
+        assertEquals(9, longs.get(9));
+        longs.clear();
+        assertEquals(0, longs.size());
+
+        DoubleList doubles = new DoubleList(0);
+        doubles.add(1.5);
+        assertEquals(1.5, doubles.get(0), 0);
+        assertTrue(Arrays.equals(new double[] { 1.5 }, doubles.toArray()));
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2016 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at:
+ *
+ *     http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package software.amazon.ion.util;
+
+import java.io.UnsupportedEncodingException;
+import org.junit.Test;
+import software.amazon.ion.IonDatagram;
+import software.amazon.ion.IonException;
+import software.amazon.ion.IonTestCase;
+import software.amazon.ion.IonValue;
+import software.amazon.ion.util.IonStructureScanner.Result;
+
+public class IonStructureScannerTest
+    extends IonTestCase
+{
+    private static final String DATA =
+        "$ion_1_0 $ion_symbol_table::{symbols:[\"s1\", \"s2\"]} " +
+        "a::b::{f:s1, g:[1, (x + y), {h:{{\"}}\"}}}]} // {comment\n" +
+        "'''long''' /* [ */ '''string''' 2007-01-01T12:30Z " +
+        "'s' \"str\\\"\" {{aGVsbG8=}} null.struct ann :: 5 []";
+
+    private static byte[] utf8(String text)
+        throws UnsupportedEncodingException
+    {
+        return text.getBytes("UTF-8");
+    }
+
+    private static String valueText(byte[] data, Result result, int index)
+        throws UnsupportedEncodingException
+    {
+        return new String(data, result.getValueOffset(index),
+                          result.getValueSize(index), "UTF-8");
+    }
+
+
+    @Test
+    public void testText()
+        throws Exception
+    {
+        byte[] data = utf8(DATA);
+        Result result = IonStructureScanner.scan(data);
+        assertFalse(result.isBinary());
+        assertEquals(9, result.getValueCount());
+        assertEquals(3, result.getMaxDepth());
+
+        assertEquals("a::b::{f:s1, g:[1, (x + y), {h:{{\"}}\"}}}]}",
+                     valueText(data, result, 0));
+        assertEquals("'''long''' /* [ */ '''string'''",
+                     valueText(data, result, 1));
+        assertEquals("2007-01-01T12:30Z", valueText(data, result, 2));
+        assertEquals("'s'", valueText(data, result, 3));
+        assertEquals("\"str\\\"\"", valueText(data, result, 4));
+        assertEquals("{{aGVsbG8=}}", valueText(data, result, 5));
+        assertEquals("null.struct", valueText(data, result, 6));
+        assertEquals("ann :: 5", valueText(data, result, 7));
+        assertEquals("[]", valueText(data, result, 8));
+
+        // Each value loads on its own.
+        IonDatagram dg = loader().load(data);
+        assertEquals(result.getValueCount(), dg.size());
+        for (int i = 0; i < result.getValueCount(); i++)
+        {
+            IonValue v = loader().load(valueText(data, result, i)).get(0);
+            assertEquals(dg.get(i).toString(), v.toString());
+        }
+    }
+
+    @Test
+    public void testBinary()
+        throws Exception
+    {
+        IonDatagram dg = loader().load(DATA);
+        byte[] data = dg.getBytes();
+        Result result = IonStructureScanner.scan(data);
+        assertTrue(result.isBinary());
+        assertEquals(dg.size(), result.getValueCount());
+        assertEquals(3, result.getMaxDepth());
+
+        // Values are in order and don't overlap.
+        int end = data.length;
+        for (int i = result.getValueCount() - 1; i >= 0; i--)
+        {
+            int offset = result.getValueOffset(i);
+            int size   = result.getValueSize(i);
+            assertTrue(offset + size <= end);
+            end = offset;
+        }
+        assertTrue(result.getValueOffset(0) > 4);
+
+        // Each value, after the symbol table, loads to the same thing.
+        int symtabEnd = result.getValueOffset(0);
+        for (int i = 0; i < result.getValueCount(); i++)
+        {
+            int offset = result.getValueOffset(i);
+            int size   = result.getValueSize(i);
+            byte[] value = new byte[symtabEnd + size];
+            System.arraycopy(data, 0, value, 0, symtabEnd);
+            System.arraycopy(data, offset, value, symtabEnd, size);
+            assertEquals(dg.get(i), loader().load(value).get(0));
+        }
+    }
+
+    @Test
+    public void testBinaryOffsetAndPadding()
+        throws Exception
+    {
+        byte[] data = {
+            (byte) 0xFF, (byte) 0xFF,                       // junk
+            (byte) 0xE0, 0x01, 0x00, (byte) 0xEA,           // IVM
+            0x21, 0x05,                                     // 5
+            0x02, 0x00, 0x00,                               // pad
+            (byte) 0xB3, (byte) 0xB1, 0x20, 0x0F,           // [[0], null]
+            (byte) 0xE0, 0x01, 0x00, (byte) 0xEA,           // IVM
+            (byte) 0xD0,                                    // {}
+            0x0F,                                           // null
+        };
+        Result result = IonStructureScanner.scan(data, 2, data.length - 2);
+        assertTrue(result.isBinary());
+        assertEquals(4, result.getValueCount());
+        assertEquals(6,  result.getValueOffset(0));
+        assertEquals(2,  result.getValueSize(0));
+        assertEquals(11, result.getValueOffset(1));
+        assertEquals(4,  result.getValueSize(1));
+        assertEquals(19, result.getValueOffset(2));
+        assertEquals(1,  result.getValueSize(2));
+        assertEquals(20, result.getValueOffset(3));
+        assertEquals(2,  result.getMaxDepth());
+    }
+
+    @Test
+    public void testWithoutDepth()
+        throws Exception
+    {
+        for (byte[] data : new byte[][] { utf8(DATA),
+                                          loader().load(DATA).getBytes() })
+        {
+            Result deep = IonStructureScanner.scan(data);
+            Result flat =
+                IonStructureScanner.scan(data, 0, data.length, false);
+            assertEquals(-1, flat.getMaxDepth());
+            assertEquals(deep.getValueCount(), flat.getValueCount());
+            for (int i = 0; i < deep.getValueCount(); i++)
+            {
+                assertEquals(deep.getValueOffset(i), flat.getValueOffset(i));
+                assertEquals(deep.getValueSize(i), flat.getValueSize(i));
+            }
+        }
+    }
+
+    @Test
+    public void testEmpty()
+        throws Exception
+    {
+        Result result = IonStructureScanner.scan(utf8(" // nothing\n"));
+        assertEquals(0, result.getValueCount());
+        assertEquals(0, result.getMaxDepth());
+
+        result = IonStructureScanner.scan(loader().load("").getBytes());
+        assertTrue(result.isBinary());
+        assertEquals(0, result.getValueCount());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testBadIndex()
+        throws Exception
+    {
+        IonStructureScanner.scan(utf8("1")).getValueOffset(1);
+    }
+
+    private void checkBadText(String text)
+        throws Exception
+    {
+        try
+        {
+            IonStructureScanner.scan(utf8(text));
+            fail("Expected IonException for " + text);
+        }
+        catch (IonException e) { }
+    }
+
+    @Test
+    public void testBadText()
+        throws Exception
+    {
+        checkBadText("[1, 2");
+        checkBadText("{a:[1}]");
+        checkBadText("1 ]");
+        checkBadText("\"abc");
+        checkBadText("'''abc");
+        checkBadText("{{abc");
+        checkBadText("/* abc");
+        checkBadText("a::");
+    }
+
+    private void checkBadBinary(int... bytes)
+    {
+        byte[] data = new byte[4 + bytes.length];
+        System.arraycopy(IonStreamUtilsTest.MID_BUFFER, 2, data, 0, 4);
+        for (int i = 0; i < bytes.length; i++)
+        {
+            data[4 + i] = (byte) bytes[i];
+        }
+        try
+        {
+            IonStructureScanner.scan(data);
+            fail("Expected IonException");
+        }
+        catch (IonException e) { }
+    }
+
+    @Test
+    public void testBadBinary()
+    {
+        checkBadBinary(0x22, 0x01);             // truncated int
+        checkBadBinary(0xB2, 0x21);             // child overruns list
+        checkBadBinary(0xF0);                   // reserved type
+        checkBadBinary(0x8E, 0x01);             // truncated length
+        checkBadBinary(0xE3, 0x81, 0x84, 0xE3); // nested annotation
+        checkBadBinary(0xE0, 0x02, 0x00, 0xEA); // unsupported version
+    }
+}